@@ -0,0 +1,62 @@
+#!/usr/bin/env bash
+#
+# Measures the time from launching the CLI to its first line of task output, comparing a baseline
+# jar against the current build, both without and with its AppCDS archive. Log lines are ignored,
+# so the time covers JVM startup, argument validation and processing up to the first result.
+#
+# Usage: startup-benchmark.sh <baseline-jar> [runs] [input-file] [task]
+#
+# The baseline jar is typically built from an earlier commit, e.g.
+#   git worktree add /tmp/baseline <commit>
+#   mvn -f /tmp/baseline/pom.xml -pl app-cli -am package -DskipTests
+#   app-cli/scripts/startup-benchmark.sh /tmp/baseline/app-cli/target/app-cli-1.0.0.jar
+
+set -eu
+
+if [ $# -lt 1 ]; then
+  sed -n 's/^# \{0,1\}//;7p' "$0"
+  exit 1
+fi
+
+MODULE_DIR=$(cd "$(dirname "$0")/.." && pwd)
+BASELINE_JAR=$1
+RUNS=${2:-20}
+INPUT=$(realpath "${3:-$MODULE_DIR/input.txt}")
+TASK=${4:-count-consonants}
+
+CURRENT_JAR="$MODULE_DIR/target/app-cli-1.0.0.jar"
+ARCHIVE="$MODULE_DIR/target/app-cli-1.0.0.jsa"
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+# Prints the milliseconds until the first line of output that is not a log line
+first_output_millis() {
+  local start end
+  start=$(date +%s%N)
+  end=$("$JAVA" "$@" --in-file "$INPUT" --task "$TASK" 2>/dev/null \
+    | { grep -m 1 -v -E '^[0-9]{2}:[0-9]{2}:[0-9]{2}\.[0-9]{3} \[' > /dev/null; date +%s%N; })
+  echo $(( (end - start) / 1000000 ))
+}
+
+# Runs a variant repeatedly, after one warm-up run to fill the file system cache
+measure() {
+  local label=$1
+  shift
+
+  first_output_millis "$@" > /dev/null
+  for _ in $(seq "$RUNS"); do
+    first_output_millis "$@"
+  done | sort -n | awk -v label="$label" '
+    { times[NR] = $1 }
+    END { printf "%-24s min %5d ms   median %5d ms   max %5d ms\n",
+          label, times[1], times[int((NR + 1) / 2)], times[NR] }'
+}
+
+echo "Time to first output over $RUNS runs of $TASK on $INPUT"
+measure "baseline" -jar "$BASELINE_JAR"
+measure "current" -jar "$CURRENT_JAR"
+
+if [ -f "$ARCHIVE" ]; then
+  measure "current with AppCDS" -XX:SharedArchiveFile="$ARCHIVE" -jar "$CURRENT_JAR"
+else
+  echo "No AppCDS archive found at $ARCHIVE, build without -Dappcds.skip=true to create it"
+fi
@@ -1,6 +1,10 @@
 package com.mcintosh.iain.cli;
 
 import com.mcintosh.iain.core.task.ParseContext;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 
 /**
  * Utility class for parsing command-line arguments and creating a ParseContext with them.
@@ -8,8 +12,16 @@ import com.mcintosh.iain.core.task.ParseContext;
  * Supported arguments:
  * <ul>
  *   <li>{@code -t} or {@code --task} &mdash; Specifies the task to perform (required).</li>
- *   <li>{@code -i} or {@code --in-file} &mdash; Path to the input file (required).</li>
- *   <li>{@code -o} or {@code --out-file} &mdash; Path to the output file (required).</li>
+ *   <li>{@code -c} or {@code --chars} &mdash; Character class of tasks taking one, such as
+ *   {@code remove-chars} (optional).</li>
+ *   <li>{@code -p} or {@code --phrase} &mdash; Phrase of tasks taking one, such as
+ *   {@code count-phrase} (optional).</li>
+ *   <li>{@code --case} &mdash; Case mode of tasks taking parameters, {@code sensitive} or
+ *   {@code insensitive} (optional).</li>
+ *   <li>{@code -i} or {@code --in-file} &mdash; Path to the input file, or {@code -} to read
+ *   standard input (required).</li>
+ *   <li>{@code -o} or {@code --out-file} &mdash; Path to the output file, or {@code -} to write
+ *   to standard output (required).</li>
  *   <li>{@code -d} or {@code --out-dest} &mdash; Output target or destination (required).</li>
  *   <li>{@code -h} or {@code --help} &mdash; Prints usage information.</li>
  * </ul>
@@ -20,6 +32,11 @@ import com.mcintosh.iain.core.task.ParseContext;
  */
 public final class CommandLineParser {
 
+  /**
+   * File argument naming standard input or standard output rather than a file.
+   */
+  private static final String STANDARD_STREAM = "-";
+
   private CommandLineParser() {
     throw new UnsupportedOperationException("Class not instantiable");
   }
@@ -36,8 +53,23 @@ public final class CommandLineParser {
    * @return a {@link ParseContext} with the parsed values, or {@code null} if parsing fails
    */
   public static ParseContext parse(String[] args) {
+    return parse(args, null);
+  }
+
+  /**
+   * Parses the provided command-line arguments as {@link #parse(String[])} does, resolving
+   * relative input and output file paths against the given working directory rather than the
+   * working directory of this process. This is used by the daemon, which runs requests on behalf
+   * of clients started in other directories.
+   *
+   * @param args             the command-line arguments to parse
+   * @param workingDirectory the directory to resolve relative file paths against, or
+   *                         {@code null} to leave them relative to this process
+   * @return a {@link ParseContext} with the parsed values, or {@code null} if parsing fails
+   */
+  public static ParseContext parse(String[] args, Path workingDirectory) {
     try {
-      return parseArgs(args);
+      return parseArgs(args, workingDirectory);
     } catch (IllegalArgumentException e) {
       Usage.showUsage(e.getMessage());
       return null; // To not pollute the console / usage text with exceptions
@@ -45,13 +77,16 @@ public final class CommandLineParser {
   }
 
   /**
-   * Internal method that performs the actual parsing of command-line arguments.
+   * Performs the actual parsing of command-line arguments, leaving invalid arguments to the
+   * caller so that it can tell them apart from a request for help.
    *
-   * @param args the arguments to parse
-   * @return a {@link ParseContext} representing the parsed arguments
+   * @param args             the arguments to parse
+   * @param workingDirectory the directory to resolve relative file paths against, may be null
+   * @return a {@link ParseContext} representing the parsed arguments, or {@code null} if the help
+   *         was requested and shown
    * @throws IllegalArgumentException if an argument is unrecognized or a required value is missing
    */
-  private static ParseContext parseArgs(String[] args) {
+  static ParseContext parseArgs(String[] args, Path workingDirectory) {
     ParseContext.Builder parseContextBuilder = ParseContext.builder();
 
     for (int i = 0; i < args.length; i++) {
@@ -64,19 +99,49 @@ public final class CommandLineParser {
 
           parseContextBuilder.withParseTask(args[++i]);
           break;
+        case "-c", "--chars":
+          if (noValueProvided(args, i)) {
+            throwMissingValueException(arg);
+          }
+
+          parseContextBuilder.withCharacterClass(args[++i]);
+          break;
+        case "-p", "--phrase":
+          if (noValueProvided(args, i)) {
+            throwMissingValueException(arg);
+          }
+
+          parseContextBuilder.withPhrase(args[++i]);
+          break;
+        case "--case":
+          if (noValueProvided(args, i)) {
+            throwMissingValueException(arg);
+          }
+
+          parseContextBuilder.withCaseMode(args[++i]);
+          break;
         case "-i", "--in-file":
           if (noValueProvided(args, i)) {
             throwMissingValueException(arg);
           }
 
-          parseContextBuilder.withInputFile(args[++i]);
+          String inputFile = args[++i];
+          if (inputFile.equals(STANDARD_STREAM)) {
+            parseContextBuilder.withInputChannel(standardInput(workingDirectory));
+          } else {
+            parseContextBuilder.withInputFile(resolve(workingDirectory, inputFile));
+          }
           break;
         case "-o", "--out-file":
           if (noValueProvided(args, i)) {
             throwMissingValueException(arg);
           }
 
-          parseContextBuilder.withOutputFile(args[++i]);
+          // Without an output file the output is written to standard out
+          String outputFile = args[++i];
+          if (!outputFile.equals(STANDARD_STREAM)) {
+            parseContextBuilder.withOutputFile(resolve(workingDirectory, outputFile));
+          }
           break;
         case "-d", "--out-dest":
           if (noValueProvided(args, i)) {
@@ -96,16 +161,64 @@ public final class CommandLineParser {
     return parseContextBuilder.build();
   }
 
+  /**
+   * Opens standard input as a channel. The channel reads the file descriptor directly, bypassing
+   * the buffer of {@link System#in}, so that each read can fill a whole chunk from a pipe.
+   *
+   * @param workingDirectory the client working directory when parsing for the daemon, which has
+   *                         no access to the standard input of its clients
+   * @return a channel reading standard input
+   * @throws IllegalArgumentException if parsing for the daemon
+   */
+  private static ReadableByteChannel standardInput(Path workingDirectory) {
+    if (workingDirectory != null) {
+      throw new IllegalArgumentException("Standard input is not supported by the daemon");
+    }
+    return new FileInputStream(FileDescriptor.in).getChannel();
+  }
+
+  /**
+   * Resolves a file path argument against the working directory, if one is given.
+   *
+   * @param workingDirectory the directory to resolve against, may be null
+   * @param path             the file path argument
+   * @return the resolved path, or the argument unchanged if there is no working directory
+   */
+  private static String resolve(Path workingDirectory, String path) {
+    return workingDirectory == null ? path : workingDirectory.resolve(path).toString();
+  }
+
   /**
    * Checks if the current argument is missing its corresponding value.
    *
    * @param args         the array of command-line arguments
    * @param currentIndex the index of the current argument
    * @return {@code true} if the next argument is missing or starts with a dash
-   * (indicating another option), {@code false} otherwise
+   * (indicating another option) other than a lone {@code -}, {@code false} otherwise
    */
   private static boolean noValueProvided(String[] args, int currentIndex) {
-    return currentIndex + 1 >= args.length || args[currentIndex + 1].startsWith("-");
+    if (currentIndex + 1 >= args.length) {
+      return true;
+    }
+
+    String value = args[currentIndex + 1];
+    return value.startsWith("-") && !value.equals(STANDARD_STREAM);
+  }
+
+  /**
+   * Returns the value of the option at the given index, for the daemon and watch modes which
+   * parse their own options with the same rules.
+   *
+   * @param args  the array of command-line arguments
+   * @param index the index of the option
+   * @return the value following the option
+   * @throws IllegalArgumentException if no value is provided
+   */
+  static String requireValue(String[] args, int index) {
+    if (noValueProvided(args, index)) {
+      throwMissingValueException(args[index]);
+    }
+    return args[index + 1];
   }
 
   /**
@@ -0,0 +1,143 @@
+package com.mcintosh.iain.cli;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ProtocolException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Thin client forwarding a CLI invocation to a running {@link DaemonServer}.
+ * <p>
+ * The client sends its arguments and working directory, copies the output of the daemon to its
+ * own standard out and standard error as it arrives, and ends with the exit code of the request.
+ * It loads none of the core processor or logging classes, so it starts in a fraction of the time
+ * of a direct invocation.
+ * </p>
+ */
+final class DaemonClient {
+
+  private DaemonClient() {
+    throw new UnsupportedOperationException("Class not instantiable");
+  }
+
+  /**
+   * Entry point for {@code --client}. An optional {@code --socket <path>} may come first, and
+   * the remaining arguments are forwarded to the daemon unchanged.
+   *
+   * @param args the client options followed by the task options
+   * @return the exit code of the request
+   */
+  static int start(String[] args) {
+    Path socket = DaemonProtocol.defaultSocket();
+    int first = 0;
+    if (args.length > 0 && (args[0].equals("-s") || args[0].equals("--socket"))) {
+      if (args.length < 2) {
+        Usage.showUsage(args[0] + " requires a value");
+        return 1;
+      }
+      socket = Path.of(args[1]);
+      first = 2;
+    }
+
+    String[] forwarded = new String[args.length - first];
+    System.arraycopy(args, first, forwarded, 0, forwarded.length);
+    Path workingDirectory = Path.of("").toAbsolutePath();
+
+    try {
+      return run(socket, workingDirectory, forwarded, System.out, System.err);
+    } catch (IOException e) {
+      System.err.println("Unable to reach the daemon on " + socket + ": " + e.getMessage());
+      System.err.println("Start one with: java -jar <path to jar> --daemon");
+      return 1;
+    }
+  }
+
+  /**
+   * Sends an invocation to the daemon and copies its output until the request completes.
+   *
+   * @param socket           the socket the daemon listens on
+   * @param workingDirectory the directory relative file paths are resolved against
+   * @param args             the task options
+   * @param stdout           receives the standard output of the request
+   * @param stderr           receives the standard error of the request
+   * @return the exit code of the request
+   * @throws IOException if the daemon cannot be reached or closes the connection early
+   */
+  static int run(Path socket, Path workingDirectory, String[] args, OutputStream stdout,
+      OutputStream stderr) throws IOException {
+    try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+      channel.connect(UnixDomainSocketAddress.of(socket));
+
+      DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(Channels.newOutputStream(channel)));
+      DaemonProtocol.writeHeader(out);
+      out.writeUTF(workingDirectory.toString());
+      out.writeInt(args.length);
+      for (String arg : args) {
+        out.writeUTF(arg);
+      }
+      out.flush();
+
+      DataInputStream in = new DataInputStream(
+          new BufferedInputStream(Channels.newInputStream(channel)));
+      int version = DaemonProtocol.readHeader(in);
+      if (version != DaemonProtocol.VERSION) {
+        stderr.write(("Daemon speaks protocol version " + version + " but the client speaks version "
+            + DaemonProtocol.VERSION + ", restart the daemon" + System.lineSeparator())
+            .getBytes(StandardCharsets.UTF_8));
+        stderr.flush();
+        return DaemonProtocol.EXIT_PROTOCOL_ERROR;
+      }
+
+      return copyFrames(in, stdout, stderr);
+    }
+  }
+
+  private static int copyFrames(DataInputStream in, OutputStream stdout, OutputStream stderr)
+      throws IOException {
+    byte[] buffer = new byte[8192];
+
+    try {
+      while (true) {
+        byte type = in.readByte();
+        if (type == DaemonProtocol.EXIT) {
+          int exitCode = in.readInt();
+          stdout.flush();
+          stderr.flush();
+          return exitCode;
+        }
+
+        OutputStream target = switch (type) {
+          case DaemonProtocol.STDOUT -> stdout;
+          case DaemonProtocol.STDERR -> stderr;
+          default -> throw new ProtocolException("Unknown frame type " + type);
+        };
+
+        int remaining = in.readInt();
+        while (remaining > 0) {
+          int read = in.read(buffer, 0, Math.min(buffer.length, remaining));
+          if (read < 0) {
+            throw new EOFException();
+          }
+          target.write(buffer, 0, read);
+          remaining -= read;
+        }
+        if (in.available() == 0) {
+          target.flush();
+        }
+      }
+    } catch (EOFException e) {
+      throw new IOException("Daemon closed the connection before the request completed", e);
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package com.mcintosh.iain.cli;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ProtocolException;
+import java.nio.file.Path;
+
+/**
+ * The framed protocol spoken between the {@link DaemonClient} and the {@link DaemonServer} over a
+ * Unix domain socket.
+ * <p>
+ * Both sides open with a header of the magic number and their protocol version, so that a client
+ * and daemon from different builds detect each other rather than misreading the stream. The
+ * client then sends its request:
+ * <pre>
+ * header | working directory (UTF) | argument count (int) | arguments (UTF each)
+ * </pre>
+ * and the daemon answers with its own header followed by a sequence of frames, each a type byte
+ * and its payload:
+ * <pre>
+ * STDOUT | length (int) | bytes
+ * STDERR | length (int) | bytes
+ * EXIT   | exit code (int)
+ * </pre>
+ * The {@code EXIT} frame is always the last frame of a response.
+ * </p>
+ */
+final class DaemonProtocol {
+
+  private DaemonProtocol() {
+    throw new UnsupportedOperationException("Class not instantiable");
+  }
+
+  /**
+   * The bytes {@code AISD}, opening every request and response.
+   */
+  static final int MAGIC = 0x41495344;
+
+  /**
+   * The protocol version, incremented on any change to the request or frame layout.
+   */
+  static final int VERSION = 1;
+
+  static final byte STDOUT = 1;
+  static final byte STDERR = 2;
+  static final byte EXIT = 3;
+
+  /**
+   * Exit code returned when the client and daemon cannot talk to each other.
+   */
+  static final int EXIT_PROTOCOL_ERROR = 2;
+
+  /**
+   * Returns the socket path used when none is given, which is private to the current user.
+   *
+   * @return the default socket path in the temporary directory
+   */
+  static Path defaultSocket() {
+    return Path.of(System.getProperty("java.io.tmpdir"),
+        "ais-cli-" + System.getProperty("user.name") + ".sock");
+  }
+
+  static void writeHeader(DataOutputStream out) throws IOException {
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+  }
+
+  /**
+   * Reads the header of the other side and returns its protocol version.
+   *
+   * @param in the stream to read from
+   * @return the protocol version of the other side
+   * @throws ProtocolException if the stream does not start with the magic number
+   * @throws IOException       if reading fails
+   */
+  static int readHeader(DataInputStream in) throws IOException {
+    if (in.readInt() != MAGIC) {
+      throw new ProtocolException("Not an AIS CLI daemon connection");
+    }
+    return in.readInt();
+  }
+
+  /**
+   * Writes a frame of output. Frames may be written from several streams of the same response,
+   * so writing is synchronized on the underlying stream.
+   *
+   * @param out    the response stream
+   * @param type   {@link #STDOUT} or {@link #STDERR}
+   * @param bytes  the buffer holding the output
+   * @param offset the index of the first byte
+   * @param length the number of bytes
+   * @throws IOException if writing fails
+   */
+  static void writeOutput(DataOutputStream out, byte type, byte[] bytes, int offset, int length)
+      throws IOException {
+    synchronized (out) {
+      out.writeByte(type);
+      out.writeInt(length);
+      out.write(bytes, offset, length);
+    }
+  }
+
+  static void writeExit(DataOutputStream out, int exitCode) throws IOException {
+    synchronized (out) {
+      out.writeByte(EXIT);
+      out.writeInt(exitCode);
+      out.flush();
+    }
+  }
+
+  /**
+   * Output stream writing everything passed to it as frames of one type.
+   */
+  static final class FrameOutputStream extends OutputStream {
+
+    private final DataOutputStream out;
+    private final byte type;
+
+    FrameOutputStream(DataOutputStream out, byte type) {
+      this.out = out;
+      this.type = type;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+      if (length > 0) {
+        writeOutput(out, type, bytes, offset, length);
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      synchronized (out) {
+        out.flush();
+      }
+    }
+  }
+}
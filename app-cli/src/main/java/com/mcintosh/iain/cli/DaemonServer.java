@@ -0,0 +1,339 @@
+package com.mcintosh.iain.cli;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.ProtocolException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import jdk.net.ExtendedSocketOptions;
+import jdk.net.UnixDomainPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a warm JVM listening on a Unix domain socket and runs CLI invocations sent to it by the
+ * {@link DaemonClient}.
+ * <p>
+ * A fresh JVM per invocation never reaches JIT-compiled steady state, so scripts that run the CLI
+ * many times in a row spend most of their time interpreting. Each request to the daemon is parsed
+ * with the same {@link CommandLineParser} semantics as a direct invocation, except that relative
+ * file paths are resolved against the working directory of the client. Everything the request
+ * writes to {@link System#out} and {@link System#err} is streamed back to the client, followed by
+ * an exit code (see {@link DaemonProtocol}).
+ * </p>
+ *
+ * <p>
+ * Requests run concurrently on virtual threads. The daemon shuts down once no request has been
+ * made for the idle timeout, and the socket is created readable by the current user only.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * java -jar app-cli.jar --daemon --idle-timeout 600 &
+ * java -jar app-cli.jar --client -t count-consonants -i input.txt
+ * }</pre>
+ * </p>
+ */
+final class DaemonServer implements Closeable {
+  private static final Logger log = LoggerFactory.getLogger(DaemonServer.class);
+
+  private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(15);
+
+  /**
+   * Upper bound on the arguments of a request, to reject corrupt requests early.
+   */
+  private static final int MAX_ARGUMENTS = 1024;
+
+  private final Path socket;
+  private final Duration idleTimeout;
+  private final ServerSocketChannel server;
+  private final ScheduledExecutorService idleCheck;
+  private final AtomicInteger activeRequests = new AtomicInteger();
+  private volatile long lastActivityNanos = System.nanoTime();
+
+  private PrintStream originalOut;
+  private PrintStream originalErr;
+  private ThreadRoutedOutputStream routedOut;
+  private ThreadRoutedOutputStream routedErr;
+
+  private DaemonServer(Path socket, Duration idleTimeout, ServerSocketChannel server) {
+    this.socket = socket;
+    this.idleTimeout = idleTimeout;
+    this.server = server;
+    this.idleCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "daemon-idle-check");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Entry point for {@code --daemon}. Accepts {@code --socket <path>} and
+   * {@code --idle-timeout <seconds>}, then serves requests until the daemon is idle.
+   *
+   * @param args the daemon options
+   */
+  static void start(String[] args) {
+    Path socket = DaemonProtocol.defaultSocket();
+    Duration idleTimeout = DEFAULT_IDLE_TIMEOUT;
+
+    try {
+      for (int i = 0; i < args.length; i++) {
+        switch (args[i]) {
+          case "-s", "--socket" -> socket = Path.of(CommandLineParser.requireValue(args, i++));
+          case "--idle-timeout" -> idleTimeout = Duration.ofSeconds(
+              parseSeconds(CommandLineParser.requireValue(args, i++)));
+          default -> throw new IllegalArgumentException("Unrecognised argument: " + args[i]);
+        }
+      }
+    } catch (IllegalArgumentException e) {
+      Usage.showUsage(e.getMessage());
+      return;
+    }
+
+    try (DaemonServer daemon = bind(socket, idleTimeout)) {
+      daemon.serve();
+    } catch (IOException e) {
+      Usage.showUsage("Unable to start the daemon: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Binds a daemon to the socket, replacing a stale socket file left by a daemon that did not
+   * shut down cleanly.
+   *
+   * @param socket      the socket path
+   * @param idleTimeout how long the daemon waits for a request before shutting down
+   * @return the bound daemon, ready to {@link #serve()}
+   * @throws IOException if another daemon is listening on the socket or binding fails
+   */
+  static DaemonServer bind(Path socket, Duration idleTimeout) throws IOException {
+    if (Files.exists(socket)) {
+      if (isListening(socket)) {
+        throw new IOException("A daemon is already listening on " + socket);
+      }
+      Files.delete(socket);
+    }
+
+    ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+    try {
+      server.bind(UnixDomainSocketAddress.of(socket));
+      restrictToOwner(socket);
+    } catch (IOException e) {
+      server.close();
+      throw e;
+    }
+
+    return new DaemonServer(socket, idleTimeout, server);
+  }
+
+  /**
+   * Accepts requests until the daemon is closed or has been idle for the idle timeout, then waits
+   * for the requests already accepted to complete.
+   */
+  void serve() {
+    try {
+      installOutputRouting();
+      long periodMillis = Math.max(1, Math.min(1000, idleTimeout.toMillis()));
+      idleCheck.scheduleWithFixedDelay(
+          this::closeIfIdle, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+      log.info("Daemon listening on {}", socket);
+
+      while (true) {
+        SocketChannel channel = server.accept();
+        activeRequests.incrementAndGet();
+        Thread.ofVirtual().name("daemon-request").start(() -> handle(channel));
+      }
+    } catch (ClosedChannelException | RejectedExecutionException e) {
+      // The idle check is rejected if the daemon was closed before it started serving
+      log.info("Daemon stopped");
+    } catch (IOException e) {
+      log.error("Daemon failed to accept a request", e);
+    } finally {
+      awaitActiveRequests();
+      restoreOutput();
+    }
+  }
+
+  /**
+   * Stops accepting requests and removes the socket. Requests already accepted still complete.
+   */
+  @Override
+  public void close() throws IOException {
+    idleCheck.shutdownNow();
+    // Removed first, as serve() returns as soon as the server is closed
+    Files.deleteIfExists(socket);
+    server.close();
+  }
+
+  private void closeIfIdle() {
+    long idleNanos = System.nanoTime() - lastActivityNanos;
+    if (activeRequests.get() == 0 && idleNanos >= idleTimeout.toNanos()) {
+      log.info("Daemon idle for {}s, shutting down", idleTimeout.toSeconds());
+      try {
+        close();
+      } catch (IOException e) {
+        log.warn("Failed to remove socket {}", socket, e);
+      }
+    }
+  }
+
+  /**
+   * Reads a request from the client, runs it and streams back its output and exit code.
+   */
+  private void handle(SocketChannel channel) {
+    try (channel) {
+      if (!isOwnUser(channel)) {
+        log.warn("Rejected a request from another user");
+        return;
+      }
+
+      DataInputStream in = new DataInputStream(
+          new BufferedInputStream(Channels.newInputStream(channel)));
+      DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(Channels.newOutputStream(channel)));
+
+      int version = DaemonProtocol.readHeader(in);
+      DaemonProtocol.writeHeader(out);
+      if (version != DaemonProtocol.VERSION) {
+        byte[] message = ("Daemon speaks protocol version " + DaemonProtocol.VERSION
+            + " but the client speaks version " + version + System.lineSeparator())
+            .getBytes(StandardCharsets.UTF_8);
+        DaemonProtocol.writeOutput(out, DaemonProtocol.STDERR, message, 0, message.length);
+        DaemonProtocol.writeExit(out, DaemonProtocol.EXIT_PROTOCOL_ERROR);
+        return;
+      }
+
+      Path workingDirectory = Path.of(in.readUTF());
+      int count = in.readInt();
+      if (count < 0 || count > MAX_ARGUMENTS) {
+        throw new ProtocolException("Invalid argument count " + count);
+      }
+      String[] args = new String[count];
+      for (int i = 0; i < count; i++) {
+        args[i] = in.readUTF();
+      }
+
+      DaemonProtocol.writeExit(out, execute(args, workingDirectory, out));
+    } catch (IOException e) {
+      log.debug("Request ended early", e);
+    } finally {
+      lastActivityNanos = System.nanoTime();
+      activeRequests.decrementAndGet();
+    }
+  }
+
+  /**
+   * Runs the invocation with the console output of the current thread sent to the client.
+   *
+   * @return the exit code a direct invocation would have ended with
+   */
+  private int execute(String[] args, Path workingDirectory, DataOutputStream out)
+      throws IOException {
+    OutputStream stdout = new BufferedOutputStream(
+        new DaemonProtocol.FrameOutputStream(out, DaemonProtocol.STDOUT));
+    OutputStream stderr = new BufferedOutputStream(
+        new DaemonProtocol.FrameOutputStream(out, DaemonProtocol.STDERR));
+    routedOut.route(stdout);
+    routedErr.route(stderr);
+
+    try {
+      return Main.run(args, workingDirectory);
+    } catch (RuntimeException e) {
+      e.printStackTrace(System.err);
+      return Main.EXIT_FAILURE;
+    } finally {
+      System.out.flush();
+      System.err.flush();
+      routedOut.clear();
+      routedErr.clear();
+      stdout.flush();
+      stderr.flush();
+    }
+  }
+
+  private void awaitActiveRequests() {
+    try {
+      while (activeRequests.get() > 0) {
+        Thread.sleep(10);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void installOutputRouting() {
+    originalOut = System.out;
+    originalErr = System.err;
+    routedOut = new ThreadRoutedOutputStream(originalOut);
+    routedErr = new ThreadRoutedOutputStream(originalErr);
+    System.setOut(new PrintStream(routedOut, true, originalOut.charset()));
+    System.setErr(new PrintStream(routedErr, true, originalErr.charset()));
+  }
+
+  private void restoreOutput() {
+    if (originalOut != null) {
+      System.setOut(originalOut);
+      System.setErr(originalErr);
+    }
+  }
+
+  private static boolean isListening(Path socket) {
+    try (SocketChannel ignored = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+      return true;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private static boolean isOwnUser(SocketChannel channel) {
+    try {
+      UnixDomainPrincipal peer = channel.getOption(ExtendedSocketOptions.SO_PEERCRED);
+      return peer.user().getName().equals(System.getProperty("user.name"));
+    } catch (UnsupportedOperationException | IOException e) {
+      // The socket permissions still restrict access where credentials are unavailable
+      return true;
+    }
+  }
+
+  private static void restrictToOwner(Path socket) throws IOException {
+    try {
+      Files.setPosixFilePermissions(socket, PosixFilePermissions.fromString("rw-------"));
+    } catch (UnsupportedOperationException e) {
+      log.debug("Socket permissions not supported on this file system");
+    }
+  }
+
+  private static long parseSeconds(String value) {
+    try {
+      long seconds = Long.parseLong(value);
+      if (seconds > 0) {
+        return seconds;
+      }
+    } catch (NumberFormatException e) {
+      // Reported below
+    }
+    throw new IllegalArgumentException("--idle-timeout must be a positive number of seconds");
+  }
+}
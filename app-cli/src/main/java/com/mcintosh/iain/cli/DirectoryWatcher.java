@@ -0,0 +1,509 @@
+package com.mcintosh.iain.cli;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import com.mcintosh.iain.core.CoreProcessor;
+import com.mcintosh.iain.core.output.FileSink;
+import com.mcintosh.iain.core.task.ParseContext;
+import com.mcintosh.iain.core.task.strategy.TaskParameters;
+import com.mcintosh.iain.core.task.strategy.TaskPipeline;
+import com.mcintosh.iain.core.util.ArgumentValidator;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Watches a directory tree and processes each new or modified file with a task, writing the
+ * result to the same relative path under an output directory.
+ * <p>
+ * Only files that have changed since they were last processed are picked up, so a restart, or a
+ * rescan after the event queue overflows, does not process the whole tree again. A file is
+ * considered up to date when its output carries the same modification time as the input it was
+ * produced from. The task and parameters the outputs were produced with are recorded in the output
+ * directory, and when the watcher is started with a different task or different parameters every
+ * existing output is marked out of date, so the tree is processed again rather than keeping
+ * outputs of the previous configuration.
+ * </p>
+ *
+ * <p>
+ * Events for a file are debounced, and a file is only processed once it has not been modified
+ * for the settle delay, so that a file being copied in is processed once rather than on every
+ * write. Files are processed concurrently on a fixed pool of workers, and each output is written
+ * to a temporary file first and then moved into place, so readers of the output tree never see a
+ * partial result. Deleting an input file deletes its output. Hidden files are ignored. The
+ * workers and the debouncer are daemon threads, so they never keep the JVM running once the
+ * watch loop has stopped.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * java -jar app-cli.jar --watch incoming -t remove-vowels -o processed --workers 4
+ * }</pre>
+ * </p>
+ */
+final class DirectoryWatcher implements Closeable {
+  private static final Logger log = LoggerFactory.getLogger(DirectoryWatcher.class);
+
+  private static final Duration DEFAULT_SETTLE_DELAY = Duration.ofMillis(500);
+
+  private static final String CONFIGURATION_FILE = ".watch-configuration";
+
+  private final Path watchDirectory;
+  private final Path outputDirectory;
+  private final String parseTask;
+  private final TaskParameters taskParameters;
+  private final Duration settleDelay;
+  private final WatchService watchService;
+  private final ScheduledExecutorService debouncer;
+  private final ExecutorService workers;
+  private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+  private final Map<Path, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+  private final Set<Path> inFlight = ConcurrentHashMap.newKeySet();
+  private volatile boolean closed;
+
+  private DirectoryWatcher(Path watchDirectory, Path outputDirectory, String parseTask,
+      TaskParameters taskParameters, int workerCount, Duration settleDelay,
+      WatchService watchService) {
+    this.watchDirectory = watchDirectory;
+    this.outputDirectory = outputDirectory;
+    this.parseTask = parseTask;
+    this.taskParameters = taskParameters;
+    this.settleDelay = settleDelay;
+    this.watchService = watchService;
+    this.debouncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "watch-debouncer");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    AtomicInteger workerNumber = new AtomicInteger();
+    this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+      Thread thread = new Thread(runnable, "watch-worker-" + workerNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Entry point for {@code --watch}. Takes the directory to watch followed by
+   * {@code -t <task>}, {@code -o <output directory>} and optionally {@code -c <chars>},
+   * {@code -p <phrase>}, {@code --case <mode>}, {@code --workers <count>} and
+   * {@code --settle-ms <milliseconds>}, then watches the directory until the process is stopped.
+   *
+   * @param args the directory to watch followed by the watch options
+   */
+  static void start(String[] args) {
+    DirectoryWatcher watcher;
+
+    try {
+      if (args.length == 0 || args[0].startsWith("-")) {
+        throw new IllegalArgumentException("--watch requires a directory");
+      }
+
+      Path watchDirectory = Path.of(args[0]);
+      Path outputDirectory = null;
+      String parseTask = null;
+      String characterClass = null;
+      String phrase = null;
+      String caseMode = null;
+      int workerCount = Runtime.getRuntime().availableProcessors();
+      Duration settleDelay = DEFAULT_SETTLE_DELAY;
+
+      for (int i = 1; i < args.length; i++) {
+        switch (args[i]) {
+          case "-t", "--task" -> parseTask = CommandLineParser.requireValue(args, i++);
+          case "-c", "--chars" -> characterClass = CommandLineParser.requireValue(args, i++);
+          case "-p", "--phrase" -> phrase = CommandLineParser.requireValue(args, i++);
+          case "--case" -> caseMode = CommandLineParser.requireValue(args, i++);
+          case "-o", "--out-dir" ->
+              outputDirectory = Path.of(CommandLineParser.requireValue(args, i++));
+          case "--workers" ->
+              workerCount = parsePositive(CommandLineParser.requireValue(args, i++));
+          case "--settle-ms" -> settleDelay = Duration.ofMillis(
+              parsePositive(CommandLineParser.requireValue(args, i++)));
+          default -> throw new IllegalArgumentException("Unrecognised argument: " + args[i]);
+        }
+      }
+
+      if (parseTask == null) {
+        throw new IllegalArgumentException("ParseTask is required");
+      }
+      if (outputDirectory == null) {
+        throw new IllegalArgumentException("Output directory is required");
+      }
+
+      watcher = open(watchDirectory, outputDirectory, parseTask,
+          ArgumentValidator.validateTaskParameters(characterClass, phrase, caseMode), workerCount,
+          settleDelay);
+    } catch (IllegalArgumentException e) {
+      Usage.showUsage(e.getMessage());
+      return;
+    } catch (IOException e) {
+      Usage.showUsage("Unable to watch the directory: " + e.getMessage());
+      return;
+    }
+
+    Runtime.getRuntime().addShutdownHook(new Thread(watcher::close, "watch-shutdown"));
+    try {
+      watcher.watch();
+    } finally {
+      watcher.close();
+    }
+  }
+
+  /**
+   * Creates a watcher for the directory, validating the task and creating the output directory.
+   * Outputs produced by a previous watcher with a different task or different parameters are
+   * marked out of date.
+   *
+   * @param watchDirectory  the directory tree to watch
+   * @param outputDirectory the directory to mirror the outputs into, outside the watched tree
+   * @param parseTask       the task to run on each file
+   * @param taskParameters  the parameters of tasks taking them, such as a character class
+   * @param workerCount     the number of files to process at once
+   * @param settleDelay     how long a file must go unmodified before it is processed
+   * @return the watcher, ready to {@link #watch()}
+   * @throws IOException              if the output directory cannot be created or updated, or the
+   *                                  watch service cannot be opened
+   * @throws IllegalArgumentException if the task, its parameters or either directory is invalid
+   */
+  static DirectoryWatcher open(Path watchDirectory, Path outputDirectory, String parseTask,
+      TaskParameters taskParameters, int workerCount, Duration settleDelay) throws IOException {
+    String taskName = ArgumentValidator.validateTaskName(parseTask);
+    // Compiled once up front, so that a missing parameter fails now rather than for every file
+    TaskPipeline.compile(taskName, taskParameters);
+
+    Path watched = watchDirectory.toAbsolutePath().normalize();
+    Path output = outputDirectory.toAbsolutePath().normalize();
+    if (!Files.isDirectory(watched)) {
+      throw new IllegalArgumentException("Watch directory does not exist: " + watchDirectory);
+    }
+    // Outputs written inside the watched tree would be picked up and processed in turn
+    if (output.startsWith(watched)) {
+      throw new IllegalArgumentException("Output directory must be outside the watched directory");
+    }
+
+    Files.createDirectories(output);
+    recordConfiguration(output, configuration(taskName, taskParameters));
+    return new DirectoryWatcher(watched, output, parseTask, taskParameters, workerCount,
+        settleDelay, watched.getFileSystem().newWatchService());
+  }
+
+  /**
+   * Scans the tree for files that have changed since they were last processed, then processes
+   * files as they are created or modified until the watcher is closed.
+   */
+  void watch() {
+    log.info("Watching {} for files to process into {}", watchDirectory, outputDirectory);
+    registerTree(watchDirectory);
+
+    try {
+      while (true) {
+        WatchKey key = watchService.take();
+        Path directory = directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+          handle(directory, event);
+        }
+        if (!key.reset()) {
+          directories.remove(key);
+        }
+      }
+    } catch (ClosedWatchServiceException e) {
+      log.info("Watch stopped");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Stops watching for changes and waits for the files already being processed to complete.
+   * Files waiting for their writes to settle are not processed.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+
+    debouncer.shutdownNow();
+    workers.shutdown();
+    try {
+      watchService.close();
+      if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+        log.warn("Files still being processed after one minute, stopping anyway");
+        workers.shutdownNow();
+      }
+    } catch (IOException e) {
+      log.warn("Failed to close the watch service", e);
+    } catch (InterruptedException e) {
+      workers.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void handle(Path directory, WatchEvent<?> event) {
+    if (event.kind() == OVERFLOW) {
+      // Events were dropped, so rescan rather than miss changes
+      log.warn("Watch events overflowed, rescanning {}", watchDirectory);
+      registerTree(watchDirectory);
+      return;
+    }
+    if (directory == null) {
+      return;
+    }
+
+    Path path = directory.resolve((Path) event.context());
+    if (isHidden(path)) {
+      return;
+    }
+
+    if (event.kind() == ENTRY_DELETE) {
+      removeOutput(path);
+    } else if (Files.isDirectory(path)) {
+      // Files copied in with a new directory may be written before it is registered
+      if (event.kind() == ENTRY_CREATE) {
+        registerTree(path);
+      }
+    } else if (Files.isRegularFile(path)) {
+      schedule(path, settleDelay.toMillis());
+    }
+  }
+
+  /**
+   * Registers the directory and its subdirectories with the watch service and schedules every
+   * file in them, skipping the files that are up to date when they settle.
+   *
+   * @param root the directory to register
+   */
+  private void registerTree(Path root) {
+    try (Stream<Path> paths = Files.walk(root)) {
+      paths.filter(path -> path.equals(root) || !isHidden(path)).forEach(path -> {
+        if (Files.isDirectory(path)) {
+          register(path);
+        } else if (Files.isRegularFile(path)) {
+          schedule(path, settleDelay.toMillis());
+        }
+      });
+    } catch (IOException | RuntimeException e) {
+      log.warn("Failed to scan {}", root, e);
+    }
+  }
+
+  private void register(Path directory) {
+    try {
+      WatchKey key = directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+      directories.put(key, directory);
+    } catch (ClosedWatchServiceException e) {
+      // Closed while scanning
+    } catch (IOException e) {
+      log.warn("Failed to watch {}", directory, e);
+    }
+  }
+
+  /**
+   * Schedules the file to be checked after the delay, replacing any check already scheduled so
+   * that a burst of writes results in a single check.
+   *
+   * @param file        the file to check
+   * @param delayMillis the delay before checking
+   */
+  private void schedule(Path file, long delayMillis) {
+    pending.compute(file, (path, scheduled) -> {
+      if (scheduled != null) {
+        scheduled.cancel(false);
+      }
+      try {
+        return debouncer.schedule(() -> settled(path), delayMillis, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        return null; // Closed
+      }
+    });
+  }
+
+  /**
+   * Submits the file for processing if its writes have settled and its output is out of date.
+   * Runs on the debouncer thread.
+   *
+   * @param file the file to check
+   */
+  private void settled(Path file) {
+    pending.remove(file);
+
+    try {
+      FileTime modified = Files.getLastModifiedTime(file);
+      long sinceModified = System.currentTimeMillis() - modified.toMillis();
+      if (sinceModified < settleDelay.toMillis()) {
+        schedule(file, settleDelay.toMillis() - sinceModified);
+        return;
+      }
+
+      Path output = outputFor(file);
+      if (Files.exists(output) && Files.getLastModifiedTime(output).equals(modified)) {
+        log.debug("Skipping {} as its output is up to date", file);
+        return;
+      }
+    } catch (IOException e) {
+      // Deleted before it settled
+      log.debug("Skipping {} as it can no longer be read", file, e);
+      return;
+    }
+
+    // Modified again while being processed, so check again once the current run completes
+    if (!inFlight.add(file)) {
+      schedule(file, settleDelay.toMillis());
+      return;
+    }
+
+    try {
+      workers.execute(() -> process(file));
+    } catch (RejectedExecutionException e) {
+      inFlight.remove(file); // Closed
+    }
+  }
+
+  /**
+   * Processes the file into a temporary file beside its output, stamps it with the modification
+   * time of the input it was produced from, then moves it into place.
+   *
+   * @param file the file to process
+   */
+  private void process(Path file) {
+    Path output = outputFor(file);
+    Path temporary = output.resolveSibling("." + output.getFileName() + ".tmp");
+
+    try {
+      // Captured before reading, so that a write made during processing is picked up again
+      FileTime modified = Files.getLastModifiedTime(file);
+      Files.createDirectories(output.getParent());
+      Files.deleteIfExists(temporary);
+
+      ParseContext parseContext = ParseContext.builder()
+          .withParseTask(parseTask)
+          .withTaskParameters(taskParameters)
+          .withInputFile(file.toString())
+          .build();
+      try (FileSink sink = FileSink.open(temporary)) {
+        CoreProcessor.process(parseContext, sink);
+      }
+
+      Files.setLastModifiedTime(temporary, modified);
+      Files.move(temporary, output,
+          StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      log.info("Processed {} into {}", file, output);
+    } catch (IOException | RuntimeException e) {
+      log.error("Failed to process {}", file, e);
+    } finally {
+      inFlight.remove(file);
+      try {
+        Files.deleteIfExists(temporary);
+      } catch (IOException e) {
+        log.warn("Failed to remove temporary file {}", temporary, e);
+      }
+    }
+  }
+
+  private void removeOutput(Path file) {
+    ScheduledFuture<?> scheduled = pending.remove(file);
+    if (scheduled != null) {
+      scheduled.cancel(false);
+    }
+
+    Path output = outputFor(file);
+    try {
+      if (Files.deleteIfExists(output)) {
+        log.info("Removed {} as {} was deleted", output, file);
+      }
+    } catch (DirectoryNotEmptyException e) {
+      log.debug("Leaving output directory {} as it is not empty", output);
+    } catch (IOException e) {
+      log.warn("Failed to remove {}", output, e);
+    }
+  }
+
+  /**
+   * Records the configuration the outputs are produced with. If the outputs were produced with
+   * another configuration, or it is unknown which, every existing output is first stamped with
+   * the epoch so that the up to date check processes its input again. The configuration is only
+   * recorded once every output is stamped, so a watcher stopped part way through stamps them again
+   * on its next start.
+   *
+   * @param output        the output directory
+   * @param configuration the configuration of this watcher
+   * @throws IOException if the outputs cannot be stamped or the configuration cannot be written
+   */
+  private static void recordConfiguration(Path output, String configuration) throws IOException {
+    Path recorded = output.resolve(CONFIGURATION_FILE);
+    if (Files.exists(recorded) && Files.readString(recorded).equals(configuration)) {
+      return;
+    }
+
+    List<Path> outputs;
+    try (Stream<Path> paths = Files.walk(output)) {
+      outputs = paths.filter(path -> Files.isRegularFile(path) && !isHidden(path)).toList();
+    }
+    for (Path path : outputs) {
+      Files.setLastModifiedTime(path, FileTime.fromMillis(0));
+    }
+
+    Path temporary = output.resolve(CONFIGURATION_FILE + ".tmp");
+    Files.writeString(temporary, configuration);
+    Files.move(temporary, recorded,
+        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private static String configuration(String taskName, TaskParameters taskParameters) {
+    return "task=" + taskName
+        + "\nchars=" + taskParameters.characterClass()
+        + "\nphrase=" + taskParameters.phrase()
+        + "\ncase=" + taskParameters.caseMode()
+        + "\n";
+  }
+
+  private Path outputFor(Path file) {
+    return outputDirectory.resolve(watchDirectory.relativize(file));
+  }
+
+  private static boolean isHidden(Path path) {
+    return path.getFileName().toString().startsWith(".");
+  }
+
+  private static int parsePositive(String value) {
+    try {
+      int parsed = Integer.parseInt(value);
+      if (parsed > 0) {
+        return parsed;
+      }
+    } catch (NumberFormatException e) {
+      // Reported below
+    }
+    throw new IllegalArgumentException("Expected a positive number but got: " + value);
+  }
+}
@@ -3,24 +3,76 @@ package com.mcintosh.iain.cli;
 import com.mcintosh.iain.core.CoreProcessor;
 import com.mcintosh.iain.core.task.ParseContext;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 public class Main {
 
+  /**
+   * Exit code of an invocation whose task failed, such as on an unreadable input file.
+   */
+  static final int EXIT_FAILURE = 1;
+
+  /**
+   * Exit code of an invocation with invalid arguments, after the usage text is shown.
+   */
+  static final int EXIT_USAGE = 64;
+
   public static void main(String[] args) {
-    // Parse, validate and process the provided CLI arguments
-    ParseContext parseContext = CommandLineParser.parse(args);
-
-    /*
-    For demonstration purposes I show a usage text if the ParseContext can not be created.
-    To prevent polluting the console with exceptions, the ParseContext is null in such cases.
-    Here we only continue to call the core processing logic if a ParseContext exists.
-     */
-    if (parseContext != null) {
-      try {
-        CoreProcessor.process(parseContext);
-      } catch (IOException e) {
-        Usage.showUsage(e.getMessage());
+    // The daemon, its client and the watch mode take their own options ahead of any task options
+    if (args.length > 0 && args[0].equals("--daemon")) {
+      DaemonServer.start(Arrays.copyOfRange(args, 1, args.length));
+      return;
+    }
+    if (args.length > 0 && args[0].equals("--client")) {
+      int exitCode = DaemonClient.start(Arrays.copyOfRange(args, 1, args.length));
+      if (exitCode != 0) {
+        System.exit(exitCode);
       }
+      return;
+    }
+    if (args.length > 0 && args[0].equals("--watch")) {
+      DirectoryWatcher.start(Arrays.copyOfRange(args, 1, args.length));
+      return;
+    }
+
+    int exitCode = run(args, null);
+    if (exitCode != 0) {
+      System.exit(exitCode);
+    }
+  }
+
+  /**
+   * Parses the arguments and runs the task, as a single invocation of the CLI. The daemon calls
+   * this for each request with the working directory of the client.
+   *
+   * @param args             the command-line arguments
+   * @param workingDirectory the directory to resolve relative file paths against, may be null
+   * @return 0 on success or when help was shown, {@link #EXIT_USAGE} if the arguments are
+   *         invalid, or {@link #EXIT_FAILURE} if the task failed
+   */
+  static int run(String[] args, Path workingDirectory) {
+    // Parse, validate and process the provided CLI arguments
+    ParseContext parseContext;
+    try {
+      parseContext = CommandLineParser.parseArgs(args, workingDirectory);
+    } catch (IllegalArgumentException e) {
+      // For demonstration purposes a usage text is shown rather than the exception
+      Usage.showUsage(e.getMessage());
+      return EXIT_USAGE;
+    }
+
+    // The ParseContext is null when only the help was requested
+    if (parseContext == null) {
+      return 0;
+    }
+
+    try {
+      CoreProcessor.process(parseContext);
+      return 0;
+    } catch (IOException e) {
+      Usage.showUsage(e.getMessage());
+      return EXIT_FAILURE;
     }
   }
 }
@@ -0,0 +1,58 @@
+package com.mcintosh.iain.cli;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream that writes to a target chosen per thread, falling back to a default stream.
+ * <p>
+ * The daemon installs one of these behind {@link System#out} and {@link System#err}, so that the
+ * console output of each request, including usage text and log lines, is sent back to the client
+ * that made it while requests run concurrently.
+ * </p>
+ */
+final class ThreadRoutedOutputStream extends OutputStream {
+
+  private final OutputStream fallback;
+  private final ThreadLocal<OutputStream> target = new ThreadLocal<>();
+
+  ThreadRoutedOutputStream(OutputStream fallback) {
+    this.fallback = fallback;
+  }
+
+  /**
+   * Sends output written by the current thread to the given stream until {@link #clear()}.
+   *
+   * @param out the stream to write to
+   */
+  void route(OutputStream out) {
+    target.set(out);
+  }
+
+  /**
+   * Sends output written by the current thread back to the fallback stream.
+   */
+  void clear() {
+    target.remove();
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    current().write(b);
+  }
+
+  @Override
+  public void write(byte[] bytes, int offset, int length) throws IOException {
+    current().write(bytes, offset, length);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    current().flush();
+  }
+
+  private OutputStream current() {
+    OutputStream out = target.get();
+    return out != null ? out : fallback;
+  }
+}
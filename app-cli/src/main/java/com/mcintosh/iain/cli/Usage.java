@@ -1,5 +1,7 @@
 package com.mcintosh.iain.cli;
 
+import com.mcintosh.iain.core.task.strategy.ParseTaskRegistry;
+
 /**
  * Utility class for displaying usage instructions in the console.
  */
@@ -15,13 +17,33 @@ public class Usage {
   private static final String USAGE_TEXT = """
         %s%n
         Usage: java -jar <path to jar> [options]
+               java -jar <path to jar> --daemon [--socket <path>] [--idle-timeout <seconds>]
+               java -jar <path to jar> --client [--socket <path>] [options]
+               java -jar <path to jar> --watch <dir> -t <task> [-c <chars>] [-p <phrase>] [--case <mode>] -o <dir> [--workers <n>] [--settle-ms <ms>]
         
         Options:
-          -i, --in-file             Input text file. Required. Absolute path
-          -o, --out-file            Output file. Optional. Prints to console if not provided
-          -d, --out-dest            Output target. Optional. Accepted values: console (default), file
-          -t, --task                Task to perform. Required. Accepted values: remove-vowels, count-consonants, count-slow-bike
+          -i, --in-file             Input text file. Required. Absolute path, or - for standard input
+          -o, --out-file            Output file. Optional. Prints to console if not provided or -
+          -d, --out-dest            Output target. Optional. Accepted values: console (default), file, null
+          -t, --task                Task to perform. Required. Accepted values: %s
+                                    Separate tasks with commas to run each over the output of the last
+          -c, --chars               Character class of remove-chars and count-chars. Characters, ranges (a-z),
+                                    Unicode properties (\\p{Greek}) and named classes ([:vowels:])
+          -p, --phrase              Phrase of count-phrase
+          --case                    Case mode of remove-chars, count-chars and count-phrase. Optional. Accepted values: insensitive (default), sensitive
           -h, --help                Show this help message
+        
+        Daemon:
+          --daemon                  Keep a warm JVM running tasks sent by --client, until idle
+          --client                  Run the task in the daemon, streaming back its output
+          -s, --socket              Daemon socket. Optional. Defaults to a per-user file in the temp directory
+          --idle-timeout            Seconds without a request before the daemon exits. Optional. Defaults to 900
+        
+        Watch:
+          --watch                   Process files created or modified under a directory, until stopped
+          -o, --out-dir             Output directory, mirroring the watched directory. Required
+          --workers                 Files processed at once. Optional. Defaults to the number of processors
+          --settle-ms               Milliseconds a file must go unmodified before it is processed. Optional. Defaults to 500
         """;
 
   /**
@@ -37,6 +59,6 @@ public class Usage {
    * @param message the custom message to display at the top of the usage instructions
    */
   public static void showUsage(String message) {
-    System.out.printf((USAGE_TEXT), message);
+    System.out.printf((USAGE_TEXT), message, String.join(", ", ParseTaskRegistry.taskNames()));
   }
 }
@@ -5,8 +5,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.mcintosh.iain.core.task.ParseContext;
 import com.mcintosh.iain.core.task.enums.OutputTarget;
 import com.mcintosh.iain.core.task.enums.ParseTaskType;
+import com.mcintosh.iain.core.task.strategy.TaskPipeline;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.nio.file.Path;
 import org.junit.jupiter.api.Test;
 
 class CommandLineParserTest {
@@ -60,6 +62,82 @@ class CommandLineParserTest {
     assertThat(context.outputTarget()).isEqualTo(OutputTarget.CONSOLE);
   }
 
+  @Test
+  void testParse_pipelineTask() {
+    String[] args = new String[]{
+        "-t", "Remove-Vowels, count-slow-bike",
+        "-i", "input.txt"
+    };
+
+    ParseContext context = CommandLineParser.parse(args);
+    assertThat(context).isNotNull();
+    assertThat(context.parseTaskType()).isNull();
+    assertThat(context.taskName()).isEqualTo("remove-vowels,count-slow-bike");
+    assertThat(context.parseTask()).isInstanceOf(TaskPipeline.class);
+  }
+
+  @Test
+  void testParse_characterClass() {
+    String[] args = new String[]{
+        "-t", "remove-chars",
+        "--chars", "[:vowels:]\\p{Greek}",
+        "-i", "input.txt"
+    };
+
+    ParseContext context = CommandLineParser.parse(args);
+    assertThat(context).isNotNull();
+    assertThat(context.taskName()).isEqualTo("remove-chars");
+    assertThat(context.parseTask().execute("Bike ποδήλατο")).isEqualTo("Bk ");
+  }
+
+  @Test
+  void testParse_phraseAndCaseMode() {
+    String[] args = new String[]{
+        "-t", "count-phrase",
+        "-p", "fast car",
+        "--case", "sensitive",
+        "-i", "input.txt"
+    };
+
+    ParseContext context = CommandLineParser.parse(args);
+    assertThat(context).isNotNull();
+    assertThat(context.taskName()).isEqualTo("count-phrase");
+    assertThat(context.parseTask().execute("fast car Fast car fast car")).isEqualTo("2");
+  }
+
+  @Test
+  void testParse_workingDirectory_resolvesRelativeFiles() {
+    Path workingDirectory = Path.of("").toAbsolutePath();
+    String[] args = new String[]{
+        "-t", "remove-vowels",
+        "-i", "input.txt",
+        "-o", "output.txt",
+        "-d", "file"
+    };
+
+    ParseContext context = CommandLineParser.parse(args, workingDirectory);
+    assertThat(context).isNotNull();
+    assertThat(context.inputFile()).isEqualTo(workingDirectory.resolve("input.txt"));
+    assertThat(context.outputFile()).isEqualTo(workingDirectory.resolve("output.txt"));
+  }
+
+  @Test
+  void testParse_dashReadsStandardInputAndWritesStandardOutput() {
+    String[] args = new String[]{
+        "-t", "count-slow-bike",
+        "-i", "-",
+        "-o", "-",
+        "-d", "file"
+    };
+
+    ParseContext context = CommandLineParser.parse(args);
+    assertThat(context).isNotNull();
+    assertThat(context.inputChannel()).isNotNull();
+    assertThat(context.inputFile()).isNull();
+    assertThat(context.outputFile()).isNull();
+    assertThat(context.outputTarget()).isEqualTo(OutputTarget.CONSOLE);
+  }
+
   // help is displayed tests
 
   @Test
@@ -138,6 +216,31 @@ class CommandLineParserTest {
     }
   }
 
+  @Test
+  void testParse_standardInputForDaemon() {
+    String[] args = new String[]{
+        "-t", "count-slow-bike",
+        "-i", "-"
+    };
+
+    // Capture System.out to test the message displayed to the end user
+    ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+    PrintStream originalOut = System.out;
+    System.setOut(new PrintStream(outContent));
+
+    try {
+      ParseContext context = CommandLineParser.parse(args, Path.of("").toAbsolutePath());
+
+      // Verify what was printed
+      assertThat(context).isNull();
+      String output = outContent.toString();
+      assertThat(output).contains("Standard input is not supported by the daemon");
+    } finally {
+      // Restore original System.out
+      System.setOut(originalOut);
+    }
+  }
+
   @Test
   void testParse_helpIsDisplayedWithDefaultMessage() {
     String[] args = new String[]{
@@ -0,0 +1,127 @@
+package com.mcintosh.iain.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DaemonServerTest {
+
+  @TempDir
+  Path tempDir;
+
+  private DaemonServer daemon;
+  private Thread serving;
+
+  @AfterEach
+  void stopDaemon() throws Exception {
+    if (daemon != null) {
+      daemon.close();
+      serving.join(5000);
+    }
+  }
+
+  @Test
+  void run_resolvesRelativePathsAgainstClientDirectory() throws Exception {
+    Path socket = startDaemon(Duration.ofMinutes(1));
+    Files.writeString(tempDir.resolve("input.txt"), "a slow bike and another slow bike");
+    ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+    ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+
+    int exitCode = DaemonClient.run(socket, tempDir,
+        new String[] {"-t", "count-slow-bike", "-i", "input.txt"}, stdout, stderr);
+
+    assertThat(exitCode).isZero();
+    assertThat(stdout.toString(StandardCharsets.UTF_8).trim()).isEqualTo("2");
+    assertThat(stderr.toString(StandardCharsets.UTF_8)).contains("Task processing initiated");
+  }
+
+  @Test
+  void run_invalidArguments_returnsUsageAsDirectInvocationWould() throws Exception {
+    Path socket = startDaemon(Duration.ofMinutes(1));
+    ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+
+    int exitCode = DaemonClient.run(socket, tempDir, new String[] {"-t", "remove-vowels"},
+        stdout, new ByteArrayOutputStream());
+
+    assertThat(exitCode).isEqualTo(Main.EXIT_USAGE);
+    assertThat(stdout.toString(StandardCharsets.UTF_8)).contains("Input file is required");
+  }
+
+  @Test
+  void serve_otherProtocolVersion_rejectsRequest() throws Exception {
+    Path socket = startDaemon(Duration.ofMinutes(1));
+
+    try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+      channel.connect(UnixDomainSocketAddress.of(socket));
+      DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel));
+      out.writeInt(DaemonProtocol.MAGIC);
+      out.writeInt(DaemonProtocol.VERSION + 1);
+      out.flush();
+
+      DataInputStream in = new DataInputStream(Channels.newInputStream(channel));
+      assertThat(DaemonProtocol.readHeader(in)).isEqualTo(DaemonProtocol.VERSION);
+      assertThat(in.readByte()).isEqualTo(DaemonProtocol.STDERR);
+      in.skipNBytes(in.readInt());
+      assertThat(in.readByte()).isEqualTo(DaemonProtocol.EXIT);
+      assertThat(in.readInt()).isEqualTo(DaemonProtocol.EXIT_PROTOCOL_ERROR);
+    }
+  }
+
+  @Test
+  void serve_idleTimeout_shutsDownAndRemovesSocket() throws Exception {
+    Path socket = startDaemon(Duration.ofMillis(200));
+
+    serving.join(5000);
+
+    assertThat(serving.isAlive()).isFalse();
+    assertThat(socket).doesNotExist();
+    assertThatThrownBy(() -> DaemonClient.run(socket, tempDir, new String[0],
+        new ByteArrayOutputStream(), new ByteArrayOutputStream()))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void serve_closedBeforeServing_returnsAndRestoresOutput() throws Exception {
+    PrintStream out = System.out;
+    PrintStream err = System.err;
+    DaemonServer closed = DaemonServer.bind(tempDir.resolve("closed.sock"), Duration.ofMinutes(1));
+    closed.close();
+
+    closed.serve();
+
+    assertThat(System.out).isSameAs(out);
+    assertThat(System.err).isSameAs(err);
+  }
+
+  @Test
+  void bind_daemonAlreadyListening_fails() throws Exception {
+    Path socket = startDaemon(Duration.ofMinutes(1));
+
+    assertThatThrownBy(() -> DaemonServer.bind(socket, Duration.ofMinutes(1)))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("already listening");
+  }
+
+  private Path startDaemon(Duration idleTimeout) throws IOException {
+    Path socket = tempDir.resolve("daemon.sock");
+    daemon = DaemonServer.bind(socket, idleTimeout);
+    serving = Thread.ofPlatform().name("daemon-test").start(daemon::serve);
+    return socket;
+  }
+}
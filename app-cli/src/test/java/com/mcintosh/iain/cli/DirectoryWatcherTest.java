@@ -0,0 +1,179 @@
+package com.mcintosh.iain.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mcintosh.iain.core.task.strategy.TaskParameters;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DirectoryWatcherTest {
+
+  @TempDir
+  Path tempDir;
+
+  private Path watchDirectory;
+  private Path outputDirectory;
+  private DirectoryWatcher watcher;
+  private Thread watching;
+
+  @BeforeEach
+  void createDirectories() throws IOException {
+    watchDirectory = Files.createDirectory(tempDir.resolve("incoming"));
+    outputDirectory = tempDir.resolve("processed");
+  }
+
+  @AfterEach
+  void stopWatcher() throws Exception {
+    if (watcher != null) {
+      watcher.close();
+      watching.join(5000);
+      watcher = null;
+    }
+  }
+
+  @Test
+  void watch_existingFile_isProcessedOnStartup() throws Exception {
+    Files.writeString(watchDirectory.resolve("input.txt"), "one slow bike");
+
+    startWatcher();
+
+    Path output = outputDirectory.resolve("input.txt");
+    awaitCondition(() -> Files.exists(output));
+    assertThat(contentOf(output)).isEqualTo("1");
+  }
+
+  @Test
+  void watch_newFileInNewDirectory_isProcessedIntoMirroredPath() throws Exception {
+    startWatcher();
+
+    Path nested = Files.createDirectories(watchDirectory.resolve("a/b"));
+    Files.writeString(nested.resolve("input.txt"), "a slow bike and another slow bike");
+
+    Path output = outputDirectory.resolve("a/b/input.txt");
+    awaitCondition(() -> Files.exists(output));
+    assertThat(contentOf(output)).isEqualTo("2");
+  }
+
+  @Test
+  void watch_modifiedFile_replacesOutput() throws Exception {
+    Path input = Files.writeString(watchDirectory.resolve("input.txt"), "one slow bike");
+    startWatcher();
+    Path output = outputDirectory.resolve("input.txt");
+    awaitCondition(() -> Files.exists(output));
+
+    Files.writeString(input, "slow bike, slow bike, slow bike");
+
+    awaitCondition(() -> contentOf(output).equals("3"));
+    assertThat(Files.getLastModifiedTime(output)).isEqualTo(Files.getLastModifiedTime(input));
+  }
+
+  @Test
+  void watch_upToDateOutput_isNotProcessedAgain() throws Exception {
+    Path input = Files.writeString(watchDirectory.resolve("input.txt"), "one slow bike");
+    Path output = outputDirectory.resolve("input.txt");
+    startWatcher();
+    awaitCondition(() -> Files.exists(output));
+    stopWatcher();
+
+    Files.writeString(output, "previous run");
+    Files.setLastModifiedTime(output, Files.getLastModifiedTime(input));
+    Files.writeString(watchDirectory.resolve("other.txt"), "slow bike");
+
+    startWatcher();
+
+    awaitCondition(() -> Files.exists(outputDirectory.resolve("other.txt")));
+    assertThat(output).hasContent("previous run");
+  }
+
+  @Test
+  void watch_restartedWithDifferentTask_processesOutputsAgain() throws Exception {
+    Files.writeString(watchDirectory.resolve("input.txt"), "one slow bike");
+    Path output = outputDirectory.resolve("input.txt");
+    startWatcher();
+    awaitCondition(() -> Files.exists(output));
+    stopWatcher();
+
+    startWatcher("remove-vowels");
+
+    awaitCondition(() -> contentOf(output).equals("n slw bk"));
+  }
+
+  @Test
+  void watch_outputWithoutRecordedConfiguration_isProcessedAgain() throws Exception {
+    Path input = Files.writeString(watchDirectory.resolve("input.txt"), "one slow bike");
+    Path output = Files.writeString(
+        Files.createDirectories(outputDirectory).resolve("input.txt"), "unknown run");
+    Files.setLastModifiedTime(output, Files.getLastModifiedTime(input));
+
+    startWatcher();
+
+    awaitCondition(() -> contentOf(output).equals("1"));
+  }
+
+  @Test
+  void watch_workerThreads_areDaemons() throws Exception {
+    Files.writeString(watchDirectory.resolve("input.txt"), "one slow bike");
+
+    startWatcher();
+
+    awaitCondition(() -> Files.exists(outputDirectory.resolve("input.txt")));
+    assertThat(Thread.getAllStackTraces().keySet())
+        .filteredOn(thread -> thread.getName().startsWith("watch-worker-"))
+        .isNotEmpty()
+        .allMatch(Thread::isDaemon);
+  }
+
+  @Test
+  void watch_deletedFile_removesOutput() throws Exception {
+    Path input = Files.writeString(watchDirectory.resolve("input.txt"), "one slow bike");
+    startWatcher();
+    Path output = outputDirectory.resolve("input.txt");
+    awaitCondition(() -> Files.exists(output));
+
+    Files.delete(input);
+
+    awaitCondition(() -> !Files.exists(output));
+  }
+
+  @Test
+  void open_outputInsideWatchedDirectory_fails() {
+    assertThatThrownBy(() -> DirectoryWatcher.open(watchDirectory, watchDirectory.resolve("out"),
+        "count-slow-bike", TaskParameters.NONE, 1, Duration.ofMillis(50)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("outside the watched directory");
+  }
+
+  private void startWatcher() throws IOException {
+    startWatcher("count-slow-bike");
+  }
+
+  private void startWatcher(String parseTask) throws IOException {
+    watcher = DirectoryWatcher.open(watchDirectory, outputDirectory, parseTask,
+        TaskParameters.NONE, 2, Duration.ofMillis(50));
+    watching = Thread.ofPlatform().name("watch-test").start(watcher::watch);
+  }
+
+  private static String contentOf(Path file) {
+    try {
+      return Files.readString(file).trim();
+    } catch (IOException e) {
+      return "";
+    }
+  }
+
+  private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (!condition.getAsBoolean()) {
+      assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+      Thread.sleep(20);
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.mcintosh.iain.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class AppReactiveApplication {
+
+  public static void main(String[] args) {
+    SpringApplication.run(AppReactiveApplication.class, args);
+  }
+
+}
@@ -0,0 +1,65 @@
+package com.mcintosh.iain.reactive.controller;
+
+import com.mcintosh.iain.reactive.service.ReactiveParseService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Controller running parse tasks over uploaded text.
+ * <p>
+ * Unlike the servlet application, the input is the request body itself rather than a file on
+ * the server. The body is streamed through the task and the output is streamed back in the
+ * response as it is produced.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * curl -N --data-binary @input.txt http://localhost:8081/parse/remove-vowels
+ * curl -N --data-binary @input.txt "http://localhost:8081/parse/remove-chars?chars=%5Cp%7BGreek%7D"
+ * curl -N --data-binary @input.txt "http://localhost:8081/parse/count-phrase?phrase=fast+car"
+ * }</pre>
+ * </p>
+ */
+@RestController
+@RequestMapping("/parse")
+public class ReactiveParseController {
+
+  private final ReactiveParseService parseService;
+
+  @Autowired
+  public ReactiveParseController(ReactiveParseService parseService) {
+    this.parseService = parseService;
+  }
+
+  /**
+   * Runs the parse task over the request body.
+   *
+   * @param parseTask the name of the parse task to run
+   * @param chars     the character class for tasks taking one, such as {@code remove-chars}
+   * @param phrase    the phrase for tasks taking one, such as {@code count-phrase}
+   * @param caseMode  the case mode of tasks taking parameters, {@code sensitive} or
+   *                  {@code insensitive}
+   * @param body      the text to process, encoded as UTF-8
+   * @param response  the response, used to allocate output buffers
+   * @return the task output
+   */
+  @PostMapping(path = "/{parseTask}", produces = MediaType.TEXT_PLAIN_VALUE + ";charset=UTF-8")
+  public Flux<DataBuffer> parse(@PathVariable String parseTask,
+      @RequestParam(required = false) String chars,
+      @RequestParam(required = false) String phrase,
+      @RequestParam(name = "case", required = false) String caseMode,
+      @RequestBody(required = false) Flux<DataBuffer> body, ServerHttpResponse response) {
+    return parseService.parse(parseTask, chars, phrase, caseMode, body,
+        response.bufferFactory());
+  }
+}
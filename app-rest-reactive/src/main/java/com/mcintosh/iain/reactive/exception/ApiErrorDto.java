@@ -0,0 +1,38 @@
+package com.mcintosh.iain.reactive.exception;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * DTO representing an API error response.
+ * <p>
+ * This DTO is returned to the client when a parse request is rejected before any output has been
+ * streamed. It contains a simple error message describing the problem.
+ * </p>
+ */
+public class ApiErrorDto implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  private String message;
+
+  public ApiErrorDto() {
+  }
+
+  public ApiErrorDto(String message) {
+    this.message = message;
+  }
+
+  public static ApiErrorDto fromException(Exception e) {
+    return new ApiErrorDto(e.getMessage());
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public void setMessage(String message) {
+    this.message = message;
+  }
+}
@@ -0,0 +1,37 @@
+package com.mcintosh.iain.reactive.exception;
+
+import java.nio.charset.CharacterCodingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Global exception handler for the reactive controllers.
+ * <p>
+ * Errors raised once the response has been committed cannot change the status code; in that case
+ * the connection is closed and the client sees a truncated response.
+ * </p>
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+  private static final Logger log = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  @ExceptionHandler(IllegalArgumentException.class)
+  public ApiErrorDto handleIllegalArgumentException(IllegalArgumentException ex) {
+    log.error("ApiException occurred: {}", ex.getMessage());
+
+    return ApiErrorDto.fromException(ex);
+  }
+
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  @ExceptionHandler(CharacterCodingException.class)
+  public ApiErrorDto handleCharacterCodingException(CharacterCodingException ex) {
+    log.error("Request body is not valid UTF-8: {}", ex.toString());
+
+    return new ApiErrorDto("Request body is not valid UTF-8");
+  }
+}
@@ -0,0 +1,112 @@
+package com.mcintosh.iain.reactive.service;
+
+import com.mcintosh.iain.core.output.MemorySink;
+import com.mcintosh.iain.core.task.strategy.ParseTask;
+import com.mcintosh.iain.core.task.strategy.TaskStream;
+import com.mcintosh.iain.core.util.TextChunkDecoder;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+/**
+ * Runs a single parse task over input arriving as a sequence of {@link DataBuffer}s.
+ * <p>
+ * Each buffer is decoded and passed through the task's {@link TaskStream} as soon as it arrives,
+ * and any output produced is handed back straight away as a new buffer. Nothing blocks: the
+ * work done per call is proportional to the size of the buffer passed in, and the bytes of a
+ * character split across two buffers are carried over to the next call.
+ * </p>
+ *
+ * <p>
+ * The output is identical to {@link com.mcintosh.iain.core.CoreProcessor} running the same task
+ * over the same bytes read from a file, including the trailing newline.
+ * </p>
+ *
+ * <p>
+ * A pipeline is stateful and must only be used for one request. It is not thread-safe, but
+ * Reactor guarantees that signals for a single subscription are never delivered concurrently.
+ * </p>
+ */
+class DataBufferTaskPipeline {
+
+  /**
+   * Number of input bytes decoded at a time.
+   */
+  static final int DECODE_BUFFER_SIZE = 16 * 1024;
+
+  private final DataBufferFactory bufferFactory;
+  private final MemorySink pending = new MemorySink();
+  private final TaskStream stream;
+  private final TextChunkDecoder decoder;
+  private final ByteBuffer bytes = ByteBuffer.allocate(DECODE_BUFFER_SIZE);
+
+  DataBufferTaskPipeline(ParseTask task, DataBufferFactory bufferFactory) {
+    this.bufferFactory = bufferFactory;
+    this.stream = task.openStream(pending);
+    this.decoder = new TextChunkDecoder(stream, DECODE_BUFFER_SIZE);
+  }
+
+  /**
+   * Passes the next buffer of input through the task. The input buffer is not released.
+   *
+   * @param input the next buffer of the request body
+   * @return the output produced by this buffer, or {@code null} if there is none yet
+   * @throws IOException if the input is not valid UTF-8
+   */
+  DataBuffer accept(DataBuffer input) throws IOException {
+    try (DataBuffer.ByteBufferIterator iterator = input.readableByteBuffers()) {
+      while (iterator.hasNext()) {
+        decode(iterator.next());
+      }
+    }
+
+    return drain();
+  }
+
+  /**
+   * Signals the end of the input, returning any remaining output.
+   *
+   * @return the final output of the task, never {@code null}
+   * @throws IOException if the input ended part way through a character
+   */
+  DataBuffer finish() throws IOException {
+    bytes.flip();
+    decoder.finish(bytes);
+    stream.finish();
+    pending.write("\n");
+
+    return drain();
+  }
+
+  /**
+   * Returns the number of input bytes decoded so far.
+   */
+  long bytesConsumed() {
+    return decoder.bytesConsumed();
+  }
+
+  private void decode(ByteBuffer input) throws IOException {
+    while (input.hasRemaining()) {
+      int length = Math.min(input.remaining(), bytes.remaining());
+      bytes.put(bytes.position(), input, input.position(), length);
+      bytes.position(bytes.position() + length);
+      input.position(input.position() + length);
+
+      bytes.flip();
+      decoder.decode(bytes);
+      bytes.compact();
+    }
+  }
+
+  private DataBuffer drain() {
+    String output = pending.contents();
+    if (output.isEmpty()) {
+      return null;
+    }
+
+    pending.clear();
+    return bufferFactory.wrap(output.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,92 @@
+package com.mcintosh.iain.reactive.service;
+
+import com.mcintosh.iain.core.task.strategy.ParseTask;
+import com.mcintosh.iain.core.task.strategy.TaskParameters;
+import com.mcintosh.iain.core.task.strategy.TaskPipeline;
+import com.mcintosh.iain.core.util.ArgumentValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service running parse tasks over request bodies without blocking.
+ * <p>
+ * The request body is consumed one buffer at a time and each buffer is pushed through the task as
+ * soon as it arrives, with any output emitted immediately. The output {@link Flux} only requests
+ * more input when the client has accepted the output produced so far, so a slow reader applies
+ * backpressure all the way to the uploader and no more than a few buffers are held per request.
+ * </p>
+ *
+ * <p>
+ * No threads are held while waiting for a slow client, so a handful of event loop threads can
+ * serve thousands of concurrent uploads. Processing a buffer is CPU-bound and bounded by its size,
+ * so it is done on the event loop thread that delivered it.
+ * </p>
+ */
+@Service
+public class ReactiveParseService {
+  private static final Logger log = LoggerFactory.getLogger(ReactiveParseService.class);
+
+  /**
+   * Validates the parse task name and returns the task output for the given request body.
+   *
+   * @param parseTask     the name of the parse task to run
+   * @param body          the request body to process
+   * @param bufferFactory the factory used to allocate output buffers
+   * @return the task output, emitted as it is produced
+   * @throws IllegalArgumentException if the parse task name is not valid
+   */
+  public Flux<DataBuffer> parse(String parseTask, Flux<DataBuffer> body,
+      DataBufferFactory bufferFactory) {
+    return parse(parseTask, null, null, null, body, bufferFactory);
+  }
+
+  /**
+   * Validates the parse task name and parameters and returns the task output for the given
+   * request body.
+   *
+   * @param parseTask      the name of the parse task to run
+   * @param characterClass the definition of the character class for tasks taking one (optional)
+   * @param phrase         the phrase for tasks taking one (optional)
+   * @param caseMode       the case mode of tasks taking parameters (optional)
+   * @param body           the request body to process
+   * @param bufferFactory  the factory used to allocate output buffers
+   * @return the task output, emitted as it is produced
+   * @throws IllegalArgumentException if the parse task name or a parameter is not valid
+   */
+  public Flux<DataBuffer> parse(String parseTask, String characterClass, String phrase,
+      String caseMode, Flux<DataBuffer> body, DataBufferFactory bufferFactory) {
+    String taskName = ArgumentValidator.validateTaskName(parseTask);
+    TaskParameters parameters =
+        ArgumentValidator.validateTaskParameters(characterClass, phrase, caseMode);
+    ParseTask task = TaskPipeline.compile(taskName, parameters);
+
+    // A new pipeline is created for every subscription, as the pipeline holds the task state
+    return Flux.defer(() -> {
+      DataBufferTaskPipeline pipeline = new DataBufferTaskPipeline(task, bufferFactory);
+
+      Flux<DataBuffer> output = body.handle((input, sink) -> {
+        try {
+          DataBuffer result = pipeline.accept(input);
+          if (result != null) {
+            sink.next(result);
+          }
+        } catch (Exception e) {
+          sink.error(e);
+        } finally {
+          DataBufferUtils.release(input);
+        }
+      });
+
+      return output
+          .concatWith(Mono.fromCallable(pipeline::finish))
+          .doOnComplete(() -> log.debug("Processed {} bytes with task {}",
+              pipeline.bytesConsumed(), taskName));
+    }).doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+  }
+}
@@ -0,0 +1,103 @@
+package com.mcintosh.iain.reactive.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mcintosh.iain.reactive.exception.ReactiveExceptionHandler;
+import com.mcintosh.iain.reactive.service.ReactiveParseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+class ReactiveParseControllerTest {
+
+  private WebTestClient webTestClient;
+
+  @BeforeEach
+  void setUp() {
+    webTestClient = WebTestClient
+        .bindToController(new ReactiveParseController(new ReactiveParseService()))
+        .controllerAdvice(new ReactiveExceptionHandler())
+        .build();
+  }
+
+  @Test
+  void testRemoveVowels_streamsResult() {
+    webTestClient.post()
+        .uri("/parse/remove-vowels")
+        .contentType(MediaType.TEXT_PLAIN)
+        .bodyValue("This is a test string\nslow bike!")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType("text/plain;charset=UTF-8")
+        .expectBody(String.class).isEqualTo("Ths s  tst strng\nslw bk!\n\n");
+  }
+
+  @Test
+  void testCountConsonants_returnsCounts() {
+    webTestClient.post()
+        .uri("/parse/count-consonants")
+        .contentType(MediaType.TEXT_PLAIN)
+        .bodyValue("bcb")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(String.class).value(body -> assertThat(body).contains("\"b\": 2"));
+  }
+
+  @Test
+  void testRemoveChars_characterClassParam_streamsResult() {
+    webTestClient.post()
+        .uri(uri -> uri.path("/parse/remove-chars").queryParam("chars", "{chars}")
+            .build("\\p{Greek}"))
+        .contentType(MediaType.TEXT_PLAIN)
+        .bodyValue("Bike ποδήλατο")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(String.class).isEqualTo("Bike \n\n");
+  }
+
+  @Test
+  void testCountPhrase_phraseAndCaseParams_returnsCount() {
+    webTestClient.post()
+        .uri("/parse/count-phrase?phrase={phrase}&case=sensitive", "fast car")
+        .contentType(MediaType.TEXT_PLAIN)
+        .bodyValue("fast car Fast car fast car")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(String.class).isEqualTo("2\n");
+  }
+
+  @Test
+  void testRemoveChars_missingCharacterClass_returnsBadRequest() {
+    webTestClient.post()
+        .uri("/parse/remove-chars")
+        .contentType(MediaType.TEXT_PLAIN)
+        .bodyValue("text")
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody().jsonPath("$.message")
+        .isEqualTo("A character class is required for task remove-chars");
+  }
+
+  @Test
+  void testInvalidParseTask_returnsBadRequest() {
+    webTestClient.post()
+        .uri("/parse/invalid")
+        .contentType(MediaType.TEXT_PLAIN)
+        .bodyValue("text")
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody().jsonPath("$.message").isEqualTo("Invalid parse task");
+  }
+
+  @Test
+  void testMalformedBody_returnsBadRequest() {
+    webTestClient.post()
+        .uri("/parse/remove-vowels")
+        .contentType(MediaType.TEXT_PLAIN)
+        .bodyValue(new byte[] {'a', (byte) 0xff})
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody().jsonPath("$.message").isEqualTo("Request body is not valid UTF-8");
+  }
+}
@@ -0,0 +1,101 @@
+package com.mcintosh.iain.reactive.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class ReactiveParseServiceTest {
+
+  private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+  private final ReactiveParseService service = new ReactiveParseService();
+
+  @Test
+  void parse_removeVowelsAcrossBuffers_matchesFileProcessing() {
+    // "é" and the CRLF are both split across buffer boundaries
+    byte[] input = "Héllo\r\nworld".getBytes(StandardCharsets.UTF_8);
+    Flux<DataBuffer> body = Flux.just(
+        Arrays.copyOfRange(input, 0, 2),
+        Arrays.copyOfRange(input, 2, 7),
+        Arrays.copyOfRange(input, 7, input.length)).map(bufferFactory::wrap);
+
+    String output = collect(service.parse("remove-vowels", body, bufferFactory));
+
+    assertThat(output).isEqualTo("Héll\nwrld\n\n");
+  }
+
+  @Test
+  void parse_countSlowBike_outputsResultOnlyAtEnd() {
+    Flux<DataBuffer> body = Flux.just("slow b", "ike slo", "w bike\n").map(this::buffer);
+
+    StepVerifier.create(service.parse("count-slow-bike", body, bufferFactory)
+            .map(this::toString))
+        .expectNext("2\n")
+        .verifyComplete();
+  }
+
+  @Test
+  void parse_emptyBody_outputsTrailingNewline() {
+    String output = collect(service.parse("remove-vowels", Flux.empty(), bufferFactory));
+
+    assertThat(output).isEqualTo("\n");
+  }
+
+  @Test
+  void parse_slowConsumer_onlyReadsInputOnDemand() {
+    AtomicInteger buffersRead = new AtomicInteger();
+    Flux<DataBuffer> body = Flux.range(0, 10_000)
+        .map(i -> buffer("some more text\n"))
+        .doOnNext(b -> buffersRead.incrementAndGet());
+
+    StepVerifier.create(service.parse("remove-vowels", body, bufferFactory), 2)
+        .expectNextCount(2)
+        .thenCancel()
+        .verify();
+
+    assertThat(buffersRead.get()).isLessThanOrEqualTo(2);
+  }
+
+  @Test
+  void parse_malformedInput_errors() {
+    Flux<DataBuffer> body = Flux.just(bufferFactory.wrap(new byte[] {'a', (byte) 0xff, 'b'}));
+
+    StepVerifier.create(service.parse("remove-vowels", body, bufferFactory))
+        .expectError(CharacterCodingException.class)
+        .verify();
+  }
+
+  @Test
+  void parse_invalidTask_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> service.parse("invalid", Flux.empty(), bufferFactory))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid parse task");
+  }
+
+  private DataBuffer buffer(String text) {
+    return bufferFactory.wrap(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private String toString(DataBuffer buffer) {
+    String text = buffer.toString(StandardCharsets.UTF_8);
+    DataBufferUtils.release(buffer);
+    return text;
+  }
+
+  private String collect(Flux<DataBuffer> output) {
+    return output.map(this::toString)
+        .collect(StringBuilder::new, StringBuilder::append)
+        .map(StringBuilder::toString)
+        .block();
+  }
+}
@@ -0,0 +1,39 @@
+#!/bin/sh
+#
+# Generates a CDS archive for the application from a training run that starts it and serves a
+# request for each task, so that the classes on the request path are archived along with those
+# loaded at startup. The archive is written when the application is stopped.
+#
+# Usage: cds-training.sh <extracted jar> <archive> <input file> [port]
+
+set -e
+
+if [ $# -lt 3 ]; then
+  sed -n 's/^# \{0,1\}//;7p' "$0"
+  exit 1
+fi
+
+JAR=$1
+ARCHIVE=$2
+INPUT=$(realpath "$3")
+PORT=${4:-8080}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+"$JAVA" -XX:ArchiveClassesAtExit="$ARCHIVE" -Dspring.aot.enabled=true \
+  -jar "$JAR" --server.port="$PORT" &
+PID=$!
+
+until curl -sf -o /dev/null "http://localhost:$PORT/actuator/health"; do
+  kill -0 "$PID"
+  sleep 1
+done
+
+for TASK in remove-vowels count-consonants count-slow-bike; do
+  curl -sf -o /dev/null -d inputFile="$INPUT" -d parseTask="$TASK" -d outputTarget=response \
+    "http://localhost:$PORT/parse"
+done
+
+# Stopping the application exits with the status of the signal, after writing the archive
+kill "$PID"
+wait "$PID" || true
+test -f "$ARCHIVE"
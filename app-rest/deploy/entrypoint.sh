@@ -4,4 +4,7 @@ set -e
 
 cd /opt/app/ais
 
-exec java -jar "$(ls *.jar)"
+# Start from the bean definitions generated at build time and the classes archived by the
+# training run. If the archive does not match, the JVM warns and starts without it
+exec java -XX:SharedArchiveFile=application/application.jsa -Dspring.aot.enabled=true \
+  -jar application/app.jar
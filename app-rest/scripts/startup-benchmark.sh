@@ -0,0 +1,92 @@
+#!/usr/bin/env bash
+#
+# Measures the time from launching the application until it reports healthy, and the latency of
+# the first task request after that, comparing a baseline jar against the current build with AOT
+# processing and with its CDS archives.
+#
+# Usage: startup-benchmark.sh <baseline-jar> [runs] [input-file] [task]
+#
+# The baseline jar is typically built from an earlier commit, e.g.
+#   git worktree add /tmp/baseline <commit>
+#   mvn -f /tmp/baseline/pom.xml -pl app-rest -am package -DskipTests
+#   app-rest/scripts/startup-benchmark.sh /tmp/baseline/app-rest/target/app-rest-1.0.0.jar
+
+set -eu
+
+if [ $# -lt 1 ]; then
+  sed -n 's/^# \{0,1\}//;7p' "$0"
+  exit 1
+fi
+
+MODULE_DIR=$(cd "$(dirname "$0")/.." && pwd)
+BASELINE_JAR=$1
+RUNS=${2:-5}
+INPUT=$(realpath "${3:-$MODULE_DIR/input.txt}")
+TASK=${4:-count-consonants}
+PORT=18080
+
+CURRENT_JAR="$MODULE_DIR/target/app-rest-1.0.0.jar"
+EXTRACTED_JAR="$MODULE_DIR/target/application/app-rest-1.0.0.jar"
+ARCHIVE="$MODULE_DIR/target/application/application.jsa"
+TRAINED_ARCHIVE="$MODULE_DIR/target/application/trained.jsa"
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+# Prints the milliseconds until the application is healthy, then those of the first request
+startup_millis() {
+  local start ready first pid
+  start=$(date +%s%N)
+  "$JAVA" "$@" --server.port="$PORT" > /dev/null 2>&1 &
+  pid=$!
+
+  until curl -sf -o /dev/null "http://localhost:$PORT/actuator/health"; do
+    sleep 0.02
+  done
+  ready=$(date +%s%N)
+  first=$(curl -sf -o /dev/null -w '%{time_total}' -d inputFile="$INPUT" -d parseTask="$TASK" \
+    -d outputTarget=response "http://localhost:$PORT/parse")
+
+  kill "$pid"
+  wait "$pid" || true
+  echo "$(( (ready - start) / 1000000 )) $(awk -v s="$first" 'BEGIN { printf "%d", s * 1000 }')"
+}
+
+# Runs a variant repeatedly, after one warm-up run to fill the file system cache
+measure() {
+  local label=$1
+  shift
+
+  startup_millis "$@" > /dev/null
+  for _ in $(seq "$RUNS"); do
+    startup_millis "$@"
+  done | awk -v label="$label" '
+    { ready[NR] = $1; first[NR] = $2 }
+    function median(values, n,    i, j, t) {
+      for (i = 2; i <= n; i++)
+        for (j = i; j > 1 && values[j - 1] > values[j]; j--) {
+          t = values[j]; values[j] = values[j - 1]; values[j - 1] = t
+        }
+      return values[int((n + 1) / 2)]
+    }
+    END { printf "%-32s ready median %6d ms   first request median %5d ms\n",
+          label, median(ready, NR), median(first, NR) }'
+}
+
+echo "Startup and first $TASK request on $INPUT, over $RUNS runs"
+measure "baseline" -jar "$BASELINE_JAR"
+measure "current" -jar "$CURRENT_JAR"
+
+if [ ! -f "$EXTRACTED_JAR" ]; then
+  echo "No extracted application found, build without -Dcds.skip=true to create it"
+  exit 0
+fi
+
+measure "current with AOT" -Dspring.aot.enabled=true -jar "$EXTRACTED_JAR"
+measure "current with AOT and CDS" -XX:SharedArchiveFile="$ARCHIVE" \
+  -Dspring.aot.enabled=true -jar "$EXTRACTED_JAR"
+
+# The archive generated for the Docker image, from a run that also serves requests
+rm -f "$TRAINED_ARCHIVE"
+"$MODULE_DIR/deploy/cds-training.sh" "$EXTRACTED_JAR" "$TRAINED_ARCHIVE" "$INPUT" "$PORT" \
+  > /dev/null 2>&1
+measure "current with AOT and trained CDS" -XX:SharedArchiveFile="$TRAINED_ARCHIVE" \
+  -Dspring.aot.enabled=true -jar "$EXTRACTED_JAR"
@@ -0,0 +1,40 @@
+package com.mcintosh.iain.rest.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration of the byte-weighted admission control applied to all parse tasks.
+ * <p>
+ * Each task is charged the size of its input file against a global budget of bytes in flight.
+ * </p>
+ */
+@ConfigurationProperties(prefix = "parse.admission")
+public class AdmissionProperties {
+
+  /**
+   * Total size of the input files that may be processed concurrently.
+   */
+  private DataSize maxBytesInFlight = DataSize.ofMegabytes(512);
+  /**
+   * Maximum time a task waits for budget to become available before it is rejected.
+   */
+  private Duration maxWait = Duration.ofSeconds(10);
+
+  public DataSize getMaxBytesInFlight() {
+    return maxBytesInFlight;
+  }
+
+  public void setMaxBytesInFlight(DataSize maxBytesInFlight) {
+    this.maxBytesInFlight = maxBytesInFlight;
+  }
+
+  public Duration getMaxWait() {
+    return maxWait;
+  }
+
+  public void setMaxWait(Duration maxWait) {
+    this.maxWait = maxWait;
+  }
+}
@@ -0,0 +1,52 @@
+package com.mcintosh.iain.rest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the batch parse endpoint.
+ * <p>
+ * Each batch processes its items in parallel up to its own parallelism limit. Items still pass
+ * through the per-task-type bulkheads and the byte budget, so these limits only bound how much
+ * of that shared capacity a single batch can claim.
+ * </p>
+ */
+@ConfigurationProperties(prefix = "parse.batch")
+public class BatchProperties {
+
+  /**
+   * Parallelism used when a batch does not request one.
+   */
+  private int defaultParallelism = 4;
+  /**
+   * Maximum parallelism a batch may request.
+   */
+  private int maxParallelism = 16;
+  /**
+   * Maximum number of items in a single batch.
+   */
+  private int maxItems = 10_000;
+
+  public int getDefaultParallelism() {
+    return defaultParallelism;
+  }
+
+  public void setDefaultParallelism(int defaultParallelism) {
+    this.defaultParallelism = defaultParallelism;
+  }
+
+  public int getMaxParallelism() {
+    return maxParallelism;
+  }
+
+  public void setMaxParallelism(int maxParallelism) {
+    this.maxParallelism = maxParallelism;
+  }
+
+  public int getMaxItems() {
+    return maxItems;
+  }
+
+  public void setMaxItems(int maxItems) {
+    this.maxItems = maxItems;
+  }
+}
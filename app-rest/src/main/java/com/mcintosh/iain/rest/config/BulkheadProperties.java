@@ -0,0 +1,112 @@
+package com.mcintosh.iain.rest.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the per-task-type bulkheads used to isolate parse tasks from each other.
+ * <p>
+ * Limits under {@code parse.bulkhead.defaults} apply to every task type. Individual values can be
+ * overridden per task type using the task value as the key, for example:
+ * <pre>
+ * parse.bulkhead.defaults.permits=4
+ * parse.bulkhead.tasks.remove-vowels.permits=2
+ * parse.bulkhead.tasks.remove-vowels.queue-depth=8
+ * </pre>
+ * </p>
+ */
+@ConfigurationProperties(prefix = "parse.bulkhead")
+public class BulkheadProperties {
+
+  private Limits defaults = new Limits(4, 32, Duration.ofSeconds(30));
+  private Map<String, Limits> tasks = new HashMap<>();
+
+  public Limits getDefaults() {
+    return defaults;
+  }
+
+  public void setDefaults(Limits defaults) {
+    this.defaults = defaults;
+  }
+
+  public Map<String, Limits> getTasks() {
+    return tasks;
+  }
+
+  public void setTasks(Map<String, Limits> tasks) {
+    this.tasks = tasks;
+  }
+
+  /**
+   * Returns the limits for a task type, falling back to the defaults for any value that has not
+   * been overridden.
+   *
+   * @param taskValue the task value, e.g. {@code remove-vowels}
+   * @return the resolved limits
+   */
+  public Limits forTask(String taskValue) {
+    Limits overrides = tasks.get(taskValue);
+    if (overrides == null) {
+      return defaults;
+    }
+
+    return new Limits(
+        overrides.getPermits() != null ? overrides.getPermits() : defaults.getPermits(),
+        overrides.getQueueDepth() != null ? overrides.getQueueDepth() : defaults.getQueueDepth(),
+        overrides.getMaxWait() != null ? overrides.getMaxWait() : defaults.getMaxWait());
+  }
+
+  /**
+   * Limits applied to a single bulkhead.
+   */
+  public static class Limits {
+
+    /**
+     * Maximum number of tasks of this type executing concurrently.
+     */
+    private Integer permits;
+    /**
+     * Maximum number of tasks waiting for a permit before new tasks are rejected.
+     */
+    private Integer queueDepth;
+    /**
+     * Maximum time a task waits for a permit before it is rejected.
+     */
+    private Duration maxWait;
+
+    public Limits() {
+    }
+
+    public Limits(Integer permits, Integer queueDepth, Duration maxWait) {
+      this.permits = permits;
+      this.queueDepth = queueDepth;
+      this.maxWait = maxWait;
+    }
+
+    public Integer getPermits() {
+      return permits;
+    }
+
+    public void setPermits(Integer permits) {
+      this.permits = permits;
+    }
+
+    public Integer getQueueDepth() {
+      return queueDepth;
+    }
+
+    public void setQueueDepth(Integer queueDepth) {
+      this.queueDepth = queueDepth;
+    }
+
+    public Duration getMaxWait() {
+      return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+      this.maxWait = maxWait;
+    }
+  }
+}
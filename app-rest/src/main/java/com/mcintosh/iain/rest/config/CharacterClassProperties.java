@@ -0,0 +1,32 @@
+package com.mcintosh.iain.rest.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Named character classes that the character class of a request can refer to as
+ * {@code [:name:]}, in addition to the built-in {@code vowels} and {@code consonants}.
+ * <p>
+ * Each class is defined with the same syntax as a request, for example:
+ * <pre>
+ * parse.character-classes.greek=\\p{Greek}
+ * parse.character-classes.accented-vowels=[:vowels:]à-åè-ï
+ * </pre>
+ * Backslashes must be doubled in a properties file, and non-ASCII characters written as
+ * {@code \}{@code u} escapes. A class can refer to the classes defined before it.
+ * </p>
+ */
+@ConfigurationProperties(prefix = "parse")
+public class CharacterClassProperties {
+
+  private Map<String, String> characterClasses = new LinkedHashMap<>();
+
+  public Map<String, String> getCharacterClasses() {
+    return characterClasses;
+  }
+
+  public void setCharacterClasses(Map<String, String> characterClasses) {
+    this.characterClasses = characterClasses;
+  }
+}
@@ -0,0 +1,28 @@
+package com.mcintosh.iain.rest.config;
+
+import com.mcintosh.iain.core.util.CharacterClassRegistry;
+import com.mcintosh.iain.rest.service.ByteBudget;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the shared components used to control parse task execution.
+ */
+@Configuration
+public class ParseTaskConfiguration {
+
+  /**
+   * Registers the configured character classes, so that an invalid definition fails startup
+   * rather than every request that refers to it.
+   *
+   * @param characterClassProperties the named character classes
+   */
+  public ParseTaskConfiguration(CharacterClassProperties characterClassProperties) {
+    characterClassProperties.getCharacterClasses().forEach(CharacterClassRegistry::register);
+  }
+
+  @Bean
+  public ByteBudget byteBudget(AdmissionProperties properties) {
+    return new ByteBudget(properties.getMaxBytesInFlight().toBytes(), properties.getMaxWait());
+  }
+}
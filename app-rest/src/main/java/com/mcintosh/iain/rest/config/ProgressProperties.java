@@ -0,0 +1,41 @@
+package com.mcintosh.iain.rest.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the parse task progress stream.
+ * <p>
+ * Progress is read from the running task at the publish interval rather than pushed by it, so
+ * the interval only affects how often clients are sent an update, not the speed of the scan.
+ * </p>
+ */
+@ConfigurationProperties(prefix = "parse.progress")
+public class ProgressProperties {
+
+  /**
+   * Interval between progress events sent to each subscriber.
+   */
+  private Duration publishInterval = Duration.ofMillis(250);
+  /**
+   * How long the progress of a finished task remains available, and how long a subscriber waits
+   * for a task that has not been submitted yet.
+   */
+  private Duration retention = Duration.ofMinutes(1);
+
+  public Duration getPublishInterval() {
+    return publishInterval;
+  }
+
+  public void setPublishInterval(Duration publishInterval) {
+    this.publishInterval = publishInterval;
+  }
+
+  public Duration getRetention() {
+    return retention;
+  }
+
+  public void setRetention(Duration retention) {
+    this.retention = retention;
+  }
+}
@@ -0,0 +1,53 @@
+package com.mcintosh.iain.rest.controller;
+
+import com.mcintosh.iain.core.task.CancellationToken;
+import com.mcintosh.iain.rest.model.BatchParseDto;
+import com.mcintosh.iain.rest.service.BatchParseService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Controller responsible for handling batches of parse tasks submitted in a single request.
+ */
+@RestController
+@RequestMapping("/parse/batch")
+public class BatchParseController {
+
+  private final BatchParseService batchParseService;
+
+  @Autowired
+  public BatchParseController(BatchParseService batchParseService) {
+    this.batchParseService = batchParseService;
+  }
+
+  /**
+   * Handles the submission of a batch of parse tasks.
+   * <p>
+   * The items are processed in parallel and each result is streamed back as a line of NDJSON as
+   * soon as it completes. Items that fail are reported inline without aborting the batch.
+   * Items still running when the client disconnects or the batch timeout passes are cancelled.
+   * </p>
+   *
+   * @param batchParseDto the DTO containing the batch items
+   * @param request       the current request
+   * @return an HTTP 200 OK response streaming one result per item
+   */
+  @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> initBatch(@RequestBody BatchParseDto batchParseDto,
+      HttpServletRequest request) {
+    CancellationToken cancellation =
+        RequestCancellation.register(request, batchParseDto.getTimeoutMs());
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(batchParseService.streamBatch(batchParseDto, cancellation));
+  }
+}
@@ -1,14 +1,19 @@
 package com.mcintosh.iain.rest.controller;
 
+import com.mcintosh.iain.core.task.CancellationToken;
 import com.mcintosh.iain.rest.model.ParseTaskDto;
 import com.mcintosh.iain.rest.service.ParseTaskService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Controller responsible for handling parsing tasks submitted via the web form.
@@ -27,15 +32,32 @@ public class ParseTaskController {
   /**
    * Handles the submission of a parse task form.
    * <p>
-   * Accepts a {@link ParseTaskDto} submitted via a form and validates it.
+   * Accepts a {@link ParseTaskDto} submitted via a form and validates it. If the output target is
+   * {@code response}, the result is streamed back in the response body as it is produced, using
+   * chunked transfer encoding, and the task is cancelled if the client disconnects before it
+   * completes. Tasks writing to a file run synchronously and are not cancelled by a disconnect.
+   * If a timeout is given, the task is cancelled once it passes, responding with an HTTP 504 that
+   * includes the partial result of counting tasks.
    * </p>
    *
    * @param parseTaskDto the DTO containing the parse task information
-   * @return an HTTP 200 OK response if the task is successfully completed
+   * @param request      the current request
+   * @return an HTTP 200 OK response if the task is successfully completed, with the task output
+   * as the body when streaming to the response
    */
   @PostMapping
-  public ResponseEntity<Void> initParseTask(@Valid @ModelAttribute ParseTaskDto parseTaskDto) {
-    parseTaskService.initParseTask(parseTaskDto);
+  public ResponseEntity<StreamingResponseBody> initParseTask(
+      @Valid @ModelAttribute ParseTaskDto parseTaskDto, HttpServletRequest request) {
+    CancellationToken cancellation =
+        RequestCancellation.register(request, parseTaskDto.getTimeoutMs());
+
+    if (parseTaskDto.isResponseTarget()) {
+      return ResponseEntity.ok()
+          .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+          .body(parseTaskService.streamParseTask(parseTaskDto, cancellation));
+    }
+
+    parseTaskService.initParseTask(parseTaskDto, cancellation);
 
     return ResponseEntity.ok().build();
   }
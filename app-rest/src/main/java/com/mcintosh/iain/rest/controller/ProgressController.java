@@ -0,0 +1,41 @@
+package com.mcintosh.iain.rest.controller;
+
+import com.mcintosh.iain.rest.service.ProgressService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller streaming the progress of parse tasks as Server-Sent Events.
+ */
+@RestController
+@RequestMapping("/parse/progress")
+public class ProgressController {
+
+  private final ProgressService progressService;
+
+  @Autowired
+  public ProgressController(ProgressService progressService) {
+    this.progressService = progressService;
+  }
+
+  /**
+   * Streams the progress of the task submitted with the given job id.
+   * <p>
+   * A {@code progress} event carrying the bytes processed, the total bytes and, for counting
+   * tasks, the running counts is sent periodically until the task finishes. The stream may be
+   * opened before the task is submitted.
+   * </p>
+   *
+   * @param jobId the job id the task was, or will be, submitted with
+   * @return an event stream of progress snapshots
+   */
+  @GetMapping(path = "/{jobId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamProgress(@PathVariable String jobId) {
+    return progressService.subscribe(jobId);
+  }
+}
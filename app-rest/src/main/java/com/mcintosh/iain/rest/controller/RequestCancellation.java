@@ -0,0 +1,79 @@
+package com.mcintosh.iain.rest.controller;
+
+import com.mcintosh.iain.core.task.CancellationToken;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+/**
+ * Ties the cancellation of a parse task to the lifetime of the HTTP request that started it.
+ * <p>
+ * Streamed responses are written asynchronously, after the controller has returned. Spring
+ * registers itself as the servlet {@link jakarta.servlet.AsyncListener} of the request, and
+ * forwards its {@code onError}, {@code onTimeout} and {@code onComplete} events to the interceptor
+ * registered here. If the container reports that the client has disconnected, or the async request
+ * times out, while the task is still running, the task's {@link CancellationToken} is cancelled,
+ * so the scan stops within one chunk instead of running to completion for nobody. A write to the
+ * response that fails cancels the token as well.
+ * </p>
+ *
+ * <p>
+ * Requests that write their output to a file are handled synchronously and write nothing to the
+ * response until the task completes, so a disconnect is not detected for them and only the
+ * optional timeout applies.
+ * </p>
+ */
+final class RequestCancellation {
+  private static final Logger log = LoggerFactory.getLogger(RequestCancellation.class);
+
+  private RequestCancellation() {
+    throw new UnsupportedOperationException("Class not instantiable");
+  }
+
+  /**
+   * Creates a cancellation token for the request, cancelled when the request fails or times out.
+   *
+   * @param request   the current request
+   * @param timeoutMs the optional deadline for the task in milliseconds
+   * @return the token to attach to the task's parse context
+   * @throws IllegalArgumentException if the timeout is not positive
+   */
+  static CancellationToken register(HttpServletRequest request, Long timeoutMs) {
+    CancellationToken cancellation = timeoutMs != null
+        ? CancellationToken.withTimeout(Duration.ofMillis(timeoutMs))
+        : CancellationToken.create();
+
+    WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(
+        RequestCancellation.class.getName(), new CancellingInterceptor(cancellation));
+    return cancellation;
+  }
+
+  private record CancellingInterceptor(CancellationToken cancellation)
+      implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> Object handleTimeout(NativeWebRequest request, Callable<T> task) {
+      log.warn("Request timed out, cancelling task");
+      cancellation.cancel();
+      return RESULT_NONE;
+    }
+
+    @Override
+    public <T> Object handleError(NativeWebRequest request, Callable<T> task, Throwable t) {
+      log.warn("Request failed, cancelling task: {}", t.getMessage());
+      cancellation.cancel();
+      return RESULT_NONE;
+    }
+
+    @Override
+    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+      // No-op once the task has finished, but stops it if the response ended without it
+      cancellation.cancel();
+    }
+  }
+}
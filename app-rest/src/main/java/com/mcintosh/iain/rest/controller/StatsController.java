@@ -0,0 +1,58 @@
+package com.mcintosh.iain.rest.controller;
+
+import com.mcintosh.iain.rest.model.AdmissionStats;
+import com.mcintosh.iain.rest.model.BulkheadStats;
+import com.mcintosh.iain.rest.model.CoalescingStats;
+import com.mcintosh.iain.rest.service.BulkheadRegistry;
+import com.mcintosh.iain.rest.service.ByteBudget;
+import com.mcintosh.iain.rest.service.JobCoalescer;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller exposing runtime statistics about parse task execution.
+ */
+@RestController
+@RequestMapping("/stats")
+public class StatsController {
+
+  private final BulkheadRegistry bulkheadRegistry;
+  private final ByteBudget byteBudget;
+  private final JobCoalescer jobCoalescer;
+
+  @Autowired
+  public StatsController(BulkheadRegistry bulkheadRegistry, ByteBudget byteBudget,
+      JobCoalescer jobCoalescer) {
+    this.bulkheadRegistry = bulkheadRegistry;
+    this.byteBudget = byteBudget;
+    this.jobCoalescer = jobCoalescer;
+  }
+
+  /**
+   * Returns the current statistics of every task bulkhead, including queue depth and the number
+   * of rejected tasks.
+   */
+  @GetMapping("/bulkheads")
+  public List<BulkheadStats> bulkheads() {
+    return bulkheadRegistry.stats();
+  }
+
+  /**
+   * Returns the current state of the byte-weighted admission control.
+   */
+  @GetMapping("/admission")
+  public AdmissionStats admission() {
+    return byteBudget.stats();
+  }
+
+  /**
+   * Returns the number of executed and coalesced parse tasks.
+   */
+  @GetMapping("/coalescing")
+  public CoalescingStats coalescing() {
+    return jobCoalescer.stats();
+  }
+}
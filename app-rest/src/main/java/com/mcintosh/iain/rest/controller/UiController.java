@@ -1,6 +1,6 @@
 package com.mcintosh.iain.rest.controller;
 
-import com.mcintosh.iain.core.task.enums.ParseTaskType;
+import com.mcintosh.iain.core.task.strategy.ParseTaskRegistry;
 import com.mcintosh.iain.rest.model.ParseTaskDto;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -18,7 +18,7 @@ public class UiController {
   @GetMapping({"/", "/index"})
   public String showForm(Model model) {
     model.addAttribute("parseTaskDto", new ParseTaskDto());
-    model.addAttribute("parseTaskTypes", ParseTaskType.values());
+    model.addAttribute("parseTaskNames", ParseTaskRegistry.taskNames());
 
     return "index";
   }
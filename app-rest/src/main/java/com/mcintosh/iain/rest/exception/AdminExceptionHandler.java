@@ -1,8 +1,10 @@
 package com.mcintosh.iain.rest.exception;
 
+import com.mcintosh.iain.core.task.TaskCancelledException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -21,4 +23,27 @@ public class AdminExceptionHandler {
 
     return ApiErrorDto.fromException(ex);
   }
+
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  @ExceptionHandler(TaskRejectedException.class)
+  public ApiErrorDto handleTaskRejectedException(TaskRejectedException ex) {
+    log.warn("Task rejected: {}", ex.getMessage());
+
+    return ApiErrorDto.fromException(ex);
+  }
+
+  /**
+   * A task that ran past its deadline is reported as a gateway timeout, with its partial result.
+   * Any other cancellation means the client has gone away, so the response is never read.
+   */
+  @ExceptionHandler(TaskCancelledException.class)
+  public ResponseEntity<TaskCancelledDto> handleTaskCancelledException(
+      TaskCancelledException ex) {
+    log.warn("Task cancelled: {}", ex.getMessage());
+
+    HttpStatus status = ex.isDeadlineExceeded()
+        ? HttpStatus.GATEWAY_TIMEOUT
+        : HttpStatus.SERVICE_UNAVAILABLE;
+    return ResponseEntity.status(status).body(TaskCancelledDto.fromException(ex));
+  }
 }
@@ -0,0 +1,50 @@
+package com.mcintosh.iain.rest.exception;
+
+import com.mcintosh.iain.core.task.TaskCancelledException;
+import java.io.Serial;
+
+/**
+ * DTO representing a parse task that was cancelled before it completed.
+ * <p>
+ * In addition to the error message, it reports how far through the input the task got and, for
+ * counting tasks, the result for the input processed so far.
+ * </p>
+ */
+public class TaskCancelledDto extends ApiErrorDto {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  private long bytesProcessed;
+  private String partialResult;
+
+  public TaskCancelledDto() {
+  }
+
+  public TaskCancelledDto(String message, long bytesProcessed, String partialResult) {
+    super(message);
+    this.bytesProcessed = bytesProcessed;
+    this.partialResult = partialResult;
+  }
+
+  public static TaskCancelledDto fromException(TaskCancelledException e) {
+    return new TaskCancelledDto(
+        e.getMessage(), e.bytesProcessed(), e.partialResult().orElse(null));
+  }
+
+  public long getBytesProcessed() {
+    return bytesProcessed;
+  }
+
+  public void setBytesProcessed(long bytesProcessed) {
+    this.bytesProcessed = bytesProcessed;
+  }
+
+  public String getPartialResult() {
+    return partialResult;
+  }
+
+  public void setPartialResult(String partialResult) {
+    this.partialResult = partialResult;
+  }
+}
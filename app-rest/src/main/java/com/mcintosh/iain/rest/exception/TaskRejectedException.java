@@ -0,0 +1,15 @@
+package com.mcintosh.iain.rest.exception;
+
+/**
+ * Thrown when a parse task cannot be accepted because the server is at capacity.
+ * <p>
+ * This is converted to an HTTP 503 response by the global exception handler so that clients can
+ * back off and retry later.
+ * </p>
+ */
+public class TaskRejectedException extends RuntimeException {
+
+  public TaskRejectedException(String message) {
+    super(message);
+  }
+}
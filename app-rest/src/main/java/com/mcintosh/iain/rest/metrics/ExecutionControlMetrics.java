@@ -0,0 +1,70 @@
+package com.mcintosh.iain.rest.metrics;
+
+import com.mcintosh.iain.core.task.strategy.ParseTaskRegistry;
+import com.mcintosh.iain.rest.service.BulkheadRegistry;
+import com.mcintosh.iain.rest.service.ByteBudget;
+import com.mcintosh.iain.rest.service.JobCoalescer;
+import com.mcintosh.iain.rest.service.TaskBulkhead;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the statistics of the bulkheads, the byte budget and the job coalescer as Micrometer
+ * meters, including the number of rejected tasks.
+ * <p>
+ * The values are read from the existing statistics when the registry is scraped, so nothing is
+ * recorded on the request path.
+ * </p>
+ */
+@Component
+public class ExecutionControlMetrics implements MeterBinder {
+
+  private final BulkheadRegistry bulkheadRegistry;
+  private final ByteBudget byteBudget;
+  private final JobCoalescer jobCoalescer;
+
+  @Autowired
+  public ExecutionControlMetrics(BulkheadRegistry bulkheadRegistry, ByteBudget byteBudget,
+      JobCoalescer jobCoalescer) {
+    this.bulkheadRegistry = bulkheadRegistry;
+    this.byteBudget = byteBudget;
+    this.jobCoalescer = jobCoalescer;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (String task : ParseTaskRegistry.taskNames()) {
+      TaskBulkhead bulkhead = bulkheadRegistry.forTask(task);
+
+      Gauge.builder("parse.bulkhead.queued", bulkhead, b -> b.stats().queued())
+          .description("Tasks waiting for a bulkhead permit")
+          .tag("task", task)
+          .register(registry);
+      FunctionCounter.builder("parse.bulkhead.rejected", bulkhead, b -> b.stats().rejected())
+          .description("Tasks rejected because the bulkhead was saturated")
+          .tag("task", task)
+          .register(registry);
+    }
+
+    Gauge.builder("parse.admission.in.flight", byteBudget, b -> b.stats().inFlightBytes())
+        .description("Input bytes currently admitted for processing")
+        .baseUnit("bytes")
+        .register(registry);
+    FunctionCounter.builder("parse.admission.rejected", byteBudget, b -> b.stats().rejected())
+        .description("Tasks rejected because the byte budget was exhausted")
+        .register(registry);
+
+    FunctionCounter.builder("parse.coalescing.executed", jobCoalescer,
+            c -> c.stats().executed())
+        .description("Coalescable tasks that were executed")
+        .register(registry);
+    FunctionCounter.builder("parse.coalescing.coalesced", jobCoalescer,
+            c -> c.stats().coalesced())
+        .description("Tasks that attached to an identical in-flight task")
+        .register(registry);
+  }
+}
@@ -0,0 +1,130 @@
+package com.mcintosh.iain.rest.metrics;
+
+import com.mcintosh.iain.core.metrics.ProcessingListener;
+import com.mcintosh.iain.core.metrics.ProcessingListeners;
+import com.mcintosh.iain.core.metrics.ProcessingStats;
+import com.mcintosh.iain.core.task.ParseContext;
+import com.mcintosh.iain.core.task.strategy.ParseTaskRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records Micrometer metrics for every parse task processed by the core processor.
+ * <p>
+ * Registered as a {@link ProcessingListener} on startup, so tasks are measured however they are
+ * submitted. All meters are tagged with the task name:
+ * <ul>
+ *   <li>{@code parse.task.duration} - total processing time, also tagged with the outcome</li>
+ *   <li>{@code parse.task.stage.duration} - time spent in the read, execute and write stages</li>
+ *   <li>{@code parse.task.input} - bytes read from input files</li>
+ *   <li>{@code parse.task.output} - characters written to output targets</li>
+ *   <li>{@code parse.task.active} - tasks currently being processed</li>
+ * </ul>
+ * Timers publish percentile histograms so that latency percentiles can be aggregated across
+ * instances by the monitoring system.
+ * </p>
+ */
+@Component
+public class ParseTaskMetrics implements ProcessingListener {
+
+  static final String OUTCOME_SUCCESS = "success";
+  static final String OUTCOME_FAILURE = "failure";
+
+  private final MeterRegistry meterRegistry;
+  private final Map<String, AtomicInteger> active = new ConcurrentHashMap<>();
+
+  @Autowired
+  public ParseTaskMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+
+    ParseTaskRegistry.taskNames().forEach(this::active);
+  }
+
+  @PostConstruct
+  public void register() {
+    ProcessingListeners.register(this);
+  }
+
+  @PreDestroy
+  public void unregister() {
+    ProcessingListeners.unregister(this);
+  }
+
+  @Override
+  public void onStart(ParseContext parseContext) {
+    active(parseContext.taskName()).incrementAndGet();
+  }
+
+  @Override
+  public void onComplete(ParseContext parseContext, ProcessingStats stats) {
+    record(parseContext.taskName(), stats, OUTCOME_SUCCESS);
+  }
+
+  @Override
+  public void onFailure(ParseContext parseContext, ProcessingStats stats, Exception failure) {
+    record(parseContext.taskName(), stats, OUTCOME_FAILURE);
+  }
+
+  private void record(String task, ProcessingStats stats, String outcome) {
+    active(task).decrementAndGet();
+
+    Timer.builder("parse.task.duration")
+        .description("Total time taken to process a parse task")
+        .tags("task", task, "outcome", outcome)
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+        .record(stats.totalNanos(), TimeUnit.NANOSECONDS);
+
+    recordStage(task, "read", stats.readNanos());
+    recordStage(task, "execute", stats.executeNanos());
+    recordStage(task, "write", stats.writeNanos());
+
+    Counter.builder("parse.task.input")
+        .description("Bytes read from parse task input files")
+        .baseUnit("bytes")
+        .tag("task", task)
+        .register(meterRegistry)
+        .increment(stats.bytesRead());
+
+    Counter.builder("parse.task.output")
+        .description("Characters written to parse task output targets")
+        .baseUnit("characters")
+        .tag("task", task)
+        .register(meterRegistry)
+        .increment(stats.charsWritten());
+  }
+
+  /**
+   * Returns the count of active runs of the task, registering its gauge the first time a
+   * pipeline of tasks is run.
+   */
+  private AtomicInteger active(String task) {
+    return active.computeIfAbsent(task, name -> {
+      AtomicInteger count = new AtomicInteger();
+      Gauge.builder("parse.task.active", count, AtomicInteger::get)
+          .description("Parse tasks currently being processed")
+          .tag("task", name)
+          .register(meterRegistry);
+      return count;
+    });
+  }
+
+  private void recordStage(String task, String stage, long nanos) {
+    Timer.builder("parse.task.stage.duration")
+        .description("Time spent in each stage of processing a parse task")
+        .tags("task", task, "stage", stage)
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+}
@@ -0,0 +1,19 @@
+package com.mcintosh.iain.rest.model;
+
+/**
+ * Point-in-time statistics for the byte-weighted admission control.
+ *
+ * @param capacityBytes the total budget of bytes in flight
+ * @param inFlightBytes the bytes currently charged to running tasks
+ * @param waiting       the number of tasks currently waiting for budget
+ * @param admitted      the total number of tasks admitted since startup
+ * @param rejected      the total number of tasks rejected since startup
+ */
+public record AdmissionStats(
+    long capacityBytes,
+    long inFlightBytes,
+    int waiting,
+    long admitted,
+    long rejected
+) {
+}
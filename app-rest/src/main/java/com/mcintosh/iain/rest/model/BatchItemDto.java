@@ -0,0 +1,75 @@
+package com.mcintosh.iain.rest.model;
+
+/**
+ * DTO representing a single item of a batch parse request.
+ * <p>
+ * If an output file is given the task output is appended to it, otherwise the output is returned
+ * inline in the item's result. Inline output is held in memory until the item completes, so an
+ * output file should be used for transforming tasks over large inputs.
+ * </p>
+ */
+public class BatchItemDto {
+
+  private String inputFile;
+  private String parseTask;
+  private String characterClass;
+  private String phrase;
+  private String caseMode;
+  private String outputFile;
+
+  public BatchItemDto() {
+  }
+
+  public BatchItemDto(String inputFile, String parseTask) {
+    this.inputFile = inputFile;
+    this.parseTask = parseTask;
+  }
+
+  public String getInputFile() {
+    return inputFile;
+  }
+
+  public void setInputFile(String inputFile) {
+    this.inputFile = inputFile;
+  }
+
+  public String getParseTask() {
+    return parseTask;
+  }
+
+  public void setParseTask(String parseTask) {
+    this.parseTask = parseTask;
+  }
+
+  public String getCharacterClass() {
+    return characterClass;
+  }
+
+  public void setCharacterClass(String characterClass) {
+    this.characterClass = characterClass;
+  }
+
+  public String getPhrase() {
+    return phrase;
+  }
+
+  public void setPhrase(String phrase) {
+    this.phrase = phrase;
+  }
+
+  public String getCaseMode() {
+    return caseMode;
+  }
+
+  public void setCaseMode(String caseMode) {
+    this.caseMode = caseMode;
+  }
+
+  public String getOutputFile() {
+    return outputFile;
+  }
+
+  public void setOutputFile(String outputFile) {
+    this.outputFile = outputFile;
+  }
+}
@@ -0,0 +1,46 @@
+package com.mcintosh.iain.rest.model;
+
+/**
+ * Result of a single batch item, streamed back as one line of NDJSON.
+ *
+ * @param index      the position of the item in the request, as results arrive in completion order
+ * @param inputFile  the input file of the item
+ * @param parseTask  the parse task of the item
+ * @param status     {@code completed}, {@code failed} or {@code cancelled}
+ * @param output     the task output, if the item completed without an output file, or the
+ *                   partial result of a cancelled counting task
+ * @param error      the reason the item failed or was cancelled
+ * @param elapsedMs  the time taken to process the item, including any time queued
+ */
+public record BatchItemResult(
+    int index,
+    String inputFile,
+    String parseTask,
+    String status,
+    String output,
+    String error,
+    long elapsedMs
+) {
+
+  public static final String COMPLETED = "completed";
+  public static final String FAILED = "failed";
+  public static final String CANCELLED = "cancelled";
+
+  public static BatchItemResult completed(int index, BatchItemDto item, String output,
+      long elapsedMs) {
+    return new BatchItemResult(index, item.getInputFile(), item.getParseTask(), COMPLETED, output,
+        null, elapsedMs);
+  }
+
+  public static BatchItemResult failed(int index, BatchItemDto item, String error,
+      long elapsedMs) {
+    return new BatchItemResult(index, item.getInputFile(), item.getParseTask(), FAILED, null,
+        error, elapsedMs);
+  }
+
+  public static BatchItemResult cancelled(int index, BatchItemDto item, String partialResult,
+      String reason, long elapsedMs) {
+    return new BatchItemResult(index, item.getInputFile(), item.getParseTask(), CANCELLED,
+        partialResult, reason, elapsedMs);
+  }
+}
@@ -0,0 +1,51 @@
+package com.mcintosh.iain.rest.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO representing a batch of parse tasks submitted in a single request.
+ * <p>
+ * Example request body:
+ * <pre>{@code
+ * {
+ *   "parallelism": 8,
+ *   "timeoutMs": 60000,
+ *   "items": [
+ *     {"inputFile": "a.txt", "parseTask": "count-consonants"},
+ *     {"inputFile": "b.txt", "parseTask": "remove-vowels", "outputFile": "b.out"}
+ *   ]
+ * }
+ * }</pre>
+ * </p>
+ */
+public class BatchParseDto {
+
+  private List<BatchItemDto> items = new ArrayList<>();
+  private Integer parallelism;
+  private Long timeoutMs;
+
+  public List<BatchItemDto> getItems() {
+    return items;
+  }
+
+  public void setItems(List<BatchItemDto> items) {
+    this.items = items;
+  }
+
+  public Integer getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(Integer parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  public Long getTimeoutMs() {
+    return timeoutMs;
+  }
+
+  public void setTimeoutMs(Long timeoutMs) {
+    this.timeoutMs = timeoutMs;
+  }
+}
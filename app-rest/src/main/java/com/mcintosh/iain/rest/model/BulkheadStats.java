@@ -0,0 +1,23 @@
+package com.mcintosh.iain.rest.model;
+
+/**
+ * Point-in-time statistics for a single task bulkhead.
+ *
+ * @param name       the bulkhead name, matching the task value
+ * @param permits    the maximum number of concurrently executing tasks
+ * @param active     the number of tasks currently executing
+ * @param queued     the number of tasks currently waiting for a permit
+ * @param queueDepth the maximum number of waiting tasks
+ * @param rejected   the total number of tasks rejected since startup
+ * @param completed  the total number of tasks completed since startup
+ */
+public record BulkheadStats(
+    String name,
+    int permits,
+    int active,
+    int queued,
+    int queueDepth,
+    long rejected,
+    long completed
+) {
+}
@@ -0,0 +1,16 @@
+package com.mcintosh.iain.rest.model;
+
+/**
+ * Point-in-time statistics for the coalescing of identical parse tasks.
+ *
+ * @param inFlight  the number of distinct jobs currently executing
+ * @param executed  the total number of jobs executed since startup
+ * @param coalesced the total number of requests that attached to an in-flight job instead of
+ *                  executing their own
+ */
+public record CoalescingStats(
+    int inFlight,
+    long executed,
+    long coalesced
+) {
+}
@@ -1,12 +1,14 @@
 package com.mcintosh.iain.rest.model;
 
+import com.mcintosh.iain.rest.service.ParseTaskService;
 import jakarta.validation.constraints.NotBlank;
 
 /**
  * DTO representing a parse task submitted from the UI.
  * <p>
  * This DTO is used to capture the input data from the web form, including the input file, the
- * type of parse task, and the output destination etc.
+ * type of parse task, the character class or phrase of tasks taking one, and the output
+ * destination etc.
  * </p>
  */
 public class ParseTaskDto {
@@ -15,8 +17,13 @@ public class ParseTaskDto {
   private String inputFile;
   @NotBlank
   private String parseTask;
+  private String characterClass;
+  private String phrase;
+  private String caseMode;
   private String outputFile;
   private String outputTarget;
+  private Long timeoutMs;
+  private String jobId;
 
   public @NotBlank String getInputFile() {
     return inputFile;
@@ -34,6 +41,30 @@ public class ParseTaskDto {
     this.parseTask = parseTask;
   }
 
+  public String getCharacterClass() {
+    return characterClass;
+  }
+
+  public void setCharacterClass(String characterClass) {
+    this.characterClass = characterClass;
+  }
+
+  public String getPhrase() {
+    return phrase;
+  }
+
+  public void setPhrase(String phrase) {
+    this.phrase = phrase;
+  }
+
+  public String getCaseMode() {
+    return caseMode;
+  }
+
+  public void setCaseMode(String caseMode) {
+    this.caseMode = caseMode;
+  }
+
   public String getOutputFile() {
     return outputFile;
   }
@@ -49,4 +80,28 @@ public class ParseTaskDto {
   public void setOutputTarget(String outputTarget) {
     this.outputTarget = outputTarget;
   }
+
+  public Long getTimeoutMs() {
+    return timeoutMs;
+  }
+
+  public void setTimeoutMs(Long timeoutMs) {
+    this.timeoutMs = timeoutMs;
+  }
+
+  public String getJobId() {
+    return jobId;
+  }
+
+  public void setJobId(String jobId) {
+    this.jobId = jobId;
+  }
+
+  /**
+   * Returns {@code true} if the output should be streamed back in the HTTP response.
+   */
+  public boolean isResponseTarget() {
+    return outputTarget != null
+        && ParseTaskService.RESPONSE_TARGET.equalsIgnoreCase(outputTarget.trim());
+  }
 }
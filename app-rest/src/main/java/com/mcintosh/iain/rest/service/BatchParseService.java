@@ -0,0 +1,220 @@
+package com.mcintosh.iain.rest.service;
+
+import com.mcintosh.iain.core.output.MemorySink;
+import com.mcintosh.iain.core.task.CancellationToken;
+import com.mcintosh.iain.core.task.ParseContext;
+import com.mcintosh.iain.core.task.TaskCancelledException;
+import com.mcintosh.iain.core.task.enums.OutputTarget;
+import com.mcintosh.iain.core.tracing.Tracing;
+import com.mcintosh.iain.rest.config.BatchProperties;
+import com.mcintosh.iain.rest.model.BatchItemDto;
+import com.mcintosh.iain.rest.model.BatchItemResult;
+import com.mcintosh.iain.rest.model.BatchParseDto;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Service executing a batch of parse tasks in parallel, streaming each result back as soon as
+ * it completes.
+ * <p>
+ * Items run on virtual threads, with at most the batch's parallelism in flight at once. The
+ * threads are owned by the batch: the response only completes once every item has finished, and
+ * no item outlives the request. Each item still passes through the {@link TaskBulkhead} for its
+ * task type and the shared {@link ByteBudget}, exactly as a single request would.
+ * </p>
+ *
+ * <p>
+ * Results are written as newline-delimited JSON in completion order, one line per item. An item
+ * that fails, for example because its input file does not exist, produces a {@code failed} line
+ * with the reason, and the rest of the batch carries on.
+ * </p>
+ *
+ * <p>
+ * Every item shares the batch's {@link CancellationToken}. It is cancelled when the client goes
+ * away, so that running items stop, and may carry a deadline for the batch as a whole. Items
+ * stopped this way produce a {@code cancelled} line, with the partial result of counting tasks.
+ * </p>
+ */
+@Service
+public class BatchParseService {
+  private static final Logger log = LoggerFactory.getLogger(BatchParseService.class);
+
+  private static final byte[] NEWLINE = {'\n'};
+
+  private final ParseTaskService parseTaskService;
+  private final BatchProperties properties;
+  private final JsonMapper jsonMapper;
+
+  @Autowired
+  public BatchParseService(ParseTaskService parseTaskService, BatchProperties properties,
+      JsonMapper jsonMapper) {
+    this.parseTaskService = parseTaskService;
+    this.properties = properties;
+    this.jsonMapper = jsonMapper;
+  }
+
+  /**
+   * Validates the batch and returns a response body that executes it.
+   *
+   * @param batchParseDto the DTO containing the batch items
+   * @param cancellation  the token used to stop the batch early
+   * @return a {@link StreamingResponseBody} writing one NDJSON line per item
+   * @throws IllegalArgumentException if the batch is empty, too large, or requests an invalid
+   *     parallelism
+   */
+  public StreamingResponseBody streamBatch(BatchParseDto batchParseDto,
+      CancellationToken cancellation) {
+    List<BatchItemDto> items = batchParseDto.getItems();
+    if (items == null || items.isEmpty()) {
+      throw new IllegalArgumentException("Batch items are required");
+    }
+    if (items.size() > properties.getMaxItems()) {
+      throw new IllegalArgumentException(
+          "Batch exceeds the maximum of " + properties.getMaxItems() + " items");
+    }
+
+    int parallelism = resolveParallelism(batchParseDto.getParallelism());
+
+    return outputStream ->
+        runBatch(List.copyOf(items), parallelism, cancellation, outputStream);
+  }
+
+  private int resolveParallelism(Integer requested) {
+    if (requested == null) {
+      return properties.getDefaultParallelism();
+    }
+    if (requested < 1 || requested > properties.getMaxParallelism()) {
+      throw new IllegalArgumentException(
+          "Parallelism must be between 1 and " + properties.getMaxParallelism());
+    }
+    return requested;
+  }
+
+  /**
+   * Runs every item, writing each result as it completes. New items are only started while a
+   * slot is free, so a large batch never has more than {@code parallelism} threads alive.
+   */
+  private void runBatch(List<BatchItemDto> items, int parallelism,
+      CancellationToken cancellation, OutputStream outputStream) throws IOException {
+    log.info("Batch of {} items initiated with parallelism {}", items.size(), parallelism);
+
+    ResultWriter writer = new ResultWriter(outputStream, cancellation);
+    Semaphore slots = new Semaphore(parallelism);
+
+    try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("batch-", 0).factory())) {
+      for (int i = 0; i < items.size() && !writer.isFailed(); i++) {
+        slots.acquire();
+
+        int index = i;
+        executor.execute(Tracing.wrap(() -> {
+          try {
+            writer.write(processItem(index, items.get(index), cancellation));
+          } finally {
+            slots.release();
+          }
+        }));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Batch interrupted");
+    }
+
+    // Closing the executor waits for every item, so all results have been written by now
+    writer.checkError();
+  }
+
+  private BatchItemResult processItem(int index, BatchItemDto item,
+      CancellationToken cancellation) {
+    long startNanos = System.nanoTime();
+
+    try {
+      ParseContext parseContext = ParseContext.builder()
+          .withInputFile(item.getInputFile())
+          .withParseTask(item.getParseTask())
+          .withCharacterClass(item.getCharacterClass())
+          .withPhrase(item.getPhrase())
+          .withCaseMode(item.getCaseMode())
+          .withOutputFile(item.getOutputFile())
+          .withOutputTarget(item.getOutputFile() != null ? OutputTarget.FILE.name() : null)
+          .withCancellation(cancellation)
+          .build();
+
+      String output = null;
+      if (parseContext.outputFile() != null) {
+        parseTaskService.execute(parseContext);
+      } else {
+        MemorySink sink = new MemorySink();
+        parseTaskService.execute(parseContext, sink);
+        output = sink.contents();
+      }
+
+      return BatchItemResult.completed(index, item, output, elapsedMs(startNanos));
+    } catch (TaskCancelledException e) {
+      return BatchItemResult.cancelled(index, item, e.partialResult().orElse(null), e.getMessage(),
+          elapsedMs(startNanos));
+    } catch (IOException | RuntimeException e) {
+      log.warn("Batch item {} failed: {}", index, e.getMessage());
+
+      return BatchItemResult.failed(index, item, e.getMessage(), elapsedMs(startNanos));
+    }
+  }
+
+  private static long elapsedMs(long startNanos) {
+    return (System.nanoTime() - startNanos) / 1_000_000;
+  }
+
+  /**
+   * Serialises results to the response one line at a time. Once a write fails, typically because
+   * the client has gone away, later results are dropped, no further items are started and the
+   * items still running are cancelled.
+   */
+  private final class ResultWriter {
+
+    private final OutputStream outputStream;
+    private final CancellationToken cancellation;
+    private IOException error;
+
+    ResultWriter(OutputStream outputStream, CancellationToken cancellation) {
+      this.outputStream = outputStream;
+      this.cancellation = cancellation;
+    }
+
+    synchronized void write(BatchItemResult result) {
+      if (error != null) {
+        return;
+      }
+
+      try {
+        outputStream.write(jsonMapper.writeValueAsBytes(result));
+        outputStream.write(NEWLINE);
+        outputStream.flush();
+      } catch (IOException e) {
+        log.warn("Abandoning batch after failing to write result: {}", e.getMessage());
+        error = e;
+        cancellation.cancel();
+      }
+    }
+
+    synchronized boolean isFailed() {
+      return error != null;
+    }
+
+    synchronized void checkError() throws IOException {
+      if (error != null) {
+        throw error;
+      }
+    }
+  }
+}
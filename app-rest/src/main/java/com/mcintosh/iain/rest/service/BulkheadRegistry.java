@@ -0,0 +1,46 @@
+package com.mcintosh.iain.rest.service;
+
+import com.mcintosh.iain.core.task.strategy.ParseTaskRegistry;
+import com.mcintosh.iain.core.task.strategy.TaskPipeline;
+import com.mcintosh.iain.rest.config.BulkheadProperties;
+import com.mcintosh.iain.rest.model.BulkheadStats;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds one {@link TaskBulkhead} per task in the {@link ParseTaskRegistry}, configured from
+ * {@link BulkheadProperties}.
+ */
+@Component
+public class BulkheadRegistry {
+
+  private final Map<String, TaskBulkhead> bulkheads = new LinkedHashMap<>();
+
+  @Autowired
+  public BulkheadRegistry(BulkheadProperties properties) {
+    for (String task : ParseTaskRegistry.taskNames()) {
+      BulkheadProperties.Limits limits = properties.forTask(task);
+
+      bulkheads.put(task, new TaskBulkhead(task, limits.getPermits(),
+          limits.getQueueDepth(), limits.getMaxWait()));
+    }
+  }
+
+  /**
+   * Returns the bulkhead for the given task. A pipeline of tasks runs in the bulkhead of its
+   * first task, which reads the input.
+   *
+   * @param task the registered name of the parse task, or the names of a pipeline
+   * @return the {@link TaskBulkhead} isolating that task
+   */
+  public TaskBulkhead forTask(String task) {
+    return bulkheads.get(TaskPipeline.stageNames(task).getFirst());
+  }
+
+  public List<BulkheadStats> stats() {
+    return bulkheads.values().stream().map(TaskBulkhead::stats).toList();
+  }
+}
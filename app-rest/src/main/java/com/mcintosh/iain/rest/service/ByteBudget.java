@@ -0,0 +1,171 @@
+package com.mcintosh.iain.rest.service;
+
+import com.mcintosh.iain.core.task.CancellationToken;
+import com.mcintosh.iain.core.task.TaskCancelledException;
+import com.mcintosh.iain.rest.exception.TaskRejectedException;
+import com.mcintosh.iain.rest.model.AdmissionStats;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Global budget of input bytes that may be processed concurrently.
+ * <p>
+ * Unlike a limit on the number of requests, each task is charged the size of its input file, so a
+ * single very large file consumes as much of the budget as many small ones. Tasks that do not fit
+ * wait in arrival order for up to the configured maximum wait time before being rejected with a
+ * {@link TaskRejectedException}. Serving waiters in order stops a stream of small tasks from
+ * starving a large one.
+ * </p>
+ *
+ * <p>
+ * A waiting task also stops waiting once its {@link CancellationToken} is cancelled or its
+ * deadline passes, with a {@link TaskCancelledException}, so a task is never held in the queue
+ * past its own deadline, or after its client has gone away.
+ * </p>
+ *
+ * <p>
+ * A task larger than the whole budget is charged the whole budget, so it runs once nothing else
+ * is in flight rather than being rejected outright.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * try (ByteBudget.Permit permit = budget.acquire(inputSize, cancellation)) {
+ *   CoreProcessor.process(context);
+ * }
+ * }</pre>
+ * </p>
+ */
+public class ByteBudget {
+  private static final Logger log = LoggerFactory.getLogger(ByteBudget.class);
+
+  private static final long CANCELLATION_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+  private final long capacity;
+  private final Duration maxWait;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition released = lock.newCondition();
+  private final Deque<Object> waiters = new ArrayDeque<>();
+
+  private long inFlight;
+  private long admitted;
+  private long rejected;
+
+  public ByteBudget(long capacity, Duration maxWait) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Byte budget must be positive");
+    }
+
+    this.capacity = capacity;
+    this.maxWait = maxWait;
+  }
+
+  /**
+   * Budget held by a running task. Closing the permit returns the budget.
+   */
+  public final class Permit implements AutoCloseable {
+    private final long bytes;
+    private boolean closed;
+
+    private Permit(long bytes) {
+      this.bytes = bytes;
+    }
+
+    public long bytes() {
+      return bytes;
+    }
+
+    @Override
+    public void close() {
+      lock.lock();
+      try {
+        if (!closed) {
+          closed = true;
+          inFlight -= bytes;
+          released.signalAll();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Charges the given number of bytes against the budget, waiting for budget to become available
+   * if necessary. The wait is bounded by the deadline of the token as well as the maximum wait,
+   * and the token is checked while waiting.
+   *
+   * @param bytes        the size of the task input
+   * @param cancellation the token of the task
+   * @return a {@link Permit} which must be closed once the task completes
+   * @throws TaskRejectedException  if the budget does not become available in time
+   * @throws TaskCancelledException if the token is cancelled, or its deadline passes, while the
+   *                                task is waiting
+   */
+  public Permit acquire(long bytes, CancellationToken cancellation) {
+    long charge = Math.clamp(bytes, 0, capacity);
+    Object ticket = new Object();
+    long waitDeadline = System.nanoTime() + maxWait.toNanos();
+
+    lock.lock();
+    try {
+      waiters.addLast(ticket);
+      try {
+        while (waiters.peekFirst() != ticket || inFlight + charge > capacity) {
+          if (cancellation.isCancelled()) {
+            log.debug("Task of {} bytes cancelled waiting for admission", bytes);
+            throw new TaskCancelledException(0, cancellation.isDeadlineExceeded(), null);
+          }
+
+          long remainingNanos = waitDeadline - System.nanoTime();
+          if (remainingNanos <= 0) {
+            rejected++;
+            log.warn("Admission rejected task of {} bytes, {} of {} bytes in flight",
+                bytes, inFlight, capacity);
+            throw new TaskRejectedException("Server is at capacity, try again later");
+          }
+
+          // Woken at least every poll interval, as a cancellation does not signal the condition
+          released.awaitNanos(Math.min(remainingNanos,
+              Math.min(CANCELLATION_POLL_NANOS, cancellation.remainingNanos())));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        rejected++;
+        throw new TaskRejectedException("Interrupted waiting for capacity");
+      } finally {
+        waiters.remove(ticket);
+        // The head of the queue may have changed, so let the next waiter re-check
+        released.signalAll();
+      }
+
+      inFlight += charge;
+      admitted++;
+      return new Permit(charge);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns a snapshot of the admission statistics.
+   *
+   * @return the current {@link AdmissionStats}
+   */
+  public AdmissionStats stats() {
+    lock.lock();
+    try {
+      return new AdmissionStats(capacity, inFlight, waiters.size(), admitted, rejected);
+    } finally {
+      lock.unlock();
+    }
+  }
+}
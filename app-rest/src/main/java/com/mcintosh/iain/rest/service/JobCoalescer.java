@@ -0,0 +1,269 @@
+package com.mcintosh.iain.rest.service;
+
+import com.mcintosh.iain.core.progress.TaskProgress;
+import com.mcintosh.iain.core.task.CancellationToken;
+import com.mcintosh.iain.core.task.ParseContext;
+import com.mcintosh.iain.core.task.TaskCancelledException;
+import com.mcintosh.iain.core.task.strategy.TaskParameters;
+import com.mcintosh.iain.core.tracing.Tracing;
+import com.mcintosh.iain.rest.model.CoalescingStats;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shares a single execution between identical parse tasks that are in flight at the same time.
+ * <p>
+ * The first caller for a given {@link JobKey} starts the job on a virtual thread of its own. Any
+ * identical request arriving while it is still running attaches to the same result instead of
+ * scanning the file again, and receives the same result or exception. Once the job completes it
+ * is forgotten, so later requests always start a fresh execution; results are never cached.
+ * </p>
+ *
+ * <p>
+ * The shared execution runs with a {@link CancellationToken} that is only cancelled once the
+ * tokens of every attached caller have been cancelled, so one client going away does not fail
+ * the others. Every caller, including the one that started the job, waits for the shared result
+ * under its own token, bounded by its own deadline. A caller whose token is cancelled stops
+ * waiting with a {@link TaskCancelledException} reporting how far the shared execution had got,
+ * but without a partial result, as the running counts are only rendered by the task once it
+ * finishes. Attached callers report the progress of the shared execution as their own.
+ * </p>
+ *
+ * <p>
+ * Once every caller of a job has cancelled, the job stays cancelled, so a request arriving while
+ * it winds down starts a fresh execution rather than attaching to one that is stopping.
+ * </p>
+ *
+ * <p>
+ * The key includes the size and modification time of the input file as read when the request
+ * was validated, so a request made after the file has been edited never attaches to a job that
+ * started reading the old contents.
+ * </p>
+ */
+@Component
+public class JobCoalescer {
+  private static final Logger log = LoggerFactory.getLogger(JobCoalescer.class);
+
+  /**
+   * How often a waiting caller checks its own cancellation token, if its deadline is not sooner.
+   */
+  private static final long CANCELLATION_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  /**
+   * How long the last caller to cancel waits for the cancelled job to report its partial result.
+   */
+  private static final long DETACH_GRACE_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+  private final ConcurrentMap<JobKey, InFlightJob> inFlight = new ConcurrentHashMap<>();
+  private final LongAdder executed = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+
+  /**
+   * Identifies a job by the input file contents it reads and the task it runs.
+   *
+   * @param inputFile    the real path of the input file
+   * @param task         the task name
+   * @param parameters   the parameters the task is configured with, such as a character class
+   * @param size         the size of the input file in bytes
+   * @param lastModified the last modification time of the input file
+   */
+  public record JobKey(Path inputFile, String task, TaskParameters parameters, long size,
+      FileTime lastModified) {
+
+    /**
+     * Creates the key for a validated parse context.
+     *
+     * @param parseContext the parse context
+     * @return the job key
+     */
+    public static JobKey of(ParseContext parseContext) {
+      return new JobKey(realPath(parseContext.inputFile()), parseContext.taskName(),
+          parseContext.taskParameters(), parseContext.inputAttributes().size(),
+          parseContext.inputAttributes().lastModifiedTime());
+    }
+
+    private static Path realPath(Path path) {
+      try {
+        return path.toRealPath();
+      } catch (IOException e) {
+        return path.toAbsolutePath().normalize();
+      }
+    }
+  }
+
+  /**
+   * A caller of a job, identified by its cancellation token and progress tracker.
+   *
+   * @param cancellation the cancellation token of the caller
+   * @param progress     the progress tracker of the caller
+   */
+  public record Caller(CancellationToken cancellation, TaskProgress progress) {
+
+    /**
+     * Creates the caller for a validated parse context.
+     *
+     * @param parseContext the parse context
+     * @return the caller
+     */
+    public static Caller of(ParseContext parseContext) {
+      return new Caller(parseContext.cancellation(), parseContext.progress());
+    }
+  }
+
+  /**
+   * A job shared between callers, run with a token cancelled once every caller has cancelled.
+   */
+  @FunctionalInterface
+  public interface SharedJob {
+    String run(CancellationToken cancellation) throws IOException;
+  }
+
+  private record InFlightJob(CompletableFuture<String> result, TaskProgress progress,
+      List<CancellationToken> callers, CancellationToken shared) {
+
+    private static InFlightJob start(Caller caller) {
+      List<CancellationToken> callers = new CopyOnWriteArrayList<>(List.of(caller.cancellation()));
+      return new InFlightJob(new CompletableFuture<>(), caller.progress(), callers,
+          CancellationToken.whenAllCancelled(callers));
+    }
+
+    /**
+     * Attaches the caller, unless every caller has already cancelled. The shared token stays
+     * cancelled once it has been, so checking it after adding the caller also catches a job that
+     * saw itself cancelled just before.
+     */
+    private boolean attach(Caller caller) {
+      callers.add(caller.cancellation());
+      if (shared.isCancelled()) {
+        callers.remove(caller.cancellation());
+        return false;
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Starts the job, or attaches to an identical job that is already running, and waits for its
+   * result until the caller's own token is cancelled.
+   *
+   * @param key    the key identifying the job
+   * @param caller the caller of the job
+   * @param job    the job to run if no identical job is in flight
+   * @return the job result
+   * @throws IOException            if the job fails with an I/O error
+   * @throws TaskCancelledException if the caller's token is cancelled or its deadline passes
+   *                                before the job completes
+   */
+  public String execute(JobKey key, Caller caller, SharedJob job) throws IOException {
+    InFlightJob started = InFlightJob.start(caller);
+    // Attached under the lock of the key, so that a job being removed is never attached to
+    InFlightJob inFlightJob = inFlight.compute(key,
+        (ignored, existing) -> existing != null && existing.attach(caller) ? existing : started);
+
+    if (inFlightJob != started) {
+      caller.progress().follow(inFlightJob.progress());
+      coalesced.increment();
+      log.debug("Attached to in-flight job for {}", key);
+      return await(key, inFlightJob, caller);
+    }
+
+    executed.increment();
+    // Carry the trace context over to the thread running the shared job
+    Thread.ofVirtual().name("coalesced-job").start(Tracing.wrap(() -> {
+      try {
+        inFlightJob.result().complete(job.run(inFlightJob.shared()));
+      } catch (Throwable e) {
+        inFlightJob.result().completeExceptionally(e);
+      } finally {
+        inFlight.remove(key, inFlightJob);
+      }
+    }));
+
+    return await(key, inFlightJob, caller);
+  }
+
+  /**
+   * Returns a snapshot of the coalescing statistics.
+   *
+   * @return the current {@link CoalescingStats}
+   */
+  public CoalescingStats stats() {
+    return new CoalescingStats(inFlight.size(), executed.sum(), coalesced.sum());
+  }
+
+  private String await(JobKey key, InFlightJob inFlightJob, Caller caller) throws IOException {
+    CancellationToken cancellation = caller.cancellation();
+    try {
+      while (true) {
+        long waitNanos = Math.min(CANCELLATION_POLL_NANOS, cancellation.remainingNanos());
+        try {
+          return inFlightJob.result().get(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+          if (cancellation.isCancelled()) {
+            return detach(key, inFlightJob, caller);
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for in-flight job");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException ioException) {
+        throw ioException;
+      }
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * Stops a cancelled caller waiting. While other callers are still attached the job carries on
+   * for them, so the caller is only told how far the shared execution had got. The last caller to
+   * go cancels the job, which stops within one chunk once it is running, so that caller waits a
+   * short grace period for the job to report its own partial result. The job is forgotten
+   * straight away, so that a new request does not attach to it.
+   */
+  private String detach(JobKey key, InFlightJob inFlightJob, Caller caller)
+      throws ExecutionException, InterruptedException {
+    boolean deadlineExceeded = caller.cancellation().isDeadlineExceeded();
+    if (inFlightJob.shared().isCancelled()) {
+      inFlight.remove(key, inFlightJob);
+      try {
+        return inFlightJob.result().get(DETACH_GRACE_NANOS, TimeUnit.NANOSECONDS);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof TaskCancelledException cancelled) {
+          throw new TaskCancelledException(cancelled.bytesProcessed(), deadlineExceeded,
+              cancelled.partialResult().orElse(null));
+        }
+        throw e;
+      } catch (TimeoutException e) {
+        log.debug("Cancelled job for {} did not stop within the grace period", key);
+      }
+    } else {
+      log.debug("Detached from in-flight job for {}", key);
+    }
+
+    throw new TaskCancelledException(inFlightJob.progress().snapshot().bytesProcessed(),
+        deadlineExceeded, null);
+  }
+}
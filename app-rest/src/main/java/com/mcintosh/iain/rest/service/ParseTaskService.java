@@ -1,16 +1,30 @@
 package com.mcintosh.iain.rest.service;
 
 import com.mcintosh.iain.core.CoreProcessor;
+import com.mcintosh.iain.core.output.MemorySink;
+import com.mcintosh.iain.core.output.OutputSink;
+import com.mcintosh.iain.core.progress.TaskProgress;
+import com.mcintosh.iain.core.task.CancellationToken;
 import com.mcintosh.iain.core.task.ParseContext;
 import com.mcintosh.iain.rest.model.ParseTaskDto;
 import java.io.IOException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Main service responsible for initializing and executing parse tasks.
  * <p>
  * This service converts a {@link ParseTaskDto} received from the UI into a {@link ParseContext}
  * and then delegates the processing to the {@link CoreProcessor}.
+ * Each task runs inside the {@link TaskBulkhead} for its task type, so that a flood of one type
+ * of task cannot starve the others, and is charged its input size against the global
+ * {@link ByteBudget}.
+ * Identical counting tasks that are in flight at the same time share a single execution through
+ * the {@link JobCoalescer}.
+ * Each task carries the {@link CancellationToken} supplied by the caller, so that it stops when
+ * the client goes away or its deadline passes. Tasks submitted with a job id publish their
+ * progress through the {@link ProgressService}.
  * Any I/O exceptions during processing are wrapped in an exception to be handled by the global
  * exception handler. This will convert the exception to UI-friendly DTO fields.
  * </p>
@@ -18,25 +32,185 @@ import org.springframework.stereotype.Service;
 @Service
 public class ParseTaskService {
 
+  /**
+   * Output target requesting that the result is streamed back in the HTTP response body.
+   */
+  public static final String RESPONSE_TARGET = "response";
+
+  private final BulkheadRegistry bulkheadRegistry;
+  private final ByteBudget byteBudget;
+  private final JobCoalescer jobCoalescer;
+  private final ProgressService progressService;
+
+  @Autowired
+  public ParseTaskService(BulkheadRegistry bulkheadRegistry, ByteBudget byteBudget,
+      JobCoalescer jobCoalescer, ProgressService progressService) {
+    this.bulkheadRegistry = bulkheadRegistry;
+    this.byteBudget = byteBudget;
+    this.jobCoalescer = jobCoalescer;
+    this.progressService = progressService;
+  }
+
   /**
    * Initializes and executes a parse task based on the provided DTO.
    *
    * @param parseTaskDto the DTO containing the parse task information
+   * @param cancellation the token used to stop the task early
    * @throws IllegalStateException if an I/O error occurs during processing
+   * @throws com.mcintosh.iain.rest.exception.TaskRejectedException if the bulkhead for the task
+   *     type is saturated, or the input does not fit in the byte budget in time
+   * @throws com.mcintosh.iain.core.task.TaskCancelledException if the task is cancelled
    */
-  public void initParseTask(ParseTaskDto parseTaskDto) {
+  public void initParseTask(ParseTaskDto parseTaskDto, CancellationToken cancellation) {
+    TaskProgress progress = new TaskProgress();
     ParseContext parseContext = ParseContext.builder()
         .withInputFile(parseTaskDto.getInputFile())
         .withOutputFile(parseTaskDto.getOutputFile())
         .withOutputTarget(parseTaskDto.getOutputTarget())
         .withParseTask(parseTaskDto.getParseTask())
+        .withCharacterClass(parseTaskDto.getCharacterClass())
+        .withPhrase(parseTaskDto.getPhrase())
+        .withCaseMode(parseTaskDto.getCaseMode())
+        .withCancellation(cancellation)
+        .withProgress(progress)
         .build();
+    progressService.register(parseTaskDto.getJobId(), progress);
 
     try {
-      CoreProcessor.process(parseContext);
+      execute(parseContext);
     } catch (IOException e) {
       // For demo purposes I just throw an exception to be handled by the global exception handler
       throw new IllegalStateException(e.getMessage());
+    } finally {
+      progressService.release(parseTaskDto.getJobId(), progress);
+    }
+  }
+
+  /**
+   * Validates a parse task and returns a response body that executes it, streaming the result
+   * back to the client as it is produced.
+   * <p>
+   * Validation happens immediately so that invalid requests are still rejected with an error
+   * response. The task itself only runs once the container starts writing the response.
+   * </p>
+   *
+   * <p>
+   * The task is cancelled if a write to the response fails. Counting tasks write nothing until
+   * they complete, so a disconnect while one runs is only noticed if the container reports it
+   * through the async request lifecycle, or when the deadline passes. Nothing else is written to
+   * the response, so it stays uncommitted until the result is ready and a deadline can still be
+   * reported with its partial result.
+   * </p>
+   *
+   * @param parseTaskDto the DTO containing the parse task information
+   * @param cancellation the token used to stop the task early
+   * @return a {@link StreamingResponseBody} that executes the task
+   */
+  public StreamingResponseBody streamParseTask(ParseTaskDto parseTaskDto,
+      CancellationToken cancellation) {
+    TaskProgress progress = new TaskProgress();
+    ParseContext parseContext = ParseContext.builder()
+        .withInputFile(parseTaskDto.getInputFile())
+        .withParseTask(parseTaskDto.getParseTask())
+        .withCharacterClass(parseTaskDto.getCharacterClass())
+        .withPhrase(parseTaskDto.getPhrase())
+        .withCaseMode(parseTaskDto.getCaseMode())
+        .withCancellation(cancellation)
+        .withProgress(progress)
+        .build();
+
+    progressService.register(parseTaskDto.getJobId(), progress);
+
+    return outputStream -> {
+      try {
+        execute(parseContext, new ResponseStreamSink(outputStream, cancellation));
+      } finally {
+        progressService.release(parseTaskDto.getJobId(), progress);
+      }
+    };
+  }
+
+  /**
+   * Executes a validated parse task, writing the output to the target named in the context.
+   * The task runs inside its bulkhead, holding its share of the byte budget while it executes.
+   * The output target is only opened once the task has been admitted, so a rejected task does
+   * not create or truncate an output file.
+   *
+   * @param parseContext the validated parse context
+   * @throws IOException if reading the input or writing the output fails
+   */
+  public void execute(ParseContext parseContext) throws IOException {
+    if (isCoalescable(parseContext)) {
+      // Only open the sink once the task has been admitted, so a rejection leaves no output file
+      String result = executeCoalesced(parseContext);
+      try (OutputSink sink = parseContext.outputSink().open(parseContext)) {
+        sink.write(result);
+      }
+      return;
+    }
+
+    runTask(parseContext, () -> CoreProcessor.process(parseContext));
+  }
+
+  /**
+   * Executes a validated parse task, writing the output to the given sink. The task runs inside
+   * its bulkhead, holding its share of the byte budget while it executes.
+   *
+   * @param parseContext the validated parse context
+   * @param sink         the sink to write the output to; flushed but not closed
+   * @throws IOException if reading the input or writing the output fails
+   */
+  public void execute(ParseContext parseContext, OutputSink sink) throws IOException {
+    if (isCoalescable(parseContext)) {
+      sink.write(executeCoalesced(parseContext));
+      sink.flush();
+      return;
+    }
+
+    runTask(parseContext, () -> CoreProcessor.process(parseContext, sink));
+  }
+
+  /**
+   * Only tasks with a small result are coalesced, as the shared result is held in memory until
+   * every attached request has written it out.
+   */
+  private boolean isCoalescable(ParseContext parseContext) {
+    return parseContext.parseTask().hasBoundedOutput();
+  }
+
+  /**
+   * Runs the task into memory, sharing the execution with any identical task already in flight.
+   * The shared execution is only cancelled once every request attached to it has been.
+   */
+  private String executeCoalesced(ParseContext parseContext) throws IOException {
+    return jobCoalescer.execute(JobCoalescer.JobKey.of(parseContext),
+        JobCoalescer.Caller.of(parseContext), shared -> {
+          ParseContext sharedContext = parseContext.withCancellation(shared);
+          MemorySink sink = new MemorySink();
+          runTask(sharedContext, () -> CoreProcessor.process(sharedContext, sink));
+          return sink.contents();
+        });
+  }
+
+  /**
+   * Charges the byte budget before entering the bulkhead, so that a task waiting for budget does
+   * not hold one of the bulkhead's permits, and the two waits are not nested. Both waits stop
+   * once the token of the task is cancelled or its deadline passes, so a queued task still fails
+   * at its deadline.
+   */
+  private void runTask(ParseContext parseContext, TaskAction action) throws IOException {
+    CancellationToken cancellation = parseContext.cancellation();
+    try (ByteBudget.Permit ignored =
+        byteBudget.acquire(parseContext.inputAttributes().size(), cancellation)) {
+      bulkheadRegistry.forTask(parseContext.taskName()).execute(cancellation, () -> {
+        action.run();
+        return null;
+      });
     }
   }
+
+  @FunctionalInterface
+  private interface TaskAction {
+    void run() throws IOException;
+  }
 }
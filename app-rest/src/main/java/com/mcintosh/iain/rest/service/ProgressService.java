@@ -0,0 +1,175 @@
+package com.mcintosh.iain.rest.service;
+
+import com.mcintosh.iain.core.progress.ProgressSnapshot;
+import com.mcintosh.iain.core.progress.TaskProgress;
+import com.mcintosh.iain.rest.config.ProgressProperties;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service tracking the progress of parse tasks and streaming it to clients as Server-Sent Events.
+ * <p>
+ * A client chooses a job id, submits its task with that id and subscribes to the progress of the
+ * id, in either order. Each subscriber is sent a {@code progress} event with the latest
+ * {@link ProgressSnapshot} at the configured interval until the task finishes. A subscriber that
+ * arrives before the task is submitted receives {@code PENDING} snapshots in the meantime.
+ * </p>
+ *
+ * <p>
+ * The task itself never waits on a subscriber: snapshots are read from its {@link TaskProgress}
+ * by a sender of each subscription, running on a virtual thread of its own. Sending an event is a
+ * blocking write to the response, so a subscriber that stops reading only ever holds up its own
+ * sender, never the events of other subscribers. Finished tasks are forgotten after the retention
+ * period.
+ * </p>
+ */
+@Service
+public class ProgressService {
+  private static final Logger log = LoggerFactory.getLogger(ProgressService.class);
+
+  private static final String PROGRESS_EVENT = "progress";
+
+  private final ConcurrentMap<String, TaskProgress> jobs = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+      Thread.ofPlatform().name("progress-retention").daemon().factory());
+  private final long publishIntervalNanos;
+  private final long retentionNanos;
+
+  @Autowired
+  public ProgressService(ProgressProperties properties) {
+    this.publishIntervalNanos = properties.getPublishInterval().toNanos();
+    this.retentionNanos = properties.getRetention().toNanos();
+  }
+
+  /**
+   * Makes the progress of a task available to subscribers of the job id.
+   *
+   * @param jobId    the job id chosen by the client; ignored if {@code null} or blank
+   * @param progress the progress tracker of the task
+   */
+  public void register(String jobId, TaskProgress progress) {
+    if (jobId != null && !jobId.isBlank()) {
+      jobs.put(jobId, progress);
+    }
+  }
+
+  /**
+   * Forgets the progress of a finished task once the retention period has passed, leaving time
+   * for late subscribers to see the final state.
+   *
+   * @param jobId    the job id of the task
+   * @param progress the progress tracker registered for it
+   */
+  public void release(String jobId, TaskProgress progress) {
+    if (jobId != null && !jobId.isBlank()) {
+      scheduler.schedule(() -> jobs.remove(jobId, progress), retentionNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Subscribes to the progress of a job.
+   *
+   * @param jobId the job id to follow
+   * @return an {@link SseEmitter} sending progress events until the task finishes
+   */
+  public SseEmitter subscribe(String jobId) {
+    return subscribe(jobId, new SseEmitter(0L));
+  }
+
+  SseEmitter subscribe(String jobId, SseEmitter emitter) {
+    Subscription subscription = new Subscription(jobId, emitter);
+
+    emitter.onCompletion(subscription::stop);
+    emitter.onTimeout(subscription::stop);
+    emitter.onError(e -> subscription.stop());
+    subscription.start();
+
+    return emitter;
+  }
+
+  @PreDestroy
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  private final class Subscription {
+
+    private final String jobId;
+    private final SseEmitter emitter;
+    private final long startNanos = System.nanoTime();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    Subscription(String jobId, SseEmitter emitter) {
+      this.jobId = jobId;
+      this.emitter = emitter;
+    }
+
+    void start() {
+      Thread.ofVirtual().name("progress-sender-" + jobId).start(this::run);
+    }
+
+    void stop() {
+      stopped.countDown();
+    }
+
+    private void run() {
+      try {
+        while (publish()) {
+          if (stopped.await(publishIntervalNanos, TimeUnit.NANOSECONDS)) {
+            return;
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    /**
+     * Sends the latest snapshot to the subscriber.
+     *
+     * @return {@code true} if further snapshots should be sent
+     */
+    private boolean publish() {
+      if (stopped.getCount() == 0) {
+        return false;
+      }
+
+      TaskProgress progress = jobs.get(jobId);
+      ProgressSnapshot snapshot = progress != null
+          ? progress.snapshot()
+          : new TaskProgress().snapshot();
+
+      try {
+        emitter.send(SseEmitter.event()
+            .name(PROGRESS_EVENT)
+            .data(snapshot, MediaType.APPLICATION_JSON));
+      } catch (IOException | IllegalStateException e) {
+        log.debug("Progress subscriber for {} has gone away: {}", jobId, e.getMessage());
+        return false;
+      }
+
+      if (snapshot.state().isTerminal()) {
+        emitter.complete();
+        return false;
+      }
+      if (progress == null && System.nanoTime() - startNanos > retentionNanos) {
+        log.debug("No task submitted for job {}", jobId);
+        emitter.complete();
+        return false;
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.mcintosh.iain.rest.service;
+
+import com.mcintosh.iain.core.output.OutputSink;
+import com.mcintosh.iain.core.task.CancellationToken;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link OutputSink} writing UTF-8 encoded output to an HTTP response body.
+ * <p>
+ * Output is buffered and sent to the client as the buffer fills, so with no content length set
+ * the response uses chunked transfer encoding and the client receives the first bytes while the
+ * task is still running. Closing the sink flushes it but leaves the response stream open for the
+ * container to complete.
+ * </p>
+ *
+ * <p>
+ * A write that fails on the response stream means the client has gone away, so it cancels the
+ * task's {@link CancellationToken} before the failure is rethrown. Nothing is written other than
+ * the task's own output.
+ * </p>
+ */
+public class ResponseStreamSink implements OutputSink {
+
+  private final OutputStream outputStream;
+  private final Writer writer;
+  private final CancellationToken cancellation;
+
+  public ResponseStreamSink(OutputStream outputStream, CancellationToken cancellation) {
+    this.outputStream = outputStream;
+    this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    this.cancellation = cancellation;
+  }
+
+  @Override
+  public void write(char[] chunk, int offset, int length) throws IOException {
+    try {
+      writer.write(chunk, offset, length);
+    } catch (IOException e) {
+      cancellation.cancel();
+      throw e;
+    }
+  }
+
+  @Override
+  public void write(String chunk) throws IOException {
+    try {
+      writer.write(chunk);
+    } catch (IOException e) {
+      cancellation.cancel();
+      throw e;
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    try {
+      writer.flush();
+      outputStream.flush();
+    } catch (IOException e) {
+      cancellation.cancel();
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package com.mcintosh.iain.rest.service;
+
+import com.mcintosh.iain.core.task.CancellationToken;
+import com.mcintosh.iain.core.task.TaskCancelledException;
+import com.mcintosh.iain.rest.exception.TaskRejectedException;
+import com.mcintosh.iain.rest.model.BulkheadStats;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded admission gate isolating one type of parse task from the others.
+ * <p>
+ * Each bulkhead owns a fixed number of permits and a bounded wait queue. Jobs run on the calling
+ * thread, which is a virtual thread when the application handles requests on them, so time spent
+ * blocked on file I/O does not tie up platform threads. When all permits are in use, callers wait
+ * for up to the configured maximum wait time; if the wait queue is full, or the wait times out,
+ * the task is rejected with a {@link TaskRejectedException}. A surge of one task type can
+ * therefore only ever exhaust its own bulkhead.
+ * </p>
+ *
+ * <p>
+ * Permits are handed out in arrival order, so a new caller never takes a permit ahead of one
+ * that is already waiting. A permit is only returned once its job has finished, so the permits in
+ * use always match the jobs running.
+ * </p>
+ *
+ * <p>
+ * A waiting caller also stops waiting once its {@link CancellationToken} is cancelled or its
+ * deadline passes, with a {@link TaskCancelledException}, so the wait for a permit never outlasts
+ * the deadline of the task. The token does not signal when it is cancelled, so waiters re-check it
+ * at a short interval; waiting in a queue of tickets rather than on a fair semaphore keeps their
+ * place in the queue across those checks.
+ * </p>
+ */
+public class TaskBulkhead {
+  private static final Logger log = LoggerFactory.getLogger(TaskBulkhead.class);
+
+  private static final long CANCELLATION_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+  private final String name;
+  private final int permits;
+  private final int queueDepth;
+  private final Duration maxWait;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition released = lock.newCondition();
+  private final Deque<Object> waiters = new ArrayDeque<>();
+  private int active;
+
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder completed = new LongAdder();
+
+  public TaskBulkhead(String name, int permits, int queueDepth, Duration maxWait) {
+    if (permits < 1 || queueDepth < 0) {
+      throw new IllegalArgumentException("Invalid bulkhead limits for " + name);
+    }
+
+    this.name = name;
+    this.permits = permits;
+    this.queueDepth = queueDepth;
+    this.maxWait = maxWait;
+  }
+
+  /**
+   * A unit of work executed inside the bulkhead.
+   *
+   * @param <T> the result type
+   */
+  @FunctionalInterface
+  public interface Job<T> {
+    T run() throws IOException;
+  }
+
+  /**
+   * Executes the job inside the bulkhead on the calling thread, returning once it completes.
+   * The wait for a permit is bounded by the deadline of the token as well as the maximum wait.
+   *
+   * @param cancellation the token of the task
+   * @param job          the job to execute
+   * @param <T>          the result type
+   * @return the result of the job
+   * @throws IOException            if the job fails with an I/O error
+   * @throws TaskRejectedException  if the bulkhead is saturated
+   * @throws TaskCancelledException if the token is cancelled, or its deadline passes, while the
+   *                                task is waiting for a permit
+   */
+  public <T> T execute(CancellationToken cancellation, Job<T> job) throws IOException {
+    acquire(cancellation);
+
+    try {
+      return job.run();
+    } finally {
+      release();
+      completed.increment();
+    }
+  }
+
+  /**
+   * Returns a snapshot of the bulkhead statistics.
+   *
+   * @return the current {@link BulkheadStats}
+   */
+  public BulkheadStats stats() {
+    lock.lock();
+    try {
+      return new BulkheadStats(name, permits, active, waiters.size(), queueDepth, rejected.sum(),
+          completed.sum());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  private void acquire(CancellationToken cancellation) {
+    lock.lock();
+    try {
+      // A new caller only takes a free permit if nobody is already waiting for one
+      if (waiters.isEmpty() && active < permits) {
+        active++;
+        return;
+      }
+      if (waiters.size() >= queueDepth) {
+        reject("queue full");
+      }
+
+      Object ticket = new Object();
+      long waitDeadline = System.nanoTime() + maxWait.toNanos();
+      waiters.addLast(ticket);
+      try {
+        while (waiters.peekFirst() != ticket || active >= permits) {
+          if (cancellation.isCancelled()) {
+            log.debug("Bulkhead '{}' task cancelled waiting for a permit", name);
+            throw new TaskCancelledException(0, cancellation.isDeadlineExceeded(), null);
+          }
+
+          long remainingNanos = waitDeadline - System.nanoTime();
+          if (remainingNanos <= 0) {
+            reject("timed out waiting for a permit");
+          }
+
+          // Woken at least every poll interval, as a cancellation does not signal the condition
+          released.awaitNanos(Math.min(remainingNanos,
+              Math.min(CANCELLATION_POLL_NANOS, cancellation.remainingNanos())));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        reject("interrupted waiting for a permit");
+      } finally {
+        waiters.remove(ticket);
+        // The head of the queue may have changed, so let the next waiter re-check
+        released.signalAll();
+      }
+
+      active++;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void release() {
+    lock.lock();
+    try {
+      active--;
+      released.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void reject(String reason) {
+    rejected.increment();
+    log.warn("Bulkhead '{}' rejected task: {}", name, reason);
+    throw new TaskRejectedException("Too many '" + name + "' tasks in progress, try again later");
+  }
+}
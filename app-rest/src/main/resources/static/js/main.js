@@ -3,6 +3,15 @@ document.getElementById('parseForm').addEventListener('submit', async function (
 
   const form = e.target;
   const formData = new FormData(form);
+  const streamToPage = formData.get('outputTarget') === 'response';
+  const output = document.getElementById('taskOutput');
+  output.textContent = '';
+  output.style.display = 'none';
+
+  // Follow the progress of the task while it runs
+  const jobId = crypto.randomUUID();
+  formData.append('jobId', jobId);
+  const progress = followProgress(jobId);
 
   try {
     const response = await fetch('/parse', {
@@ -11,6 +20,9 @@ document.getElementById('parseForm').addEventListener('submit', async function (
     });
 
     if (response.ok) {
+      if (streamToPage) {
+        await streamOutput(response, output);
+      }
       showSuccessPopup();
       form.reset();
       toggleOutputFile();
@@ -21,11 +33,83 @@ document.getElementById('parseForm').addEventListener('submit', async function (
     const error = await response.json();
     showErrorPopup(error.message || "An unexpected error occurred.");
 
+    // A timed out counting task returns its result for the input read so far
+    if (error.partialResult) {
+      output.textContent = error.partialResult;
+      output.style.display = 'block';
+    }
+
   } catch (err) {
     showErrorPopup("Unable to reach server." + err.message);
+  } finally {
+    // Leave time for the final progress event before closing the stream
+    setTimeout(() => progress.close(), 1000);
   }
 });
 
+// Renders the progress events of a job until it finishes
+function followProgress(jobId) {
+  const panel = document.getElementById('taskProgress');
+  const bar = document.getElementById('progressBar');
+  const text = document.getElementById('progressText');
+  const counts = document.getElementById('progressCounts');
+  bar.value = 0;
+  text.textContent = 'Waiting for task to start...';
+  counts.textContent = '';
+  panel.style.display = 'block';
+
+  const events = new EventSource(`/parse/progress/${encodeURIComponent(jobId)}`);
+  events.addEventListener('progress', function (event) {
+    const snapshot = JSON.parse(event.data);
+    if (snapshot.state === 'PENDING') {
+      return;
+    }
+
+    const percent = snapshot.totalBytes > 0
+      ? Math.floor(100 * snapshot.bytesProcessed / snapshot.totalBytes)
+      : 100;
+    bar.value = percent;
+    text.textContent = `${snapshot.state.toLowerCase()}: ${formatBytes(snapshot.bytesProcessed)}`
+      + ` of ${formatBytes(snapshot.totalBytes)} (${percent}%)`;
+    counts.textContent = Object.entries(snapshot.counts)
+      .map(([key, count]) => `${key}: ${count}`)
+      .join('\n');
+
+    if (snapshot.state !== 'RUNNING') {
+      events.close();
+    }
+  });
+
+  return events;
+}
+
+function formatBytes(bytes) {
+  const units = ['B', 'KB', 'MB', 'GB', 'TB'];
+  let value = bytes;
+  let unit = 0;
+  while (value >= 1024 && unit < units.length - 1) {
+    value /= 1024;
+    unit++;
+  }
+  return `${value.toFixed(unit === 0 ? 0 : 1)} ${units[unit]}`;
+}
+
+// Appends the response body to the page as each chunk arrives
+async function streamOutput(response, output) {
+  const reader = response.body.getReader();
+  const decoder = new TextDecoder('utf-8');
+  output.style.display = 'block';
+
+  while (true) {
+    const { done, value } = await reader.read();
+    if (done) {
+      break;
+    }
+    output.textContent += decoder.decode(value, { stream: true });
+  }
+  output.textContent += decoder.decode();
+}
+
 function showSuccessPopup() {
   const popup = document.getElementById('successPopup');
   popup.style.display = 'flex';
@@ -0,0 +1,93 @@
+package com.mcintosh.iain.rest.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.mcintosh.iain.rest.model.BatchItemResult;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.json.JsonMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BatchParseControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private JsonMapper jsonMapper;
+
+  @Test
+  void testBatch_streamsOneResultPerItem_withErrorsInline() throws Exception {
+    String body = """
+        {
+          "parallelism": 2,
+          "items": [
+            {"inputFile": "input.txt", "parseTask": "count-slow-bike"},
+            {"inputFile": "file-does-not-exist.txt", "parseTask": "remove-vowels"},
+            {"inputFile": "input.txt", "parseTask": "invalid"},
+            {"inputFile": "input.txt", "parseTask": "remove-vowels"}
+          ]
+        }
+        """;
+
+    MvcResult result = mockMvc.perform(post("/parse/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    String response = mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+        .andReturn().getResponse().getContentAsString();
+
+    List<BatchItemResult> results = Arrays.stream(response.split("\n"))
+        .map(line -> jsonMapper.readValue(line, BatchItemResult.class))
+        .sorted(Comparator.comparingInt(BatchItemResult::index))
+        .toList();
+
+    assertThat(results).extracting(BatchItemResult::status).containsExactly(
+        BatchItemResult.COMPLETED, BatchItemResult.FAILED, BatchItemResult.FAILED,
+        BatchItemResult.COMPLETED);
+    assertThat(results.get(0).output()).isEqualTo("1\n");
+    assertThat(results.get(1).error()).isEqualTo("Invalid input file");
+    assertThat(results.get(2).error()).isEqualTo("Invalid parse task");
+    assertThat(results.get(3).output()).startsWith("Ths s  tst strng");
+  }
+
+  @Test
+  void testEmptyBatch_returnsBadRequest() throws Exception {
+    mockMvc.perform(post("/parse/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"items\": []}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", is("Batch items are required")));
+  }
+
+  @Test
+  void testParallelismOutOfRange_returnsBadRequest() throws Exception {
+    mockMvc.perform(post("/parse/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                {"parallelism": 0, "items": [{"inputFile": "input.txt", "parseTask": "count-slow-bike"}]}
+                """))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", is("Parallelism must be between 1 and 16")));
+  }
+}
@@ -1,16 +1,25 @@
 package com.mcintosh.iain.rest.controller;
 
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.core.Is.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
@@ -48,6 +57,110 @@ class ParseTaskControllerTest {
         .andExpect(status().isOk());
   }
 
+  @Test
+  void testValidInputForm_outputTargetResponse_streamsResult() throws Exception {
+    MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+    formData.add("inputFile", "input.txt");
+    formData.add("parseTask", "remove-vowels");
+    formData.add("outputTarget", "response");
+
+    MvcResult result = mockMvc.perform(post("/parse")
+            .params(formData)
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("text/plain;charset=UTF-8"))
+        .andExpect(content().string(
+            "Ths s  tst strng slw bk slw bk!\nBzbll shld b frd nt th byss.\n\n:)\n\n"));
+  }
+
+  @Test
+  void testCharacterClass_configuredName_streamsResult() throws Exception {
+    MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+    formData.add("inputFile", "input.txt");
+    formData.add("parseTask", "remove-chars");
+    formData.add("characterClass", "[:accented-vowels:]");
+    formData.add("outputTarget", "response");
+
+    MvcResult result = mockMvc.perform(post("/parse")
+            .params(formData)
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().string(
+            "Ths s  tst strng slw bk slw bk!\nBzbll shld b frd nt th byss.\n\n:)\n\n"));
+  }
+
+  @Test
+  void testErrorDtoContainsErrorMessage_missingCharacterClass() throws Exception {
+    MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+    formData.add("inputFile", "input.txt");
+    formData.add("parseTask", "count-chars");
+    formData.add("outputTarget", "console");
+
+    mockMvc.perform(post("/parse")
+            .params(formData)
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", is("A character class is required for task count-chars")));
+  }
+
+  @Test
+  void testCountPhrase_caseSensitive_streamsResult() throws Exception {
+    MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+    formData.add("inputFile", "input.txt");
+    formData.add("parseTask", "count-phrase");
+    formData.add("phrase", "Bazball");
+    formData.add("caseMode", "sensitive");
+    formData.add("outputTarget", "response");
+
+    MvcResult result = mockMvc.perform(post("/parse")
+            .params(formData)
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().string("1\n"));
+  }
+
+  @Test
+  void testErrorDtoContainsErrorMessage_invalidCaseMode() throws Exception {
+    MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+    formData.add("inputFile", "input.txt");
+    formData.add("parseTask", "count-phrase");
+    formData.add("phrase", "slow bike");
+    formData.add("caseMode", "upper");
+    formData.add("outputTarget", "console");
+
+    mockMvc.perform(post("/parse")
+            .params(formData)
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", is("Invalid case mode")));
+  }
+
+  @Test
+  void testInvalidInputFile_outputTargetResponse_returnsBadRequest() throws Exception {
+    MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+    formData.add("inputFile", "file-does-not-exist.txt");
+    formData.add("parseTask", "count-slow-bike");
+    formData.add("outputTarget", "response");
+
+    mockMvc.perform(post("/parse")
+            .params(formData)
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", is("Invalid input file")));
+  }
+
   @Test
   void testInputFileIsRequired() throws Exception {
     MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
@@ -118,4 +231,25 @@ class ParseTaskControllerTest {
         .andExpect(status().isBadRequest())
         .andExpect(jsonPath("$.message", is("Invalid output target")));
   }
+
+  @Test
+  void testTimeoutExceeded_returnsGatewayTimeoutWithPartialResult(@TempDir Path tempDir)
+      throws Exception {
+    // Large enough to span many chunks, so the deadline passes part way through
+    Path inputFile = Files.writeString(tempDir.resolve("large.txt"),
+        "The quick brown fox jumps over the lazy dog\n".repeat(400_000));
+
+    MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+    formData.add("inputFile", inputFile.toString());
+    formData.add("parseTask", "count-consonants");
+    formData.add("outputTarget", "null");
+    formData.add("timeoutMs", "1");
+
+    mockMvc.perform(post("/parse")
+            .params(formData)
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED))
+        .andExpect(status().isGatewayTimeout())
+        .andExpect(jsonPath("$.bytesProcessed", greaterThan(0)))
+        .andExpect(jsonPath("$.partialResult", notNullValue()));
+  }
 }
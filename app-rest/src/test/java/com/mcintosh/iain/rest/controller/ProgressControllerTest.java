@@ -0,0 +1,46 @@
+package com.mcintosh.iain.rest.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProgressControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Test
+  void testProgress_afterTaskCompletes_sendsFinalSnapshotAndCompletes() throws Exception {
+    mockMvc.perform(post("/parse")
+            .param("inputFile", "input.txt")
+            .param("parseTask", "count-slow-bike")
+            .param("outputTarget", "null")
+            .param("jobId", "progress-test-job")
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED))
+        .andExpect(status().isOk());
+
+    MvcResult result = mockMvc.perform(get("/parse/progress/progress-test-job")
+            .accept(MediaType.TEXT_EVENT_STREAM))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    result.getAsyncResult(5_000);
+
+    String events = result.getResponse().getContentAsString();
+    assertThat(events)
+        .contains("event:progress")
+        .contains("\"state\":\"COMPLETED\"")
+        .contains("\"counts\":{\"slow bike\":1}");
+  }
+}
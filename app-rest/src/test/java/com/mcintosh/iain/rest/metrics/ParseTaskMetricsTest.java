@@ -0,0 +1,62 @@
+package com.mcintosh.iain.rest.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mcintosh.iain.core.CoreProcessor;
+import com.mcintosh.iain.core.output.MemorySink;
+import com.mcintosh.iain.core.task.ParseContext;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParseTaskMetricsTest {
+
+  @TempDir
+  Path tempDir;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ParseTaskMetrics metrics = new ParseTaskMetrics(meterRegistry);
+
+  @BeforeEach
+  void setUp() {
+    metrics.register();
+  }
+
+  @AfterEach
+  void tearDown() {
+    metrics.unregister();
+  }
+
+  @Test
+  void process_recordsTimersAndCounters() throws Exception {
+    Path inputFile = Files.writeString(tempDir.resolve("input.txt"), "banana");
+    ParseContext context = ParseContext.builder()
+        .withParseTask("remove-vowels")
+        .withInputFile(inputFile.toString())
+        .build();
+
+    CoreProcessor.process(context, new MemorySink());
+
+    Timer duration = meterRegistry.get("parse.task.duration")
+        .tags("task", "remove-vowels", "outcome", ParseTaskMetrics.OUTCOME_SUCCESS)
+        .timer();
+    assertThat(duration.count()).isEqualTo(1);
+
+    for (String stage : new String[] {"read", "execute", "write"}) {
+      assertThat(meterRegistry.get("parse.task.stage.duration")
+          .tags("task", "remove-vowels", "stage", stage).timer().count()).isEqualTo(1);
+    }
+
+    assertThat(meterRegistry.get("parse.task.input").tag("task", "remove-vowels")
+        .counter().count()).isEqualTo(6);
+    assertThat(meterRegistry.get("parse.task.output").tag("task", "remove-vowels")
+        .counter().count()).isEqualTo("bnn\n\n".length());
+    assertThat(meterRegistry.get("parse.task.active").tag("task", "remove-vowels")
+        .gauge().value()).isZero();
+  }
+}
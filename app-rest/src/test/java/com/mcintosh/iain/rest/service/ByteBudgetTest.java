@@ -0,0 +1,117 @@
+package com.mcintosh.iain.rest.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mcintosh.iain.core.task.CancellationToken;
+import com.mcintosh.iain.core.task.TaskCancelledException;
+import com.mcintosh.iain.rest.exception.TaskRejectedException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ByteBudgetTest {
+
+  @Test
+  void acquire_withinBudget_chargesInputSize() {
+    ByteBudget budget = new ByteBudget(100, Duration.ofMillis(50));
+
+    try (ByteBudget.Permit permit = budget.acquire(40, CancellationToken.create())) {
+      assertThat(permit.bytes()).isEqualTo(40);
+      assertThat(budget.stats().inFlightBytes()).isEqualTo(40);
+    }
+
+    assertThat(budget.stats().inFlightBytes()).isZero();
+    assertThat(budget.stats().admitted()).isEqualTo(1);
+  }
+
+  @Test
+  void acquire_overBudget_rejectedAfterMaxWait() {
+    ByteBudget budget = new ByteBudget(100, Duration.ofMillis(50));
+
+    try (ByteBudget.Permit ignored = budget.acquire(80, CancellationToken.create())) {
+      assertThatThrownBy(() -> budget.acquire(30, CancellationToken.create()))
+          .isInstanceOf(TaskRejectedException.class);
+    }
+
+    assertThat(budget.stats().rejected()).isEqualTo(1);
+    assertThat(budget.stats().waiting()).isZero();
+  }
+
+  @Test
+  void acquire_overBudget_admittedWhenBudgetReleased() throws Exception {
+    ByteBudget budget = new ByteBudget(100, Duration.ofSeconds(5));
+    ByteBudget.Permit first = budget.acquire(80, CancellationToken.create());
+
+    CompletableFuture<Long> second = CompletableFuture.supplyAsync(() -> {
+      try (ByteBudget.Permit permit = budget.acquire(30, CancellationToken.create())) {
+        return permit.bytes();
+      }
+    });
+
+    Thread.sleep(50);
+    assertThat(second).isNotDone();
+
+    first.close();
+    assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(30);
+  }
+
+  @Test
+  void acquire_overBudgetWithShortDeadline_cancelledAtDeadline() {
+    ByteBudget budget = new ByteBudget(100, Duration.ofSeconds(10));
+    CancellationToken cancellation = CancellationToken.withTimeout(Duration.ofMillis(100));
+
+    try (ByteBudget.Permit ignored = budget.acquire(80, CancellationToken.create())) {
+      long start = System.nanoTime();
+      assertThatThrownBy(() -> budget.acquire(30, cancellation))
+          .isInstanceOfSatisfying(TaskCancelledException.class, e -> {
+            assertThat(e.isDeadlineExceeded()).isTrue();
+            assertThat(e.bytesProcessed()).isZero();
+          });
+      assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    assertThat(budget.stats().rejected()).isZero();
+    assertThat(budget.stats().waiting()).isZero();
+  }
+
+  @Test
+  void acquire_cancelledWhileWaiting_stopsWaiting() throws Exception {
+    ByteBudget budget = new ByteBudget(100, Duration.ofSeconds(10));
+    CancellationToken cancellation = CancellationToken.create();
+    ByteBudget.Permit first = budget.acquire(80, CancellationToken.create());
+
+    CompletableFuture<ByteBudget.Permit> second =
+        CompletableFuture.supplyAsync(() -> budget.acquire(30, cancellation));
+    Thread.sleep(50);
+    cancellation.cancel();
+
+    assertThatThrownBy(() -> second.get(2, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(TaskCancelledException.class);
+    assertThat(budget.stats().waiting()).isZero();
+    first.close();
+  }
+
+  @Test
+  void acquire_largerThanBudget_chargedWholeBudget() {
+    ByteBudget budget = new ByteBudget(100, Duration.ofMillis(50));
+
+    try (ByteBudget.Permit permit = budget.acquire(10_000, CancellationToken.create())) {
+      assertThat(permit.bytes()).isEqualTo(100);
+    }
+  }
+
+  @Test
+  void permit_closedTwice_releasesOnce() {
+    ByteBudget budget = new ByteBudget(100, Duration.ofMillis(50));
+    ByteBudget.Permit first = budget.acquire(60, CancellationToken.create());
+    ByteBudget.Permit second = budget.acquire(40, CancellationToken.create());
+
+    first.close();
+    first.close();
+
+    assertThat(budget.stats().inFlightBytes()).isEqualTo(40);
+    second.close();
+  }
+}
@@ -0,0 +1,287 @@
+package com.mcintosh.iain.rest.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mcintosh.iain.core.progress.TaskProgress;
+import com.mcintosh.iain.core.task.CancellationToken;
+import com.mcintosh.iain.core.task.TaskCancelledException;
+import com.mcintosh.iain.core.task.strategy.TaskParameters;
+import com.mcintosh.iain.rest.model.CoalescingStats;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class JobCoalescerTest {
+
+  private static final JobCoalescer.JobKey KEY = key(100, 1);
+
+  @Test
+  void execute_concurrentIdenticalJobs_runOnce() throws Exception {
+    JobCoalescer coalescer = new JobCoalescer();
+    AtomicInteger runs = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      Future<String> leader = executor.submit(() -> coalescer.execute(KEY, caller(), shared -> {
+        runs.incrementAndGet();
+        started.countDown();
+        awaitQuietly(release);
+        return "result";
+      }));
+      started.await(5, TimeUnit.SECONDS);
+
+      List<Future<String>> followers = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        followers.add(executor.submit(() -> coalescer.execute(KEY, caller(), shared -> {
+          runs.incrementAndGet();
+          return "unexpected";
+        })));
+      }
+      awaitCoalesced(coalescer, 5);
+      release.countDown();
+
+      assertThat(leader.get()).isEqualTo("result");
+      for (Future<String> follower : followers) {
+        assertThat(follower.get()).isEqualTo("result");
+      }
+    }
+
+    assertThat(runs.get()).isEqualTo(1);
+    assertThat(coalescer.stats()).isEqualTo(new CoalescingStats(0, 1, 5));
+  }
+
+  @Test
+  void execute_differentKeys_runSeparately() throws Exception {
+    JobCoalescer coalescer = new JobCoalescer();
+
+    assertThat(coalescer.execute(KEY, caller(), shared -> "first")).isEqualTo("first");
+    assertThat(coalescer.execute(key(100, 2), caller(), shared -> "modified"))
+        .isEqualTo("modified");
+    assertThat(coalescer.execute(KEY, caller(), shared -> "again")).isEqualTo("again");
+
+    assertThat(coalescer.stats()).isEqualTo(new CoalescingStats(0, 3, 0));
+  }
+
+  @Test
+  void execute_failure_propagatesToAttachedCallers() throws Exception {
+    JobCoalescer coalescer = new JobCoalescer();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      Future<String> leader = executor.submit(() -> coalescer.execute(KEY, caller(), shared -> {
+        started.countDown();
+        awaitQuietly(release);
+        throw new IOException("boom");
+      }));
+      started.await(5, TimeUnit.SECONDS);
+
+      Future<String> follower = executor.submit(
+          () -> coalescer.execute(KEY, caller(), shared -> "unexpected"));
+      awaitCoalesced(coalescer, 1);
+      release.countDown();
+
+      assertThatThrownBy(leader::get).isInstanceOf(ExecutionException.class)
+          .hasCauseInstanceOf(IOException.class);
+      assertThatThrownBy(follower::get).isInstanceOf(ExecutionException.class)
+          .cause().hasMessage("boom");
+    }
+
+    // The failed job is not remembered
+    assertThat(coalescer.execute(KEY, caller(), shared -> "retry")).isEqualTo("retry");
+  }
+
+  @Test
+  void execute_sharedJob_cancelledOnlyOnceEveryCallerCancels() throws Exception {
+    JobCoalescer coalescer = new JobCoalescer();
+    CancellationToken leaderToken = CancellationToken.create();
+    CancellationToken followerToken = CancellationToken.create();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<CancellationToken> sharedTokens = new CopyOnWriteArrayList<>();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      Future<String> leader = executor.submit(
+          () -> coalescer.execute(KEY, caller(leaderToken), shared -> {
+            sharedTokens.add(shared);
+            started.countDown();
+            awaitQuietly(release);
+            return "result";
+          }));
+      started.await(5, TimeUnit.SECONDS);
+
+      Future<String> follower = executor.submit(
+          () -> coalescer.execute(KEY, caller(followerToken), shared -> "unexpected"));
+      awaitCoalesced(coalescer, 1);
+
+      leaderToken.cancel();
+      assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+          .hasCauseInstanceOf(TaskCancelledException.class);
+      assertThat(sharedTokens.getFirst().isCancelled()).isFalse();
+
+      followerToken.cancel();
+      assertThat(sharedTokens.getFirst().isCancelled()).isTrue();
+
+      // The last caller waits for the job to stop, and this job finishes regardless
+      release.countDown();
+      assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+    }
+  }
+
+  @Test
+  void execute_callerDeadlinePasses_detachesWithSharedProgress() throws Exception {
+    JobCoalescer coalescer = new JobCoalescer();
+    TaskProgress leaderProgress = new TaskProgress();
+    CancellationToken leaderToken = CancellationToken.withTimeout(Duration.ofMillis(50));
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      Future<String> leader = executor.submit(() -> coalescer.execute(KEY,
+          new JobCoalescer.Caller(leaderToken, leaderProgress), shared -> {
+            leaderProgress.start(100);
+            leaderProgress.update(40, Map::of);
+            started.countDown();
+            awaitQuietly(release);
+            return "result";
+          }));
+      started.await(5, TimeUnit.SECONDS);
+
+      Future<String> follower = executor.submit(
+          () -> coalescer.execute(KEY, caller(), shared -> "unexpected"));
+      awaitCoalesced(coalescer, 1);
+
+      // The leader gives up at its own deadline while the job carries on for the follower
+      assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .cause().isInstanceOfSatisfying(TaskCancelledException.class, e -> {
+            assertThat(e.bytesProcessed()).isEqualTo(40);
+            assertThat(e.isDeadlineExceeded()).isTrue();
+          });
+      assertThat(follower).isNotDone();
+
+      release.countDown();
+      assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+    }
+  }
+
+  @Test
+  void execute_lastCallerCancelled_reportsPartialResultOfJob() {
+    JobCoalescer coalescer = new JobCoalescer();
+    CancellationToken token = CancellationToken.withTimeout(Duration.ofMillis(20));
+
+    assertThatThrownBy(() -> coalescer.execute(KEY, caller(token), shared -> {
+      while (!shared.isCancelled()) {
+        Thread.onSpinWait();
+      }
+      throw new TaskCancelledException(10, shared.isDeadlineExceeded(), "partial");
+    }))
+        .isInstanceOfSatisfying(TaskCancelledException.class, e -> {
+          assertThat(e.partialResult()).contains("partial");
+          assertThat(e.isDeadlineExceeded()).isTrue();
+        });
+    assertThat(coalescer.stats().inFlight()).isZero();
+  }
+
+  @Test
+  void execute_lastCallerCancelled_waitsOnlyGracePeriodForJob() throws Exception {
+    JobCoalescer coalescer = new JobCoalescer();
+    TaskProgress progress = new TaskProgress();
+    CancellationToken token = CancellationToken.withTimeout(Duration.ofMillis(50));
+    CountDownLatch release = new CountDownLatch(1);
+
+    long start = System.nanoTime();
+    assertThatThrownBy(() -> coalescer.execute(KEY, new JobCoalescer.Caller(token, progress),
+        shared -> {
+          progress.start(100);
+          progress.update(25, Map::of);
+          // Ignores the cancellation, like a job still queued for admission
+          awaitQuietly(release);
+          return "late";
+        }))
+        .isInstanceOfSatisfying(TaskCancelledException.class, e -> {
+          assertThat(e.bytesProcessed()).isEqualTo(25);
+          assertThat(e.isDeadlineExceeded()).isTrue();
+          assertThat(e.partialResult()).isEmpty();
+        });
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+
+    release.countDown();
+  }
+
+  @Test
+  void execute_arrivesWhileCancelledJobStops_startsFreshJob() throws Exception {
+    JobCoalescer coalescer = new JobCoalescer();
+    CancellationToken leaderToken = CancellationToken.create();
+    CountDownLatch stopping = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      Future<String> leader = executor.submit(
+          () -> coalescer.execute(KEY, caller(leaderToken), shared -> {
+            while (!shared.isCancelled()) {
+              Thread.onSpinWait();
+            }
+            stopping.countDown();
+            awaitQuietly(release);
+            throw new TaskCancelledException(10, false, "partial");
+          }));
+
+      leaderToken.cancel();
+      stopping.await(5, TimeUnit.SECONDS);
+
+      // The job has seen every caller cancel, so a new request must not inherit its result
+      assertThat(coalescer.execute(KEY, caller(), shared -> "fresh")).isEqualTo("fresh");
+
+      release.countDown();
+      assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+          .hasCauseInstanceOf(TaskCancelledException.class);
+    }
+
+    assertThat(coalescer.stats().executed()).isEqualTo(2);
+  }
+
+  private static JobCoalescer.Caller caller() {
+    return caller(CancellationToken.create());
+  }
+
+  private static JobCoalescer.Caller caller(CancellationToken cancellation) {
+    return new JobCoalescer.Caller(cancellation, new TaskProgress());
+  }
+
+  private static JobCoalescer.JobKey key(long size, long lastModifiedMillis) {
+    return new JobCoalescer.JobKey(Path.of("/data/input.txt"), "count-consonants",
+        TaskParameters.NONE, size, FileTime.fromMillis(lastModifiedMillis));
+  }
+
+  private static void awaitCoalesced(JobCoalescer coalescer, long expected)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (coalescer.stats().coalesced() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.mcintosh.iain.rest.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mcintosh.iain.core.progress.TaskProgress;
+import com.mcintosh.iain.rest.config.ProgressProperties;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class ProgressServiceTest {
+
+  private ProgressService progressService;
+
+  @BeforeEach
+  void createService() {
+    ProgressProperties properties = new ProgressProperties();
+    properties.setPublishInterval(Duration.ofMillis(10));
+    progressService = new ProgressService(properties);
+  }
+
+  @AfterEach
+  void closeService() {
+    progressService.close();
+  }
+
+  @Test
+  void subscribe_stalledSubscriber_doesNotHoldUpOthers() throws Exception {
+    TaskProgress progress = new TaskProgress();
+    progress.start(100);
+    progressService.register("job", progress);
+    CountDownLatch stalledSend = new CountDownLatch(1);
+    CountDownLatch unblock = new CountDownLatch(1);
+    CountDownLatch sent = new CountDownLatch(3);
+
+    progressService.subscribe("job", new SseEmitter(0L) {
+      @Override
+      public void send(SseEventBuilder builder) throws IOException {
+        // A client whose TCP window is full blocks the write
+        stalledSend.countDown();
+        awaitQuietly(unblock);
+      }
+    });
+    assertThat(stalledSend.await(5, TimeUnit.SECONDS)).isTrue();
+
+    progressService.subscribe("job", new SseEmitter(0L) {
+      @Override
+      public void send(SseEventBuilder builder) {
+        sent.countDown();
+      }
+    });
+
+    assertThat(sent.await(5, TimeUnit.SECONDS)).isTrue();
+    unblock.countDown();
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.mcintosh.iain.rest.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mcintosh.iain.core.task.CancellationToken;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class ResponseStreamSinkTest {
+
+  @Test
+  void write_openConnection_writesOnlyTheOutput() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    CancellationToken cancellation = CancellationToken.create();
+    ResponseStreamSink sink = new ResponseStreamSink(outputStream, cancellation);
+
+    sink.write("42");
+    sink.flush();
+
+    assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("42");
+    assertThat(cancellation.isCancelled()).isFalse();
+  }
+
+  @Test
+  void flush_clientDisconnected_cancelsTask() throws IOException {
+    CancellationToken cancellation = CancellationToken.create();
+    ResponseStreamSink sink = new ResponseStreamSink(new DisconnectedStream(), cancellation);
+    sink.write("42");
+
+    assertThatThrownBy(sink::flush).isInstanceOf(IOException.class);
+    assertThat(cancellation.isCancelled()).isTrue();
+  }
+
+  private static final class DisconnectedStream extends OutputStream {
+    @Override
+    public void write(int b) throws IOException {
+      throw new IOException("Broken pipe");
+    }
+  }
+}
@@ -0,0 +1,213 @@
+package com.mcintosh.iain.rest.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mcintosh.iain.core.task.CancellationToken;
+import com.mcintosh.iain.core.task.TaskCancelledException;
+import com.mcintosh.iain.rest.exception.TaskRejectedException;
+import com.mcintosh.iain.rest.model.BulkheadStats;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class TaskBulkheadTest {
+
+  @Test
+  void execute_returnsJobResult() throws Exception {
+    TaskBulkhead bulkhead = new TaskBulkhead("test", 1, 0, Duration.ofSeconds(1));
+
+    String result = bulkhead.execute(CancellationToken.create(), () -> "done");
+
+    assertThat(result).isEqualTo("done");
+    assertThat(bulkhead.stats().completed()).isEqualTo(1);
+  }
+
+  @Test
+  void execute_runsOnCallingThread() throws Exception {
+    TaskBulkhead bulkhead = new TaskBulkhead("test", 1, 0, Duration.ofSeconds(1));
+
+    Thread thread = bulkhead.execute(CancellationToken.create(), Thread::currentThread);
+
+    assertThat(thread).isSameAs(Thread.currentThread());
+  }
+
+  @Test
+  void execute_waitingCaller_admittedWhenJobFinishes() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    TaskBulkhead bulkhead = new TaskBulkhead("test", 1, 1, Duration.ofSeconds(5));
+
+    CompletableFuture<Void> running = CompletableFuture.runAsync(() -> execute(bulkhead, () -> {
+      started.countDown();
+      awaitQuietly(release);
+      return null;
+    }));
+    started.await(5, TimeUnit.SECONDS);
+    CompletableFuture<String> waiting =
+        CompletableFuture.supplyAsync(() -> execute(bulkhead, () -> "waited"));
+
+    assertThat(waiting).isNotDone();
+    release.countDown();
+
+    assertThat(waiting.get(5, TimeUnit.SECONDS)).isEqualTo("waited");
+    running.get(5, TimeUnit.SECONDS);
+    assertThat(bulkhead.stats().active()).isZero();
+  }
+
+  @Test
+  void execute_propagatesIoException() {
+    TaskBulkhead bulkhead = new TaskBulkhead("test", 1, 0, Duration.ofSeconds(1));
+
+    assertThatThrownBy(() -> bulkhead.execute(CancellationToken.create(), () -> {
+      throw new IOException("boom");
+    }))
+        .isInstanceOf(IOException.class)
+        .hasMessage("boom");
+  }
+
+  @Test
+  void execute_queueFull_rejectsTask() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    TaskBulkhead bulkhead = new TaskBulkhead("test", 1, 0, Duration.ofSeconds(5));
+
+    CompletableFuture<Void> running = CompletableFuture.runAsync(() -> execute(bulkhead, () -> {
+      started.countDown();
+      awaitQuietly(release);
+      return null;
+    }));
+    started.await(5, TimeUnit.SECONDS);
+
+    assertThatThrownBy(() -> bulkhead.execute(CancellationToken.create(), () -> "rejected"))
+        .isInstanceOf(TaskRejectedException.class);
+
+    BulkheadStats stats = bulkhead.stats();
+    assertThat(stats.active()).isEqualTo(1);
+    assertThat(stats.rejected()).isEqualTo(1);
+
+    release.countDown();
+    running.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void execute_waitTimesOut_rejectsTask() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    TaskBulkhead bulkhead = new TaskBulkhead("test", 1, 1, Duration.ofMillis(50));
+
+    CompletableFuture<Void> running = CompletableFuture.runAsync(() -> execute(bulkhead, () -> {
+      started.countDown();
+      awaitQuietly(release);
+      return null;
+    }));
+    started.await(5, TimeUnit.SECONDS);
+
+    assertThatThrownBy(() -> bulkhead.execute(CancellationToken.create(), () -> "rejected"))
+        .isInstanceOf(TaskRejectedException.class);
+    assertThat(bulkhead.stats().queued()).isZero();
+
+    release.countDown();
+    running.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void execute_waitWithShortDeadline_cancelledAtDeadline() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    TaskBulkhead bulkhead = new TaskBulkhead("test", 1, 1, Duration.ofSeconds(30));
+    CancellationToken cancellation = CancellationToken.withTimeout(Duration.ofMillis(100));
+
+    CompletableFuture<Void> running = CompletableFuture.runAsync(() -> execute(bulkhead, () -> {
+      started.countDown();
+      awaitQuietly(release);
+      return null;
+    }));
+    started.await(5, TimeUnit.SECONDS);
+
+    long start = System.nanoTime();
+    assertThatThrownBy(() -> bulkhead.execute(cancellation, () -> "cancelled"))
+        .isInstanceOfSatisfying(TaskCancelledException.class, e -> {
+          assertThat(e.isDeadlineExceeded()).isTrue();
+          assertThat(e.bytesProcessed()).isZero();
+        });
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    assertThat(bulkhead.stats().queued()).isZero();
+    assertThat(bulkhead.stats().rejected()).isZero();
+
+    release.countDown();
+    running.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void execute_cancelledWhileWaiting_leavesQueueInOrder() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    TaskBulkhead bulkhead = new TaskBulkhead("test", 1, 2, Duration.ofSeconds(5));
+    CancellationToken cancellation = CancellationToken.create();
+
+    CompletableFuture<Void> running = CompletableFuture.runAsync(() -> execute(bulkhead, () -> {
+      started.countDown();
+      awaitQuietly(release);
+      return null;
+    }));
+    started.await(5, TimeUnit.SECONDS);
+    CompletableFuture<String> cancelled = CompletableFuture.supplyAsync(() -> {
+      try {
+        return bulkhead.execute(cancellation, () -> "cancelled");
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    CompletableFuture<String> waiting =
+        CompletableFuture.supplyAsync(() -> execute(bulkhead, () -> "waited"));
+
+    cancellation.cancel();
+    assertThatThrownBy(() -> cancelled.get(2, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(TaskCancelledException.class);
+    assertThat(waiting).isNotDone();
+
+    release.countDown();
+    assertThat(waiting.get(5, TimeUnit.SECONDS)).isEqualTo("waited");
+    running.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void execute_saturatedBulkhead_doesNotAffectOtherBulkhead() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    TaskBulkhead heavy = new TaskBulkhead("heavy", 1, 0, Duration.ofSeconds(5));
+    TaskBulkhead light = new TaskBulkhead("light", 1, 0, Duration.ofSeconds(5));
+
+    CompletableFuture<Void> running = CompletableFuture.runAsync(() -> execute(heavy, () -> {
+      started.countDown();
+      awaitQuietly(release);
+      return null;
+    }));
+    started.await(5, TimeUnit.SECONDS);
+
+    assertThat(light.execute(CancellationToken.create(), () -> "light")).isEqualTo("light");
+
+    release.countDown();
+    running.get(5, TimeUnit.SECONDS);
+  }
+
+  private static <T> T execute(TaskBulkhead bulkhead, TaskBulkhead.Job<T> job) {
+    try {
+      return bulkhead.execute(CancellationToken.create(), job);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.mcintosh.iain.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}, taking the standard JMH options.
+ * <p>
+ * The GC profiler is always added, so that the allocation rate per operation is reported
+ * alongside the time of every benchmark.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * java -jar core-benchmarks/target/benchmarks.jar StringCounter -p size=1MB
+ * }</pre>
+ * </p>
+ */
+public final class BenchmarkMain {
+
+  private BenchmarkMain() {
+    throw new UnsupportedOperationException("Class not instantiable");
+  }
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+
+    // Listing and help are handled by the standard entry point
+    if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+        || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+      org.openjdk.jmh.Main.main(args);
+      return;
+    }
+
+    boolean gcRequested = commandLine.getProfilers().stream()
+        .anyMatch(profiler -> profiler.getKlass().equals("gc")
+            || profiler.getKlass().equals(GCProfiler.class.getName()));
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+    if (!gcRequested) {
+      options.addProfiler(GCProfiler.class);
+    }
+
+    new Runner(options.build()).run();
+  }
+}
@@ -0,0 +1,49 @@
+package com.mcintosh.iain.benchmarks;
+
+import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.task.processor.CharacterCounter;
+import com.mcintosh.iain.core.util.Alphabet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks counting consonants with {@link CharacterCounter}, as the {@code count-consonants}
+ * task does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class CharacterCounterBenchmark {
+
+  @Param
+  public CaseMode caseMode;
+
+  @Benchmark
+  public Map<Character, Integer> count(StringInput input) {
+    return CharacterCounter.count(input.text, Alphabet.getConsonants(), caseMode);
+  }
+
+  @Benchmark
+  public Map<Character, Long> countChunked(ChunkedInput input) {
+    CharacterCounter.Counter counter = CharacterCounter.counter(Alphabet.getConsonants(), caseMode);
+
+    char[] text = input.text();
+    for (long i = 0; i < input.chunks(); i++) {
+      counter.count(text, input.offset(i), input.length(i));
+    }
+    return counter.counts();
+  }
+}
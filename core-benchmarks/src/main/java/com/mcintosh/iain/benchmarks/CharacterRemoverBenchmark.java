@@ -0,0 +1,56 @@
+package com.mcintosh.iain.benchmarks;
+
+import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.task.processor.CharacterRemover;
+import com.mcintosh.iain.core.util.Alphabet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks removing vowels with {@link CharacterRemover}, as the {@code remove-vowels} task
+ * does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class CharacterRemoverBenchmark {
+
+  @Param
+  public CaseMode caseMode;
+
+  private char[] dest;
+
+  @Setup
+  public void allocate() {
+    dest = new char[ChunkedInput.CHUNK_SIZE];
+  }
+
+  @Benchmark
+  public String execute(StringInput input) {
+    return CharacterRemover.execute(input.text, Alphabet.getVowels(), caseMode);
+  }
+
+  @Benchmark
+  public void executeChunked(ChunkedInput input, Blackhole blackhole) {
+    CharacterRemover.Remover remover = CharacterRemover.remover(Alphabet.getVowels(), caseMode);
+
+    char[] text = input.text();
+    for (long i = 0; i < input.chunks(); i++) {
+      blackhole.consume(remover.execute(text, input.offset(i), input.length(i), dest));
+    }
+  }
+}
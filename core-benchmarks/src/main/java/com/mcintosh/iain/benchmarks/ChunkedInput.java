@@ -0,0 +1,92 @@
+package com.mcintosh.iain.benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Input delivered in chunks, as the core processor delivers a file to the streaming processor
+ * methods.
+ * <p>
+ * Only up to {@link #PERIOD} characters (64MB) of text are generated, and larger inputs cycle
+ * through them, so that inputs of up to 1GB can be benchmarked without holding them in memory.
+ * The text is still far larger than the CPU caches, so cycling does not flatter the results.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * for (long i = 0; i < input.chunks(); i++) {
+ *   matcher.count(input.text(), input.offset(i), input.length(i));
+ * }
+ * }</pre>
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class ChunkedInput {
+
+  /**
+   * The characters in each chunk, matching the read buffer of the core processor.
+   */
+  public static final int CHUNK_SIZE = 64 * 1024;
+
+  /**
+   * The most characters generated, a whole number of chunks.
+   */
+  static final int PERIOD = 1024 * CHUNK_SIZE;
+
+  @Param({"1KB", "1MB", "64MB", "1GB"})
+  public String size;
+
+  @Param
+  public TextProfile profile;
+
+  private long length;
+  private char[] text;
+
+  @Setup
+  public void generate() {
+    length = InputSize.parse(size);
+    text = profile.generate((int) Math.min(length, PERIOD)).toCharArray();
+  }
+
+  /**
+   * Returns the buffer the chunks are read from.
+   *
+   * @return the generated text
+   */
+  public char[] text() {
+    return text;
+  }
+
+  /**
+   * Returns the number of chunks in the input.
+   *
+   * @return the number of chunks
+   */
+  public long chunks() {
+    return (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+  }
+
+  /**
+   * Returns the index in {@link #text()} of the first character of a chunk.
+   *
+   * @param chunk the index of the chunk
+   * @return the offset of the chunk
+   */
+  public int offset(long chunk) {
+    return (int) (chunk * CHUNK_SIZE % text.length);
+  }
+
+  /**
+   * Returns the number of characters in a chunk, which is less than {@link #CHUNK_SIZE} for the
+   * last chunk of an input that is not a whole number of chunks.
+   *
+   * @param chunk the index of the chunk
+   * @return the length of the chunk
+   */
+  public int length(long chunk) {
+    return (int) Math.min(CHUNK_SIZE, length - chunk * CHUNK_SIZE);
+  }
+}
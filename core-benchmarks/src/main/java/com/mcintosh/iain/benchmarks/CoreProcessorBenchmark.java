@@ -0,0 +1,80 @@
+package com.mcintosh.iain.benchmarks;
+
+import com.mcintosh.iain.core.CoreProcessor;
+import com.mcintosh.iain.core.task.ParseContext;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks a whole run of {@link CoreProcessor#process(ParseContext)} over a file, including
+ * validating the context, reading and decoding the file and running the task, with the output
+ * discarded. The tasks ignore case, so there is no case mode parameter.
+ * <p>
+ * The input file is written to the temporary directory before each trial, as UTF-8, so non-Latin
+ * inputs are larger on disk than their size in characters.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class CoreProcessorBenchmark {
+
+  @Param({"1KB", "1MB", "64MB", "1GB"})
+  public String size;
+
+  @Param
+  public TextProfile profile;
+
+  @Param({"remove-vowels", "count-consonants", "count-slow-bike"})
+  public String task;
+
+  private Path inputFile;
+
+  @Setup
+  public void writeInputFile() throws IOException {
+    long length = InputSize.parse(size);
+    String text = profile.generate((int) Math.min(length, ChunkedInput.PERIOD));
+    inputFile = Files.createTempFile("core-benchmark-", ".txt");
+
+    try (BufferedWriter writer = Files.newBufferedWriter(inputFile, StandardCharsets.UTF_8)) {
+      for (long written = 0; written < length; written += text.length()) {
+        writer.write(text, 0, (int) Math.min(text.length(), length - written));
+      }
+    }
+  }
+
+  @TearDown
+  public void deleteInputFile() throws IOException {
+    Files.deleteIfExists(inputFile);
+  }
+
+  @Benchmark
+  public void process() throws IOException {
+    ParseContext parseContext = ParseContext.builder()
+        .withParseTask(task)
+        .withInputFile(inputFile.toString())
+        .withOutputTarget("null")
+        .build();
+
+    CoreProcessor.process(parseContext);
+  }
+}
@@ -0,0 +1,37 @@
+package com.mcintosh.iain.benchmarks;
+
+/**
+ * Utility class for the input size parameters of the benchmarks, such as {@code "64MB"}.
+ */
+public final class InputSize {
+
+  private InputSize() {
+    throw new UnsupportedOperationException("Class not instantiable");
+  }
+
+  /**
+   * Parses a size with a {@code KB}, {@code MB} or {@code GB} suffix, in binary units.
+   *
+   * @param size the size to parse
+   * @return the size as a number of characters
+   * @throws IllegalArgumentException if the size is not a number with one of the suffixes
+   */
+  public static long parse(String size) {
+    long multiplier;
+    if (size.endsWith("KB")) {
+      multiplier = 1L << 10;
+    } else if (size.endsWith("MB")) {
+      multiplier = 1L << 20;
+    } else if (size.endsWith("GB")) {
+      multiplier = 1L << 30;
+    } else {
+      throw new IllegalArgumentException("Size must end with KB, MB or GB: " + size);
+    }
+
+    try {
+      return Long.parseLong(size.substring(0, size.length() - 2)) * multiplier;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid size: " + size, e);
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.mcintosh.iain.benchmarks;
+
+import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.task.processor.CharacterCounter;
+import com.mcintosh.iain.core.util.Alphabet;
+import com.mcintosh.iain.core.util.JsonParser;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks serialising the result of the {@code count-consonants} task with
+ * {@link JsonParser}. The size of the input only changes the magnitude of the counts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class JsonParserBenchmark {
+
+  @Param
+  public CaseMode caseMode;
+
+  private Map<Character, Integer> counts;
+
+  @Setup
+  public void count() {
+    String text = TextProfile.ASCII_PROSE.generate(1 << 20);
+    counts = CharacterCounter.count(text, Alphabet.getConsonants(), caseMode);
+  }
+
+  @Benchmark
+  public String toJson() {
+    return JsonParser.instance().toJson(counts);
+  }
+}
@@ -0,0 +1,49 @@
+package com.mcintosh.iain.benchmarks;
+
+import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.task.processor.StringCounter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks counting occurrences of {@code "slow bike"} with {@link StringCounter}, as the
+ * {@code count-slow-bike} task does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class StringCounterBenchmark {
+
+  private static final String PHRASE = "slow bike";
+
+  @Param
+  public CaseMode caseMode;
+
+  @Benchmark
+  public int execute(StringInput input) {
+    return StringCounter.execute(input.text, PHRASE, caseMode);
+  }
+
+  @Benchmark
+  public long executeChunked(ChunkedInput input) {
+    StringCounter.Matcher matcher = StringCounter.matcher(PHRASE, caseMode);
+
+    char[] text = input.text();
+    for (long i = 0; i < input.chunks(); i++) {
+      matcher.count(text, input.offset(i), input.length(i));
+    }
+    return matcher.count();
+  }
+}
@@ -0,0 +1,28 @@
+package com.mcintosh.iain.benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Input held in memory as a single string, for the processor methods that take the whole input
+ * at once. These are limited to 64MB, as larger strings would dominate the heap and the GC
+ * measurements; larger inputs are benchmarked in chunks with {@link ChunkedInput}.
+ */
+@State(Scope.Benchmark)
+public class StringInput {
+
+  @Param({"1KB", "1MB", "64MB"})
+  public String size;
+
+  @Param
+  public TextProfile profile;
+
+  public String text;
+
+  @Setup
+  public void generate() {
+    text = profile.generate(Math.toIntExact(InputSize.parse(size)));
+  }
+}
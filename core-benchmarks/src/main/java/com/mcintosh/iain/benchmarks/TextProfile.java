@@ -0,0 +1,70 @@
+package com.mcintosh.iain.benchmarks;
+
+import java.util.Random;
+
+/**
+ * The kinds of text the benchmarks are run over, as each exercises the processors differently.
+ * <p>
+ * Text is generated from a fixed seed, so that every run of a benchmark processes the same input.
+ * </p>
+ */
+public enum TextProfile {
+  /**
+   * English prose in mixed case, with the occasional slow bike.
+   */
+  ASCII_PROSE(new String[] {
+      "The", "the", "a", "rider", "pushed", "her", "slow", "bike", "up", "steep", "hill", "and",
+      "then", "freewheeled", "down", "into", "town", "past", "quiet", "shops", "every", "morning",
+      "before", "work", "Slow", "Bike", "while", "traffic", "queued", "behind", "buses"
+  }),
+
+  /**
+   * Greek, Cyrillic and Chinese words, none of which are vowels or consonants to the processors.
+   */
+  NON_LATIN(new String[] {
+      "αργό", "ποδήλατο", "ανηφόρα", "πόλη", "πρωί", "медленный", "велосипед", "холм", "город",
+      "утром", "慢", "自行车", "上坡", "城市", "早上"
+  }),
+
+  /**
+   * Near misses of {@code "slow bike"}, which make a naive substring search back up on every
+   * character.
+   */
+  PATHOLOGICAL(new String[] {"slow slow slow bik"});
+
+  private static final long SEED = 42;
+
+  private final String[] words;
+
+  TextProfile(String[] words) {
+    this.words = words;
+  }
+
+  /**
+   * Generates text of this profile.
+   *
+   * @param length the number of characters to generate
+   * @return the generated text
+   */
+  public String generate(int length) {
+    Random random = new Random(SEED);
+    StringBuilder text = new StringBuilder(length + 32);
+
+    while (text.length() < length) {
+      text.append(words[random.nextInt(words.length)]);
+
+      // Break the words into sentences and lines, as in a typical document
+      int separator = random.nextInt(16);
+      if (separator == 0) {
+        text.append(".\n");
+      } else if (separator == 1) {
+        text.append(", ");
+      } else {
+        text.append(' ');
+      }
+    }
+
+    text.setLength(length);
+    return text.toString();
+  }
+}
@@ -0,0 +1,225 @@
+package com.mcintosh.iain.benchmarks.throughput;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Generates reproducible English-like text corpora of any size, streamed to disk.
+ * <p>
+ * Words are drawn from a Zipfian distribution over a vocabulary of common English words followed
+ * by a long tail of made-up words, so that word frequencies follow the same power law as real
+ * text. The phrase {@code "slow bike"} is inserted in place of a word at the given density, and
+ * the length of each line is drawn from a normal distribution. The same settings and seed always
+ * produce the same corpus.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * CorpusGenerator generator = new CorpusGenerator(42, 0.001, 80, 20, 1.0);
+ * generator.write(Path.of("corpus.txt"), 10L << 30);
+ * }</pre>
+ * </p>
+ */
+public final class CorpusGenerator {
+
+  static final String PHRASE = "slow bike";
+
+  /**
+   * The most common English words, in order of frequency, with the words of the phrase.
+   */
+  private static final String[] COMMON_WORDS = {
+      "the", "of", "and", "to", "a", "in", "is", "it", "you", "that", "he", "was", "for", "on",
+      "are", "with", "as", "his", "they", "be", "at", "one", "have", "this", "from", "or", "had",
+      "by", "not", "word", "but", "what", "some", "we", "can", "out", "other", "were", "all",
+      "there", "when", "up", "use", "your", "how", "said", "an", "each", "she", "which", "do",
+      "their", "time", "if", "will", "way", "about", "many", "then", "them", "write", "would",
+      "like", "so", "these", "her", "long", "make", "thing", "see", "him", "two", "has", "look",
+      "more", "day", "could", "go", "come", "did", "number", "sound", "no", "most", "people",
+      "my", "over", "know", "water", "than", "call", "first", "who", "may", "down", "side",
+      "been", "now", "find", "any", "new", "work", "part", "take", "get", "place", "made",
+      "live", "where", "after", "back", "little", "only", "round", "man", "year", "came", "show",
+      "every", "good", "me", "give", "our", "under", "name", "very", "through", "just", "form",
+      "road", "slow", "bike", "hill", "town", "ride", "fast", "rider", "wheel", "street"
+  };
+
+  /**
+   * The number of words in the vocabulary, including the made-up words of the tail.
+   */
+  private static final int VOCABULARY_SIZE = 20_000;
+
+  private static final String[] SYLLABLES = {
+      "ba", "ce", "di", "fo", "gu", "ha", "je", "ki", "lo", "mu", "na", "pe", "qui", "ro", "su",
+      "ta", "ve", "wi", "xo", "yu", "ze", "st", "th", "ng", "ou", "ea", "er", "in", "an", "on"
+  };
+
+  private static final String[] VOCABULARY = buildVocabulary();
+
+  private final long seed;
+  private final double phraseDensity;
+  private final int meanLineLength;
+  private final int lineLengthStdDev;
+  private final double zipfExponent;
+  private final double[] cumulative;
+
+  /**
+   * Creates a generator.
+   *
+   * @param seed             the seed, so that a corpus can be generated again identically
+   * @param phraseDensity    the probability of each word being the phrase instead, from 0 to 1
+   * @param meanLineLength   the mean number of characters in a line
+   * @param lineLengthStdDev the standard deviation of the line length, or 0 for fixed lengths
+   * @param zipfExponent     the exponent of the word frequency distribution, 1 for English
+   * @throws IllegalArgumentException if any of the settings is out of range
+   */
+  public CorpusGenerator(long seed, double phraseDensity, int meanLineLength,
+      int lineLengthStdDev, double zipfExponent) {
+    if (phraseDensity < 0 || phraseDensity > 1) {
+      throw new IllegalArgumentException("Phrase density must be between 0 and 1");
+    }
+    if (meanLineLength < 1 || lineLengthStdDev < 0) {
+      throw new IllegalArgumentException("Line length must be positive");
+    }
+    if (zipfExponent <= 0) {
+      throw new IllegalArgumentException("Zipf exponent must be positive");
+    }
+
+    this.seed = seed;
+    this.phraseDensity = phraseDensity;
+    this.meanLineLength = meanLineLength;
+    this.lineLengthStdDev = lineLengthStdDev;
+    this.zipfExponent = zipfExponent;
+    this.cumulative = cumulativeFrequencies(zipfExponent);
+  }
+
+  /**
+   * Returns a file name describing the corpus of the given size, so that a generated corpus can
+   * be reused by later runs with the same settings.
+   *
+   * @param bytes the size of the corpus
+   * @return the file name
+   */
+  public String fileName(long bytes) {
+    return String.format(Locale.ROOT, "corpus-%d-seed%d-phrase%s-line%dx%d-zipf%s.txt",
+        bytes, seed, phraseDensity, meanLineLength, lineLengthStdDev, zipfExponent);
+  }
+
+  /**
+   * Writes a corpus of exactly the given size to the file, replacing its contents. The corpus is
+   * ASCII, so its size in bytes is also its size in characters.
+   *
+   * @param file  the file to write
+   * @param bytes the size of the corpus
+   * @throws IOException if the file cannot be written
+   */
+  public void write(Path file, long bytes) throws IOException {
+    SplittableRandom random = new SplittableRandom(seed);
+    StringBuilder line = new StringBuilder(meanLineLength * 4);
+    long written = 0;
+
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+      while (written < bytes) {
+        line.setLength(0);
+        appendLine(line, random);
+
+        int length = (int) Math.min(line.length(), bytes - written);
+        writer.append(line, 0, length);
+        written += length;
+      }
+    }
+  }
+
+  private void appendLine(StringBuilder line, SplittableRandom random) {
+    int target = nextLineLength(random);
+    boolean sentenceStart = true;
+
+    while (line.length() < target) {
+      if (!line.isEmpty()) {
+        line.append(' ');
+      }
+
+      String word = random.nextDouble() < phraseDensity ? PHRASE : nextWord(random);
+      if (sentenceStart) {
+        line.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+      } else {
+        line.append(word);
+      }
+
+      // Sentences average a dozen words
+      sentenceStart = random.nextInt(12) == 0;
+      if (sentenceStart) {
+        line.append('.');
+      } else if (random.nextInt(20) == 0) {
+        line.append(',');
+      }
+    }
+
+    line.append('\n');
+  }
+
+  private int nextLineLength(SplittableRandom random) {
+    if (lineLengthStdDev == 0) {
+      return meanLineLength;
+    }
+
+    // Box-Muller transform, as SplittableRandom has no Gaussian
+    double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble()))
+        * Math.cos(2 * Math.PI * random.nextDouble());
+    long length = Math.round(meanLineLength + gaussian * lineLengthStdDev);
+    return (int) Math.clamp(length, 1, 10L * meanLineLength);
+  }
+
+  private String nextWord(SplittableRandom random) {
+    int index = Arrays.binarySearch(cumulative, random.nextDouble());
+    if (index < 0) {
+      index = -index - 1;
+    }
+    return VOCABULARY[Math.min(index, VOCABULARY.length - 1)];
+  }
+
+  /**
+   * Returns the cumulative probability of each rank, where rank {@code r} has a frequency
+   * proportional to {@code 1 / r^s}.
+   */
+  private static double[] cumulativeFrequencies(double exponent) {
+    double[] cumulative = new double[VOCABULARY.length];
+
+    double total = 0;
+    for (int rank = 1; rank <= cumulative.length; rank++) {
+      total += 1 / Math.pow(rank, exponent);
+      cumulative[rank - 1] = total;
+    }
+    for (int i = 0; i < cumulative.length; i++) {
+      cumulative[i] /= total;
+    }
+
+    return cumulative;
+  }
+
+  /**
+   * Builds the vocabulary from the common words followed by made-up words of two to four
+   * syllables. The made-up words do not depend on the seed, so that corpora generated with
+   * different seeds share a vocabulary.
+   */
+  private static String[] buildVocabulary() {
+    String[] vocabulary = Arrays.copyOf(COMMON_WORDS, VOCABULARY_SIZE);
+    SplittableRandom random = new SplittableRandom(0);
+
+    for (int i = COMMON_WORDS.length; i < vocabulary.length; i++) {
+      StringBuilder word = new StringBuilder();
+      int syllables = 2 + random.nextInt(3);
+      for (int s = 0; s < syllables; s++) {
+        word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+      }
+      vocabulary[i] = word.toString();
+    }
+
+    return vocabulary;
+  }
+}
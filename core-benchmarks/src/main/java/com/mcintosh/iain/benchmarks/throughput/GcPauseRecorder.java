@@ -0,0 +1,109 @@
+package com.mcintosh.iain.benchmarks.throughput;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Records the stop-the-world pauses of the garbage collector between its creation and
+ * {@link #close()}.
+ * <p>
+ * Collections are reported asynchronously, so closing waits until every collection counted by the
+ * collector beans has been reported. Concurrent cycles are counted as collections but not as
+ * pauses, as the application keeps running during them.
+ * </p>
+ */
+final class GcPauseRecorder implements NotificationListener, AutoCloseable {
+
+  /**
+   * The longest to wait for outstanding collections to be reported.
+   */
+  private static final long REPORT_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+  private final List<GarbageCollectorMXBean> collectors =
+      ManagementFactory.getGarbageCollectorMXBeans();
+  private final long collectionsAtStart;
+
+  private long reported;
+  private long pauses;
+  private long totalPauseMillis;
+  private long maxPauseMillis;
+
+  GcPauseRecorder() {
+    this.collectionsAtStart = collectionCount();
+    for (GarbageCollectorMXBean collector : collectors) {
+      ((NotificationEmitter) collector).addNotificationListener(this, null, null);
+    }
+  }
+
+  @Override
+  public synchronized void handleNotification(Notification notification, Object handback) {
+    if (!notification.getType().equals(
+        GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+      return;
+    }
+
+    GarbageCollectionNotificationInfo info =
+        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+    reported++;
+    if (!info.getGcAction().contains("concurrent")) {
+      long duration = info.getGcInfo().getDuration();
+      pauses++;
+      totalPauseMillis += duration;
+      maxPauseMillis = Math.max(maxPauseMillis, duration);
+    }
+    notifyAll();
+  }
+
+  /**
+   * Waits for outstanding collections to be reported and stops recording.
+   */
+  @Override
+  public synchronized void close() {
+    long expected = collectionCount() - collectionsAtStart;
+    long deadline = System.nanoTime() + REPORT_TIMEOUT_NANOS;
+
+    try {
+      while (reported < expected && System.nanoTime() < deadline) {
+        wait(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()) + 1);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    for (GarbageCollectorMXBean collector : collectors) {
+      try {
+        ((NotificationEmitter) collector).removeNotificationListener(this);
+      } catch (ListenerNotFoundException e) {
+        // Already removed
+      }
+    }
+  }
+
+  synchronized long pauses() {
+    return pauses;
+  }
+
+  synchronized long totalPauseMillis() {
+    return totalPauseMillis;
+  }
+
+  synchronized long maxPauseMillis() {
+    return maxPauseMillis;
+  }
+
+  private long collectionCount() {
+    long count = 0;
+    for (GarbageCollectorMXBean collector : collectors) {
+      count += Math.max(0, collector.getCollectionCount());
+    }
+    return count;
+  }
+}
@@ -0,0 +1,267 @@
+package com.mcintosh.iain.benchmarks.throughput;
+
+import com.google.gson.Gson;
+import com.mcintosh.iain.benchmarks.InputSize;
+import com.mcintosh.iain.core.CoreProcessor;
+import com.mcintosh.iain.core.task.ParseContext;
+import com.mcintosh.iain.core.task.strategy.ParseTaskRegistry;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Runs whole {@link CoreProcessor#process(ParseContext)} jobs over generated corpora, reading
+ * the corpus from disk and writing the output to a file, and reports the throughput, peak heap,
+ * garbage collection pauses and allocation rate of each run.
+ * <p>
+ * Each corpus is generated by {@link CorpusGenerator} on first use and kept in the corpus
+ * directory, so that later runs with the same settings read the same input without generating it
+ * again. Every task is run over every corpus, after warm-up runs that are not recorded, and each
+ * measured run is appended to the results file as a line of JSON (see {@link ThroughputResult}),
+ * as well as summarised on standard out.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * java -Xmx1g -cp core-benchmarks/target/benchmarks.jar \
+ *     com.mcintosh.iain.benchmarks.throughput.ThroughputBenchmark --sizes 64MB,10GB --runs 3
+ * }</pre>
+ * </p>
+ */
+public final class ThroughputBenchmark {
+
+  private static final String USAGE = """
+      Usage: ThroughputBenchmark [options]
+
+      Options:
+        --sizes              Corpus sizes, comma separated, with a KB, MB or GB suffix. Defaults to 64MB,1GB
+        --tasks              Tasks to run, semicolon separated, each a task or a comma separated pipeline. Defaults to every task
+        --chars              Character class of the tasks taking one, such as remove-chars. Defaults to [:vowels:]
+        --phrase             Phrase of the tasks taking one, such as count-phrase. Defaults to "slow bike"
+        --runs               Measured runs of each task over each corpus. Defaults to 3
+        --warmup             Unrecorded runs of each task before the first corpus. Defaults to 1
+        --corpus-dir         Directory the corpora are kept in. Defaults to ais-corpus in the temp directory
+        --results            File the results are appended to, as JSON lines. Defaults to throughput-results.jsonl
+        --seed               Seed of the corpus generator. Defaults to 42
+        --phrase-density     Probability of each word being "slow bike". Defaults to 0.001
+        --line-length        Mean and standard deviation of the line length, as mean:stddev. Defaults to 80:20
+        --zipf-exponent      Exponent of the word frequency distribution. Defaults to 1.0
+      """;
+
+  private static final double MEGABYTE = 1 << 20;
+
+  private final CorpusGenerator generator;
+  private final Path corpusDirectory;
+  private final Path resultsFile;
+  private final String characterClass;
+  private final String phrase;
+  private final Gson gson = new Gson();
+
+  private ThroughputBenchmark(CorpusGenerator generator, Path corpusDirectory, Path resultsFile,
+      String characterClass, String phrase) {
+    this.generator = generator;
+    this.corpusDirectory = corpusDirectory;
+    this.resultsFile = resultsFile;
+    this.characterClass = characterClass;
+    this.phrase = phrase;
+  }
+
+  public static void main(String[] args) throws IOException {
+    List<Long> sizes = List.of(InputSize.parse("64MB"), InputSize.parse("1GB"));
+    List<String> tasks = ParseTaskRegistry.taskNames();
+    String characterClass = "[:vowels:]";
+    String phrase = "slow bike";
+    int runs = 3;
+    int warmup = 1;
+    Path corpusDirectory = Path.of(System.getProperty("java.io.tmpdir"), "ais-corpus");
+    Path resultsFile = Path.of("throughput-results.jsonl");
+    long seed = 42;
+    double phraseDensity = 0.001;
+    int meanLineLength = 80;
+    int lineLengthStdDev = 20;
+    double zipfExponent = 1.0;
+
+    CorpusGenerator generator;
+    try {
+      for (int i = 0; i < args.length; i++) {
+        String value = i + 1 < args.length ? args[i + 1] : null;
+        if (value == null && !args[i].equals("-h") && !args[i].equals("--help")) {
+          throw new IllegalArgumentException(args[i] + " requires a value");
+        }
+
+        switch (args[i]) {
+          case "--sizes" -> sizes = Arrays.stream(value.split(",")).map(InputSize::parse).toList();
+          case "--tasks" -> tasks = List.of(value.split(";"));
+          case "--chars" -> characterClass = value;
+          case "--phrase" -> phrase = value;
+          case "--runs" -> runs = Integer.parseInt(value);
+          case "--warmup" -> warmup = Integer.parseInt(value);
+          case "--corpus-dir" -> corpusDirectory = Path.of(value);
+          case "--results" -> resultsFile = Path.of(value);
+          case "--seed" -> seed = Long.parseLong(value);
+          case "--phrase-density" -> phraseDensity = Double.parseDouble(value);
+          case "--line-length" -> {
+            String[] parts = value.split(":");
+            meanLineLength = Integer.parseInt(parts[0]);
+            lineLengthStdDev = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+          }
+          case "--zipf-exponent" -> zipfExponent = Double.parseDouble(value);
+          case "-h", "--help" -> {
+            System.out.print(USAGE);
+            return;
+          }
+          default -> throw new IllegalArgumentException("Unrecognised argument: " + args[i]);
+        }
+        i++;
+      }
+
+      generator = new CorpusGenerator(
+          seed, phraseDensity, meanLineLength, lineLengthStdDev, zipfExponent);
+    } catch (IllegalArgumentException e) {
+      // Also covers NumberFormatException
+      System.err.println(e.getMessage());
+      System.err.print(USAGE);
+      System.exit(1);
+      return;
+    }
+
+    Files.createDirectories(corpusDirectory);
+    new ThroughputBenchmark(generator, corpusDirectory, resultsFile, characterClass, phrase)
+        .run(sizes, tasks, runs, warmup);
+  }
+
+  private void run(List<Long> sizes, List<String> tasks, int runs, int warmup)
+      throws IOException {
+    List<Path> corpora = new ArrayList<>();
+    for (long size : sizes) {
+      corpora.add(corpus(size));
+    }
+
+    // Warm up on the smallest corpus, so that every measured run uses compiled code
+    Path smallest = corpora.get(sizes.indexOf(sizes.stream().min(Long::compare).orElseThrow()));
+    for (String task : tasks) {
+      for (int i = 0; i < warmup; i++) {
+        measure(task, smallest, 0);
+      }
+    }
+
+    System.out.printf("%-18s %12s %4s %10s %12s %10s %12s %12s%n", "task", "input MB", "run",
+        "MB/s", "peak heap MB", "GC pauses", "max pause ms", "alloc MB/s");
+    for (Path corpus : corpora) {
+      for (String task : tasks) {
+        for (int run = 1; run <= runs; run++) {
+          ThroughputResult result = measure(task, corpus, run);
+          record(result);
+          System.out.printf("%-18s %12.1f %4d %10.1f %12.1f %10d %12d %12.1f%n", task,
+              result.inputBytes() / MEGABYTE, run, result.megabytesPerSecond(),
+              result.peakHeapBytes() / MEGABYTE, result.gcPauses(), result.gcPauseMaxMillis(),
+              result.allocationRateMbPerSecond());
+        }
+      }
+    }
+
+    System.out.println("Results appended to " + resultsFile.toAbsolutePath());
+  }
+
+  /**
+   * Returns the corpus of the given size, generating it if it has not been generated before.
+   */
+  private Path corpus(long size) throws IOException {
+    Path corpus = corpusDirectory.resolve(generator.fileName(size));
+    if (!Files.exists(corpus) || Files.size(corpus) != size) {
+      System.out.printf("Generating %s%n", corpus);
+      long startNanos = System.nanoTime();
+      generator.write(corpus, size);
+      System.out.printf("Generated %.1f MB in %.1fs%n",
+          size / MEGABYTE, (System.nanoTime() - startNanos) / 1e9);
+    }
+    return corpus;
+  }
+
+  /**
+   * Runs the task over the corpus once, writing its output to a file beside the corpus.
+   */
+  private ThroughputResult measure(String task, Path corpus, int run) throws IOException {
+    Path output = corpusDirectory.resolve("output-" + task + ".txt");
+    // The file sink appends, so start from an empty file
+    Files.deleteIfExists(output);
+    ParseContext parseContext = ParseContext.builder()
+        .withParseTask(task)
+        .withCharacterClass(characterClass)
+        .withPhrase(phrase)
+        .withInputFile(corpus.toString())
+        .withOutputFile(output.toString())
+        .withOutputTarget("file")
+        .build();
+
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+        .filter(pool -> pool.getType() == MemoryType.HEAP)
+        .toList();
+
+    // Start from a collected heap, so that a run does not pay for the garbage of the one before
+    System.gc();
+    heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+    long elapsedNanos;
+    long allocatedBytes;
+    GcPauseRecorder gcPauses = new GcPauseRecorder();
+    try {
+      long allocatedAtStart = threads.getCurrentThreadAllocatedBytes();
+      long startNanos = System.nanoTime();
+      CoreProcessor.process(parseContext);
+      elapsedNanos = System.nanoTime() - startNanos;
+      allocatedBytes = threads.getCurrentThreadAllocatedBytes() - allocatedAtStart;
+    } finally {
+      gcPauses.close();
+    }
+
+    long peakHeapBytes = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    long inputBytes = Files.size(corpus);
+    long outputBytes = Files.size(output);
+    double seconds = elapsedNanos / 1e9;
+    Files.delete(output);
+
+    return new ThroughputResult(
+        task,
+        corpus.getFileName().toString(),
+        inputBytes,
+        outputBytes,
+        run,
+        seconds,
+        inputBytes / MEGABYTE / seconds,
+        peakHeapBytes,
+        gcPauses.pauses(),
+        gcPauses.totalPauseMillis(),
+        gcPauses.maxPauseMillis(),
+        allocatedBytes,
+        allocatedBytes / MEGABYTE / seconds,
+        Runtime.version().toString(),
+        Runtime.getRuntime().availableProcessors(),
+        Runtime.getRuntime().maxMemory(),
+        ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .map(GarbageCollectorMXBean::getName)
+            .collect(Collectors.joining(",")));
+  }
+
+  private void record(ThroughputResult result) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(resultsFile, StandardCharsets.UTF_8,
+        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+      writer.write(gson.toJson(result));
+      writer.newLine();
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.mcintosh.iain.benchmarks.throughput;
+
+/**
+ * The measurements of one run of a task over a corpus, written as a line of JSON.
+ *
+ * @param task                      the task that was run
+ * @param corpus                    the file name of the corpus, which encodes its settings
+ * @param inputBytes                the size of the corpus
+ * @param outputBytes               the size of the output written
+ * @param run                       the number of the run, from 1
+ * @param seconds                   the wall clock time of the run
+ * @param megabytesPerSecond        the input processed per second, in MB of 2^20 bytes
+ * @param peakHeapBytes             the sum of the peak usage of each heap memory pool during the run
+ * @param gcPauses                  the number of garbage collection pauses during the run
+ * @param gcPauseTotalMillis        the total time of the pauses
+ * @param gcPauseMaxMillis          the longest pause
+ * @param allocatedBytes            the bytes allocated by the thread running the task
+ * @param allocationRateMbPerSecond the allocation rate of the run, in MB of 2^20 bytes
+ * @param javaVersion               the Java runtime version
+ * @param availableProcessors       the processors available to the JVM
+ * @param maxHeapBytes              the maximum heap size
+ * @param garbageCollectors         the names of the garbage collectors in use
+ */
+record ThroughputResult(
+    String task,
+    String corpus,
+    long inputBytes,
+    long outputBytes,
+    int run,
+    double seconds,
+    double megabytesPerSecond,
+    long peakHeapBytes,
+    long gcPauses,
+    long gcPauseTotalMillis,
+    long gcPauseMaxMillis,
+    long allocatedBytes,
+    double allocationRateMbPerSecond,
+    String javaVersion,
+    int availableProcessors,
+    long maxHeapBytes,
+    String garbageCollectors
+) {}
@@ -0,0 +1,22 @@
+package com.mcintosh.iain.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class InputSizeTest {
+
+  @Test
+  void parse_sizeWithUnit_returnsCharacters() {
+    assertThat(InputSize.parse("1KB")).isEqualTo(1024);
+    assertThat(InputSize.parse("64MB")).isEqualTo(64L << 20);
+    assertThat(InputSize.parse("1GB")).isEqualTo(1L << 30);
+  }
+
+  @Test
+  void parse_sizeWithoutUnit_throwsException() {
+    assertThatThrownBy(() -> InputSize.parse("1024"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,33 @@
+package com.mcintosh.iain.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TextProfileTest {
+
+  @Test
+  void generate_anyProfile_returnsRequestedLength() {
+    for (TextProfile profile : TextProfile.values()) {
+      assertThat(profile.generate(1000)).hasSize(1000);
+    }
+  }
+
+  @Test
+  void generate_sameLength_returnsSameText() {
+    assertThat(TextProfile.ASCII_PROSE.generate(500))
+        .isEqualTo(TextProfile.ASCII_PROSE.generate(500));
+  }
+
+  @Test
+  void generate_pathological_repeatsNearMisses() {
+    assertThat(TextProfile.PATHOLOGICAL.generate(1000))
+        .startsWith("slow slow slow bik")
+        .doesNotContain("slow bike");
+  }
+
+  @Test
+  void generate_nonLatin_containsNoLatinLetters() {
+    assertThat(TextProfile.NON_LATIN.generate(1000)).doesNotContainPattern("[a-zA-Z]");
+  }
+}
@@ -0,0 +1,85 @@
+package com.mcintosh.iain.benchmarks.throughput;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CorpusGeneratorTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void write_anySize_writesExactlyThatManyBytes() throws IOException {
+    Path corpus = tempDir.resolve("corpus.txt");
+
+    new CorpusGenerator(1, 0.01, 80, 20, 1.0).write(corpus, 100_003);
+
+    assertThat(Files.size(corpus)).isEqualTo(100_003);
+  }
+
+  @Test
+  void write_sameSettings_writesSameCorpus() throws IOException {
+    Path first = tempDir.resolve("first.txt");
+    Path second = tempDir.resolve("second.txt");
+
+    new CorpusGenerator(7, 0.01, 80, 20, 1.0).write(first, 50_000);
+    new CorpusGenerator(7, 0.01, 80, 20, 1.0).write(second, 50_000);
+
+    assertThat(Files.mismatch(first, second)).isEqualTo(-1);
+  }
+
+  @Test
+  void write_phraseDensity_insertsPhraseAtDensity() throws IOException {
+    Path corpus = tempDir.resolve("corpus.txt");
+
+    new CorpusGenerator(1, 0.01, 80, 20, 1.0).write(corpus, 1_000_000);
+
+    String text = Files.readString(corpus).toLowerCase();
+    long words = text.split("\\s+").length;
+    long phrases = Pattern.compile(CorpusGenerator.PHRASE).matcher(text).results().count();
+    // Each phrase is two words, and the common words include "slow" and "bike" on their own
+    assertThat((double) phrases / words).isBetween(0.008, 0.03);
+  }
+
+  @Test
+  void write_zipfDistribution_mostCommonWordIsFrequent() throws IOException {
+    Path corpus = tempDir.resolve("corpus.txt");
+
+    new CorpusGenerator(1, 0, 80, 0, 1.0).write(corpus, 1_000_000);
+
+    Map<String, Long> frequencies = Arrays.stream(Files.readString(corpus).split("[\\s.,]+"))
+        .map(String::toLowerCase)
+        .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    long words = frequencies.values().stream().mapToLong(Long::longValue).sum();
+    // With 20,000 ranks and an exponent of 1, the first rank is about 9% of the words
+    assertThat((double) frequencies.get("the") / words).isBetween(0.07, 0.11);
+    assertThat(frequencies.get("the")).isGreaterThan(frequencies.get("of"));
+  }
+
+  @Test
+  void write_fixedLineLength_wrapsLinesNearThatLength() throws IOException {
+    Path corpus = tempDir.resolve("corpus.txt");
+
+    new CorpusGenerator(1, 0, 40, 0, 1.0).write(corpus, 100_000);
+
+    assertThat(Files.readAllLines(corpus).subList(0, 100))
+        .allSatisfy(line -> assertThat(line.length()).isBetween(40, 60));
+  }
+
+  @Test
+  void constructor_densityOutOfRange_throwsException() {
+    assertThatThrownBy(() -> new CorpusGenerator(1, 2, 80, 20, 1.0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -1,14 +1,44 @@
 package com.mcintosh.iain.core;
 
+import com.mcintosh.iain.core.jfr.ExecuteChunkEvent;
+import com.mcintosh.iain.core.jfr.FlightRecording;
+import com.mcintosh.iain.core.jfr.ParseTaskEvent;
+import com.mcintosh.iain.core.jfr.ReadChunkEvent;
+import com.mcintosh.iain.core.jfr.WriteChunkEvent;
+import com.mcintosh.iain.core.metrics.ProcessingListener;
+import com.mcintosh.iain.core.metrics.ProcessingListeners;
+import com.mcintosh.iain.core.metrics.ProcessingStats;
+import com.mcintosh.iain.core.output.MemorySink;
+import com.mcintosh.iain.core.output.OutputSink;
+import com.mcintosh.iain.core.progress.ProgressSnapshot;
+import com.mcintosh.iain.core.progress.TaskProgress;
+import com.mcintosh.iain.core.task.CancellationToken;
 import com.mcintosh.iain.core.task.ParseContext;
+import com.mcintosh.iain.core.task.TaskCancelledException;
 import com.mcintosh.iain.core.task.strategy.ParseTask;
-import com.mcintosh.iain.core.task.strategy.ParseTaskRegistry;
-import com.mcintosh.iain.core.task.enums.OutputTarget;
-import java.io.BufferedReader;
+import com.mcintosh.iain.core.task.strategy.TaskCapabilities;
+import com.mcintosh.iain.core.task.strategy.TaskStream;
+import com.mcintosh.iain.core.tracing.TraceSpan;
+import com.mcintosh.iain.core.tracing.Tracing;
+import com.mcintosh.iain.core.util.TextChunkDecoder;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,7 +47,32 @@ import org.slf4j.LoggerFactory;
  * <p>
  * Use the {@link #process(ParseContext)}
  * method to execute a parse task on an input file and write the output to the specified
- * target (console or file).
+ * target (console, file, null or a registered custom sink). Embedding applications can
+ * instead supply their own {@link OutputSink} through {@link #process(ParseContext, OutputSink)}.
+ * <p>
+ * The input is streamed through the task in fixed size chunks rather than being read into memory
+ * as a whole, so memory use does not grow with the size of the input file for any of the built-in
+ * tasks. Output from transforming tasks reaches the sink while the input is still being read.
+ * <p>
+ * How the input is read is chosen from the {@link TaskCapabilities} of the task (see
+ * {@link ExecutionPlan}). Input files are memory-mapped for byte level tasks, and split across
+ * one thread per available processor for splittable tasks with a bounded output, while input
+ * channels and any other task are read through a single decoded stream.
+ * <p>
+ * The {@link CancellationToken} of the context is checked after each chunk, so a cancelled or
+ * expired run stops with a {@link TaskCancelledException} within one chunk. Tasks with a bounded
+ * output, such as the counting tasks, then report their result for the input read so far.
+ * <p>
+ * Progress is published to the {@link TaskProgress} of the context after each chunk, including
+ * the running counts of counting tasks, so that other threads can report it while the task runs.
+ * <p>
+ * Every run is timed, and the measurements are passed to any {@link ProcessingListener}
+ * registered with {@link ProcessingListeners}. While a Flight Recorder recording runs, each run,
+ * and each chunk read, executed and written within it, is also recorded as a JDK Flight Recorder
+ * event in the {@code com.mcintosh.iain} namespace (see {@link FlightRecording}). When the
+ * OpenTelemetry API is on the classpath, each run is also traced as a {@code parse.process} span,
+ * with {@code parse.read}, {@code parse.execute} and {@code parse.write} child spans (see
+ * {@link Tracing}).
  * <p>
  * Example usage:
  * <pre>{@code
@@ -33,6 +88,21 @@ import org.slf4j.LoggerFactory;
 public final class CoreProcessor {
   private static final Logger log = LoggerFactory.getLogger(CoreProcessor.class);
 
+  /**
+   * Number of bytes read from the input file at a time.
+   */
+  private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Number of bytes read at a time when looking for the line break to split an input file at.
+   */
+  private static final int SPLIT_SCAN_SIZE = 8 * 1024;
+
+  /**
+   * Interval between progress updates while the input is read on other threads.
+   */
+  private static final long PROGRESS_INTERVAL_MILLIS = 100;
+
   private CoreProcessor() {
     throw new UnsupportedOperationException("Class not instantiable");
   }
@@ -44,82 +114,564 @@ public final class CoreProcessor {
    * @throws IOException if reading or writing the file fails
    */
   public static void process(ParseContext parseContext) throws IOException {
+    try (OutputSink sink = parseContext.outputSink().open(parseContext)) {
+      execute(parseContext, sink);
+    }
+  }
+
+  /**
+   * Processes the input file according to the {@link ParseContext}, writing the output to the
+   * provided sink instead of the target named in the context.
+   * <p>
+   * The sink is flushed but not closed, so ownership remains with the caller.
+   * </p>
+   *
+   * @param parseContext the context containing input file and parse task information
+   * @param sink         the sink to write the output to
+   * @throws IOException if reading the file or writing the output fails
+   */
+  public static void process(ParseContext parseContext, OutputSink sink) throws IOException {
+    execute(parseContext, sink);
+  }
+
+  /**
+   * Processes the input as {@link #process(ParseContext, OutputSink)} does, splitting it across
+   * at most the given number of threads rather than one per available processor.
+   */
+  static void process(ParseContext parseContext, OutputSink sink, int parallelism)
+      throws IOException {
+    execute(parseContext, sink, parallelism);
+  }
+
+  /**
+   * Streams the input file through the parse task, writing the output to the sink and flushing
+   * it.
+   *
+   * @param parseContext the context containing input file and parse task information
+   * @param sink         the sink to write the output to
+   * @throws IOException if reading the file or writing the output fails
+   */
+  private static void execute(ParseContext parseContext, OutputSink sink) throws IOException {
+    execute(parseContext, sink, Runtime.getRuntime().availableProcessors());
+  }
+
+  private static void execute(ParseContext parseContext, OutputSink sink, int parallelism)
+      throws IOException {
     log.info("Task processing initiated");
+    ProcessingListeners.fireStart(parseContext);
+    ParseTaskEvent event = FlightRecording.begin(ParseTaskEvent::new);
+    TraceSpan span = Tracing.startSpan("parse.process");
+
+    String taskType = parseContext.taskName();
+    Measurement measurement = new Measurement(sink, taskType);
+    TaskProgress progress = parseContext.progress();
+    progress.start(parseContext.inputSize());
+    String engine = null;
+
+    try {
+      // Determine strategy to use to process input
+      ParseTask strategy = parseContext.parseTask();
+      TaskCapabilities capabilities = strategy.capabilities();
+      ExecutionPlan plan = ExecutionPlan.choose(capabilities, parseContext, parallelism);
 
-    // Determine strategy to use to process input
-    ParseTask strategy = ParseTaskRegistry.getStrategy(parseContext.parseTaskType());
+      // Bounded output is held back until the end, so it can become a partial result instead
+      MemorySink pending = strategy.hasBoundedOutput() ? new MemorySink() : null;
+      TaskStream stream = measurement.record(
+          strategy.openStream(pending != null ? pending : measurement));
+      engine = plan == ExecutionPlan.MAPPED || plan == ExecutionPlan.PARALLEL
+          ? plan.engine()
+          : stream.engine();
+      log.debug("Executing {} with the {} plan", taskType, plan.engine());
 
-    // Read the input
-    String input = readFileContents(parseContext.inputFile());
+      // Read the input through the task, then let the task write any remaining output
+      try {
+        switch (plan) {
+          case MAPPED -> readMapped(parseContext, stream, measurement);
+          case PARALLEL -> readParallel(parseContext, strategy, stream, measurement, parallelism);
+          default -> readInput(parseContext, stream, measurement);
+        }
+      } catch (TaskCancelledException e) {
+        throw withPartialResult(e, stream, pending);
+      }
+      stream.finish();
+      if (pending != null) {
+        measurement.write(pending.contents());
+      }
+      progress.finish(
+          ProgressSnapshot.State.COMPLETED, measurement.bytesRead, stream::runningCounts);
 
-    // Process into required output. Add a newline character in case of appending to existing file
-    String output = strategy.execute(input) + "\n";
+      // Add a newline character in case of appending to existing file
+      measurement.write("\n");
+      measurement.flush();
+    } catch (IOException | RuntimeException e) {
+      progress.finish(e instanceof TaskCancelledException
+          ? ProgressSnapshot.State.CANCELLED
+          : ProgressSnapshot.State.FAILED, measurement.bytesRead, null);
+      ProcessingStats stats = measurement.stats();
+      commit(event, parseContext, engine, stats, false);
+      span.recordException(e);
+      trace(span, taskType, engine, stats);
+      ProcessingListeners.fireFailure(parseContext, stats, e);
+      throw e;
+    }
 
-    // Write to destination
-    writeOutput(output, parseContext);
+    ProcessingStats stats = measurement.stats();
+    commit(event, parseContext, engine, stats, true);
+    trace(span, taskType, engine, stats);
+    ProcessingListeners.fireComplete(parseContext, stats);
+    log.debug("Processed {} bytes in {}ms", stats.bytesRead(), stats.totalNanos() / 1_000_000);
+  }
+
+  /**
+   * Completes the run span. Reading, executing and writing interleave chunk by chunk, so each
+   * stage is recorded as a single child span covering its accumulated time, laid end to end.
+   */
+  private static void trace(TraceSpan span, String taskType, String engine,
+      ProcessingStats stats) {
+    span.setAttribute("parse.task", taskType)
+        .setAttribute("parse.engine", engine)
+        .setAttribute("parse.input.size", stats.bytesRead())
+        .setAttribute("parse.output.chars", stats.charsWritten());
+
+    span.addChild("parse.read", 0, stats.readNanos());
+    span.addChild("parse.execute", stats.readNanos(), stats.executeNanos());
+    span.addChild("parse.write", stats.readNanos() + stats.executeNanos(), stats.writeNanos());
+    span.close();
+  }
+
+  private static void commit(ParseTaskEvent event, ParseContext parseContext, String engine,
+      ProcessingStats stats, boolean succeeded) {
+    if (event != null && event.shouldCommit()) {
+      event.taskType = parseContext.taskName();
+      event.engine = engine;
+      event.inputFile = parseContext.inputName();
+      event.inputBytes = stats.bytesRead();
+      event.outputChars = stats.charsWritten();
+      event.succeeded = succeeded;
+      event.commit();
+    }
   }
 
   /**
-   * Reads the entire contents of a file into a String.
+   * Finishes a cancelled task with a bounded output, so that its output for the input read so
+   * far can be returned with the exception.
+   */
+  private static TaskCancelledException withPartialResult(TaskCancelledException e,
+      TaskStream stream, MemorySink pending) throws IOException {
+    if (pending == null) {
+      return e;
+    }
+
+    stream.finish();
+    return new TaskCancelledException(
+        e.bytesProcessed(), e.isDeadlineExceeded(), pending.contents());
+  }
+
+  /**
+   * Reads the input file, or the input channel of the context, in chunks, decoding each chunk and
+   * passing it to the task stream. Line breaks
+   * are normalised to {@code \n}, matching a line by line read of the file. The cancellation
+   * token of the context is checked after each chunk is passed to the task.
    *
-   * @param filePath the file to read
-   * @return the contents of the file as a String, with line breaks preserved
-   * @throws IOException if reading the file fails
+   * @param parseContext the context containing the input file and cancellation token
+   * @param stream       the task stream to pass the decoded chunks to
+   * @param measurement  records the bytes read and the time spent reading
+   * @throws IOException            if reading the file fails
+   * @throws TaskCancelledException if the task is cancelled before the whole file is read
    */
-  private static String readFileContents(Path filePath) throws IOException {
+  private static void readInput(ParseContext parseContext, TaskStream stream,
+      Measurement measurement) throws IOException {
     log.debug("Reading input file");
 
-    StringBuilder content = new StringBuilder();
-
-    try (BufferedReader reader = Files.newBufferedReader(filePath)) {
-      String line;
+    CancellationToken cancellation = parseContext.cancellation();
+    TaskProgress progress = parseContext.progress();
+    Supplier<Map<String, Long>> runningCounts = stream::runningCounts;
+    TextChunkDecoder decoder = new TextChunkDecoder(stream);
+    ByteBuffer bytes = ByteBuffer.allocate(READ_BUFFER_SIZE);
 
-      while ((line = reader.readLine()) != null) {
-        content.append(line).append("\n");
+    try (ReadableByteChannel channel = parseContext.inputChannel() != null
+        ? parseContext.inputChannel()
+        : Files.newByteChannel(parseContext.inputFile())) {
+      while (measurement.read(channel, bytes) != -1) {
+        bytes.flip();
+        decoder.decode(bytes);
+        bytes.compact();
+        progress.update(decoder.bytesConsumed(), runningCounts);
+        checkCancellation(cancellation, decoder.bytesConsumed());
       }
     }
 
-    return content.toString();
+    bytes.flip();
+    decoder.finish(bytes);
   }
 
   /**
-   * Writes the processed output to the destination specified in the context.
+   * Reads the input file through a memory mapping, passing runs of ASCII to the task stream as
+   * bytes. The cancellation token of the context is checked after each chunk is passed to the
+   * task.
    *
-   * @param output the processed content
-   * @param parseContext the context specifying the output target
-   * @throws IOException if writing the output fails
+   * @param parseContext the context containing the input file and cancellation token
+   * @param stream       the task stream to pass the input to
+   * @param measurement  records the bytes read and the time spent reading
+   * @throws IOException            if reading the file fails
+   * @throws TaskCancelledException if the task is cancelled before the whole file is read
    */
-  private static void writeOutput(String output, ParseContext parseContext) throws IOException {
-    log.debug("Writing to output");
+  private static void readMapped(ParseContext parseContext, TaskStream stream,
+      Measurement measurement) throws IOException {
+    log.debug("Reading mapped input file");
 
-    if (OutputTarget.CONSOLE == parseContext.outputTarget()) {
-      writeToConsole(output);
-    } else {
-      writeToFile(output, parseContext.outputFile());
+    CancellationToken cancellation = parseContext.cancellation();
+    TaskProgress progress = parseContext.progress();
+    Supplier<Map<String, Long>> runningCounts = stream::runningCounts;
+
+    try (FileChannel channel = FileChannel.open(parseContext.inputFile())) {
+      MappedReader reader = new MappedReader(channel, stream, true, measurement.taskType);
+      try {
+        reader.read(0, channel.size(), bytesConsumed -> {
+          progress.update(bytesConsumed, runningCounts);
+          checkCancellation(cancellation, bytesConsumed);
+        });
+      } finally {
+        measurement.recordRead(reader.bytesConsumed(), reader.readNanos());
+      }
     }
   }
 
   /**
-   * Prints output to the console.
+   * Splits the input file at line breaks into one part per thread, reads each part through a
+   * memory mapping into a stream of its own, then merges the other streams into the given one.
+   * <p>
+   * The given stream reads the first part, so that its output is written to the sink of the run,
+   * while the streams of the other parts write nowhere, as a bounded task writes nothing until
+   * it is finished. Progress is reported without running counts, as the streams are still being
+   * written by their threads. If the task is cancelled, every part read so far is merged, so the
+   * partial result covers the input read by every thread.
+   * </p>
    *
-   * @param output the content to print
+   * @param parseContext the context containing the input file and cancellation token
+   * @param strategy     the task to open the stream of each further part with
+   * @param stream       the task stream to read the first part and merge the others into
+   * @param measurement  records the bytes read and the time spent reading
+   * @param parallelism  the greatest number of threads to read the input with
+   * @throws IOException            if reading the file fails
+   * @throws TaskCancelledException if the task is cancelled before the whole file is read
    */
-  private static void writeToConsole(String output) {
-    System.out.println(output);
+  private static void readParallel(ParseContext parseContext, ParseTask strategy,
+      TaskStream stream, Measurement measurement, int parallelism) throws IOException {
+    CancellationToken cancellation = parseContext.cancellation();
+    TaskProgress progress = parseContext.progress();
+    boolean byteLevel = strategy.capabilities().byteLevel();
+    LongAdder bytesConsumed = new LongAdder();
+    AtomicBoolean aborted = new AtomicBoolean();
+
+    try (FileChannel channel = FileChannel.open(parseContext.inputFile())) {
+      long[] bounds = split(channel, ExecutionPlan.parts(channel.size(), parallelism));
+      int parts = bounds.length - 1;
+      log.debug("Reading input file in {} parts", parts);
+
+      List<TaskStream> streams = new ArrayList<>();
+      Throwable failure = null;
+      long readNanos = 0;
+
+      try (ExecutorService executor = Executors.newFixedThreadPool(parts,
+          Thread.ofPlatform().name("parse-part-", 0).daemon().factory())) {
+        CompletionService<Long> completion = new ExecutorCompletionService<>(executor);
+        for (int i = 0; i < parts; i++) {
+          TaskStream part = i == 0
+              ? stream
+              : measurement.record(strategy.openStream(new MemorySink()));
+          long start = bounds[i];
+          long end = bounds[i + 1];
+
+          streams.add(part);
+          completion.submit(() -> {
+            MappedReader reader =
+                new MappedReader(channel, part, byteLevel, measurement.taskType);
+            long[] reported = {0};
+            reader.read(start, end, consumed -> {
+              bytesConsumed.add(consumed - reported[0]);
+              reported[0] = consumed;
+              if (aborted.get()) {
+                throw new TaskCancelledException(consumed, false, null);
+              }
+              checkCancellation(cancellation, bytesConsumed.sum());
+            });
+            bytesConsumed.add(reader.bytesConsumed() - reported[0]);
+            return reader.readNanos();
+          });
+        }
+
+        for (int remaining = parts; remaining > 0; ) {
+          Future<Long> done = poll(completion, aborted);
+          progress.update(bytesConsumed.sum(), Map::of);
+          if (done == null) {
+            continue;
+          }
+
+          remaining--;
+          if (done.state() == Future.State.SUCCESS) {
+            // The parts are read side by side, so the slowest part is the time spent reading
+            readNanos = Math.max(readNanos, done.resultNow());
+          } else {
+            // Stop the other parts, preferring a failure to report over a cancellation
+            aborted.set(true);
+            if (failure == null || failure instanceof TaskCancelledException) {
+              failure = done.exceptionNow();
+            }
+          }
+        }
+      } finally {
+        measurement.recordRead(bytesConsumed.sum(), readNanos);
+      }
+
+      if (failure == null || failure instanceof TaskCancelledException) {
+        for (TaskStream part : streams.subList(1, parts)) {
+          stream.merge(part);
+        }
+      }
+      if (failure instanceof TaskCancelledException) {
+        log.info("Task cancelled after {} bytes", bytesConsumed.sum());
+        throw new TaskCancelledException(
+            bytesConsumed.sum(), cancellation.isDeadlineExceeded(), null);
+      } else if (failure instanceof IOException e) {
+        throw e;
+      } else if (failure instanceof RuntimeException e) {
+        throw e;
+      } else if (failure != null) {
+        throw new IOException("Failed to read input file", failure);
+      }
+    }
   }
 
   /**
-   * Writes output to a file, creating or appending to it as needed.
-   *
-   * @param output the content to write
-   * @param filePath the file to write to
-   * @throws IOException if writing the file fails
+   * Waits for the next part to be read, stopping every part if the calling thread is
+   * interrupted.
    */
-  private static void writeToFile(String output, Path filePath) throws IOException {
+  private static Future<Long> poll(CompletionService<Long> completion, AtomicBoolean aborted)
+      throws InterruptedIOException {
     try {
-      Files.writeString(filePath, output, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
-    } catch (IOException e) {
-      throw new IOException("Failed to write output file", e);
+      return completion.poll(PROGRESS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      aborted.set(true);
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while reading input file");
+    }
+  }
+
+  /**
+   * Returns the offsets splitting the file into the given number of parts of about the same
+   * size, each part but the last ending just after a {@code \n} byte. As no byte of a multi-byte
+   * UTF-8 character is a {@code \n}, every part can be decoded on its own, and a {@code \r\n}
+   * line break is never split. A part is empty if a line is longer than the parts before it.
+   */
+  private static long[] split(FileChannel channel, int parts) throws IOException {
+    long size = channel.size();
+    long[] bounds = new long[parts + 1];
+    bounds[parts] = size;
+    ByteBuffer bytes = ByteBuffer.allocate(SPLIT_SCAN_SIZE);
+
+    for (int i = 1; i < parts; i++) {
+      long position = Math.max(bounds[i - 1], size / parts * i);
+      bounds[i] = size;
+
+      scan:
+      while (position < size) {
+        bytes.clear();
+        int read = channel.read(bytes, position);
+        for (int j = 0; j < read; j++) {
+          if (bytes.get(j) == '\n') {
+            bounds[i] = position + j + 1;
+            break scan;
+          }
+        }
+        position += Math.max(read, 0);
+      }
+    }
+    return bounds;
+  }
+
+  private static void checkCancellation(CancellationToken cancellation, long bytesConsumed) {
+    if (cancellation.isCancelled()) {
+      log.info("Task cancelled after {} bytes", bytesConsumed);
+      throw new TaskCancelledException(
+          bytesConsumed, cancellation.isDeadlineExceeded(), null);
+    }
+  }
+
+  /**
+   * Sink wrapper timing each stage of a run and recording the stage events. Writes are timed as
+   * they pass through to the underlying sink, reads are timed through {@link #read}, and the
+   * task is wrapped by {@link #record}. The underlying sink is never closed.
+   */
+  private static final class Measurement implements OutputSink {
+
+    private final OutputSink sink;
+    private final String taskType;
+    private final long startNanos = System.nanoTime();
+
+    private long bytesRead;
+    private long readNanos;
+    private long charsWritten;
+    private long writeNanos;
+
+    Measurement(OutputSink sink, String taskType) {
+      this.sink = sink;
+      this.taskType = taskType;
+    }
+
+    /**
+     * Wraps the task stream so that each call into it is recorded as an execute event.
+     */
+    TaskStream record(TaskStream stream) {
+      return new Recorded() {
+        @Override
+        public void accept(char[] chunk, int offset, int length) throws IOException {
+          ExecuteChunkEvent event = FlightRecording.begin(ExecuteChunkEvent::new);
+          try (FlightRecording.TaskScope ignored = enterTask(event)) {
+            stream.accept(chunk, offset, length);
+          }
+          commit(event, length, false);
+        }
+
+        @Override
+        public void acceptAscii(byte[] chunk, int offset, int length) throws IOException {
+          ExecuteChunkEvent event = FlightRecording.begin(ExecuteChunkEvent::new);
+          try (FlightRecording.TaskScope ignored = enterTask(event)) {
+            stream.acceptAscii(chunk, offset, length);
+          }
+          commit(event, length, false);
+        }
+
+        @Override
+        public void finish() throws IOException {
+          ExecuteChunkEvent event = FlightRecording.begin(ExecuteChunkEvent::new);
+          try (FlightRecording.TaskScope ignored = enterTask(event)) {
+            stream.finish();
+          }
+          commit(event, 0, true);
+        }
+
+        @Override
+        public void merge(TaskStream other) {
+          stream.merge(other instanceof Recorded recorded ? recorded.stream() : other);
+        }
+
+        @Override
+        public TaskStream stream() {
+          return stream;
+        }
+
+        @Override
+        public String engine() {
+          return stream.engine();
+        }
+
+        @Override
+        public Map<String, Long> runningCounts() {
+          return stream.runningCounts();
+        }
+
+        /**
+         * Records the task for the processor events of the call, only if the execute event was
+         * created, so that runs pay nothing unless a recording is running.
+         */
+        private FlightRecording.TaskScope enterTask(ExecuteChunkEvent event) {
+          return event != null ? FlightRecording.enterTask(taskType, stream.engine()) : null;
+        }
+
+        private void commit(ExecuteChunkEvent event, int length, boolean finish) {
+          if (event != null && event.shouldCommit()) {
+            event.taskType = taskType;
+            event.engine = stream.engine();
+            event.inputChars = length;
+            event.finish = finish;
+            event.commit();
+          }
+        }
+      };
+    }
+
+    /**
+     * Adds input read outside of {@link #read}, such as through a memory mapping.
+     */
+    void recordRead(long bytes, long nanos) {
+      bytesRead += bytes;
+      readNanos += nanos;
+    }
+
+    int read(ReadableByteChannel channel, ByteBuffer bytes) throws IOException {
+      ReadChunkEvent event = FlightRecording.begin(ReadChunkEvent::new);
+      long start = System.nanoTime();
+      int read = channel.read(bytes);
+      readNanos += System.nanoTime() - start;
+
+      if (read > 0) {
+        bytesRead += read;
+      }
+      if (event != null && event.shouldCommit()) {
+        event.taskType = taskType;
+        event.bytes = Math.max(read, 0);
+        event.commit();
+      }
+      return read;
+    }
+
+    @Override
+    public void write(char[] chunk, int offset, int length) throws IOException {
+      WriteChunkEvent event = FlightRecording.begin(WriteChunkEvent::new);
+      long start = System.nanoTime();
+      sink.write(chunk, offset, length);
+      writeNanos += System.nanoTime() - start;
+      charsWritten += length;
+      commit(event, length);
+    }
+
+    @Override
+    public void write(String chunk) throws IOException {
+      WriteChunkEvent event = FlightRecording.begin(WriteChunkEvent::new);
+      long start = System.nanoTime();
+      sink.write(chunk);
+      writeNanos += System.nanoTime() - start;
+      charsWritten += chunk.length();
+      commit(event, chunk.length());
+    }
+
+    @Override
+    public void flush() throws IOException {
+      WriteChunkEvent event = FlightRecording.begin(WriteChunkEvent::new);
+      long start = System.nanoTime();
+      sink.flush();
+      writeNanos += System.nanoTime() - start;
+      commit(event, 0);
+    }
+
+    private void commit(WriteChunkEvent event, long length) {
+      if (event != null && event.shouldCommit()) {
+        event.taskType = taskType;
+        event.outputChars = length;
+        event.commit();
+      }
+    }
+
+    @Override
+    public void close() {
+      // Ownership of the underlying sink stays with the caller
+    }
+
+    /**
+     * A task stream wrapped by {@link #record}, so that a stream can be merged with another
+     * wrapped stream of the same task.
+     */
+    private interface Recorded extends TaskStream {
+      TaskStream stream();
+    }
+
+    ProcessingStats stats() {
+      long totalNanos = System.nanoTime() - startNanos;
+      long executeNanos = Math.max(0, totalNanos - readNanos - writeNanos);
+
+      return new ProcessingStats(
+          bytesRead, charsWritten, readNanos, executeNanos, writeNanos, totalNanos);
     }
   }
 }
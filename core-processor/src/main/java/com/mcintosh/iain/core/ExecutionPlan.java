@@ -0,0 +1,90 @@
+package com.mcintosh.iain.core;
+
+import com.mcintosh.iain.core.task.ParseContext;
+import com.mcintosh.iain.core.task.enums.OutputSize;
+import com.mcintosh.iain.core.task.strategy.TaskCapabilities;
+import java.util.Locale;
+
+/**
+ * How the core processor executes a task over its input, chosen from the
+ * {@link TaskCapabilities} of the task and the kind of input.
+ * <p>
+ * Every plan gives the same result as a single stream over the whole decoded input, as long as
+ * the task only declares capabilities it has.
+ * </p>
+ */
+enum ExecutionPlan {
+  /**
+   * The task is not streamable, so its stream buffers the whole input and executes the task
+   * over it once the input is finished.
+   */
+  BUFFERED,
+  /**
+   * The input is read through a channel in chunks and decoded into a single stream. Used for
+   * input channels, such as standard input, and tasks that are streamable and nothing more.
+   */
+  STREAMING,
+  /**
+   * The input file is memory-mapped and read without copying it through read calls, and runs of
+   * ASCII are passed to the stream as bytes without being decoded.
+   */
+  MAPPED,
+  /**
+   * The input file is split at line breaks into one part per thread, each part is memory-mapped
+   * and read into its own stream, and the streams are merged once every part is read.
+   */
+  PARALLEL;
+
+  /**
+   * The smallest part of an input file worth reading on a thread of its own.
+   */
+  static final long MIN_PART_BYTES = 8L * 1024 * 1024;
+
+  /**
+   * Chooses the plan for a run.
+   * <p>
+   * Input files are split across threads when the task is splittable and has a bounded output,
+   * so that the merged result does not have to be held back, and the file is large enough for
+   * at least two parts. Otherwise byte level tasks read a mapped input file.
+   * </p>
+   *
+   * @param capabilities the capabilities of the task
+   * @param parseContext the context of the run
+   * @param parallelism  the greatest number of threads to split the input across
+   * @return the plan to execute the run with
+   */
+  static ExecutionPlan choose(TaskCapabilities capabilities, ParseContext parseContext,
+      int parallelism) {
+    if (!capabilities.streamable()) {
+      return BUFFERED;
+    }
+    if (parseContext.inputFile() == null || !parseContext.inputAttributes().isRegularFile()) {
+      return STREAMING;
+    }
+    if (capabilities.splittable() && capabilities.outputSize() == OutputSize.BOUNDED
+        && parts(parseContext.inputSize(), parallelism) > 1) {
+      return PARALLEL;
+    }
+    return capabilities.byteLevel() ? MAPPED : STREAMING;
+  }
+
+  /**
+   * Returns the number of parts to split an input of the given size into.
+   *
+   * @param size        the size of the input in bytes
+   * @param parallelism the greatest number of parts
+   * @return the number of parts, at least 1
+   */
+  static int parts(long size, int parallelism) {
+    return (int) Math.max(1, Math.min(parallelism, size / MIN_PART_BYTES));
+  }
+
+  /**
+   * Returns the name of the plan, as reported as the engine of a run in diagnostics.
+   *
+   * @return the lower case name of the plan
+   */
+  String engine() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,154 @@
+package com.mcintosh.iain.core;
+
+import com.mcintosh.iain.core.jfr.FlightRecording;
+import com.mcintosh.iain.core.jfr.ReadChunkEvent;
+import com.mcintosh.iain.core.task.strategy.TaskStream;
+import com.mcintosh.iain.core.util.TextChunkDecoder;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads a range of an input file through a memory mapping into a {@link TaskStream}.
+ * <p>
+ * The range is mapped a window at a time and copied into a small buffer one chunk at a time,
+ * which stays in the CPU cache while the chunk is processed. For byte level tasks, chunks that
+ * are entirely ASCII are passed to {@link TaskStream#acceptAscii} without being decoded, and any
+ * other chunk is decoded as usual. Every chunk is decoded otherwise.
+ * </p>
+ *
+ * <p>
+ * Readers are not thread-safe, but several readers can read separate ranges of the same
+ * channel at once.
+ * </p>
+ */
+final class MappedReader {
+
+  /**
+   * Number of bytes passed to the stream at a time.
+   */
+  private static final int CHUNK_SIZE = 64 * 1024;
+
+  /**
+   * Number of bytes mapped at a time, so that a large file does not have to fit into the
+   * address space at once.
+   */
+  private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+
+  /**
+   * Called after each chunk is passed to the stream, for example to report progress or stop
+   * the run.
+   */
+  @FunctionalInterface
+  interface ChunkListener {
+    void afterChunk(long bytesConsumed) throws IOException;
+  }
+
+  private final FileChannel channel;
+  private final TaskStream stream;
+  private final boolean byteLevel;
+  private final String taskType;
+  private final TextChunkDecoder decoder;
+  private final ByteBuffer bytes = ByteBuffer.allocate(CHUNK_SIZE);
+
+  private long asciiBytes;
+  private long readNanos;
+
+  /**
+   * Creates a reader.
+   *
+   * @param channel   the input file
+   * @param stream    the stream to pass the input to
+   * @param byteLevel whether runs of ASCII can be passed to the stream as bytes
+   * @param taskType  the task name recorded with each read event
+   */
+  MappedReader(FileChannel channel, TaskStream stream, boolean byteLevel, String taskType) {
+    this.channel = channel;
+    this.stream = stream;
+    this.byteLevel = byteLevel;
+    this.taskType = taskType;
+    this.decoder = new TextChunkDecoder(stream);
+  }
+
+  /**
+   * Reads the range of the file into the stream, then finishes decoding it. The stream itself
+   * is not finished.
+   *
+   * @param start    the offset of the first byte of the range
+   * @param end      the offset after the last byte of the range
+   * @param listener called after each chunk
+   * @throws IOException if reading or decoding the file fails, or the stream or listener fails
+   */
+  void read(long start, long end, ChunkListener listener) throws IOException {
+    for (long position = start; position < end; position += WINDOW_SIZE) {
+      MappedByteBuffer window = channel.map(
+          FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, end - position));
+
+      while (window.hasRemaining()) {
+        // Bytes of a character split across two chunks are carried over by the decoder
+        boolean carried = bytes.position() > 0;
+        copy(window);
+        bytes.flip();
+
+        if (byteLevel && !carried && isAscii(bytes.array(), bytes.limit())) {
+          stream.acceptAscii(bytes.array(), 0, bytes.limit());
+          asciiBytes += bytes.limit();
+          bytes.clear();
+        } else {
+          decoder.decode(bytes);
+          bytes.compact();
+        }
+        listener.afterChunk(bytesConsumed());
+      }
+    }
+
+    bytes.flip();
+    decoder.finish(bytes);
+  }
+
+  /**
+   * Returns the number of bytes passed to the stream so far.
+   *
+   * @return the bytes consumed, whether decoded or passed as ASCII
+   */
+  long bytesConsumed() {
+    return decoder.bytesConsumed() + asciiBytes;
+  }
+
+  /**
+   * Returns the time spent copying the input out of the mapping, including any time spent
+   * waiting for it to be paged in.
+   *
+   * @return the read time in nanoseconds
+   */
+  long readNanos() {
+    return readNanos;
+  }
+
+  private void copy(MappedByteBuffer window) {
+    ReadChunkEvent event = FlightRecording.begin(ReadChunkEvent::new);
+    long startNanos = System.nanoTime();
+
+    int length = Math.min(bytes.remaining(), window.remaining());
+    bytes.put(bytes.position(), window, window.position(), length);
+    bytes.position(bytes.position() + length);
+    window.position(window.position() + length);
+
+    readNanos += System.nanoTime() - startNanos;
+    if (event != null && event.shouldCommit()) {
+      event.taskType = taskType;
+      event.bytes = length;
+      event.commit();
+    }
+  }
+
+  private static boolean isAscii(byte[] chunk, int length) {
+    for (int i = 0; i < length; i++) {
+      if (chunk[i] < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
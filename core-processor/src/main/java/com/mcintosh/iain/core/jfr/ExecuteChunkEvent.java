@@ -0,0 +1,39 @@
+package com.mcintosh.iain.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JDK Flight Recorder event for a parse task processing a single chunk of decoded input, or
+ * finishing once the input is exhausted.
+ * <p>
+ * Any output written while processing the chunk is recorded as a nested {@link WriteChunkEvent}.
+ * </p>
+ */
+@Name("com.mcintosh.iain.ExecuteChunk")
+@Label("Execute Chunk")
+@Category({"AIS Assessment", "Core Processor", "Stages"})
+@Description("A parse task processing one chunk of input")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class ExecuteChunkEvent extends Event {
+
+  @Label("Task Type")
+  public String taskType;
+
+  @Label("Engine")
+  public String engine;
+
+  @Label("Input Characters")
+  @Description("Characters in the chunk, or 0 when finishing")
+  public long inputChars;
+
+  @Label("Finish")
+  @Description("Whether this is the final call, after the input is exhausted")
+  public boolean finish;
+}
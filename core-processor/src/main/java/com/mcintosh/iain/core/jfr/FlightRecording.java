@@ -0,0 +1,159 @@
+package com.mcintosh.iain.core.jfr;
+
+import java.util.function.Supplier;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Utility class that creates the processing events only while a JDK Flight Recorder recording is
+ * running.
+ * <p>
+ * Initialising the first event class sets up the Flight Recorder metadata, which takes several
+ * hundred milliseconds even when nothing is recording. That is longer than processing a small
+ * file, so a short-lived CLI process must not pay it. Until a recording has been started, either
+ * at launch with {@code -XX:StartFlightRecording} or later through {@code jcmd}, no event is
+ * created and {@link #begin(Supplier)} returns {@code null}. Once every recording has stopped,
+ * events are no longer created, even though Flight Recorder stays initialised for the life of the
+ * JVM.
+ * </p>
+ *
+ * <p>
+ * Whether a recording is running is tracked by a {@link FlightRecorderListener}, which can be
+ * registered without initialising Flight Recorder, so the check made for each event is a single
+ * volatile read.
+ * </p>
+ *
+ * <p>
+ * The processors do not know which task or engine called them, so the run records both for the
+ * current thread through {@link #enterTask(String, String)} while a recording is running, and
+ * {@link ProcessorEvent} reads them back when it is committed.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * ProcessorEvent event = FlightRecording.begin(ProcessorEvent::new);
+ * int written = removeCharacters(...);
+ * if (event != null) {
+ *   event.complete("CharacterRemover", length, written, 0);
+ * }
+ * }</pre>
+ * </p>
+ */
+public final class FlightRecording {
+
+  private static final ThreadLocal<TaskScope> CURRENT_TASK = new ThreadLocal<>();
+
+  private static volatile boolean recording;
+
+  static {
+    FlightRecorder.addListener(new FlightRecorderListener() {
+      @Override
+      public void recordingStateChanged(Recording changed) {
+        recording = anyRecordingRunning();
+      }
+    });
+    // A recording started at launch was running before the listener was added
+    if (FlightRecorder.isInitialized()) {
+      recording = anyRecordingRunning();
+    }
+  }
+
+  private FlightRecording() {
+    throw new UnsupportedOperationException("Class not instantiable");
+  }
+
+  /**
+   * Returns {@code true} while at least one Flight Recorder recording is running in this JVM.
+   *
+   * @return whether events can be recorded
+   */
+  public static boolean isActive() {
+    return recording;
+  }
+
+  /**
+   * Creates and begins an event if a recording is running.
+   *
+   * @param factory creates the event, e.g. {@code ReadChunkEvent::new}
+   * @param <T>     the event type
+   * @return the started event, or {@code null} if no recording is running
+   */
+  public static <T extends Event> T begin(Supplier<T> factory) {
+    if (!isActive()) {
+      return null;
+    }
+
+    T event = factory.get();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Records the task and engine calling into the processors on this thread until the returned
+   * scope is closed, if a recording is running.
+   *
+   * @param taskType the name of the task
+   * @param engine   the name of the engine executing the task
+   * @return the scope to close once the call returns, or {@code null} if no recording is running
+   */
+  public static TaskScope enterTask(String taskType, String engine) {
+    if (!isActive()) {
+      return null;
+    }
+
+    TaskScope scope = new TaskScope(taskType, engine, CURRENT_TASK.get());
+    CURRENT_TASK.set(scope);
+    return scope;
+  }
+
+  /**
+   * Returns the task calling into the processors on this thread, if one has been entered.
+   *
+   * @return the current scope, or {@code null} outside a recorded run
+   */
+  static TaskScope currentTask() {
+    return CURRENT_TASK.get();
+  }
+
+  private static boolean anyRecordingRunning() {
+    return FlightRecorder.getFlightRecorder().getRecordings().stream()
+        .anyMatch(running -> running.getState() == RecordingState.RUNNING);
+  }
+
+  /**
+   * The task and engine recorded for the current thread by {@link #enterTask(String, String)}.
+   * Closing the scope restores the one it replaced.
+   */
+  public static final class TaskScope implements AutoCloseable {
+    private final String taskType;
+    private final String engine;
+    private final TaskScope previous;
+
+    private TaskScope(String taskType, String engine, TaskScope previous) {
+      this.taskType = taskType;
+      this.engine = engine;
+      this.previous = previous;
+    }
+
+    public String taskType() {
+      return taskType;
+    }
+
+    public String engine() {
+      return engine;
+    }
+
+    @Override
+    public void close() {
+      if (previous == null) {
+        CURRENT_TASK.remove();
+      } else {
+        CURRENT_TASK.set(previous);
+      }
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.mcintosh.iain.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder event covering a complete run of a parse task by the
+ * {@link com.mcintosh.iain.core.CoreProcessor}.
+ * <p>
+ * The read, execute and write stages of the run are recorded as nested {@link ReadChunkEvent},
+ * {@link ExecuteChunkEvent} and {@link WriteChunkEvent} events, one per chunk, so that a slow run
+ * can be lined up against GC pauses and I/O stalls in the same recording.
+ * </p>
+ *
+ * <p>
+ * Every run is recorded, whereas the per-chunk events default to a threshold of 1 ms so that a
+ * continuous recording only captures unusually slow chunks. The threshold can be lowered in the
+ * recording settings, e.g. {@code com.mcintosh.iain.ReadChunk#threshold=0 ms}.
+ * </p>
+ */
+@Name("com.mcintosh.iain.ParseTask")
+@Label("Parse Task")
+@Category({"AIS Assessment", "Core Processor"})
+@Description("A complete run of a parse task")
+public final class ParseTaskEvent extends Event {
+
+  @Label("Task Type")
+  public String taskType;
+
+  @Label("Engine")
+  @Description("The engine that executed the task, e.g. streaming or buffered")
+  public String engine;
+
+  @Label("Input File")
+  public String inputFile;
+
+  @Label("Input Bytes")
+  @DataAmount(DataAmount.BYTES)
+  public long inputBytes;
+
+  @Label("Output Characters")
+  public long outputChars;
+
+  @Label("Succeeded")
+  public boolean succeeded;
+}
@@ -0,0 +1,87 @@
+package com.mcintosh.iain.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JDK Flight Recorder event for a single call into one of the text processors, such as
+ * {@link com.mcintosh.iain.core.task.processor.CharacterRemover}.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * ProcessorEvent event = FlightRecording.begin(ProcessorEvent::new);
+ * int written = removeCharacters(...);
+ * if (event != null) {
+ *   event.complete("CharacterRemover", length, written, 0);
+ * }
+ * }</pre>
+ * </p>
+ *
+ * <p>
+ * The task type and engine are those of the run calling the processor, as recorded by
+ * {@link FlightRecording#enterTask(String, String)}, and are empty when a processor is called
+ * outside a run.
+ * </p>
+ *
+ * <p>
+ * No event object is allocated unless a recording is running, as {@link FlightRecording} checks
+ * first. While a recording runs without enabling this event, {@code begin()} and
+ * {@code shouldCommit()} reduce to constant checks.
+ * </p>
+ */
+@Name("com.mcintosh.iain.Processor")
+@Label("Processor Call")
+@Category({"AIS Assessment", "Core Processor", "Processors"})
+@Description("A call into a text processor")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class ProcessorEvent extends Event {
+
+  @Label("Task Type")
+  public String taskType;
+
+  @Label("Engine")
+  public String engine;
+
+  @Label("Processor")
+  public String processor;
+
+  @Label("Input Characters")
+  public long inputChars;
+
+  @Label("Output Characters")
+  @Description("Characters produced by the call, for processors that transform their input")
+  public long outputChars;
+
+  @Label("Matches")
+  @Description("Occurrences found by the call, for processors that count")
+  public long matches;
+
+  /**
+   * Ends the event and commits it if it is enabled and exceeds the recording's threshold.
+   *
+   * @param processor   the name of the processor
+   * @param inputChars  the number of input characters processed
+   * @param outputChars the number of characters produced
+   * @param matches     the number of occurrences found
+   */
+  public void complete(String processor, long inputChars, long outputChars, long matches) {
+    if (shouldCommit()) {
+      FlightRecording.TaskScope task = FlightRecording.currentTask();
+      if (task != null) {
+        this.taskType = task.taskType();
+        this.engine = task.engine();
+      }
+      this.processor = processor;
+      this.inputChars = inputChars;
+      this.outputChars = outputChars;
+      this.matches = matches;
+      commit();
+    }
+  }
+}
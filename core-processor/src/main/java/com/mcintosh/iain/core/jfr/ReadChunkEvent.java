@@ -0,0 +1,29 @@
+package com.mcintosh.iain.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JDK Flight Recorder event for a single read from the input file of a parse task.
+ */
+@Name("com.mcintosh.iain.ReadChunk")
+@Label("Read Chunk")
+@Category({"AIS Assessment", "Core Processor", "Stages"})
+@Description("A read of one chunk of a parse task's input file")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class ReadChunkEvent extends Event {
+
+  @Label("Task Type")
+  public String taskType;
+
+  @Label("Bytes Read")
+  @DataAmount(DataAmount.BYTES)
+  public long bytes;
+}
@@ -0,0 +1,28 @@
+package com.mcintosh.iain.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JDK Flight Recorder event for a single write of parse task output to its sink.
+ */
+@Name("com.mcintosh.iain.WriteChunk")
+@Label("Write Chunk")
+@Category({"AIS Assessment", "Core Processor", "Stages"})
+@Description("A write of parse task output to the output sink")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class WriteChunkEvent extends Event {
+
+  @Label("Task Type")
+  public String taskType;
+
+  @Label("Output Characters")
+  @Description("Characters written, or 0 for a flush")
+  public long outputChars;
+}
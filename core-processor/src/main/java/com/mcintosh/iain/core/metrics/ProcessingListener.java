@@ -0,0 +1,47 @@
+package com.mcintosh.iain.core.metrics;
+
+import com.mcintosh.iain.core.task.ParseContext;
+
+/**
+ * Receives notifications about parse tasks processed by the
+ * {@link com.mcintosh.iain.core.CoreProcessor}.
+ * <p>
+ * This is the hook through which embedding applications collect metrics, without the core
+ * processor depending on any particular metrics library. Listeners are registered with
+ * {@link ProcessingListeners} and are called on the thread processing the task, so they should
+ * return quickly. Exceptions thrown by a listener are logged and otherwise ignored.
+ * </p>
+ *
+ * <p>
+ * All methods have empty default implementations.
+ * </p>
+ */
+public interface ProcessingListener {
+
+  /**
+   * Called before a task starts reading its input.
+   *
+   * @param parseContext the context of the task
+   */
+  default void onStart(ParseContext parseContext) {
+  }
+
+  /**
+   * Called after a task has completed and its output has been flushed.
+   *
+   * @param parseContext the context of the task
+   * @param stats        the measurements taken while processing
+   */
+  default void onComplete(ParseContext parseContext, ProcessingStats stats) {
+  }
+
+  /**
+   * Called when a task fails.
+   *
+   * @param parseContext the context of the task
+   * @param stats        the measurements taken up to the failure
+   * @param failure      the exception the task failed with
+   */
+  default void onFailure(ParseContext parseContext, ProcessingStats stats, Exception failure) {
+  }
+}
@@ -0,0 +1,96 @@
+package com.mcintosh.iain.core.metrics;
+
+import com.mcintosh.iain.core.task.ParseContext;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A registry of the {@link ProcessingListener} instances notified about every parse task.
+ * <p>
+ * No listeners are registered by default, in which case notifying them costs next to nothing.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * ProcessingListeners.register(new ProcessingListener() {
+ *   @Override
+ *   public void onComplete(ParseContext context, ProcessingStats stats) {
+ *     timer.record(stats.totalNanos(), TimeUnit.NANOSECONDS);
+ *   }
+ * });
+ * }</pre>
+ * </p>
+ */
+public final class ProcessingListeners {
+  private static final Logger log = LoggerFactory.getLogger(ProcessingListeners.class);
+
+  private ProcessingListeners() {
+    throw new UnsupportedOperationException("Class not instantiable");
+  }
+
+  private static final List<ProcessingListener> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Registers a listener to be notified about every subsequent parse task.
+   *
+   * @param listener the listener to register
+   */
+  public static void register(ProcessingListener listener) {
+    listeners.add(Objects.requireNonNull(listener, "listener"));
+  }
+
+  /**
+   * Removes a previously registered listener.
+   *
+   * @param listener the listener to remove
+   */
+  public static void unregister(ProcessingListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Notifies every registered listener that a task has started.
+   *
+   * @param parseContext the context of the task
+   */
+  public static void fireStart(ParseContext parseContext) {
+    notifyAll(listener -> listener.onStart(parseContext));
+  }
+
+  /**
+   * Notifies every registered listener that a task has completed.
+   *
+   * @param parseContext the context of the task
+   * @param stats        the measurements taken while processing
+   */
+  public static void fireComplete(ParseContext parseContext, ProcessingStats stats) {
+    notifyAll(listener -> listener.onComplete(parseContext, stats));
+  }
+
+  /**
+   * Notifies every registered listener that a task has failed.
+   *
+   * @param parseContext the context of the task
+   * @param stats        the measurements taken up to the failure
+   * @param failure      the exception the task failed with
+   */
+  public static void fireFailure(ParseContext parseContext, ProcessingStats stats,
+      Exception failure) {
+    notifyAll(listener -> listener.onFailure(parseContext, stats, failure));
+  }
+
+  private static void notifyAll(Consumer<ProcessingListener> notification) {
+    for (ProcessingListener listener : listeners) {
+      try {
+        notification.accept(listener);
+      } catch (RuntimeException e) {
+        log.warn("Processing listener {} failed", listener.getClass().getName(), e);
+      }
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package com.mcintosh.iain.core.metrics;
+
+/**
+ * Measurements taken while processing a single parse task.
+ * <p>
+ * Input is streamed through the task, so reading, executing and writing are interleaved rather
+ * than sequential. Each stage time is the total time spent in that stage across all chunks:
+ * {@code readNanos} is time spent reading from the input file, {@code writeNanos} is time spent
+ * writing to the output sink, and {@code executeNanos} is the remainder, covering decoding and
+ * the task itself.
+ * </p>
+ *
+ * @param bytesRead    the number of input bytes read
+ * @param charsWritten the number of output characters written to the sink
+ * @param readNanos    the time spent reading the input
+ * @param executeNanos the time spent decoding and executing the task
+ * @param writeNanos   the time spent writing the output
+ * @param totalNanos   the total processing time
+ */
+public record ProcessingStats(
+    long bytesRead,
+    long charsWritten,
+    long readNanos,
+    long executeNanos,
+    long writeNanos,
+    long totalNanos
+) {
+}
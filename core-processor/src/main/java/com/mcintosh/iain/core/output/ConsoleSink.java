@@ -0,0 +1,48 @@
+package com.mcintosh.iain.core.output;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+
+/**
+ * Writes output to standard out.
+ * <p>
+ * A line separator is printed when the sink is closed, matching the behaviour of
+ * {@link PrintStream#println(String)}. Closing the sink never closes {@link System#out}.
+ * </p>
+ */
+public final class ConsoleSink implements OutputSink {
+
+  private final Writer writer;
+
+  public ConsoleSink() {
+    this(System.out);
+  }
+
+  ConsoleSink(PrintStream out) {
+    this.writer = new BufferedWriter(new OutputStreamWriter(out, out.charset()));
+  }
+
+  @Override
+  public void write(char[] chunk, int offset, int length) throws IOException {
+    writer.write(chunk, offset, length);
+  }
+
+  @Override
+  public void write(String chunk) throws IOException {
+    writer.write(chunk);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    writer.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.write(System.lineSeparator());
+    writer.flush();
+  }
+}
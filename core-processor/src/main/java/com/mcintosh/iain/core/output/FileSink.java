@@ -0,0 +1,63 @@
+package com.mcintosh.iain.core.output;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes output to a file, creating or appending to it as needed.
+ */
+public final class FileSink implements OutputSink {
+
+  private final BufferedWriter writer;
+
+  private FileSink(BufferedWriter writer) {
+    this.writer = writer;
+  }
+
+  /**
+   * Opens the file for appending, creating it if it does not exist.
+   *
+   * @param filePath the file to write to
+   * @return a new {@link FileSink}
+   * @throws IOException if the file cannot be opened for writing
+   */
+  public static FileSink open(Path filePath) throws IOException {
+    try {
+      return new FileSink(Files.newBufferedWriter(
+          filePath, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+    } catch (IOException e) {
+      throw new IOException("Failed to write output file", e);
+    }
+  }
+
+  @Override
+  public void write(char[] chunk, int offset, int length) throws IOException {
+    try {
+      writer.write(chunk, offset, length);
+    } catch (IOException e) {
+      throw new IOException("Failed to write output file", e);
+    }
+  }
+
+  @Override
+  public void write(String chunk) throws IOException {
+    try {
+      writer.write(chunk);
+    } catch (IOException e) {
+      throw new IOException("Failed to write output file", e);
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    writer.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+}
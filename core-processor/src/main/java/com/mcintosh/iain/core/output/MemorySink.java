@@ -0,0 +1,48 @@
+package com.mcintosh.iain.core.output;
+
+/**
+ * Collects output in memory so that embedding applications can retrieve it after processing.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * MemorySink sink = new MemorySink();
+ * CoreProcessor.process(context, sink);
+ * String result = sink.contents();
+ * }</pre>
+ * </p>
+ *
+ * <p>
+ * Note: The entire output is held on the heap, so this sink is best suited to tasks with a
+ * small result, such as the counting tasks.
+ * </p>
+ */
+public final class MemorySink implements OutputSink {
+
+  private final StringBuilder buffer = new StringBuilder();
+
+  @Override
+  public void write(char[] chunk, int offset, int length) {
+    buffer.append(chunk, offset, length);
+  }
+
+  @Override
+  public void write(String chunk) {
+    buffer.append(chunk);
+  }
+
+  /**
+   * Returns everything written to the sink so far.
+   *
+   * @return the collected output
+   */
+  public String contents() {
+    return buffer.toString();
+  }
+
+  /**
+   * Discards everything written to the sink so far, so that it can collect output in batches.
+   */
+  public void clear() {
+    buffer.setLength(0);
+  }
+}
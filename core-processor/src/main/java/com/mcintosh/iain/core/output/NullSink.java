@@ -0,0 +1,32 @@
+package com.mcintosh.iain.core.output;
+
+/**
+ * Discards all output.
+ * <p>
+ * Useful for measuring pure processing throughput without the cost of console or file I/O. The
+ * number of characters discarded is retained so that callers can sanity check a run.
+ * </p>
+ */
+public final class NullSink implements OutputSink {
+
+  private long charsDiscarded;
+
+  @Override
+  public void write(char[] chunk, int offset, int length) {
+    charsDiscarded += length;
+  }
+
+  @Override
+  public void write(String chunk) {
+    charsDiscarded += chunk.length();
+  }
+
+  /**
+   * Returns the number of characters written to, and discarded by, this sink.
+   *
+   * @return the number of discarded characters
+   */
+  public long charsDiscarded() {
+    return charsDiscarded;
+  }
+}
@@ -0,0 +1,64 @@
+package com.mcintosh.iain.core.output;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Destination that receives the result of a parse task as a sequence of chunks.
+ * <p>
+ * Sinks are opened once per processing run, written to any number of times and then closed.
+ * Implementations are not required to be thread-safe.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * try (OutputSink sink = new MemorySink()) {
+ *   sink.write("Hll Wrld");
+ * }
+ * }</pre>
+ * </p>
+ *
+ * @see OutputSinkRegistry
+ */
+public interface OutputSink extends Closeable {
+
+  /**
+   * Writes a chunk of the result to the sink.
+   *
+   * @param chunk  the buffer containing the characters to write
+   * @param offset the index of the first character to write
+   * @param length the number of characters to write
+   * @throws IOException if the chunk could not be written
+   */
+  void write(char[] chunk, int offset, int length) throws IOException;
+
+  /**
+   * Writes a chunk of the result to the sink.
+   *
+   * @param chunk the characters to write
+   * @throws IOException if the chunk could not be written
+   */
+  default void write(String chunk) throws IOException {
+    write(chunk.toCharArray(), 0, chunk.length());
+  }
+
+  /**
+   * Flushes any buffered characters to the underlying destination.
+   *
+   * @throws IOException if flushing fails
+   */
+  default void flush() throws IOException {
+  }
+
+  /**
+   * Flushes and releases the sink. Sinks wrapping shared streams (e.g. the console) must not
+   * close the shared stream.
+   *
+   * @throws IOException if flushing or closing fails
+   */
+  @Override
+  default void close() throws IOException {
+    flush();
+  }
+}
@@ -0,0 +1,24 @@
+package com.mcintosh.iain.core.output;
+
+import com.mcintosh.iain.core.task.ParseContext;
+import java.io.IOException;
+
+/**
+ * Creates a new {@link OutputSink} for a single processing run.
+ * <p>
+ * Factories are registered by name with the {@link OutputSinkRegistry} so that they can be
+ * selected through {@link ParseContext.Builder#withOutputTarget(String)}.
+ * </p>
+ */
+@FunctionalInterface
+public interface OutputSinkFactory {
+
+  /**
+   * Opens a sink for the given context.
+   *
+   * @param parseContext the context of the run the sink will receive output for
+   * @return a newly opened {@link OutputSink}
+   * @throws IOException if the sink could not be opened
+   */
+  OutputSink open(ParseContext parseContext) throws IOException;
+}
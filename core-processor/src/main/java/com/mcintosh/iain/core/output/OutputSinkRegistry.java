@@ -0,0 +1,110 @@
+package com.mcintosh.iain.core.output;
+
+import com.mcintosh.iain.core.task.enums.OutputTarget;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A registry that resolves output target names to {@link OutputSinkFactory} instances.
+ * <p>
+ * The built-in {@link OutputTarget} values are always available. Embedding applications can
+ * register their own sinks under a new name, which then becomes a valid output target for
+ * {@link com.mcintosh.iain.core.task.ParseContext.Builder#withOutputTarget(String)}.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * OutputSinkRegistry.register("audit", context -> new AuditSink(context.inputFile()));
+ *
+ * ParseContext context = ParseContext.builder()
+ *     .withParseTask("count-consonants")
+ *     .withInputFile("/path/to/input.txt")
+ *     .withOutputTarget("audit")
+ *     .build();
+ * }</pre>
+ * </p>
+ *
+ * <p>
+ * Names are matched case-insensitively. Built-in names cannot be overridden.
+ * </p>
+ */
+public final class OutputSinkRegistry {
+  private static final Logger log = LoggerFactory.getLogger(OutputSinkRegistry.class);
+
+  private OutputSinkRegistry() {
+    throw new UnsupportedOperationException("Class not instantiable");
+  }
+
+  /**
+   * Sinks registered at runtime, keyed by their lower case name.
+   */
+  private static final Map<String, OutputSinkFactory> customSinks = new ConcurrentHashMap<>();
+
+  /**
+   * Registers a custom sink under the given name, replacing any previous custom registration.
+   *
+   * @param name    the output target name the sink is selected by
+   * @param factory the factory used to open a sink for each run
+   * @throws IllegalArgumentException if the name is blank or clashes with a built-in target
+   */
+  public static void register(String name, OutputSinkFactory factory) {
+    Objects.requireNonNull(factory, "factory");
+
+    if (name == null || name.isBlank()) {
+      throw new IllegalArgumentException("Output sink name is required");
+    }
+    if (OutputTarget.fromValue(name.trim()).isPresent()) {
+      throw new IllegalArgumentException("Output sink name clashes with a built-in target");
+    }
+
+    customSinks.put(key(name), factory);
+    log.debug("Registered output sink '{}'", name);
+  }
+
+  /**
+   * Removes a custom sink registration if present.
+   *
+   * @param name the name the sink was registered under
+   */
+  public static void unregister(String name) {
+    if (name != null) {
+      customSinks.remove(key(name));
+    }
+  }
+
+  /**
+   * Returns {@code true} if a custom sink is registered under the given name.
+   *
+   * @param name the output target name
+   * @return whether a custom sink with this name exists
+   */
+  public static boolean isRegistered(String name) {
+    return name != null && customSinks.containsKey(key(name));
+  }
+
+  /**
+   * Resolves an output target name to a sink factory. Built-in targets take precedence over
+   * custom registrations.
+   *
+   * @param name the output target name
+   * @return the matching factory, or an empty {@link Optional} if the name is unknown
+   */
+  public static Optional<OutputSinkFactory> resolve(String name) {
+    if (name == null) {
+      return Optional.empty();
+    }
+
+    Optional<OutputSinkFactory> builtIn = OutputTarget.fromValue(name.trim()).map(t -> t);
+    return builtIn.isPresent() ? builtIn : Optional.ofNullable(customSinks.get(key(name)));
+  }
+
+  private static String key(String name) {
+    return name.trim().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,41 @@
+package com.mcintosh.iain.core.progress;
+
+import java.util.Map;
+
+/**
+ * Point in time view of the progress of a parse task.
+ *
+ * @param state          the lifecycle state of the task
+ * @param bytesProcessed the number of input bytes processed so far
+ * @param totalBytes     the size of the input file, 0 before the task has started, or -1 if
+ *                       the size is unknown because the input is read from a stream
+ * @param counts         the running counts of a counting task, keyed by what is counted; empty
+ *                       for other tasks
+ */
+public record ProgressSnapshot(
+    State state,
+    long bytesProcessed,
+    long totalBytes,
+    Map<String, Long> counts
+) {
+
+  /**
+   * Lifecycle state of a parse task.
+   */
+  public enum State {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED;
+
+    /**
+     * Returns {@code true} once the task can no longer make progress.
+     */
+    public boolean isTerminal() {
+      return this == COMPLETED || this == CANCELLED || this == FAILED;
+    }
+  }
+
+  static final ProgressSnapshot PENDING = new ProgressSnapshot(State.PENDING, 0, 0, Map.of());
+}
@@ -0,0 +1,109 @@
+package com.mcintosh.iain.core.progress;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Tracks the progress of a single parse task so that other threads can report it.
+ * <p>
+ * The {@link com.mcintosh.iain.core.CoreProcessor} updates the progress once per chunk of input,
+ * which costs a single volatile write. The running counts of counting tasks are copied far less
+ * often, at most every {@value #COUNTS_INTERVAL_MILLIS}ms, so tracking does not slow the scan.
+ * Readers poll {@link #snapshot()} at whatever rate suits them.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * TaskProgress progress = new TaskProgress();
+ * ParseContext context = ParseContext.builder()
+ *     .withParseTask("count-consonants")
+ *     .withInputFile("/path/to/input.txt")
+ *     .withProgress(progress)
+ *     .build();
+ *
+ * // From another thread while the task runs
+ * ProgressSnapshot snapshot = progress.snapshot();
+ * }</pre>
+ * </p>
+ */
+public final class TaskProgress {
+
+  static final long COUNTS_INTERVAL_MILLIS = 100;
+  private static final long COUNTS_INTERVAL_NANOS =
+      TimeUnit.MILLISECONDS.toNanos(COUNTS_INTERVAL_MILLIS);
+
+  private volatile ProgressSnapshot snapshot = ProgressSnapshot.PENDING;
+  private volatile TaskProgress source;
+
+  // Only accessed by the thread running the task
+  private long totalBytes;
+  private Map<String, Long> counts = Map.of();
+  private long countsSampledNanos;
+
+  /**
+   * Marks the task as running.
+   *
+   * @param totalBytes the size of the input file
+   */
+  public void start(long totalBytes) {
+    this.totalBytes = totalBytes;
+    this.countsSampledNanos = System.nanoTime();
+    snapshot = new ProgressSnapshot(ProgressSnapshot.State.RUNNING, 0, totalBytes, counts);
+  }
+
+  /**
+   * Records the bytes processed so far, refreshing the running counts if they are due.
+   *
+   * @param bytesProcessed the number of input bytes processed so far
+   * @param runningCounts  supplies the running counts of the task
+   */
+  public void update(long bytesProcessed, Supplier<Map<String, Long>> runningCounts) {
+    long now = System.nanoTime();
+    if (now - countsSampledNanos >= COUNTS_INTERVAL_NANOS) {
+      counts = runningCounts.get();
+      countsSampledNanos = now;
+    }
+    snapshot = new ProgressSnapshot(
+        ProgressSnapshot.State.RUNNING, bytesProcessed, totalBytes, counts);
+  }
+
+  /**
+   * Marks the task as finished with its final counts.
+   *
+   * @param state          the terminal state of the task
+   * @param bytesProcessed the number of input bytes processed
+   * @param runningCounts  supplies the final counts of the task, or {@code null} to keep the last
+   *                       counts sampled
+   */
+  public void finish(ProgressSnapshot.State state, long bytesProcessed,
+      Supplier<Map<String, Long>> runningCounts) {
+    if (runningCounts != null) {
+      counts = runningCounts.get();
+    }
+    snapshot = new ProgressSnapshot(state, bytesProcessed, totalBytes, counts);
+  }
+
+  /**
+   * Reports the progress of another task instead of this one, for example when this task has
+   * been coalesced with an identical task that is already running.
+   *
+   * @param source the progress to report
+   */
+  public void follow(TaskProgress source) {
+    if (source != this) {
+      this.source = source;
+    }
+  }
+
+  /**
+   * Returns the latest progress of the task.
+   *
+   * @return the current {@link ProgressSnapshot}
+   */
+  public ProgressSnapshot snapshot() {
+    TaskProgress followed = source;
+    return followed != null ? followed.snapshot() : snapshot;
+  }
+}
@@ -0,0 +1,148 @@
+package com.mcintosh.iain.core.task;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Cooperative cancellation signal for a parse task.
+ * <p>
+ * The {@link com.mcintosh.iain.core.CoreProcessor} checks the token of the {@link ParseContext}
+ * after each chunk of input, and stops with a {@link TaskCancelledException} once the token has
+ * been cancelled or its deadline has passed. A run is therefore stopped within one chunk of the
+ * cancellation, without interrupting the thread.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * CancellationToken cancellation = CancellationToken.withTimeout(Duration.ofSeconds(30));
+ * ParseContext context = ParseContext.builder()
+ *     .withParseTask("count-consonants")
+ *     .withInputFile("/path/to/input.txt")
+ *     .withCancellation(cancellation)
+ *     .build();
+ *
+ * // From any thread, e.g. when the client goes away
+ * cancellation.cancel();
+ * }</pre>
+ * </p>
+ */
+public final class CancellationToken {
+
+  private final long deadlineNanos;
+  private final boolean hasDeadline;
+  private final Collection<CancellationToken> linked;
+  private volatile boolean cancelled;
+
+  private CancellationToken(long deadlineNanos, boolean hasDeadline,
+      Collection<CancellationToken> linked) {
+    this.deadlineNanos = deadlineNanos;
+    this.hasDeadline = hasDeadline;
+    this.linked = linked;
+  }
+
+  /**
+   * Creates a token without a deadline, cancelled only through {@link #cancel()}.
+   *
+   * @return a new token
+   */
+  public static CancellationToken create() {
+    return new CancellationToken(0, false, null);
+  }
+
+  /**
+   * Creates a token that is cancelled once the timeout has elapsed, or through {@link #cancel()}.
+   *
+   * @param timeout the time allowed from now
+   * @return a new token
+   * @throws IllegalArgumentException if the timeout is not positive
+   */
+  public static CancellationToken withTimeout(Duration timeout) {
+    if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+      throw new IllegalArgumentException("Timeout must be positive");
+    }
+    return new CancellationToken(System.nanoTime() + timeout.toNanos(), true, null);
+  }
+
+  /**
+   * Creates a token that is cancelled once every token in the collection has been cancelled.
+   * <p>
+   * The collection is read on every check, so tokens may be added while the task is running,
+   * for example as further callers attach to a shared execution. It must be safe to iterate
+   * concurrently with such updates. Once a check has found every token cancelled the token stays
+   * cancelled, even if a token is added afterwards, as the task may already be stopping.
+   * </p>
+   *
+   * @param tokens the tokens to follow
+   * @return a new token
+   */
+  public static CancellationToken whenAllCancelled(Collection<CancellationToken> tokens) {
+    return new CancellationToken(0, false, tokens);
+  }
+
+  /**
+   * Requests cancellation of the task.
+   */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  /**
+   * Returns {@code true} if the task should stop, because the token was cancelled or its
+   * deadline has passed.
+   */
+  public boolean isCancelled() {
+    if (cancelled || isDeadlineExceeded()) {
+      return true;
+    }
+    if (allLinkedCancelled()) {
+      cancelled = true;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Returns {@code true} if the deadline of this token, or of a followed token, has passed.
+   */
+  public boolean isDeadlineExceeded() {
+    if (hasDeadline && System.nanoTime() - deadlineNanos >= 0) {
+      return true;
+    }
+    if (linked == null || !allLinkedCancelled()) {
+      return false;
+    }
+    for (CancellationToken token : linked) {
+      if (token.isDeadlineExceeded()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the time left before the deadline of this token in nanoseconds, so that a caller can
+   * bound a blocking wait by it.
+   *
+   * @return the nanoseconds left, zero once the deadline has passed, or {@link Long#MAX_VALUE} if
+   *     the token has no deadline of its own
+   */
+  public long remainingNanos() {
+    if (!hasDeadline) {
+      return Long.MAX_VALUE;
+    }
+    return Math.max(0, deadlineNanos - System.nanoTime());
+  }
+
+  private boolean allLinkedCancelled() {
+    if (linked == null || linked.isEmpty()) {
+      return false;
+    }
+    for (CancellationToken token : linked) {
+      if (!token.isCancelled()) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -1,9 +1,23 @@
 package com.mcintosh.iain.core.task;
 
+import com.mcintosh.iain.core.output.OutputSinkFactory;
+import com.mcintosh.iain.core.output.OutputSinkRegistry;
+import com.mcintosh.iain.core.progress.TaskProgress;
 import com.mcintosh.iain.core.util.ArgumentValidator;
+import com.mcintosh.iain.core.task.enums.CaseMode;
 import com.mcintosh.iain.core.task.enums.OutputTarget;
 import com.mcintosh.iain.core.task.enums.ParseTaskType;
+import com.mcintosh.iain.core.task.strategy.ParseTask;
+import com.mcintosh.iain.core.task.strategy.ParseTaskProvider;
+import com.mcintosh.iain.core.task.strategy.ParseTaskRegistry;
+import com.mcintosh.iain.core.task.strategy.TaskParameters;
+import com.mcintosh.iain.core.task.strategy.TaskPipeline;
+import com.mcintosh.iain.core.tracing.TraceSpan;
+import com.mcintosh.iain.core.tracing.Tracing;
+import com.mcintosh.iain.core.util.CharacterClass;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -11,8 +25,23 @@ import org.slf4j.LoggerFactory;
  * Represents the context for a parsing operation.
  * <p>
  * This record contains all the necessary information for processing a file:
- * the type of task to execute, the input file, the optional output file, and
- * the output target (console or file).
+ * the task to execute (a built-in task, one added by a {@link ParseTaskProvider}, or a
+ * {@link TaskPipeline} of tasks), the input file, the optional output file, and the output target
+ * (console, file, null or any sink registered with the {@link OutputSinkRegistry}).
+ * </p>
+ *
+ * <p>
+ * Tasks taking parameters, such as {@code remove-chars}, {@code count-chars} and
+ * {@code count-phrase}, are configured with the {@link TaskParameters} of the context, such as a
+ * {@link CharacterClass} given with {@link Builder#withCharacterClass(String)}, a phrase given
+ * with {@link Builder#withPhrase(String)} and a {@link CaseMode} given with
+ * {@link Builder#withCaseMode(String)}.
+ * </p>
+ *
+ * <p>
+ * Instead of a file, the input can be read from an open channel, such as standard input, with
+ * {@link Builder#withInputChannel(ReadableByteChannel)}. The input file and its attributes are
+ * then {@code null}, and the channel is read to its end and closed by a single run.
  * </p>
  *
  * <p>
@@ -31,19 +60,72 @@ import org.slf4j.LoggerFactory;
  * All fields are validated through {@link ArgumentValidator} when built using the {@link Builder}.
  * </p>
  *
- * @param parseTaskType the type of parsing task to execute (required)
- * @param inputFile     the path to the input file (required)
+ * @param parseTaskType the built-in task to execute; {@code null} when a task added by a
+ *                      {@link ParseTaskProvider} or a pipeline is used
+ * @param taskName      the name of the task to execute, as registered with the
+ *                      {@link ParseTaskRegistry}, or the names of the tasks of a pipeline
+ *                      separated by {@link TaskPipeline#SEPARATOR} (required)
+ * @param parseTask     the task to execute, compiled from the task name and configured with the
+ *                      task parameters when the context is built
+ * @param taskParameters the parameters the task is configured with, such as a character class
+ *                      or phrase (optional, default: {@link TaskParameters#NONE})
+ * @param inputFile     the path to the input file (required unless an input channel is given)
+ * @param inputAttributes the attributes of the input file read during validation, e.g. its size
+ * @param inputChannel  the channel to read the input from instead of a file (optional)
  * @param outputFile    the path to the output file (optional)
- * @param outputTarget  the output destination, e.g., console or file (optional, default: console)
+ * @param outputTarget  the built-in output destination, e.g., console or file (optional, default:
+ *                      console); {@code null} when a custom registered sink is used
+ * @param outputSink    the factory used to open the output destination
+ * @param cancellation  the token used to stop the task early (optional, default: never
+ *                      cancelled)
+ * @param progress      the tracker updated as the task runs (optional, default: a new tracker)
  */
 public record ParseContext(
     ParseTaskType parseTaskType,
+    String taskName,
+    ParseTask parseTask,
+    TaskParameters taskParameters,
     Path inputFile,
+    BasicFileAttributes inputAttributes,
+    ReadableByteChannel inputChannel,
     Path outputFile,
-    OutputTarget outputTarget
+    OutputTarget outputTarget,
+    OutputSinkFactory outputSink,
+    CancellationToken cancellation,
+    TaskProgress progress
 ) {
   private static final Logger log = LoggerFactory.getLogger(ParseContext.class);
 
+  /**
+   * Returns a copy of this context using the given cancellation token.
+   *
+   * @param cancellation the token used to stop the task early
+   * @return a new {@link ParseContext} instance
+   */
+  public ParseContext withCancellation(CancellationToken cancellation) {
+    return new ParseContext(parseTaskType, taskName, parseTask, taskParameters, inputFile,
+        inputAttributes, inputChannel, outputFile, outputTarget, outputSink, cancellation,
+        progress);
+  }
+
+  /**
+   * Returns the size of the input in bytes, if it is known before the input is read.
+   *
+   * @return the size of the input file, or -1 when the input is read from a channel
+   */
+  public long inputSize() {
+    return inputAttributes != null ? inputAttributes.size() : -1;
+  }
+
+  /**
+   * Returns a description of the input for logs and diagnostics.
+   *
+   * @return the input file path, or {@code "-"} when the input is read from a channel
+   */
+  public String inputName() {
+    return inputFile != null ? inputFile.toString() : "-";
+  }
+
   /**
    * Returns a new builder for constructing {@link ParseContext} instances.
    *
@@ -61,20 +143,89 @@ public record ParseContext(
    */
   public static final class Builder {
     private String parseTaskRaw;
+    private String characterClassRaw;
+    private String phraseRaw;
+    private String caseModeRaw;
+    private TaskParameters taskParameters;
     private String inputFileRaw;
+    private ReadableByteChannel inputChannel;
     private String outputFileRaw;
     private String outputTargetRaw;
+    private CancellationToken cancellation;
+    private TaskProgress progress;
 
     public Builder withParseTask(String parseTaskRaw) {
       this.parseTaskRaw = parseTaskRaw;
       return this;
     }
 
+    /**
+     * Sets the character class of tasks taking one, such as {@code remove-chars}, as a
+     * {@link CharacterClass} definition. Whitespace is part of the definition, so it is not
+     * trimmed.
+     *
+     * @param characterClassRaw the character class definition, e.g. {@code [:vowels:]àéèù}
+     * @return this builder
+     */
+    public Builder withCharacterClass(String characterClassRaw) {
+      this.characterClassRaw = characterClassRaw;
+      return this;
+    }
+
+    /**
+     * Sets the phrase of tasks taking one, such as {@code count-phrase}. A phrase can start or end
+     * with a space, so it is not trimmed.
+     *
+     * @param phraseRaw the phrase, e.g. {@code slow bike}
+     * @return this builder
+     */
+    public Builder withPhrase(String phraseRaw) {
+      this.phraseRaw = phraseRaw;
+      return this;
+    }
+
+    /**
+     * Sets the {@link CaseMode} of tasks taking parameters, such as {@code count-phrase}.
+     * Defaults to {@link CaseMode#INSENSITIVE}.
+     *
+     * @param caseModeRaw the case mode, e.g. {@code sensitive}
+     * @return this builder
+     */
+    public Builder withCaseMode(String caseModeRaw) {
+      this.caseModeRaw = caseModeRaw;
+      return this;
+    }
+
+    /**
+     * Sets task parameters that have already been validated, such as those shared by every run
+     * of a directory watcher, instead of the character class, phrase and case mode.
+     *
+     * @param taskParameters the validated parameters
+     * @return this builder
+     */
+    public Builder withTaskParameters(TaskParameters taskParameters) {
+      this.taskParameters = taskParameters;
+      return this;
+    }
+
     public Builder withInputFile(String inputFileRaw) {
       this.inputFileRaw = inputFileRaw;
       return this;
     }
 
+    /**
+     * Reads the input from an open channel, such as standard input, instead of an input file.
+     * The channel is read in chunks as the task runs, so the input is never held in memory or
+     * written to disk, and it is closed once the run completes.
+     *
+     * @param inputChannel the channel to read the input from
+     * @return this builder
+     */
+    public Builder withInputChannel(ReadableByteChannel inputChannel) {
+      this.inputChannel = inputChannel;
+      return this;
+    }
+
     public Builder withOutputFile(String outputFileRaw) {
       this.outputFileRaw = outputFileRaw;
       return this;
@@ -85,6 +236,16 @@ public record ParseContext(
       return this;
     }
 
+    public Builder withCancellation(CancellationToken cancellation) {
+      this.cancellation = cancellation;
+      return this;
+    }
+
+    public Builder withProgress(TaskProgress progress) {
+      this.progress = progress;
+      return this;
+    }
+
     /**
      * Builds a validated {@link ParseContext} instance.
      * <p>
@@ -93,29 +254,64 @@ public record ParseContext(
      * or if the output file is null.
      * </p>
      *
+     * <p>
+     * Validation is traced as a {@code parse.validate} span when tracing is available.
+     * </p>
+     *
      * @return a new {@link ParseContext} instance
      * @throws IllegalArgumentException if required fields are missing or invalid
      */
     public ParseContext build() {
+      try (TraceSpan span = Tracing.startSpan("parse.validate")) {
+        try {
+          ParseContext context = validate();
+          span.setAttribute("parse.task", context.taskName())
+              .setAttribute("parse.input.size", context.inputSize());
+          return context;
+        } catch (RuntimeException e) {
+          span.recordException(e);
+          throw e;
+        }
+      }
+    }
+
+    private ParseContext validate() {
       // Check required fields
       if (parseTaskRaw == null || parseTaskRaw.isBlank()) {
         log.error("ParseTask not provided");
         throw new IllegalArgumentException("ParseTask is required");
       }
-      if (inputFileRaw == null || inputFileRaw.isBlank()) {
+      if (inputChannel == null && (inputFileRaw == null || inputFileRaw.isBlank())) {
         log.error("Input file not provided");
         throw new IllegalArgumentException("Input file is required");
       }
+      if (inputChannel != null && inputFileRaw != null) {
+        log.error("Both an input file and an input channel provided");
+        throw new IllegalArgumentException("Only one of an input file or channel is allowed");
+      }
 
       // Validate provided values
-      ParseTaskType parseTaskType = ArgumentValidator.validateParseTask(parseTaskRaw);
-      Path inputFile              = ArgumentValidator.validateInputFile(inputFileRaw);
+      String taskName = ArgumentValidator.validateTaskName(parseTaskRaw);
+      ParseTaskType parseTaskType = ParseTaskType.fromValue(taskName).orElse(null);
+      TaskParameters taskParameters = this.taskParameters != null ? this.taskParameters
+          : ArgumentValidator.validateTaskParameters(characterClassRaw, phraseRaw, caseModeRaw);
+      ParseTask parseTask         = TaskPipeline.compile(taskName, taskParameters);
+      Path inputFile = null;
+      BasicFileAttributes inputAttributes = null;
+      if (inputChannel == null) {
+        inputFile       = ArgumentValidator.validateInputFile(inputFileRaw);
+        inputAttributes = ArgumentValidator.readInputAttributes(inputFile);
+      }
 
       Path outputFile             = resolveOutputFile(outputFileRaw);
-      OutputTarget outputTarget   = resolveOutputTarget(outputTargetRaw, outputFile);
+      OutputSinkFactory outputSink = resolveOutputSink(outputTargetRaw, outputFile);
+      OutputTarget outputTarget   = outputSink instanceof OutputTarget target ? target : null;
 
       log.debug("ParseContext built successfully");
-      return new ParseContext(parseTaskType, inputFile, outputFile, outputTarget);
+      return new ParseContext(parseTaskType, taskName, parseTask, taskParameters, inputFile,
+          inputAttributes, inputChannel, outputFile, outputTarget, outputSink,
+          cancellation != null ? cancellation : CancellationToken.create(),
+          progress != null ? progress : new TaskProgress());
     }
 
     /**
@@ -134,19 +330,27 @@ public record ParseContext(
     }
 
     /**
-     * Resolves the optional output target.
+     * Resolves the optional output target to the sink that will receive the output.
+     * Falls back to the console if no target is provided, or if the file target is requested
+     * without an output file.
      *
      * @param rawTarget the raw target string
      * @param outputFile the resolved output file (may be null)
-     * @return the {@link OutputTarget}
+     * @return the {@link OutputSinkFactory} for the target
      */
-    private OutputTarget resolveOutputTarget(String rawTarget, Path outputFile) {
-      if (rawTarget == null || rawTarget.isBlank() || outputFile == null) {
-        log.debug("No output file target or file specified, printing to console");
+    private OutputSinkFactory resolveOutputSink(String rawTarget, Path outputFile) {
+      if (rawTarget == null || rawTarget.isBlank()) {
+        log.debug("No output target specified, printing to console");
+        return OutputTarget.CONSOLE;
+      }
+
+      OutputSinkFactory outputSink = ArgumentValidator.validateOutputSink(rawTarget);
+      if (outputSink == OutputTarget.FILE && outputFile == null) {
+        log.debug("No output file specified, printing to console");
         return OutputTarget.CONSOLE;
       }
 
-      return ArgumentValidator.validateOutputTarget(rawTarget);
+      return outputSink;
     }
   }
 }
@@ -0,0 +1,52 @@
+package com.mcintosh.iain.core.task;
+
+import java.util.Optional;
+
+/**
+ * Thrown when a parse task stops early because its {@link CancellationToken} was cancelled or its
+ * deadline passed.
+ * <p>
+ * The exception records how far through the input the task got. Tasks with a bounded output,
+ * such as the counting tasks, also provide their result for the input processed so far, so a
+ * caller can return a best-effort answer. Transforming tasks have already written their output
+ * for the processed input to the sink, so they carry no partial result.
+ * </p>
+ */
+public class TaskCancelledException extends RuntimeException {
+
+  private final long bytesProcessed;
+  private final boolean deadlineExceeded;
+  private final String partialResult;
+
+  public TaskCancelledException(long bytesProcessed, boolean deadlineExceeded,
+      String partialResult) {
+    super((deadlineExceeded ? "Task exceeded its deadline" : "Task was cancelled")
+        + " after " + bytesProcessed + " bytes");
+    this.bytesProcessed = bytesProcessed;
+    this.deadlineExceeded = deadlineExceeded;
+    this.partialResult = partialResult;
+  }
+
+  /**
+   * Returns the number of bytes of input processed before the task stopped.
+   */
+  public long bytesProcessed() {
+    return bytesProcessed;
+  }
+
+  /**
+   * Returns {@code true} if the task stopped because its deadline passed, rather than through an
+   * explicit cancellation.
+   */
+  public boolean isDeadlineExceeded() {
+    return deadlineExceeded;
+  }
+
+  /**
+   * Returns the result of the task for the input processed so far, if the task has a bounded
+   * output.
+   */
+  public Optional<String> partialResult() {
+    return Optional.ofNullable(partialResult);
+  }
+}
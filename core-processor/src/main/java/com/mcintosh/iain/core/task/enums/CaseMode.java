@@ -1,5 +1,8 @@
 package com.mcintosh.iain.core.task.enums;
 
+import java.util.Arrays;
+import java.util.Optional;
+
 /**
  * Represents whether the file processing should take character casing into account.
  * Enum Strategy pattern used for cleaner code and to make it easy to extend.
@@ -15,4 +18,10 @@ public enum CaseMode {
   };
 
   public abstract char normalise(char c);
+
+  public static Optional<CaseMode> fromValue(String value) {
+    return Arrays.stream(CaseMode.values())
+        .filter(mode -> mode.name().equalsIgnoreCase(value))
+        .findFirst();
+  }
 }
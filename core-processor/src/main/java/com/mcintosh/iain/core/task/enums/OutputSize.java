@@ -0,0 +1,15 @@
+package com.mcintosh.iain.core.task.enums;
+
+/**
+ * How the size of the output of a task relates to the size of its input.
+ */
+public enum OutputSize {
+  /**
+   * The output is small and independent of the input size, such as a count.
+   */
+  BOUNDED,
+  /**
+   * The output grows with the input, such as the input with some characters removed.
+   */
+  PROPORTIONAL
+}
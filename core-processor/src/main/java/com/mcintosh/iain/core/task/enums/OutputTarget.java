@@ -1,13 +1,36 @@
 package com.mcintosh.iain.core.task.enums;
 
+import com.mcintosh.iain.core.output.ConsoleSink;
+import com.mcintosh.iain.core.output.FileSink;
+import com.mcintosh.iain.core.output.NullSink;
+import com.mcintosh.iain.core.output.OutputSink;
+import com.mcintosh.iain.core.output.OutputSinkFactory;
+import com.mcintosh.iain.core.task.ParseContext;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Optional;
 
 /**
- * Destination where the final output will be printed.
+ * Built-in destinations where the final output will be printed.
+ * Enum Strategy pattern used so that each target knows how to open its own {@link OutputSink}.
+ * Additional destinations can be added at runtime through the
+ * {@link com.mcintosh.iain.core.output.OutputSinkRegistry}.
  */
-public enum OutputTarget {
-  CONSOLE, FILE;
+public enum OutputTarget implements OutputSinkFactory {
+  CONSOLE {
+    @Override
+    public OutputSink open(ParseContext parseContext) { return new ConsoleSink(); }
+  },
+  FILE {
+    @Override
+    public OutputSink open(ParseContext parseContext) throws IOException {
+      return FileSink.open(parseContext.outputFile());
+    }
+  },
+  NULL {
+    @Override
+    public OutputSink open(ParseContext parseContext) { return new NullSink(); }
+  };
 
   public static Optional<OutputTarget> fromValue(String value) {
     return Arrays.stream(OutputTarget.values())
@@ -1,6 +1,10 @@
 package com.mcintosh.iain.core.task.processor;
 
+import com.mcintosh.iain.core.jfr.FlightRecording;
+import com.mcintosh.iain.core.jfr.ProcessorEvent;
 import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.util.CharacterClass;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -27,6 +31,7 @@ import org.slf4j.LoggerFactory;
  */
 public final class CharacterCounter {
   private static final Logger log = LoggerFactory.getLogger(CharacterCounter.class);
+  private static final String NAME = "CharacterCounter";
 
   private CharacterCounter() {
     throw new UnsupportedOperationException("Class not instantiable");
@@ -55,20 +60,176 @@ public final class CharacterCounter {
       return Collections.emptyMap();
     }
 
-    // Initialise the map to a count of 0 for each provided character
-    Map<Character, Integer> counts = new HashMap<>();
-    for (Character c : charsToCount) {
-      counts.put(caseMode.normalise(c), 0);
-    }
+    ProcessorEvent event = FlightRecording.begin(ProcessorEvent::new);
+    Counter counter = counter(charsToCount, caseMode);
 
-    // Increment the count if the character is present in the map
+    long matches = 0;
     for (int i = 0; i < input.length(); i++) {
-      char c = caseMode.normalise(input.charAt(i));
-      counts.computeIfPresent(c, (k, v) -> v + 1);
+      if (counter.increment(caseMode.normalise(input.charAt(i)))) {
+        matches++;
+      }
     }
 
+    if (event != null) {
+      event.complete(NAME, input.length(), 0, matches);
+    }
     long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
     log.debug("Characters counted in {}ms", elapsedMs);
+
+    Map<Character, Integer> counts = new HashMap<>();
+    counter.counts().forEach((c, count) -> counts.put(c, count.intValue()));
     return counts;
   }
+
+  /**
+   * Creates a {@link Counter} that counts occurrences of the specified characters in input
+   * delivered in chunks.
+   *
+   * @param charsToCount the set of characters to count
+   * @param caseMode     determines if counting is case-sensitive or case-insensitive
+   * @return a new {@link Counter} with a count of 0 for each character
+   */
+  public static Counter counter(Set<Character> charsToCount, CaseMode caseMode) {
+    return new Counter(CharacterClass.of(charsToCount), caseMode);
+  }
+
+  /**
+   * Creates a {@link Counter} that counts occurrences of the specified class of characters in
+   * input delivered in chunks.
+   *
+   * @param charsToCount the class of characters to count
+   * @param caseMode     determines if counting is case-sensitive or case-insensitive
+   * @return a new {@link Counter} with a count of 0 for each character of the class, once
+   *         normalised
+   */
+  public static Counter counter(CharacterClass charsToCount, CaseMode caseMode) {
+    return new Counter(charsToCount, caseMode);
+  }
+
+  /**
+   * Counts occurrences of a set of characters across a sequence of chunks.
+   * <p>
+   * The counts are held in an array, with a lookup table from each character to its slot, so
+   * counting a chunk allocates nothing. Counting into a {@code Map<Character, Integer>} would box
+   * the count on every match, as only small values are cached by {@link Integer#valueOf(int)}.
+   * </p>
+   */
+  public static final class Counter {
+    private final CaseMode caseMode;
+    private final char[] characters;
+    private final long[] counts;
+
+    /**
+     * Indexed by character, holding one more than the slot of the character in {@code counts},
+     * or 0 if the character is not counted. Only as long as the highest character counted.
+     */
+    private final int[] slots;
+
+    /**
+     * Indexed by ASCII byte, holding one more than the slot of the byte once normalised, or 0 if
+     * it is not counted, so that ASCII input is counted without normalising each byte.
+     */
+    private final int[] asciiSlots = new int[128];
+
+    private Counter(CharacterClass charsToCount, CaseMode caseMode) {
+      this.caseMode = caseMode;
+
+      // Sorted, so that counters for the same set of characters can be merged
+      this.characters = charsToCount.normalise(caseMode).toCharArray();
+      this.counts = new long[characters.length];
+      this.slots = new int[characters.length > 0 ? characters[characters.length - 1] + 1 : 0];
+      for (int i = 0; i < characters.length; i++) {
+        slots[characters[i]] = i + 1;
+      }
+      for (char c = 0; c < asciiSlots.length; c++) {
+        char n = caseMode.normalise(c);
+        asciiSlots[c] = n < slots.length ? slots[n] : 0;
+      }
+    }
+
+    /**
+     * Adds the occurrences of the characters in the next chunk of input to the counts.
+     *
+     * @param chunk  the buffer containing the input characters
+     * @param offset the index of the first input character
+     * @param length the number of input characters
+     */
+    public void count(char[] chunk, int offset, int length) {
+      ProcessorEvent event = FlightRecording.begin(ProcessorEvent::new);
+
+      long matches = 0;
+      for (int i = offset; i < offset + length; i++) {
+        if (increment(caseMode.normalise(chunk[i]))) {
+          matches++;
+        }
+      }
+
+      if (event != null) {
+        event.complete(NAME, length, 0, matches);
+      }
+    }
+
+    /**
+     * Adds the occurrences of the characters in the next chunk of input, which is entirely ASCII,
+     * to the counts.
+     *
+     * @param chunk  the buffer containing the input bytes
+     * @param offset the index of the first input byte
+     * @param length the number of input bytes
+     */
+    public void countAscii(byte[] chunk, int offset, int length) {
+      ProcessorEvent event = FlightRecording.begin(ProcessorEvent::new);
+
+      long matches = 0;
+      for (int i = offset; i < offset + length; i++) {
+        int slot = asciiSlots[chunk[i]];
+        if (slot != 0) {
+          counts[slot - 1]++;
+          matches++;
+        }
+      }
+
+      if (event != null) {
+        event.complete(NAME, length, 0, matches);
+      }
+    }
+
+    /**
+     * Adds the counts of another counter for the same characters to this one.
+     *
+     * @param other the counter to add
+     * @throws IllegalArgumentException if the other counter counts different characters
+     */
+    public void merge(Counter other) {
+      if (other.caseMode != caseMode || !Arrays.equals(other.characters, characters)) {
+        throw new IllegalArgumentException("Counters count different characters");
+      }
+
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] += other.counts[i];
+      }
+    }
+
+    /**
+     * Returns the counts so far, including a count of 0 for each character not yet seen.
+     *
+     * @return a new mutable map of each normalised character to its count
+     */
+    public Map<Character, Long> counts() {
+      Map<Character, Long> snapshot = new HashMap<>();
+      for (int i = 0; i < characters.length; i++) {
+        snapshot.put(characters[i], counts[i]);
+      }
+      return snapshot;
+    }
+
+    private boolean increment(char c) {
+      if (c >= slots.length || slots[c] == 0) {
+        return false;
+      }
+
+      counts[slots[c] - 1]++;
+      return true;
+    }
+  }
 }
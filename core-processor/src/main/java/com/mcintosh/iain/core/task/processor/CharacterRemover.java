@@ -1,6 +1,9 @@
 package com.mcintosh.iain.core.task.processor;
 
+import com.mcintosh.iain.core.jfr.FlightRecording;
+import com.mcintosh.iain.core.jfr.ProcessorEvent;
 import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.util.CharacterClass;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +33,7 @@ import org.slf4j.LoggerFactory;
  */
 public final class CharacterRemover {
   private static final Logger log = LoggerFactory.getLogger(CharacterRemover.class);
+  private static final String NAME = "CharacterRemover";
 
   private CharacterRemover() {
     throw new UnsupportedOperationException("Class not instantiable");
@@ -51,6 +55,7 @@ public final class CharacterRemover {
   public static String execute(String input, Set<Character> charsToRemove, CaseMode caseMode) {
     log.debug("Beginning character removal");
     long startNanos = System.nanoTime();
+    ProcessorEvent event = FlightRecording.begin(ProcessorEvent::new);
 
     if (input == null || input.isBlank()) {
       return "";
@@ -61,20 +66,152 @@ public final class CharacterRemover {
       return input;
     }
 
+    return execute(input, CharacterClass.of(charsToRemove), caseMode, event, startNanos);
+  }
+
+  /**
+   * Removes all characters from the input string that belong to the specified class.
+   *
+   * @param input         the input string to process
+   * @param charsToRemove the class of characters to remove
+   * @param caseMode      determines if removal is case-sensitive or case-insensitive
+   * @return a new string with the specified characters removed; the original string is unchanged
+   * @see #execute(String, Set, CaseMode)
+   */
+  public static String execute(String input, CharacterClass charsToRemove, CaseMode caseMode) {
+    log.debug("Beginning character removal");
+    long startNanos = System.nanoTime();
+    ProcessorEvent event = FlightRecording.begin(ProcessorEvent::new);
+
+    if (input == null || input.isBlank()) {
+      return "";
+    }
+
+    return execute(input, charsToRemove, caseMode, event, startNanos);
+  }
+
+  private static String execute(String input, CharacterClass charsToRemove, CaseMode caseMode,
+      ProcessorEvent event, long startNanos) {
+    Remover remover = remover(charsToRemove, caseMode);
     StringBuilder output = new StringBuilder();
 
     // Only add characters to the final output if they are not one of the characters to remove
     char c;
     for (int i = 0; i < input.length(); i++) {
-      c = caseMode.normalise(input.charAt(i));
+      c = input.charAt(i);
 
-      if (!charsToRemove.contains(c)) {
-        output.append(input.charAt(i));
+      if (!remover.removes(c)) {
+        output.append(c);
       }
     }
 
+    if (event != null) {
+      event.complete(NAME, input.length(), output.length(), 0);
+    }
     long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
     log.debug("Characters removed in {}ms", elapsedMs);
     return output.toString();
   }
+
+  /**
+   * Removes all characters present in the specified set from a chunk of input, copying the
+   * remaining characters into {@code dest}.
+   * <p>
+   * Intended for streaming use, where the input arrives in chunks. Unlike
+   * {@link #execute(String, Set, CaseMode)}, whitespace-only input is preserved.
+   * </p>
+   *
+   * @param chunk         the buffer containing the input characters
+   * @param offset        the index of the first input character
+   * @param length        the number of input characters
+   * @param dest          the buffer receiving the retained characters; must hold at least
+   *                      {@code length} characters
+   * @param charsToRemove the set of characters to remove
+   * @param caseMode      determines if removal is case-sensitive or case-insensitive
+   * @return the number of characters written to {@code dest}
+   */
+  public static int execute(char[] chunk, int offset, int length, char[] dest,
+      Set<Character> charsToRemove, CaseMode caseMode) {
+    return remover(charsToRemove, caseMode).execute(chunk, offset, length, dest);
+  }
+
+  /**
+   * Creates a {@link Remover} for the specified characters, to be reused for each chunk of a
+   * streamed input.
+   *
+   * @param charsToRemove the set of characters to remove
+   * @param caseMode      determines if removal is case-sensitive or case-insensitive
+   * @return a new {@link Remover}
+   */
+  public static Remover remover(Set<Character> charsToRemove, CaseMode caseMode) {
+    return new Remover(CharacterClass.of(charsToRemove), caseMode);
+  }
+
+  /**
+   * Creates a {@link Remover} for the specified class of characters, to be reused for each chunk
+   * of a streamed input.
+   *
+   * @param charsToRemove the class of characters to remove
+   * @param caseMode      determines if removal is case-sensitive or case-insensitive
+   * @return a new {@link Remover}
+   */
+  public static Remover remover(CharacterClass charsToRemove, CaseMode caseMode) {
+    return new Remover(charsToRemove, caseMode);
+  }
+
+  /**
+   * Removes a set of characters from chunks of input.
+   * <p>
+   * The characters are looked up in the bitmap of a {@link CharacterClass}, normalised once for
+   * the case mode, so removing characters from a chunk allocates nothing. Looking each character
+   * up in a {@code Set<Character>} would box every character outside the range cached by
+   * {@link Character#valueOf(char)}, which is every character of non-Latin text.
+   * </p>
+   */
+  public static final class Remover {
+    private final CaseMode caseMode;
+
+    /**
+     * The normalised characters to remove.
+     */
+    private final CharacterClass removed;
+
+    private Remover(CharacterClass charsToRemove, CaseMode caseMode) {
+      this.caseMode = caseMode;
+      this.removed = charsToRemove.normalise(caseMode);
+    }
+
+    /**
+     * Removes the characters from a chunk of input, copying the remaining characters into
+     * {@code dest}.
+     *
+     * @param chunk  the buffer containing the input characters
+     * @param offset the index of the first input character
+     * @param length the number of input characters
+     * @param dest   the buffer receiving the retained characters; must hold at least
+     *               {@code length} characters
+     * @return the number of characters written to {@code dest}
+     */
+    public int execute(char[] chunk, int offset, int length, char[] dest) {
+      ProcessorEvent event = FlightRecording.begin(ProcessorEvent::new);
+      int written = 0;
+
+      for (int i = offset; i < offset + length; i++) {
+        char c = chunk[i];
+
+        if (!removes(c)) {
+          dest[written++] = c;
+        }
+      }
+
+      if (event != null) {
+        event.complete(NAME, length, written, 0);
+      }
+      return written;
+    }
+
+    private boolean removes(char c) {
+      return removed.contains(caseMode.normalise(c));
+    }
+  }
 }
@@ -1,6 +1,12 @@
 package com.mcintosh.iain.core.task.processor;
 
+import com.mcintosh.iain.core.jfr.FlightRecording;
+import com.mcintosh.iain.core.jfr.ProcessorEvent;
 import com.mcintosh.iain.core.task.enums.CaseMode;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,9 +35,35 @@ import org.slf4j.LoggerFactory;
  * <p>
  * Note: If the input or search string is empty, this method returns 0.
  * </p>
+ *
+ * <p>
+ * For input that arrives in chunks, {@link #matcher(String, CaseMode)} returns a {@link Matcher}
+ * which carries partial matches across chunk boundaries. The search value is first compiled into
+ * a {@link Phrase} with {@link #compile(String, CaseMode)}, which is cached, so that a phrase
+ * searched for by many runs is only compiled the first time.
+ * </p>
  */
 public final class StringCounter {
   private static final Logger log = LoggerFactory.getLogger(StringCounter.class);
+  private static final String NAME = "StringCounter";
+
+  /**
+   * Number of phrases kept compiled, so that arbitrary phrases sent over REST cannot grow the
+   * cache without bound.
+   */
+  private static final int CACHE_SIZE = 256;
+
+  /**
+   * Compiled phrases keyed by their search value and case mode, the least recently used evicted
+   * first.
+   */
+  private static final Map<PhraseKey, Phrase> cache = Collections.synchronizedMap(
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PhraseKey, Phrase> eldest) {
+          return size() > CACHE_SIZE;
+        }
+      });
 
   private StringCounter() {
     throw new UnsupportedOperationException("Class not instantiable");
@@ -58,6 +90,7 @@ public final class StringCounter {
       return 0;
     }
 
+    ProcessorEvent event = FlightRecording.begin(ProcessorEvent::new);
     int count = 0;
     int m = searchValue.length();
 
@@ -77,6 +110,9 @@ public final class StringCounter {
       j = 0;
     }
 
+    if (event != null) {
+      event.complete(NAME, input.length(), 0, count);
+    }
     long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
     log.debug("Strings counted in {}ms", elapsedMs);
     return count;
@@ -85,4 +121,242 @@ public final class StringCounter {
   private static boolean charactersMatch(char c1, char c2, CaseMode caseMode) {
     return caseMode.normalise(c1) == caseMode.normalise(c2);
   }
+
+  /**
+   * Creates a {@link Matcher} that counts occurrences of {@code searchValue} in input delivered
+   * in chunks.
+   *
+   * @param searchValue the substring to search for
+   * @param caseMode    determines if the matching is case-sensitive or case-insensitive
+   * @return a new {@link Matcher} with a count of 0
+   */
+  public static Matcher matcher(String searchValue, CaseMode caseMode) {
+    return compile(searchValue, caseMode).matcher();
+  }
+
+  /**
+   * Compiles {@code searchValue} for matching with the given case mode, or returns the
+   * {@link Phrase} it was compiled into before.
+   *
+   * @param searchValue the substring to search for
+   * @param caseMode    determines if the matching is case-sensitive or case-insensitive
+   * @return the compiled phrase, which matches nothing if {@code searchValue} is blank
+   */
+  public static Phrase compile(String searchValue, CaseMode caseMode) {
+    if (searchValue == null || searchValue.isBlank()) {
+      return new Phrase("", caseMode);
+    }
+
+    PhraseKey key = new PhraseKey(searchValue, caseMode);
+    Phrase phrase = cache.get(key);
+    if (phrase == null) {
+      phrase = new Phrase(searchValue, caseMode);
+      cache.put(key, phrase);
+    }
+    return phrase;
+  }
+
+  private record PhraseKey(String searchValue, CaseMode caseMode) {}
+
+  /**
+   * A search value compiled for a case mode: the search value normalised, its Knuth-Morris-Pratt
+   * failure table, and a table normalising ASCII input. Phrases are immutable, so a single
+   * phrase is shared by every {@link Matcher} searching for it.
+   */
+  public static final class Phrase {
+    private final String searchValue;
+    private final CaseMode caseMode;
+    private final char[] pattern;
+    private final int[] failure;
+
+    /**
+     * Each ASCII character once normalised, so that ASCII input is matched without normalising
+     * each byte.
+     */
+    private final char[] asciiNormalised = new char[128];
+
+    private Phrase(String searchValue, CaseMode caseMode) {
+      this.searchValue = searchValue;
+      this.caseMode = caseMode;
+      for (char c = 0; c < asciiNormalised.length; c++) {
+        asciiNormalised[c] = caseMode.normalise(c);
+      }
+
+      this.pattern = new char[searchValue.length()];
+      for (int i = 0; i < pattern.length; i++) {
+        pattern[i] = caseMode.normalise(searchValue.charAt(i));
+      }
+      this.failure = failureTable(pattern);
+    }
+
+    /**
+     * Creates a {@link Matcher} for this phrase.
+     *
+     * @return a new {@link Matcher} with a count of 0
+     */
+    public Matcher matcher() {
+      return new Matcher(this);
+    }
+
+    /**
+     * Returns the search value this phrase was compiled from.
+     *
+     * @return the search value, as given
+     */
+    public String searchValue() {
+      return searchValue;
+    }
+
+    /**
+     * Returns the case mode this phrase was compiled for.
+     *
+     * @return the case mode
+     */
+    public CaseMode caseMode() {
+      return caseMode;
+    }
+
+    /**
+     * Builds the failure table, where entry {@code i} is the length of the longest proper prefix
+     * of {@code pattern[0..i]} that is also a suffix of it.
+     */
+    private static int[] failureTable(char[] pattern) {
+      int[] table = new int[pattern.length];
+
+      int k = 0;
+      for (int i = 1; i < pattern.length; i++) {
+        while (k > 0 && pattern[i] != pattern[k]) {
+          k = table[k - 1];
+        }
+        if (pattern[i] == pattern[k]) {
+          k++;
+        }
+        table[i] = k;
+      }
+
+      return table;
+    }
+  }
+
+  /**
+   * Counts occurrences of a substring across a sequence of chunks.
+   * <p>
+   * Each input character is examined once, using the Knuth-Morris-Pratt failure table of the
+   * search value to fall back after a mismatch instead of re-scanning the input. Overlapping
+   * matches are counted, as with {@link #execute(String, String, CaseMode)}.
+   * </p>
+   */
+  public static final class Matcher {
+    private final char[] pattern;
+    private final int[] failure;
+    private final CaseMode caseMode;
+    private final char[] asciiNormalised;
+
+    private int matched;
+    private long count;
+
+    private Matcher(Phrase phrase) {
+      this.pattern = phrase.pattern;
+      this.failure = phrase.failure;
+      this.caseMode = phrase.caseMode;
+      this.asciiNormalised = phrase.asciiNormalised;
+    }
+
+    /**
+     * Counts the occurrences in the next chunk of input, including any occurrence that started
+     * in a previous chunk.
+     *
+     * @param chunk  the buffer containing the input characters
+     * @param offset the index of the first input character
+     * @param length the number of input characters
+     */
+    public void count(char[] chunk, int offset, int length) {
+      if (pattern.length == 0) {
+        return;
+      }
+
+      ProcessorEvent event = FlightRecording.begin(ProcessorEvent::new);
+      long countBefore = count;
+
+      for (int i = offset; i < offset + length; i++) {
+        char c = caseMode.normalise(chunk[i]);
+
+        while (matched > 0 && pattern[matched] != c) {
+          matched = failure[matched - 1];
+        }
+        if (pattern[matched] == c) {
+          matched++;
+        }
+        if (matched == pattern.length) {
+          count++;
+          matched = failure[matched - 1];
+        }
+      }
+
+      if (event != null) {
+        event.complete(NAME, length, 0, count - countBefore);
+      }
+    }
+
+    /**
+     * Counts the occurrences in the next chunk of input, which is entirely ASCII, including any
+     * occurrence that started in a previous chunk.
+     *
+     * @param chunk  the buffer containing the input bytes
+     * @param offset the index of the first input byte
+     * @param length the number of input bytes
+     */
+    public void countAscii(byte[] chunk, int offset, int length) {
+      if (pattern.length == 0) {
+        return;
+      }
+
+      ProcessorEvent event = FlightRecording.begin(ProcessorEvent::new);
+      long countBefore = count;
+
+      for (int i = offset; i < offset + length; i++) {
+        char c = asciiNormalised[chunk[i]];
+
+        while (matched > 0 && pattern[matched] != c) {
+          matched = failure[matched - 1];
+        }
+        if (pattern[matched] == c) {
+          matched++;
+        }
+        if (matched == pattern.length) {
+          count++;
+          matched = failure[matched - 1];
+        }
+      }
+
+      if (event != null) {
+        event.complete(NAME, length, 0, count - countBefore);
+      }
+    }
+
+    /**
+     * Adds the occurrences counted by another matcher to this one. Any occurrence spanning the
+     * end of the input counted by this matcher and the start of the input counted by the other
+     * is not counted, so the input must have been split where no occurrence can span.
+     *
+     * @param other the matcher to add
+     * @throws IllegalArgumentException if the other matcher searches for a different value
+     */
+    public void merge(Matcher other) {
+      if (other.caseMode != caseMode || !Arrays.equals(other.pattern, pattern)) {
+        throw new IllegalArgumentException("Matchers search for different values");
+      }
+
+      count += other.count;
+    }
+
+    /**
+     * Returns the number of occurrences counted so far.
+     *
+     * @return the running count
+     */
+    public long count() {
+      return count;
+    }
+  }
 }
@@ -0,0 +1,38 @@
+package com.mcintosh.iain.core.task.strategy;
+
+import com.mcintosh.iain.core.output.OutputSink;
+import java.io.IOException;
+
+/**
+ * Fallback {@link TaskStream} for tasks that can only operate on their whole input at once.
+ * <p>
+ * The chunks are buffered in memory and passed to {@link ParseTask#execute(String)} when the
+ * stream is finished, so memory use grows with the size of the input.
+ * </p>
+ */
+final class BufferedTaskStream implements TaskStream {
+
+  private final ParseTask task;
+  private final OutputSink sink;
+  private final StringBuilder input = new StringBuilder();
+
+  BufferedTaskStream(ParseTask task, OutputSink sink) {
+    this.task = task;
+    this.sink = sink;
+  }
+
+  @Override
+  public void accept(char[] chunk, int offset, int length) {
+    input.append(chunk, offset, length);
+  }
+
+  @Override
+  public void finish() throws IOException {
+    sink.write(task.execute(input.toString()));
+  }
+
+  @Override
+  public String engine() {
+    return "buffered";
+  }
+}
@@ -0,0 +1,215 @@
+package com.mcintosh.iain.core.task.strategy;
+
+import com.mcintosh.iain.core.output.OutputSink;
+import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.task.enums.OutputSize;
+import com.mcintosh.iain.core.task.processor.CharacterCounter;
+import com.mcintosh.iain.core.util.CharacterClass;
+import com.mcintosh.iain.core.util.JsonParser;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Counts the characters of a user-defined {@link CharacterClass} in a given string.
+ * <p>
+ * The task is registered by its {@link Provider}, like a plugin task, and its class is given
+ * with the parameters of the run, so the task in the {@link ParseTaskRegistry} cannot be executed
+ * until it is configured through {@link #withParameters(TaskParameters)}. Counting is
+ * case-insensitive unless the parameters give another {@link CaseMode}, and the output is a JSON
+ * object with a count for every character of the class once normalised, as for
+ * {@link ConsonantCounter}.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * CharacterClass greekVowels = CharacterClass.compile("αεηιουω");
+ * TaskParameters parameters = new TaskParameters(greekVowels, null, null);
+ * ParseTask counter = ParseTaskRegistry.getStrategy("count-chars").withParameters(parameters);
+ * String result = counter.execute("Καλημέρα");
+ * // result -> {"α": 2, "ε": 0, "η": 1, "ι": 0, "ο": 0, "υ": 0, "ω": 0}
+ * }</pre>
+ * </p>
+ *
+ * <p>
+ * Note: accented characters are separate characters, so {@code έ} is only counted if it is in
+ * the class itself.
+ * </p>
+ */
+public final class CharacterClassCounter implements ParseTask {
+
+  static final String NAME = "count-chars";
+
+  private static final TaskCapabilities CAPABILITIES =
+      new TaskCapabilities(true, true, true, OutputSize.BOUNDED);
+
+  private static final TaskCapabilities LINE_TERMINATOR_CAPABILITIES =
+      new TaskCapabilities(true, true, false, OutputSize.BOUNDED);
+
+  private final CharacterClass characterClass;
+  private final CaseMode caseMode;
+
+  CharacterClassCounter() {
+    this(null, CaseMode.INSENSITIVE);
+  }
+
+  private CharacterClassCounter(CharacterClass characterClass, CaseMode caseMode) {
+    this.characterClass = characterClass;
+    this.caseMode = caseMode;
+  }
+
+  /**
+   * Counts the characters of the class in the given input string using the case mode of the
+   * parameters, case-insensitive by default.
+   *
+   * @param input the string to count the characters in
+   * @return a JSON string representing the counts of each character
+   * @throws IllegalArgumentException if the task has not been configured with a character class
+   */
+  @Override
+  public String execute(String input) {
+    return execute(input, caseMode);
+  }
+
+  /**
+   * Counts the characters of the class in the given input string using the specified
+   * {@link CaseMode}.
+   *
+   * @param input    the string to count the characters in
+   * @param caseMode the case sensitivity mode to use
+   * @return a JSON string representing the counts of each character
+   * @throws IllegalArgumentException if the task has not been configured with a character class
+   */
+  public String execute(String input, CaseMode caseMode) {
+    CharacterCounter.Counter counter = CharacterCounter.counter(characterClass(), caseMode);
+    if (input != null) {
+      char[] chunk = input.toCharArray();
+      counter.count(chunk, 0, chunk.length);
+    }
+
+    return formatCountMap(counter.counts());
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The same as {@link ConsonantCounter}: characters are counted chunk by chunk, the counts of
+   * separate parts of the input can be added together, and ASCII input can be counted as bytes.
+   * The output is a fixed set of counts. A class containing a line terminator is the exception,
+   * as line terminators are only normalised when the input is decoded, so its input is always
+   * decoded.
+   * </p>
+   */
+  @Override
+  public TaskCapabilities capabilities() {
+    boolean countsLineTerminators = characterClass != null
+        && (characterClass.contains('\r') || characterClass.contains('\n'));
+    return countsLineTerminators ? LINE_TERMINATOR_CAPABILITIES : CAPABILITIES;
+  }
+
+  /**
+   * Returns a counter of the character class of the parameters, in their case mode.
+   *
+   * @param parameters the parameters of the run
+   * @return a new {@link CharacterClassCounter}
+   * @throws IllegalArgumentException if the parameters have no character class
+   */
+  @Override
+  public ParseTask withParameters(TaskParameters parameters) {
+    return new CharacterClassCounter(parameters.requireCharacterClass(NAME), parameters.caseMode());
+  }
+
+  /**
+   * Opens a stream that counts the characters of the class chunk by chunk using the case mode of
+   * the parameters, case-insensitive by default.
+   *
+   * @param sink the sink to write the JSON counts to once the input is finished
+   * @return a new {@link TaskStream}
+   * @throws IllegalArgumentException if the task has not been configured with a character class
+   */
+  @Override
+  public TaskStream openStream(OutputSink sink) {
+    return openStream(sink, caseMode);
+  }
+
+  /**
+   * Opens a stream that counts the characters of the class chunk by chunk using the specified
+   * {@link CaseMode}.
+   *
+   * @param sink     the sink to write the JSON counts to once the input is finished
+   * @param caseMode the case sensitivity mode to use
+   * @return a new {@link TaskStream}
+   * @throws IllegalArgumentException if the task has not been configured with a character class
+   */
+  public TaskStream openStream(OutputSink sink, CaseMode caseMode) {
+    return new Stream(sink, CharacterCounter.counter(characterClass(), caseMode));
+  }
+
+  private CharacterClass characterClass() {
+    return new TaskParameters(characterClass, null, caseMode).requireCharacterClass(NAME);
+  }
+
+  /**
+   * Converts the counts into a JSON string, ordered by character so that large classes are easy
+   * to read.
+   */
+  private static String formatCountMap(Map<Character, ? extends Number> counts) {
+    return JsonParser.instance().toJson(new TreeMap<>(counts));
+  }
+
+  /**
+   * Registers the task as {@code count-chars}.
+   */
+  public static final class Provider implements ParseTaskProvider {
+    @Override
+    public String name() {
+      return NAME;
+    }
+
+    @Override
+    public ParseTask create() {
+      return new CharacterClassCounter();
+    }
+  }
+
+  private static final class Stream implements TaskStream {
+    private final OutputSink sink;
+    private final CharacterCounter.Counter counter;
+
+    private Stream(OutputSink sink, CharacterCounter.Counter counter) {
+      this.sink = sink;
+      this.counter = counter;
+    }
+
+    @Override
+    public void accept(char[] chunk, int offset, int length) {
+      counter.count(chunk, offset, length);
+    }
+
+    @Override
+    public void acceptAscii(byte[] chunk, int offset, int length) {
+      counter.countAscii(chunk, offset, length);
+    }
+
+    @Override
+    public void finish() throws IOException {
+      sink.write(formatCountMap(counter.counts()));
+    }
+
+    @Override
+    public Map<String, Long> runningCounts() {
+      Map<String, Long> running = new TreeMap<>();
+      counter.counts().forEach((c, count) -> running.put(String.valueOf(c), count));
+      return running;
+    }
+
+    @Override
+    public void merge(TaskStream other) {
+      if (!(other instanceof Stream stream)) {
+        throw new IllegalArgumentException("Not a character class counter stream");
+      }
+      counter.merge(stream.counter);
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package com.mcintosh.iain.core.task.strategy;
+
+import com.mcintosh.iain.core.output.OutputSink;
+import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.task.enums.OutputSize;
+import com.mcintosh.iain.core.task.processor.CharacterRemover;
+import com.mcintosh.iain.core.util.CharacterClass;
+import java.io.IOException;
+
+/**
+ * Removes the characters of a user-defined {@link CharacterClass} from a given string.
+ * <p>
+ * The task is registered by its {@link Provider}, like a plugin task, and its class is given
+ * with the parameters of the run, so the task in the {@link ParseTaskRegistry} cannot be executed
+ * until it is configured through {@link #withParameters(TaskParameters)}. Removal is
+ * case-insensitive unless the parameters give another {@link CaseMode}.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * CharacterClass accentedVowels = CharacterClass.compile("[:vowels:]àéèù");
+ * TaskParameters parameters = new TaskParameters(accentedVowels, null, null);
+ * ParseTask remover = ParseTaskRegistry.getStrategy("remove-chars").withParameters(parameters);
+ * String result = remover.execute("Où est le café");
+ * // result -> " st l cf"
+ * }</pre>
+ * </p>
+ */
+public final class CharacterClassRemover implements ParseTask {
+
+  static final String NAME = "remove-chars";
+
+  private static final TaskCapabilities CAPABILITIES =
+      new TaskCapabilities(true, false, false, OutputSize.PROPORTIONAL);
+
+  private final CharacterClass characterClass;
+  private final CaseMode caseMode;
+
+  CharacterClassRemover() {
+    this(null, CaseMode.INSENSITIVE);
+  }
+
+  private CharacterClassRemover(CharacterClass characterClass, CaseMode caseMode) {
+    this.characterClass = characterClass;
+    this.caseMode = caseMode;
+  }
+
+  /**
+   * Removes the characters of the class from the given input string using the case mode of the
+   * parameters, case-insensitive by default.
+   *
+   * @param input the string from which to remove the characters
+   * @return a new string with the characters removed
+   * @throws IllegalArgumentException if the task has not been configured with a character class
+   */
+  @Override
+  public String execute(String input) {
+    return execute(input, caseMode);
+  }
+
+  /**
+   * Removes the characters of the class from the given input string using the specified
+   * {@link CaseMode}.
+   *
+   * @param input    the string from which to remove the characters
+   * @param caseMode the case sensitivity mode to use
+   * @return a new string with the characters removed
+   * @throws IllegalArgumentException if the task has not been configured with a character class
+   */
+  public String execute(String input, CaseMode caseMode) {
+    return CharacterRemover.execute(input, characterClass(), caseMode);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The same as {@link VowelRemover}: characters are removed chunk by chunk, and the output is
+   * written in input order with normalised line terminators.
+   * </p>
+   */
+  @Override
+  public TaskCapabilities capabilities() {
+    return CAPABILITIES;
+  }
+
+  /**
+   * Returns a remover of the character class of the parameters, in their case mode.
+   *
+   * @param parameters the parameters of the run
+   * @return a new {@link CharacterClassRemover}
+   * @throws IllegalArgumentException if the parameters have no character class
+   */
+  @Override
+  public ParseTask withParameters(TaskParameters parameters) {
+    return new CharacterClassRemover(parameters.requireCharacterClass(NAME), parameters.caseMode());
+  }
+
+  /**
+   * Opens a stream that removes the characters of the class chunk by chunk using the case mode of
+   * the parameters, case-insensitive by default.
+   *
+   * @param sink the sink to write the remaining characters to
+   * @return a new {@link TaskStream}
+   * @throws IllegalArgumentException if the task has not been configured with a character class
+   */
+  @Override
+  public TaskStream openStream(OutputSink sink) {
+    return openStream(sink, caseMode);
+  }
+
+  /**
+   * Opens a stream that removes the characters of the class chunk by chunk using the specified
+   * {@link CaseMode}.
+   *
+   * @param sink     the sink to write the remaining characters to
+   * @param caseMode the case sensitivity mode to use
+   * @return a new {@link TaskStream}
+   * @throws IllegalArgumentException if the task has not been configured with a character class
+   */
+  public TaskStream openStream(OutputSink sink, CaseMode caseMode) {
+    return new Stream(sink, CharacterRemover.remover(characterClass(), caseMode));
+  }
+
+  private CharacterClass characterClass() {
+    return new TaskParameters(characterClass, null, caseMode).requireCharacterClass(NAME);
+  }
+
+  /**
+   * Registers the task as {@code remove-chars}.
+   */
+  public static final class Provider implements ParseTaskProvider {
+    @Override
+    public String name() {
+      return NAME;
+    }
+
+    @Override
+    public ParseTask create() {
+      return new CharacterClassRemover();
+    }
+  }
+
+  private static final class Stream implements TaskStream {
+    private final OutputSink sink;
+    private final CharacterRemover.Remover remover;
+    private char[] buffer = new char[0];
+
+    private Stream(OutputSink sink, CharacterRemover.Remover remover) {
+      this.sink = sink;
+      this.remover = remover;
+    }
+
+    @Override
+    public void accept(char[] chunk, int offset, int length) throws IOException {
+      if (buffer.length < length) {
+        buffer = new char[length];
+      }
+
+      int written = remover.execute(chunk, offset, length, buffer);
+      if (written > 0) {
+        sink.write(buffer, 0, written);
+      }
+    }
+
+    @Override
+    public void finish() {
+      // Output is written as each chunk is processed
+    }
+  }
+}
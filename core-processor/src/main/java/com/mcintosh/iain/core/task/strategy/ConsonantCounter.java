@@ -1,10 +1,14 @@
 package com.mcintosh.iain.core.task.strategy;
 
+import com.mcintosh.iain.core.output.OutputSink;
 import com.mcintosh.iain.core.util.Alphabet;
 import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.task.enums.OutputSize;
 import com.mcintosh.iain.core.task.processor.CharacterCounter;
 import com.mcintosh.iain.core.util.JsonParser;
+import java.io.IOException;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Counts the number of consonants in a given string.
@@ -31,6 +35,9 @@ import java.util.Map;
  */
 public final class ConsonantCounter implements ParseTask {
 
+  private static final TaskCapabilities CAPABILITIES =
+      new TaskCapabilities(true, true, true, OutputSize.BOUNDED);
+
   ConsonantCounter() {}
 
   /**
@@ -57,13 +64,89 @@ public final class ConsonantCounter implements ParseTask {
     return formatCountMap(counts);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Consonants are counted chunk by chunk, the counts of separate parts of the input can be
+   * added together, and ASCII input can be counted as bytes, as no consonant is a line
+   * terminator. The output is a fixed set of consonant counts.
+   * </p>
+   */
+  @Override
+  public TaskCapabilities capabilities() {
+    return CAPABILITIES;
+  }
+
+  /**
+   * Opens a stream that counts consonants chunk by chunk using a default case-insensitive mode.
+   *
+   * @param sink the sink to write the JSON counts to once the input is finished
+   * @return a new {@link TaskStream}
+   */
+  @Override
+  public TaskStream openStream(OutputSink sink) {
+    return openStream(sink, CaseMode.INSENSITIVE);
+  }
+
+  /**
+   * Opens a stream that counts consonants chunk by chunk using the specified {@link CaseMode}.
+   *
+   * @param sink     the sink to write the JSON counts to once the input is finished
+   * @param caseMode the case sensitivity mode to use
+   * @return a new {@link TaskStream}
+   */
+  public TaskStream openStream(OutputSink sink, CaseMode caseMode) {
+    return new Stream(sink, CharacterCounter.counter(Alphabet.getConsonants(), caseMode));
+  }
+
   /**
    * Converts the consonant counts map into a JSON string.
    *
    * @param counts the consonant count map
    * @return a JSON string representing the counts
    */
-  private String formatCountMap(Map<Character, Integer> counts) {
+  private static String formatCountMap(Map<Character, ? extends Number> counts) {
     return JsonParser.instance().toJson(counts);
   }
+
+  private static final class Stream implements TaskStream {
+    private final OutputSink sink;
+    private final CharacterCounter.Counter counter;
+
+    private Stream(OutputSink sink, CharacterCounter.Counter counter) {
+      this.sink = sink;
+      this.counter = counter;
+    }
+
+    @Override
+    public void accept(char[] chunk, int offset, int length) {
+      counter.count(chunk, offset, length);
+    }
+
+    @Override
+    public void acceptAscii(byte[] chunk, int offset, int length) {
+      counter.countAscii(chunk, offset, length);
+    }
+
+    @Override
+    public void finish() throws IOException {
+      sink.write(formatCountMap(counter.counts()));
+    }
+
+    @Override
+    public Map<String, Long> runningCounts() {
+      Map<String, Long> running = new TreeMap<>();
+      counter.counts().forEach(
+          (consonant, count) -> running.put(String.valueOf(consonant), count));
+      return running;
+    }
+
+    @Override
+    public void merge(TaskStream other) {
+      if (!(other instanceof Stream stream)) {
+        throw new IllegalArgumentException("Not a consonant counter stream");
+      }
+      counter.merge(stream.counter);
+    }
+  }
 }
@@ -1,5 +1,8 @@
 package com.mcintosh.iain.core.task.strategy;
 
+import com.mcintosh.iain.core.output.OutputSink;
+import com.mcintosh.iain.core.task.enums.OutputSize;
+
 /**
  * Represents a generic task that can be performed on a string input.
  * <p>
@@ -9,8 +12,68 @@ package com.mcintosh.iain.core.task.strategy;
  *
  * <p>
  * Implementations should define the desired behavior for the {@link #execute(String)} method.
+ * Tasks that can process their input incrementally should also override
+ * {@link #openStream(OutputSink)}, so that large inputs never have to be held in memory as a
+ * whole, and declare what else they support through {@link #capabilities()}.
  * </p>
  */
 public interface ParseTask {
   String execute(String input);
+
+  /**
+   * Opens a {@link TaskStream} that executes this task over chunked input, writing the output to
+   * the given sink.
+   * <p>
+   * The default implementation buffers the whole input and delegates to {@link #execute(String)}.
+   * </p>
+   *
+   * @param sink the sink to write the output to
+   * @return a new {@link TaskStream} for a single run
+   */
+  default TaskStream openStream(OutputSink sink) {
+    return new BufferedTaskStream(this, sink);
+  }
+
+  /**
+   * Returns how this task can be executed, from which the core processor chooses its execution
+   * plan, such as splitting a large input file across several threads.
+   * <p>
+   * The default implementation returns {@link TaskCapabilities#WHOLE_INPUT}.
+   * </p>
+   *
+   * @return the capabilities of this task
+   */
+  default TaskCapabilities capabilities() {
+    return TaskCapabilities.WHOLE_INPUT;
+  }
+
+  /**
+   * Returns {@code true} if the output of this task is small and independent of the input size,
+   * such as a count. Callers can then safely hold the whole result in memory, for example to
+   * share one execution between several identical requests.
+   * <p>
+   * The default implementation checks the output size of {@link #capabilities()}.
+   * </p>
+   *
+   * @return whether the task output has a small, bounded size
+   */
+  default boolean hasBoundedOutput() {
+    return capabilities().outputSize() == OutputSize.BOUNDED;
+  }
+
+  /**
+   * Returns this task configured with the parameters of a run, such as the characters to count
+   * for a task taking a character class. The task in the {@link ParseTaskRegistry} is shared, so
+   * a task taking parameters returns a new instance rather than changing itself.
+   * <p>
+   * The default implementation takes no parameters and returns this task.
+   * </p>
+   *
+   * @param parameters the parameters of the run
+   * @return the task to execute for the run
+   * @throws IllegalArgumentException if a parameter the task requires is missing
+   */
+  default ParseTask withParameters(TaskParameters parameters) {
+    return this;
+  }
 }
@@ -0,0 +1,52 @@
+package com.mcintosh.iain.core.task.strategy;
+
+/**
+ * Service provider interface for adding parse tasks without changing the core processor.
+ * <p>
+ * Providers are discovered with {@link java.util.ServiceLoader} the first time the
+ * {@link ParseTaskRegistry} is used, by listing the fully qualified class name of each provider
+ * in a {@code META-INF/services/com.mcintosh.iain.core.task.strategy.ParseTaskProvider} file on
+ * the classpath. Each provider needs a public no-argument constructor. The task is then
+ * available by name everywhere a built-in task is, for example through
+ * {@link com.mcintosh.iain.core.task.ParseContext.Builder#withParseTask(String)}.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * public final class DigitCounterProvider implements ParseTaskProvider {
+ *   @Override
+ *   public String name() {
+ *     return "count-digits";
+ *   }
+ *
+ *   @Override
+ *   public ParseTask create() {
+ *     return new DigitCounter();
+ *   }
+ * }
+ * }</pre>
+ * </p>
+ *
+ * <p>
+ * The task declares how it can be executed through {@link ParseTask#capabilities()}. Names are
+ * matched case-insensitively, and the names of built-in tasks cannot be taken by a provider.
+ * </p>
+ */
+public interface ParseTaskProvider {
+
+  /**
+   * Returns the name the task is selected by, such as {@code count-digits}.
+   *
+   * @return the task name
+   */
+  String name();
+
+  /**
+   * Creates the task. Called once, and the task is then shared by every run, so it must be
+   * thread-safe, with any per-run state held in the {@link TaskStream} it opens.
+   *
+   * @return the task
+   */
+  ParseTask create();
+}
@@ -1,21 +1,43 @@
 package com.mcintosh.iain.core.task.strategy;
 
 import com.mcintosh.iain.core.task.enums.ParseTaskType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * A registry that provides mapping between {@link ParseTaskType} and their corresponding
+ * A registry that provides mapping between task names and their corresponding
  * {@link ParseTask} implementations.
  * <p>
- * This class acts as a central lookup for all available {@link ParseTask} strategies.
+ * This class acts as a central lookup for all available {@link ParseTask} strategies. The
+ * built-in {@link ParseTaskType} values are always available, and further tasks are added by
+ * {@link ParseTaskProvider} implementations discovered with {@link ServiceLoader} the first time
+ * the registry is used.
  * </p>
  *
  * <p>
- * New strategies can be added by updating this class, or by refactoring to use
- * a more dynamic registration mechanism if needed in the future.
+ * The tasks configured by {@link TaskParameters}, such as {@code remove-chars}, are registered by
+ * providers of the core module itself rather than added to {@link ParseTaskType}, so the enum
+ * stays the fixed set of original tasks and new tasks use the same extension point as plugins.
+ * </p>
+ *
+ * <p>
+ * Names are matched case-insensitively. Built-in names cannot be taken by a provider, and if two
+ * providers use the same name only the first one found is registered.
  * </p>
  */
 public final class ParseTaskRegistry {
+  private static final Logger log = LoggerFactory.getLogger(ParseTaskRegistry.class);
 
   private ParseTaskRegistry() {
     throw new UnsupportedOperationException("Class not instantiable");
@@ -30,6 +52,11 @@ public final class ParseTaskRegistry {
       ParseTaskType.COUNT_SLOW_BIKE, new SlowBikeCounter()
   );
 
+  /**
+   * Tasks added by providers, keyed by their lower case name.
+   */
+  private static final Map<String, ParseTask> providedTasks = loadProviders();
+
   /**
    * Returns the {@link ParseTask} corresponding to the given {@link ParseTaskType}.
    *
@@ -39,4 +66,94 @@ public final class ParseTaskRegistry {
   public static ParseTask getStrategy(ParseTaskType task) {
     return strategyMap.get(task);
   }
+
+  /**
+   * Returns the {@link ParseTask} registered under the given name, built-in or provided.
+   *
+   * @param name the task name, e.g. {@code remove-vowels}
+   * @return the corresponding {@link ParseTask} instance, or {@code null} if the name is unknown
+   */
+  public static ParseTask getStrategy(String name) {
+    return resolve(name).map(ParseTaskRegistry::lookup).orElse(null);
+  }
+
+  /**
+   * Resolves a task name to the name it is registered under.
+   *
+   * @param name the task name, matched case-insensitively
+   * @return the registered name, or an empty {@link Optional} if the name is unknown
+   */
+  public static Optional<String> resolve(String name) {
+    if (name == null) {
+      return Optional.empty();
+    }
+
+    Optional<String> builtIn = ParseTaskType.fromValue(name.trim()).map(ParseTaskType::getValue);
+    if (builtIn.isPresent()) {
+      return builtIn;
+    }
+
+    String key = key(name);
+    return providedTasks.containsKey(key) ? Optional.of(key) : Optional.empty();
+  }
+
+  /**
+   * Returns the names of every registered task, the built-in tasks first.
+   *
+   * @return an unmodifiable list of the task names
+   */
+  public static List<String> taskNames() {
+    List<String> names = new ArrayList<>();
+    Arrays.stream(ParseTaskType.values()).map(ParseTaskType::getValue).forEach(names::add);
+    names.addAll(providedTasks.keySet());
+    return Collections.unmodifiableList(names);
+  }
+
+  private static ParseTask lookup(String name) {
+    return ParseTaskType.fromValue(name)
+        .map(strategyMap::get)
+        .orElseGet(() -> providedTasks.get(name));
+  }
+
+  /**
+   * Loads the tasks of every provider on the classpath. A provider that cannot be loaded, or
+   * that takes a name already in use, is skipped with a warning rather than failing every task.
+   */
+  private static Map<String, ParseTask> loadProviders() {
+    Map<String, ParseTask> tasks = new TreeMap<>();
+    Iterator<ParseTaskProvider> providers = ServiceLoader
+        .load(ParseTaskProvider.class, ParseTaskRegistry.class.getClassLoader())
+        .iterator();
+
+    while (true) {
+      try {
+        if (!providers.hasNext()) {
+          break;
+        }
+        ParseTaskProvider provider = providers.next();
+        String name = provider.name();
+
+        if (name == null || name.isBlank()) {
+          log.warn("Ignoring parse task provider {} without a name", provider.getClass());
+        } else if (ParseTaskType.fromValue(name.trim()).isPresent()) {
+          log.warn("Ignoring parse task provider {}, as '{}' is a built-in task",
+              provider.getClass(), name);
+        } else if (tasks.containsKey(key(name))) {
+          log.warn("Ignoring parse task provider {}, as '{}' is already registered",
+              provider.getClass(), name);
+        } else {
+          tasks.put(key(name), provider.create());
+          log.info("Registered parse task '{}' from {}", key(name), provider.getClass());
+        }
+      } catch (ServiceConfigurationError e) {
+        log.warn("Ignoring parse task provider that could not be loaded", e);
+      }
+    }
+
+    return Collections.unmodifiableMap(tasks);
+  }
+
+  private static String key(String name) {
+    return name.trim().toLowerCase(Locale.ROOT);
+  }
 }
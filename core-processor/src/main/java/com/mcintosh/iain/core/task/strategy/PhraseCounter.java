@@ -0,0 +1,180 @@
+package com.mcintosh.iain.core.task.strategy;
+
+import com.mcintosh.iain.core.output.OutputSink;
+import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.task.enums.OutputSize;
+import com.mcintosh.iain.core.task.processor.StringCounter;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the number of occurrences of a user-defined phrase in a given string.
+ * <p>
+ * The task is registered by its {@link Provider}, like a plugin task, and the phrase and
+ * {@link CaseMode} are given with the parameters of the run, so the task in the
+ * {@link ParseTaskRegistry} cannot be executed until it is configured through
+ * {@link #withParameters(TaskParameters)}. Counting is case-insensitive unless the parameters
+ * give another case mode, and the output is a single count, as for {@link SlowBikeCounter}.
+ * </p>
+ *
+ * <p>
+ * The phrase is compiled with {@link StringCounter#compile(String, CaseMode)} when the task is
+ * configured, so a phrase counted by many runs is only compiled the first time and each stream
+ * opened for it shares the compiled phrase.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * TaskParameters parameters = new TaskParameters(null, "fast car", CaseMode.SENSITIVE);
+ * ParseTask counter = ParseTaskRegistry.getStrategy("count-phrase").withParameters(parameters);
+ * String result = counter.execute("fast car, Fast car, fast car");
+ * // result -> "2"
+ * }</pre>
+ * </p>
+ */
+public final class PhraseCounter implements ParseTask {
+
+  static final String NAME = "count-phrase";
+
+  private static final TaskCapabilities CAPABILITIES =
+      new TaskCapabilities(true, true, true, OutputSize.BOUNDED);
+
+  private static final TaskCapabilities LINE_TERMINATOR_CAPABILITIES =
+      new TaskCapabilities(true, false, false, OutputSize.BOUNDED);
+
+  private final StringCounter.Phrase phrase;
+
+  PhraseCounter() {
+    this(null);
+  }
+
+  PhraseCounter(StringCounter.Phrase phrase) {
+    this.phrase = phrase;
+  }
+
+  /**
+   * Counts occurrences of the phrase in the given input string using the case mode of the
+   * parameters.
+   *
+   * @param input the string to search
+   * @return a string representing the number of occurrences of the phrase
+   * @throws IllegalArgumentException if the task has not been configured with a phrase
+   */
+  @Override
+  public String execute(String input) {
+    StringCounter.Matcher matcher = phrase().matcher();
+    if (input != null) {
+      char[] chunk = input.toCharArray();
+      matcher.count(chunk, 0, chunk.length);
+    }
+
+    return String.valueOf(matcher.count());
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The same as {@link SlowBikeCounter}: occurrences are counted chunk by chunk, the counts of
+   * separate parts of the input can be added together, and ASCII input can be counted as bytes.
+   * The output is a single count. A phrase containing a line terminator is the exception, as an
+   * occurrence could span a split at a line break, and line terminators are only normalised when
+   * the input is decoded, so its input is read as a single decoded stream.
+   * </p>
+   */
+  @Override
+  public TaskCapabilities capabilities() {
+    boolean spansLines = phrase != null
+        && (phrase.searchValue().indexOf('\r') >= 0 || phrase.searchValue().indexOf('\n') >= 0);
+    return spansLines ? LINE_TERMINATOR_CAPABILITIES : CAPABILITIES;
+  }
+
+  /**
+   * Returns a counter of the phrase of the parameters, in their case mode.
+   *
+   * @param parameters the parameters of the run
+   * @return a new {@link PhraseCounter}
+   * @throws IllegalArgumentException if the parameters have no phrase, or the phrase is blank
+   */
+  @Override
+  public ParseTask withParameters(TaskParameters parameters) {
+    String searchValue = parameters.requirePhrase(NAME);
+    return new PhraseCounter(StringCounter.compile(searchValue, parameters.caseMode()));
+  }
+
+  /**
+   * Opens a stream that counts occurrences of the phrase chunk by chunk using the case mode of
+   * the parameters. Occurrences split across two chunks are counted.
+   *
+   * @param sink the sink to write the count to once the input is finished
+   * @return a new {@link TaskStream}
+   * @throws IllegalArgumentException if the task has not been configured with a phrase
+   */
+  @Override
+  public TaskStream openStream(OutputSink sink) {
+    StringCounter.Phrase compiled = phrase();
+    return new Stream(sink, compiled.searchValue(), compiled.matcher());
+  }
+
+  private StringCounter.Phrase phrase() {
+    if (phrase == null) {
+      throw new IllegalArgumentException("A phrase is required for task " + NAME);
+    }
+    return phrase;
+  }
+
+  /**
+   * Registers the task as {@code count-phrase}.
+   */
+  public static final class Provider implements ParseTaskProvider {
+    @Override
+    public String name() {
+      return NAME;
+    }
+
+    @Override
+    public ParseTask create() {
+      return new PhraseCounter();
+    }
+  }
+
+  private static final class Stream implements TaskStream {
+    private final OutputSink sink;
+    private final String searchValue;
+    private final StringCounter.Matcher matcher;
+
+    private Stream(OutputSink sink, String searchValue, StringCounter.Matcher matcher) {
+      this.sink = sink;
+      this.searchValue = searchValue;
+      this.matcher = matcher;
+    }
+
+    @Override
+    public void accept(char[] chunk, int offset, int length) {
+      matcher.count(chunk, offset, length);
+    }
+
+    @Override
+    public void acceptAscii(byte[] chunk, int offset, int length) {
+      matcher.countAscii(chunk, offset, length);
+    }
+
+    @Override
+    public void finish() throws IOException {
+      sink.write(String.valueOf(matcher.count()));
+    }
+
+    @Override
+    public Map<String, Long> runningCounts() {
+      return Map.of(searchValue, matcher.count());
+    }
+
+    @Override
+    public void merge(TaskStream other) {
+      if (!(other instanceof Stream stream)) {
+        throw new IllegalArgumentException("Not a phrase counter stream");
+      }
+      matcher.merge(stream.matcher);
+    }
+  }
+}
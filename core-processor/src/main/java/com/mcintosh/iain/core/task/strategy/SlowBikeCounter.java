@@ -1,12 +1,15 @@
 package com.mcintosh.iain.core.task.strategy;
 
+import com.mcintosh.iain.core.output.OutputSink;
 import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.task.enums.OutputSize;
 import com.mcintosh.iain.core.task.processor.StringCounter;
 
 /**
  * Counts the number of occurrences of the phrase <code>"slow bike"</code> in a given string.
  * <p>
- * This class uses the {@link StringCounter} utility to perform the count, and outputs the
+ * This class delegates to a {@link PhraseCounter} for the fixed phrase, compiled once per
+ * {@link CaseMode} through {@link StringCounter#compile(String, CaseMode)}, and outputs the
  * result as a string representing the integer count.
  * </p>
  *
@@ -26,6 +29,11 @@ import com.mcintosh.iain.core.task.processor.StringCounter;
  */
 public final class SlowBikeCounter implements ParseTask {
 
+  private static final String PHRASE = "slow bike";
+
+  private static final TaskCapabilities CAPABILITIES =
+      new TaskCapabilities(true, true, true, OutputSize.BOUNDED);
+
   SlowBikeCounter() {}
 
   /**
@@ -49,7 +57,47 @@ public final class SlowBikeCounter implements ParseTask {
    * @return a string representing the number of occurrences of "slow bike"
    */
   public String execute(String input, CaseMode caseMode) {
-    return String.valueOf(StringCounter.execute(input, "slow bike", caseMode));
+    return counter(caseMode).execute(input);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Occurrences are counted chunk by chunk. The phrase contains no line break, so no occurrence
+   * spans a split at a line break and the counts of separate parts can be added together, and
+   * ASCII input can be counted as bytes. The output is a single count.
+   * </p>
+   */
+  @Override
+  public TaskCapabilities capabilities() {
+    return CAPABILITIES;
+  }
+
+  /**
+   * Opens a stream that counts occurrences of "slow bike" chunk by chunk using a default
+   * case-insensitive mode.
+   *
+   * @param sink the sink to write the count to once the input is finished
+   * @return a new {@link TaskStream}
+   */
+  @Override
+  public TaskStream openStream(OutputSink sink) {
+    return openStream(sink, CaseMode.INSENSITIVE);
+  }
+
+  /**
+   * Opens a stream that counts occurrences of "slow bike" chunk by chunk using the specified
+   * {@link CaseMode}. Occurrences split across two chunks are counted.
+   *
+   * @param sink     the sink to write the count to once the input is finished
+   * @param caseMode the case sensitivity mode to use
+   * @return a new {@link TaskStream}
+   */
+  public TaskStream openStream(OutputSink sink, CaseMode caseMode) {
+    return counter(caseMode).openStream(sink);
   }
 
+  private static PhraseCounter counter(CaseMode caseMode) {
+    return new PhraseCounter(StringCounter.compile(PHRASE, caseMode));
+  }
 }
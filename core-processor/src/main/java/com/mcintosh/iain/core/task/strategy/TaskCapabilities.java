@@ -0,0 +1,62 @@
+package com.mcintosh.iain.core.task.strategy;
+
+import com.mcintosh.iain.core.task.enums.OutputSize;
+
+/**
+ * Describes how a {@link ParseTask} can be executed, so that the core processor can choose the
+ * cheapest execution plan that gives the same result.
+ * <p>
+ * Each capability is a promise about the result of the task, and a task should only declare it
+ * when the result is exactly the same as for a single stream over the whole input:
+ * </p>
+ * <ul>
+ *   <li>{@code streamable} - the task overrides {@link ParseTask#openStream} to process its input
+ *   chunk by chunk, instead of buffering the whole input into a {@code String}.</li>
+ *   <li>{@code splittable} - the input may be split after any line break, each part run through
+ *   its own stream, and the streams combined with {@link TaskStream#merge(TaskStream)}. Each part
+ *   is decoded on its own, so the result must not depend on a line break being added to the end
+ *   of a part.</li>
+ *   <li>{@code byteLevel} - runs of ASCII input may be passed to
+ *   {@link TaskStream#acceptAscii(byte[], int, int)} as raw bytes. Line terminators in those
+ *   bytes are not normalised to {@code \n}, so the result must not depend on the line
+ *   terminators of the input.</li>
+ *   <li>{@code outputSize} - whether the output is bounded, such as a count, or grows with the
+ *   input.</li>
+ * </ul>
+ * <p>
+ * Splitting and byte level input both require a streamable task.
+ * </p>
+ *
+ * @param streamable whether the task processes its input chunk by chunk
+ * @param splittable whether the input can be split at line breaks and the results merged
+ * @param byteLevel  whether the task can consume ASCII input as raw bytes
+ * @param outputSize how the size of the output relates to the size of the input
+ */
+public record TaskCapabilities(
+    boolean streamable,
+    boolean splittable,
+    boolean byteLevel,
+    OutputSize outputSize
+) {
+
+  /**
+   * The capabilities of a task that only implements {@link ParseTask#execute(String)}.
+   */
+  public static final TaskCapabilities WHOLE_INPUT =
+      new TaskCapabilities(false, false, false, OutputSize.PROPORTIONAL);
+
+  /**
+   * Validates the capabilities.
+   *
+   * @throws IllegalArgumentException if splitting or byte level input is declared for a task
+   *                                  that is not streamable, or the output size is missing
+   */
+  public TaskCapabilities {
+    if ((splittable || byteLevel) && !streamable) {
+      throw new IllegalArgumentException("Splittable and byte level tasks must be streamable");
+    }
+    if (outputSize == null) {
+      throw new IllegalArgumentException("Output size is required");
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package com.mcintosh.iain.core.task.strategy;
+
+import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.util.CharacterClass;
+
+/**
+ * The parameters of a run that a {@link ParseTask} may be configured with through
+ * {@link ParseTask#withParameters(TaskParameters)}, such as the characters a task removes.
+ * <p>
+ * Every parameter is optional here. A task that requires one rejects parameters without it when
+ * it is configured, so that a run fails when its context is built rather than part way through.
+ * Tasks ignore the parameters they do not use, and every task of a {@link TaskPipeline} is
+ * configured with the same parameters.
+ * </p>
+ *
+ * @param characterClass the characters counted or removed by a task taking a character class
+ *                       (optional)
+ * @param phrase         the phrase counted by a task taking a phrase (optional)
+ * @param caseMode       the case mode of the tasks taking parameters (optional, default:
+ *                       {@link CaseMode#INSENSITIVE})
+ */
+public record TaskParameters(CharacterClass characterClass, String phrase, CaseMode caseMode) {
+
+  /**
+   * Parameters without any value set.
+   */
+  public static final TaskParameters NONE = new TaskParameters(null, null, null);
+
+  /**
+   * Defaults the case mode to {@link CaseMode#INSENSITIVE}, as for the built-in tasks.
+   */
+  public TaskParameters {
+    if (caseMode == null) {
+      caseMode = CaseMode.INSENSITIVE;
+    }
+  }
+
+  /**
+   * Returns the character class, for a task that requires one.
+   *
+   * @param taskName the name of the task, for the error message
+   * @return the character class
+   * @throws IllegalArgumentException if no character class is set
+   */
+  public CharacterClass requireCharacterClass(String taskName) {
+    if (characterClass == null) {
+      throw new IllegalArgumentException("A character class is required for task " + taskName);
+    }
+    return characterClass;
+  }
+
+  /**
+   * Returns the phrase, for a task that requires one.
+   *
+   * @param taskName the name of the task, for the error message
+   * @return the phrase
+   * @throws IllegalArgumentException if no phrase is set, or the phrase is blank
+   */
+  public String requirePhrase(String taskName) {
+    if (phrase == null || phrase.isBlank()) {
+      throw new IllegalArgumentException("A phrase is required for task " + taskName);
+    }
+    return phrase;
+  }
+}
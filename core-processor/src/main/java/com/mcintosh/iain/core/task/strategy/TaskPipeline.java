@@ -0,0 +1,274 @@
+package com.mcintosh.iain.core.task.strategy;
+
+import com.mcintosh.iain.core.output.MemorySink;
+import com.mcintosh.iain.core.output.OutputSink;
+import com.mcintosh.iain.core.task.enums.OutputSize;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A chain of parse tasks, each executed over the output of the one before it in a single pass
+ * over the input.
+ * <p>
+ * A pipeline is named by the names of its tasks separated by {@link #SEPARATOR}, such as
+ * {@code remove-vowels,count-slow-bike}, and is accepted anywhere a task name is. The streams of
+ * the tasks are fused, so each chunk of output from one task is passed straight to the stream of
+ * the next, without building an intermediate {@code String} or file. Every task but the last
+ * must have an output proportional to its input, as a count is not useful input to another task.
+ * </p>
+ *
+ * <p>
+ * The result is that of running each task over the output file of the one before it, except for
+ * the newline that the core processor adds to the end of each output file.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * ParseTask pipeline = TaskPipeline.compile("remove-vowels,count-slow-bike");
+ * String result = pipeline.execute("A slow bike and a slw bk");
+ * // result -> "0", as the vowels are removed before the phrase is counted
+ * }</pre>
+ * </p>
+ */
+public final class TaskPipeline implements ParseTask {
+
+  /**
+   * Separates the names of the tasks of a pipeline.
+   */
+  public static final String SEPARATOR = ",";
+
+  private final List<String> stageNames;
+  private final List<ParseTask> stages;
+  private final TaskCapabilities capabilities;
+
+  private TaskPipeline(List<String> stageNames, List<ParseTask> stages) {
+    this.stageNames = List.copyOf(stageNames);
+    this.stages = List.copyOf(stages);
+    this.capabilities = combine(stages);
+  }
+
+  /**
+   * Compiles a task name into the task to execute: the registered task for a single name, or a
+   * pipeline of the registered tasks for several.
+   *
+   * @param taskName the task name, or the task names of a pipeline separated by
+   *                 {@link #SEPARATOR}
+   * @return the task to execute
+   * @throws IllegalArgumentException if a name is not registered, a task other than the last
+   *                                  has a bounded output, or a task requires a parameter
+   */
+  public static ParseTask compile(String taskName) {
+    return compile(taskName, TaskParameters.NONE);
+  }
+
+  /**
+   * Compiles a task name into the task to execute as {@link #compile(String)} does, configuring
+   * every task with the given parameters.
+   *
+   * @param taskName   the task name, or the task names of a pipeline separated by
+   *                   {@link #SEPARATOR}
+   * @param parameters the parameters of the run
+   * @return the task to execute
+   * @throws IllegalArgumentException if a name is not registered, a task other than the last
+   *                                  has a bounded output, or a task requires a parameter that
+   *                                  is missing
+   */
+  public static ParseTask compile(String taskName, TaskParameters parameters) {
+    List<String> names = stageNames(taskName);
+    List<ParseTask> stages = new ArrayList<>();
+
+    for (int i = 0; i < names.size(); i++) {
+      ParseTask stage = ParseTaskRegistry.getStrategy(names.get(i));
+      if (stage == null) {
+        throw new IllegalArgumentException("Invalid parse task");
+      }
+      if (i < names.size() - 1 && stage.hasBoundedOutput()) {
+        throw new IllegalArgumentException(
+            "Only the last task of a pipeline can be a counting task: " + names.get(i));
+      }
+      stages.add(stage.withParameters(parameters));
+    }
+
+    return stages.size() == 1 ? stages.getFirst() : new TaskPipeline(names, stages);
+  }
+
+  /**
+   * Splits a task name into the names of the tasks of the pipeline.
+   *
+   * @param taskName the task name, or the task names of a pipeline separated by
+   *                 {@link #SEPARATOR}
+   * @return the task names, with surrounding whitespace removed; a single name for a task that
+   *         is not a pipeline
+   */
+  public static List<String> stageNames(String taskName) {
+    return Arrays.stream(taskName.split(SEPARATOR, -1)).map(String::trim).toList();
+  }
+
+  /**
+   * Returns the names of the tasks of this pipeline, in the order they are executed.
+   *
+   * @return an unmodifiable list of the task names
+   */
+  public List<String> stageNames() {
+    return stageNames;
+  }
+
+  /**
+   * Executes every task over the output of the one before it, through the fused streams.
+   *
+   * @param input the input of the first task
+   * @return the output of the last task
+   */
+  @Override
+  public String execute(String input) {
+    MemorySink sink = new MemorySink();
+    TaskStream stream = openStream(sink);
+
+    try {
+      char[] chunk = input.toCharArray();
+      stream.accept(chunk, 0, chunk.length);
+      stream.finish();
+    } catch (IOException e) {
+      // Only the memory sink is written to, which never fails
+      throw new UncheckedIOException(e);
+    }
+    return sink.contents();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * A pipeline streams, splits and counts bytes only if every task does, and has the output
+   * size of its last task.
+   * </p>
+   */
+  @Override
+  public TaskCapabilities capabilities() {
+    return capabilities;
+  }
+
+  /**
+   * Opens the stream of every task, each writing to the stream of the next, and the last
+   * writing to the given sink.
+   *
+   * @param sink the sink to write the output of the last task to
+   * @return a new {@link TaskStream} accepting the input of the first task
+   */
+  @Override
+  public TaskStream openStream(OutputSink sink) {
+    TaskStream[] streams = new TaskStream[stages.size()];
+
+    OutputSink next = sink;
+    for (int i = stages.size() - 1; i >= 0; i--) {
+      streams[i] = stages.get(i).openStream(next);
+      next = new StageSink(streams[i]);
+    }
+    return new Stream(streams);
+  }
+
+  private static TaskCapabilities combine(List<ParseTask> stages) {
+    boolean streamable = true;
+    boolean splittable = true;
+    boolean byteLevel = true;
+
+    for (ParseTask stage : stages) {
+      TaskCapabilities stageCapabilities = stage.capabilities();
+      streamable &= stageCapabilities.streamable();
+      splittable &= stageCapabilities.splittable();
+      byteLevel &= stageCapabilities.byteLevel();
+    }
+
+    OutputSize outputSize = stages.getLast().capabilities().outputSize();
+    return new TaskCapabilities(streamable, splittable, byteLevel, outputSize);
+  }
+
+  /**
+   * Passes the output of one task to the stream of the next.
+   */
+  private static final class StageSink implements OutputSink {
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    private final TaskStream next;
+    private char[] buffer = new char[0];
+
+    private StageSink(TaskStream next) {
+      this.next = next;
+    }
+
+    @Override
+    public void write(char[] chunk, int offset, int length) throws IOException {
+      next.accept(chunk, offset, length);
+    }
+
+    /**
+     * Copies the string into the next stream a chunk at a time, so that a task writing its
+     * output as a string, such as a buffered task, does not copy it as a whole.
+     */
+    @Override
+    public void write(String chunk) throws IOException {
+      if (buffer.length == 0) {
+        buffer = new char[CHUNK_SIZE];
+      }
+
+      for (int start = 0; start < chunk.length(); start += buffer.length) {
+        int end = Math.min(chunk.length(), start + buffer.length);
+        chunk.getChars(start, end, buffer, 0);
+        next.accept(buffer, 0, end - start);
+      }
+    }
+  }
+
+  private static final class Stream implements TaskStream {
+    private final TaskStream[] streams;
+
+    private Stream(TaskStream[] streams) {
+      this.streams = streams;
+    }
+
+    @Override
+    public void accept(char[] chunk, int offset, int length) throws IOException {
+      streams[0].accept(chunk, offset, length);
+    }
+
+    @Override
+    public void acceptAscii(byte[] chunk, int offset, int length) throws IOException {
+      streams[0].acceptAscii(chunk, offset, length);
+    }
+
+    /**
+     * Finishes each task in order, so that any output a task holds back until it is finished
+     * reaches the next task before that task is finished.
+     */
+    @Override
+    public void finish() throws IOException {
+      for (TaskStream stream : streams) {
+        stream.finish();
+      }
+    }
+
+    @Override
+    public String engine() {
+      return streams[0].engine();
+    }
+
+    @Override
+    public Map<String, Long> runningCounts() {
+      return streams[streams.length - 1].runningCounts();
+    }
+
+    @Override
+    public void merge(TaskStream other) {
+      if (!(other instanceof Stream stream) || stream.streams.length != streams.length) {
+        throw new IllegalArgumentException("Not a stream of the same pipeline");
+      }
+      for (int i = 0; i < streams.length; i++) {
+        streams[i].merge(stream.streams[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package com.mcintosh.iain.core.task.strategy;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Incremental execution of a {@link ParseTask} over input delivered in chunks.
+ * <p>
+ * A stream is opened for a single run with {@link ParseTask#openStream(
+ * com.mcintosh.iain.core.output.OutputSink)}. The input is passed to {@link #accept} in order,
+ * one chunk at a time, followed by a single call to {@link #finish()}. Transforming tasks write
+ * their output to the sink as each chunk is processed, whereas counting tasks only write their
+ * result once the stream is finished. Either way only the current chunk needs to be held in
+ * memory.
+ * </p>
+ *
+ * <p>
+ * Streams are stateful and not thread-safe.
+ * </p>
+ */
+public interface TaskStream {
+
+  /**
+   * Processes the next chunk of input.
+   *
+   * @param chunk  the buffer containing the input characters; only valid for the duration of
+   *               the call
+   * @param offset the index of the first character of the chunk
+   * @param length the number of characters in the chunk
+   * @throws IOException if writing output to the sink fails
+   */
+  void accept(char[] chunk, int offset, int length) throws IOException;
+
+  /**
+   * Processes the next chunk of input, which is entirely ASCII, as undecoded bytes. Only called
+   * for tasks declaring {@link TaskCapabilities#byteLevel()}, in place of {@link #accept} for
+   * some of the chunks, and line terminators are passed through as they are in the input.
+   * <p>
+   * The default implementation widens the bytes to characters and passes them to
+   * {@link #accept}. Byte level tasks override it to skip the copy.
+   * </p>
+   *
+   * @param chunk  the buffer containing the input bytes; only valid for the duration of the call
+   * @param offset the index of the first byte of the chunk
+   * @param length the number of bytes in the chunk
+   * @throws IOException if writing output to the sink fails
+   */
+  default void acceptAscii(byte[] chunk, int offset, int length) throws IOException {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = (char) chunk[offset + i];
+    }
+    accept(chars, 0, length);
+  }
+
+  /**
+   * Signals the end of the input, writing any remaining output to the sink.
+   *
+   * @throws IOException if writing output to the sink fails
+   */
+  void finish() throws IOException;
+
+  /**
+   * Returns the name of the engine executing the task, as reported in diagnostics such as JFR
+   * events.
+   *
+   * @return the engine name; {@code streaming} unless overridden
+   */
+  default String engine() {
+    return "streaming";
+  }
+
+  /**
+   * Returns the counts accumulated so far by a counting task, for progress reporting. Only
+   * called between chunks, on the thread driving the stream.
+   *
+   * @return a copy of the running counts, keyed by what is counted; empty unless overridden
+   */
+  default Map<String, Long> runningCounts() {
+    return Map.of();
+  }
+
+  /**
+   * Adds the results of another stream of the same task, which processed a later part of the
+   * input, to this stream. Only called for tasks declaring {@link TaskCapabilities#splittable()},
+   * before {@link #finish()} is called on this stream. The other stream is never finished.
+   * <p>
+   * The default implementation throws {@link UnsupportedOperationException}.
+   * </p>
+   *
+   * @param other a stream opened by the same task, over the part of the input after this one
+   * @throws IllegalArgumentException if the other stream was not opened by the same task
+   */
+  default void merge(TaskStream other) {
+    throw new UnsupportedOperationException("Task streams cannot be merged");
+  }
+}
@@ -1,8 +1,11 @@
 package com.mcintosh.iain.core.task.strategy;
 
+import com.mcintosh.iain.core.output.OutputSink;
 import com.mcintosh.iain.core.util.Alphabet;
 import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.task.enums.OutputSize;
 import com.mcintosh.iain.core.task.processor.CharacterRemover;
+import java.io.IOException;
 
 /**
  * Removes vowels from a given string.
@@ -28,6 +31,9 @@ import com.mcintosh.iain.core.task.processor.CharacterRemover;
  */
 public final class VowelRemover implements ParseTask {
 
+  private static final TaskCapabilities CAPABILITIES =
+      new TaskCapabilities(true, false, false, OutputSize.PROPORTIONAL);
+
   VowelRemover() {}
 
   /**
@@ -51,4 +57,68 @@ public final class VowelRemover implements ParseTask {
   public String execute(String input, CaseMode caseMode) {
     return CharacterRemover.execute(input, Alphabet.getVowels(), caseMode);
   }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Vowels are removed chunk by chunk. The output is written in input order as it is produced,
+   * so the input is not split, and line terminators are normalised in the output, so the input
+   * is always decoded.
+   * </p>
+   */
+  @Override
+  public TaskCapabilities capabilities() {
+    return CAPABILITIES;
+  }
+
+  /**
+   * Opens a stream that removes vowels chunk by chunk using a default case-insensitive mode.
+   *
+   * @param sink the sink to write the remaining characters to
+   * @return a new {@link TaskStream}
+   */
+  @Override
+  public TaskStream openStream(OutputSink sink) {
+    return openStream(sink, CaseMode.INSENSITIVE);
+  }
+
+  /**
+   * Opens a stream that removes vowels chunk by chunk using the specified {@link CaseMode}.
+   * The output of each chunk is written to the sink as soon as the chunk has been processed.
+   *
+   * @param sink     the sink to write the remaining characters to
+   * @param caseMode the case sensitivity mode to use
+   * @return a new {@link TaskStream}
+   */
+  public TaskStream openStream(OutputSink sink, CaseMode caseMode) {
+    return new Stream(sink, caseMode);
+  }
+
+  private static final class Stream implements TaskStream {
+    private final OutputSink sink;
+    private final CharacterRemover.Remover remover;
+    private char[] buffer = new char[0];
+
+    private Stream(OutputSink sink, CaseMode caseMode) {
+      this.sink = sink;
+      this.remover = CharacterRemover.remover(Alphabet.getVowels(), caseMode);
+    }
+
+    @Override
+    public void accept(char[] chunk, int offset, int length) throws IOException {
+      if (buffer.length < length) {
+        buffer = new char[length];
+      }
+
+      int written = remover.execute(chunk, offset, length, buffer);
+      if (written > 0) {
+        sink.write(buffer, 0, written);
+      }
+    }
+
+    @Override
+    public void finish() {
+      // Output is written as each chunk is processed
+    }
+  }
 }
@@ -0,0 +1,30 @@
+package com.mcintosh.iain.core.tracing;
+
+/**
+ * {@link TraceSpan} used when tracing is unavailable or the span is not being recorded.
+ */
+enum NoopSpan implements TraceSpan {
+  INSTANCE;
+
+  @Override
+  public TraceSpan setAttribute(String key, String value) {
+    return this;
+  }
+
+  @Override
+  public TraceSpan setAttribute(String key, long value) {
+    return this;
+  }
+
+  @Override
+  public void recordException(Throwable exception) {
+  }
+
+  @Override
+  public void addChild(String name, long offsetNanos, long durationNanos) {
+  }
+
+  @Override
+  public void close() {
+  }
+}
@@ -0,0 +1,99 @@
+package com.mcintosh.iain.core.tracing;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import java.time.Instant;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenTelemetry implementation behind {@link Tracing}. This is the only class referring to the
+ * OpenTelemetry API, and it is only loaded once the API has been found on the classpath.
+ */
+final class OpenTelemetryTracing {
+
+  static final String INSTRUMENTATION_SCOPE = "com.mcintosh.iain.core-processor";
+
+  private OpenTelemetryTracing() {
+    throw new UnsupportedOperationException("Class not instantiable");
+  }
+
+  static TraceSpan startSpan(String name) {
+    Tracer tracer = tracer();
+    long startEpochNanos = epochNanos();
+    Span span = tracer.spanBuilder(name)
+        .setStartTimestamp(startEpochNanos, TimeUnit.NANOSECONDS)
+        .startSpan();
+
+    // Without an SDK, or when the trace is not sampled, there is nothing worth wrapping
+    if (!span.isRecording()) {
+      return NoopSpan.INSTANCE;
+    }
+
+    return new RecordingSpan(tracer, span, span.makeCurrent(), startEpochNanos);
+  }
+
+  static Runnable wrap(Runnable task) {
+    return Context.current().wrap(task);
+  }
+
+  static <T> Callable<T> wrap(Callable<T> task) {
+    return Context.current().wrap(task);
+  }
+
+  private static Tracer tracer() {
+    return GlobalOpenTelemetry.getTracer(INSTRUMENTATION_SCOPE);
+  }
+
+  private static long epochNanos() {
+    Instant now = Instant.now();
+    return TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+  }
+
+  private record RecordingSpan(Tracer tracer, Span span, Scope scope, long startEpochNanos)
+      implements TraceSpan {
+
+    @Override
+    public TraceSpan setAttribute(String key, String value) {
+      if (value != null) {
+        span.setAttribute(key, value);
+      }
+      return this;
+    }
+
+    @Override
+    public TraceSpan setAttribute(String key, long value) {
+      span.setAttribute(key, value);
+      return this;
+    }
+
+    @Override
+    public void recordException(Throwable exception) {
+      span.recordException(exception);
+      span.setStatus(StatusCode.ERROR, exception.getMessage() == null ? "" : exception.getMessage());
+    }
+
+    @Override
+    public void addChild(String name, long offsetNanos, long durationNanos) {
+      long start = startEpochNanos + offsetNanos;
+
+      tracer.spanBuilder(name)
+          .setParent(Context.root().with(span))
+          .setStartTimestamp(start, TimeUnit.NANOSECONDS)
+          .setAttribute(AttributeKey.booleanKey("parse.stage.accumulated"), true)
+          .startSpan()
+          .end(start + durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+      scope.close();
+      span.end();
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.mcintosh.iain.core.tracing;
+
+/**
+ * A tracing span started through {@link Tracing}.
+ * <p>
+ * While open, the span is the current span on the thread that started it, so any span started
+ * on that thread becomes its child. Closing the span ends it and restores the previous current
+ * span, so spans must be closed on the thread that started them, in reverse order.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * try (TraceSpan span = Tracing.startSpan("parse.process")) {
+ *   span.setAttribute("parse.task", "remove-vowels");
+ *   ...
+ * }
+ * }</pre>
+ * </p>
+ */
+public interface TraceSpan extends AutoCloseable {
+
+  /**
+   * Sets a string attribute on the span.
+   *
+   * @param key   the attribute key
+   * @param value the attribute value; ignored if {@code null}
+   * @return this span
+   */
+  TraceSpan setAttribute(String key, String value);
+
+  /**
+   * Sets a numeric attribute on the span.
+   *
+   * @param key   the attribute key
+   * @param value the attribute value
+   * @return this span
+   */
+  TraceSpan setAttribute(String key, long value);
+
+  /**
+   * Records an exception on the span and marks it as failed.
+   *
+   * @param exception the exception that caused the failure
+   */
+  void recordException(Throwable exception);
+
+  /**
+   * Records a completed child span with an explicit start offset and duration.
+   * <p>
+   * Used for processing stages that are interleaved rather than sequential, where the time spent
+   * in each stage is accumulated and only known once the parent completes.
+   * </p>
+   *
+   * @param name          the name of the child span
+   * @param offsetNanos   the start of the child, relative to the start of this span
+   * @param durationNanos the duration of the child
+   */
+  void addChild(String name, long offsetNanos, long durationNanos);
+
+  /**
+   * Ends the span and restores the previous current span.
+   */
+  @Override
+  void close();
+}
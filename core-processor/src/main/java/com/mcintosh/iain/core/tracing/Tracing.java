@@ -0,0 +1,87 @@
+package com.mcintosh.iain.core.tracing;
+
+import java.util.concurrent.Callable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Optional OpenTelemetry tracing for the core processor.
+ * <p>
+ * The OpenTelemetry API is an optional dependency. When it is on the classpath, spans are created
+ * through {@code GlobalOpenTelemetry}, so they are exported by whichever SDK or Java agent the
+ * application has installed, and nest under the application's own spans. When the API is absent,
+ * or present without an SDK, every call returns a shared no-op span without allocating.
+ * </p>
+ *
+ * <p>
+ * Work handed off to another thread should be wrapped with {@link #wrap(Runnable)} or
+ * {@link #wrap(Callable)}, so that its spans remain children of the submitting span.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * try (TraceSpan span = Tracing.startSpan("parse.process")) {
+ *   executor.submit(Tracing.wrap(() -> CoreProcessor.process(context)));
+ * }
+ * }</pre>
+ * </p>
+ */
+public final class Tracing {
+  private static final Logger log = LoggerFactory.getLogger(Tracing.class);
+
+  private static final boolean OPEN_TELEMETRY_PRESENT = isOpenTelemetryPresent();
+
+  private Tracing() {
+    throw new UnsupportedOperationException("Class not instantiable");
+  }
+
+  /**
+   * Starts a span as a child of the current span and makes it current.
+   *
+   * @param name the span name
+   * @return the new span, to be closed on the same thread
+   */
+  public static TraceSpan startSpan(String name) {
+    return OPEN_TELEMETRY_PRESENT ? OpenTelemetryTracing.startSpan(name) : NoopSpan.INSTANCE;
+  }
+
+  /**
+   * Wraps a task so that it runs in the trace context current at the time of wrapping.
+   *
+   * @param task the task to wrap
+   * @return the wrapped task, or the task itself if tracing is unavailable
+   */
+  public static Runnable wrap(Runnable task) {
+    return OPEN_TELEMETRY_PRESENT ? OpenTelemetryTracing.wrap(task) : task;
+  }
+
+  /**
+   * Wraps a task so that it runs in the trace context current at the time of wrapping.
+   *
+   * @param task the task to wrap
+   * @param <T>  the result type
+   * @return the wrapped task, or the task itself if tracing is unavailable
+   */
+  public static <T> Callable<T> wrap(Callable<T> task) {
+    return OPEN_TELEMETRY_PRESENT ? OpenTelemetryTracing.wrap(task) : task;
+  }
+
+  /**
+   * Returns {@code true} if the OpenTelemetry API is on the classpath.
+   */
+  public static boolean isAvailable() {
+    return OPEN_TELEMETRY_PRESENT;
+  }
+
+  private static boolean isOpenTelemetryPresent() {
+    try {
+      Class.forName("io.opentelemetry.api.GlobalOpenTelemetry", false,
+          Tracing.class.getClassLoader());
+      log.debug("OpenTelemetry API found, tracing enabled");
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+}
@@ -1,11 +1,19 @@
 package com.mcintosh.iain.core.util;
 
+import com.mcintosh.iain.core.output.OutputSinkFactory;
+import com.mcintosh.iain.core.output.OutputSinkRegistry;
+import com.mcintosh.iain.core.task.enums.CaseMode;
 import com.mcintosh.iain.core.task.enums.OutputTarget;
 import com.mcintosh.iain.core.task.enums.ParseTaskType;
+import com.mcintosh.iain.core.task.strategy.ParseTaskRegistry;
+import com.mcintosh.iain.core.task.strategy.TaskParameters;
+import com.mcintosh.iain.core.task.strategy.TaskPipeline;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,12 +39,36 @@ public final class ArgumentValidator {
     arg = sanitiseInput(arg);
 
     Path filePath = Paths.get(arg);
-    if (!Files.exists(filePath) || !Files.isRegularFile(filePath) || !Files.isReadable(filePath)) {
+    readInputAttributes(filePath);
+
+    return filePath;
+  }
+
+  /**
+   * Reads the attributes of an input file, validating that it exists, is a regular file, and is
+   * readable. The attributes are retained by the ParseContext so that callers can make decisions
+   * based on the file size or modification time without touching the file system again.
+   *
+   * @param filePath the input file
+   * @return the {@link BasicFileAttributes} of the file
+   * @throws IllegalArgumentException if the file does not exist, is not a regular file, or is not
+   * readable
+   */
+  public static BasicFileAttributes readInputAttributes(Path filePath) {
+    BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+    } catch (IOException e) {
       log.debug("Invalid input file");
       throw new IllegalArgumentException("Invalid input file");
     }
 
-    return filePath;
+    if (!attributes.isRegularFile() || !Files.isReadable(filePath)) {
+      log.debug("Invalid input file");
+      throw new IllegalArgumentException("Invalid input file");
+    }
+
+    return attributes;
   }
 
   /**
@@ -91,6 +123,78 @@ public final class ArgumentValidator {
         .orElseThrow(() -> new IllegalArgumentException("Invalid output target"));
   }
 
+  /**
+   * Validates that the provided argument names a built-in {@link OutputTarget} or a sink
+   * registered with the {@link OutputSinkRegistry}.
+   *
+   * @param arg the output target string (e.g., "console", "file", "null")
+   * @return the {@link OutputSinkFactory} for the named target
+   * @throws IllegalArgumentException if no sink is known by that name
+   */
+  public static OutputSinkFactory validateOutputSink(String arg) {
+    arg = sanitiseInput(arg);
+
+    return OutputSinkRegistry.resolve(arg)
+        .orElseThrow(() -> new IllegalArgumentException("Invalid output target"));
+  }
+
+  /**
+   * Validates and compiles a {@link CharacterClass} definition. Unlike other arguments, the
+   * definition is not trimmed, as whitespace can be one of its characters.
+   *
+   * @param arg the character class definition (e.g., "[:vowels:]àéèù" or "\p{Greek}")
+   * @return the compiled {@link CharacterClass}
+   * @throws IllegalArgumentException if the definition is empty or invalid
+   */
+  public static CharacterClass validateCharacterClass(String arg) {
+    try {
+      return CharacterClass.compile(arg);
+    } catch (IllegalArgumentException e) {
+      log.debug("Invalid character class: {}", e.getMessage());
+      throw e;
+    }
+  }
+
+  /**
+   * Validates that the provided argument matches a known {@link CaseMode}.
+   *
+   * @param arg the case mode string (e.g., "sensitive", "insensitive")
+   * @return the corresponding {@link CaseMode} enum
+   * @throws IllegalArgumentException if the argument is not a valid CaseMode value
+   */
+  public static CaseMode validateCaseMode(String arg) {
+    arg = sanitiseInput(arg);
+
+    return CaseMode.fromValue(arg)
+        .orElseThrow(() -> new IllegalArgumentException("Invalid case mode"));
+  }
+
+  /**
+   * Validates the optional parameters of a run and resolves them into {@link TaskParameters}.
+   * Each parameter is left unset when it is {@code null} or empty. The phrase is not trimmed,
+   * as a phrase can start or end with a space.
+   *
+   * @param characterClass the character class definition (e.g., "[:vowels:]àéèù"), may be null
+   * @param phrase         the phrase to count (e.g., "slow bike"), may be null
+   * @param caseMode       the case mode string (e.g., "sensitive"), may be null
+   * @return the {@link TaskParameters}, or {@link TaskParameters#NONE} if none are provided
+   * @throws IllegalArgumentException if the character class or case mode is invalid
+   */
+  public static TaskParameters validateTaskParameters(String characterClass, String phrase,
+      String caseMode) {
+    boolean hasCharacterClass = characterClass != null && !characterClass.isEmpty();
+    boolean hasPhrase = phrase != null && !phrase.isEmpty();
+    boolean hasCaseMode = caseMode != null && !caseMode.isBlank();
+    if (!hasCharacterClass && !hasPhrase && !hasCaseMode) {
+      return TaskParameters.NONE;
+    }
+
+    return new TaskParameters(
+        hasCharacterClass ? validateCharacterClass(characterClass) : null,
+        hasPhrase ? phrase : null,
+        hasCaseMode ? validateCaseMode(caseMode) : null);
+  }
+
   /**
    * Validates that the provided argument matches a known {@link ParseTaskType}.
    *
@@ -105,6 +209,25 @@ public final class ArgumentValidator {
         .orElseThrow(() -> new IllegalArgumentException("Invalid parse task"));
   }
 
+  /**
+   * Validates that the provided argument names a registered task, either a built-in
+   * {@link ParseTaskType} or one added by a
+   * {@link com.mcintosh.iain.core.task.strategy.ParseTaskProvider}, or a {@link TaskPipeline}
+   * of registered tasks separated by {@link TaskPipeline#SEPARATOR}.
+   *
+   * @param arg the parse task string (e.g., "remove-vowels" or "remove-vowels,count-slow-bike")
+   * @return the name the task is registered under, or the registered names of the pipeline
+   * @throws IllegalArgumentException if no task is registered under a name
+   */
+  public static String validateTaskName(String arg) {
+    arg = sanitiseInput(arg);
+
+    return TaskPipeline.stageNames(arg).stream()
+        .map(name -> ParseTaskRegistry.resolve(name)
+            .orElseThrow(() -> new IllegalArgumentException("Invalid parse task")))
+        .collect(Collectors.joining(TaskPipeline.SEPARATOR));
+  }
+
   /**
    * Sanitises input by trimming leading/trailing whitespace and removing surrounding
    * single or double quotes if present.
@@ -0,0 +1,372 @@
+package com.mcintosh.iain.core.util;
+
+import com.mcintosh.iain.core.task.enums.CaseMode;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A set of characters compiled into a bitmap, with one bit for every character of the Basic
+ * Multilingual Plane, so that testing whether a character belongs to it is a single array lookup.
+ * <p>
+ * Classes are compiled from a definition made up of the following terms, in any combination:
+ * <ul>
+ *   <li>a character, such as {@code a} or {@code é}, which is added to the class;</li>
+ *   <li>a range of characters, such as {@code a-z} or {@code Ѐ-ӿ};</li>
+ *   <li>a Unicode property, such as the category {@code \p{Lu}}, the script {@code \p{Greek}} or
+ *   the block {@code \p{InCyrillic}}, accepting any property name {@link Pattern} does;</li>
+ *   <li>a named class, such as {@code [:vowels:]}, registered with the
+ *   {@link CharacterClassRegistry}.</li>
+ * </ul>
+ * A backslash escapes the character after it, such as {@code \-} or {@code \\}, and a backslash
+ * followed by {@code u} and four hexadecimal digits is the character with that code, as in Java.
+ * Whitespace is a character like any other.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * CharacterClass vowels = CharacterClass.compile("[:vowels:]àáâäèéêëìíîïòóôöùúûü");
+ * CharacterClass greek = CharacterClass.compile("\\p{Greek}");
+ * boolean removed = greek.contains('λ');
+ * // removed -> true
+ * }</pre>
+ * </p>
+ *
+ * <p>
+ * Compiled classes are immutable and cached by their definition, so a definition sent with every
+ * request is only compiled the first time it is seen.
+ * </p>
+ */
+public final class CharacterClass {
+
+  /**
+   * Number of definitions kept compiled, so that arbitrary definitions sent over REST cannot
+   * grow the cache without bound.
+   */
+  private static final int CACHE_SIZE = 256;
+
+  private static final int WORDS = (Character.MAX_VALUE + 1) / Long.SIZE;
+
+  /**
+   * Compiled classes keyed by their definition, the least recently used evicted first.
+   */
+  private static final Map<String, CharacterClass> cache = Collections.synchronizedMap(
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CharacterClass> eldest) {
+          return size() > CACHE_SIZE;
+        }
+      });
+
+  private final String definition;
+  private final long[] bits;
+  private final Map<CaseMode, CharacterClass> normalised = new ConcurrentHashMap<>();
+
+  private CharacterClass(String definition, long[] bits) {
+    this.definition = definition;
+    this.bits = bits;
+  }
+
+  /**
+   * Compiles a definition into a class, or returns the class it was compiled into before.
+   *
+   * @param definition the definition of the class
+   * @return the compiled class
+   * @throws IllegalArgumentException if the definition is empty or invalid, or refers to a named
+   *                                  class that is not registered
+   */
+  public static CharacterClass compile(String definition) {
+    if (definition == null || definition.isEmpty()) {
+      throw new IllegalArgumentException("Character class definition is required");
+    }
+
+    CharacterClass compiled = cache.get(definition);
+    if (compiled == null) {
+      compiled = new CharacterClass(definition, new Parser(definition).parse());
+      cache.put(definition, compiled);
+    }
+    return compiled;
+  }
+
+  /**
+   * Returns the class of the given characters, cached like a compiled definition.
+   *
+   * @param characters the characters of the class
+   * @return the class of the characters
+   */
+  public static CharacterClass of(Set<Character> characters) {
+    char[] sorted = new char[characters.size()];
+    int i = 0;
+    for (Character c : characters) {
+      sorted[i++] = c;
+    }
+    Arrays.sort(sorted);
+
+    // The characters escaped as needed, so that the definition compiles to the same class
+    StringBuilder definition = new StringBuilder(sorted.length);
+    for (char c : sorted) {
+      if (c == '\\' || c == '-' || c == '[') {
+        definition.append('\\');
+      }
+      definition.append(c);
+    }
+
+    String key = definition.toString();
+    CharacterClass compiled = cache.get(key);
+    if (compiled == null) {
+      long[] bits = new long[WORDS];
+      for (char c : sorted) {
+        set(bits, c);
+      }
+      compiled = new CharacterClass(key, bits);
+      cache.put(key, compiled);
+    }
+    return compiled;
+  }
+
+  /**
+   * Discards every compiled class, so that definitions referring to a named class are compiled
+   * again once the name is registered with a different class.
+   */
+  static void clearCache() {
+    cache.clear();
+  }
+
+  /**
+   * Returns {@code true} if the character belongs to this class.
+   *
+   * @param c the character
+   * @return whether the character belongs to this class
+   */
+  public boolean contains(char c) {
+    return (bits[c >>> 6] & (1L << c)) != 0;
+  }
+
+  /**
+   * Returns the class of the characters of this class once normalised by the given case mode,
+   * such as the lower case characters of this class for {@link CaseMode#INSENSITIVE}. A
+   * character then matches the class if it belongs to it once normalised itself.
+   * <p>
+   * The normalised class is computed once for each case mode and kept with this class.
+   * </p>
+   *
+   * @param caseMode the case mode to normalise the characters with
+   * @return the normalised class
+   */
+  public CharacterClass normalise(CaseMode caseMode) {
+    return normalised.computeIfAbsent(caseMode, mode -> {
+      long[] normalisedBits = new long[WORDS];
+      for (char c : toCharArray()) {
+        set(normalisedBits, mode.normalise(c));
+      }
+      return new CharacterClass(definition, normalisedBits);
+    });
+  }
+
+  /**
+   * Returns the number of characters in this class.
+   *
+   * @return the number of characters
+   */
+  public int size() {
+    int size = 0;
+    for (long word : bits) {
+      size += Long.bitCount(word);
+    }
+    return size;
+  }
+
+  /**
+   * Returns the characters of this class.
+   *
+   * @return a new array of the characters, in ascending order
+   */
+  public char[] toCharArray() {
+    return toCharArray(bits);
+  }
+
+  /**
+   * Returns the definition this class was compiled from.
+   *
+   * @return the definition
+   */
+  public String definition() {
+    return definition;
+  }
+
+  /**
+   * Classes are equal if they have the same characters, however they were defined.
+   */
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof CharacterClass characterClass
+        && Arrays.equals(bits, characterClass.bits);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(bits);
+  }
+
+  @Override
+  public String toString() {
+    return definition;
+  }
+
+  private static void set(long[] bits, char c) {
+    bits[c >>> 6] |= 1L << c;
+  }
+
+  private static char[] toCharArray(long[] bits) {
+    int size = 0;
+    for (long word : bits) {
+      size += Long.bitCount(word);
+    }
+
+    char[] characters = new char[size];
+    int next = 0;
+    for (int word = 0; word < bits.length; word++) {
+      for (long remaining = bits[word]; remaining != 0; remaining &= remaining - 1) {
+        characters[next++] = (char) (word * Long.SIZE + Long.numberOfTrailingZeros(remaining));
+      }
+    }
+    return characters;
+  }
+
+  /**
+   * Parses a definition into a bitmap, one term at a time.
+   */
+  private static final class Parser {
+    private final String definition;
+    private final long[] bits = new long[WORDS];
+    private int position;
+
+    private Parser(String definition) {
+      this.definition = definition;
+    }
+
+    private long[] parse() {
+      while (position < definition.length()) {
+        if (definition.startsWith("[:", position)) {
+          addNamedClass();
+        } else if (definition.startsWith("\\p{", position)) {
+          addProperty();
+        } else {
+          addCharacters();
+        }
+      }
+      return bits;
+    }
+
+    private void addNamedClass() {
+      int end = definition.indexOf(":]", position + 2);
+      if (end < 0) {
+        throw invalid("unterminated class name");
+      }
+
+      String name = definition.substring(position + 2, end);
+      CharacterClass named = CharacterClassRegistry.resolve(name)
+          .orElseThrow(() -> invalid("unknown class name '" + name + "'"));
+      for (int i = 0; i < WORDS; i++) {
+        bits[i] |= named.bits[i];
+      }
+      position = end + 2;
+    }
+
+    /**
+     * Adds every character with the property, tested with a regular expression once for each
+     * character of the Basic Multilingual Plane. The result is cached, so this is done once.
+     */
+    private void addProperty() {
+      int end = definition.indexOf('}', position + 3);
+      if (end < 0) {
+        throw invalid("unterminated property");
+      }
+
+      String property = definition.substring(position + 3, end);
+      Matcher matcher = propertyPattern(property).matcher("");
+      char[] single = new char[1];
+      for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+        single[0] = (char) c;
+        if (!Character.isSurrogate(single[0])
+            && matcher.reset(CharBuffer.wrap(single)).matches()) {
+          set(bits, single[0]);
+        }
+      }
+      position = end + 1;
+    }
+
+    /**
+     * Resolves a property name as {@link Pattern} does, falling back to the script of that name,
+     * so that {@code \p{Greek}} can be written for {@code \p{IsGreek}}.
+     */
+    private Pattern propertyPattern(String property) {
+      try {
+        return Pattern.compile("\\p{" + property + "}");
+      } catch (PatternSyntaxException e) {
+        try {
+          return Pattern.compile("\\p{Is" + property + "}");
+        } catch (PatternSyntaxException ignored) {
+          throw invalid("unknown Unicode property '" + property + "'");
+        }
+      }
+    }
+
+    private void addCharacters() {
+      char from = nextCharacter();
+
+      // A dash at the end of the definition is the dash itself
+      if (position + 1 < definition.length() && definition.charAt(position) == '-') {
+        position++;
+        char to = nextCharacter();
+        if (to < from) {
+          throw invalid("range " + from + "-" + to + " is out of order");
+        }
+        for (char c = from; c < to; c++) {
+          set(bits, c);
+        }
+        set(bits, to);
+      } else {
+        set(bits, from);
+      }
+    }
+
+    private char nextCharacter() {
+      char c = definition.charAt(position++);
+
+      if (c == '\\') {
+        if (position >= definition.length()) {
+          throw invalid("incomplete escape at the end");
+        }
+        c = definition.charAt(position++);
+        if (c == 'u' && position + 4 <= definition.length()) {
+          String hex = definition.substring(position, position + 4);
+          try {
+            c = (char) Integer.parseInt(hex, 16);
+          } catch (NumberFormatException e) {
+            throw invalid("invalid escape \\u" + hex);
+          }
+          position += 4;
+        }
+      }
+
+      if (Character.isSurrogate(c)) {
+        throw invalid("only characters of the Basic Multilingual Plane are supported");
+      }
+      return c;
+    }
+
+    private IllegalArgumentException invalid(String reason) {
+      return new IllegalArgumentException(
+          "Invalid character class '" + definition + "': " + reason);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.mcintosh.iain.core.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A registry of named {@link CharacterClass} instances, which definitions refer to as
+ * {@code [:name:]}.
+ * <p>
+ * The {@code vowels} and {@code consonants} of {@link Alphabet} are always available. Embedding
+ * applications can register their own classes, for example from configuration, which then become
+ * valid in any definition passed to
+ * {@link com.mcintosh.iain.core.task.ParseContext.Builder#withCharacterClass(String)}.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * CharacterClassRegistry.register("greek-vowels", "αεηιουωάέήίόύώ");
+ *
+ * ParseContext context = ParseContext.builder()
+ *     .withParseTask("remove-chars")
+ *     .withCharacterClass("[:vowels:][:greek-vowels:]")
+ *     .withInputFile("/path/to/input.txt")
+ *     .build();
+ * }</pre>
+ * </p>
+ *
+ * <p>
+ * Names are matched case-insensitively and are made up of letters, digits, dashes and
+ * underscores. Built-in names cannot be overridden.
+ * </p>
+ */
+public final class CharacterClassRegistry {
+  private static final Logger log = LoggerFactory.getLogger(CharacterClassRegistry.class);
+
+  private CharacterClassRegistry() {
+    throw new UnsupportedOperationException("Class not instantiable");
+  }
+
+  private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_-]+");
+
+  /**
+   * Immutable map of the built-in classes, keyed by their name.
+   */
+  private static final Map<String, CharacterClass> builtInClasses = Map.of(
+      "vowels", CharacterClass.of(Alphabet.getVowels()),
+      "consonants", CharacterClass.of(Alphabet.getConsonants())
+  );
+
+  /**
+   * Classes registered at runtime, keyed by their lower case name.
+   */
+  private static final Map<String, CharacterClass> customClasses = new ConcurrentSkipListMap<>();
+
+  /**
+   * Compiles the definition and registers the class under the given name, replacing any previous
+   * custom registration. A definition referring to other named classes takes the classes they
+   * are registered as at the time.
+   *
+   * @param name       the name the class is referred to by
+   * @param definition the definition of the class
+   * @throws IllegalArgumentException if the name is invalid or clashes with a built-in class, or
+   *                                  the definition is invalid
+   */
+  public static void register(String name, String definition) {
+    if (name == null || !NAME.matcher(name.trim()).matches()) {
+      throw new IllegalArgumentException("Character class name must be letters, digits, - or _");
+    }
+    if (builtInClasses.containsKey(key(name))) {
+      throw new IllegalArgumentException("Character class name clashes with a built-in class");
+    }
+
+    customClasses.put(key(name), CharacterClass.compile(definition));
+    // Definitions referring to a previous registration under this name are out of date
+    CharacterClass.clearCache();
+    log.debug("Registered character class '{}'", name);
+  }
+
+  /**
+   * Removes a custom class registration if present.
+   *
+   * @param name the name the class was registered under
+   */
+  public static void unregister(String name) {
+    if (name != null && customClasses.remove(key(name)) != null) {
+      CharacterClass.clearCache();
+    }
+  }
+
+  /**
+   * Resolves a class name to the class registered under it. Built-in classes take precedence
+   * over custom registrations.
+   *
+   * @param name the class name
+   * @return the matching class, or an empty {@link Optional} if the name is unknown
+   */
+  public static Optional<CharacterClass> resolve(String name) {
+    if (name == null) {
+      return Optional.empty();
+    }
+
+    CharacterClass builtIn = builtInClasses.get(key(name));
+    return Optional.ofNullable(builtIn != null ? builtIn : customClasses.get(key(name)));
+  }
+
+  /**
+   * Returns the names of every registered class, the built-in classes first.
+   *
+   * @return an unmodifiable list of the class names
+   */
+  public static List<String> classNames() {
+    List<String> names = new ArrayList<>(List.of("vowels", "consonants"));
+    names.addAll(customClasses.keySet());
+    return Collections.unmodifiableList(names);
+  }
+
+  private static String key(String name) {
+    return name.trim().toLowerCase(Locale.ROOT);
+  }
+}
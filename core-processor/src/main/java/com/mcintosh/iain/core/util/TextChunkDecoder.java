@@ -0,0 +1,161 @@
+package com.mcintosh.iain.core.util;
+
+import com.mcintosh.iain.core.task.strategy.TaskStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes UTF-8 bytes into chunks of characters and passes them to a {@link TaskStream}.
+ * <p>
+ * Bytes can be supplied in arbitrarily sized buffers; multi-byte characters split across two
+ * buffers are carried over to the next call. Line terminators ({@code \r\n}, {@code \r} and
+ * {@code \n}) are normalised to {@code \n}, and a final {@code \n} is added to non-empty input
+ * that does not end with one. The decoded text is therefore identical to reading the input line
+ * by line with {@link java.io.BufferedReader#readLine()} and appending a newline to each line.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * TextChunkDecoder decoder = new TextChunkDecoder(stream);
+ * while (channel.read(bytes) != -1) {
+ *   bytes.flip();
+ *   decoder.decode(bytes);
+ *   bytes.compact();
+ * }
+ * bytes.flip();
+ * decoder.finish(bytes);
+ * }</pre>
+ * </p>
+ *
+ * <p>
+ * Malformed input is reported with a {@link CharacterCodingException}, as with
+ * {@link java.nio.file.Files#newBufferedReader(java.nio.file.Path)}.
+ * </p>
+ */
+public final class TextChunkDecoder {
+
+  /**
+   * The default number of characters passed to the stream in each chunk.
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+  private static final char[] NEWLINE = {'\n'};
+
+  private final TaskStream stream;
+  private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPORT)
+      .onUnmappableCharacter(CodingErrorAction.REPORT);
+  private final CharBuffer chars;
+
+  private long bytesConsumed;
+  private boolean skipLineFeed;
+  private boolean endsWithNewline = true;
+
+  public TextChunkDecoder(TaskStream stream) {
+    this(stream, DEFAULT_CHUNK_SIZE);
+  }
+
+  public TextChunkDecoder(TaskStream stream, int chunkSize) {
+    this.stream = stream;
+    this.chars = CharBuffer.allocate(chunkSize);
+  }
+
+  /**
+   * Decodes as much of the given bytes as possible. Any trailing bytes of an incomplete
+   * character are left in the buffer, to be completed by the next call.
+   *
+   * @param bytes the bytes to decode, ready for reading
+   * @throws IOException if the input is not valid UTF-8, or the stream fails
+   */
+  public void decode(ByteBuffer bytes) throws IOException {
+    decode(bytes, false);
+  }
+
+  /**
+   * Decodes the final bytes of the input and flushes any remaining characters to the stream,
+   * followed by a trailing newline if required. The stream itself is not finished.
+   *
+   * @param bytes the remaining bytes of the input, ready for reading
+   * @throws IOException if the input is not valid UTF-8, or the stream fails
+   */
+  public void finish(ByteBuffer bytes) throws IOException {
+    decode(bytes, true);
+
+    CoderResult result = decoder.flush(chars);
+    checkResult(result);
+    emit();
+
+    if (!endsWithNewline) {
+      endsWithNewline = true;
+      stream.accept(NEWLINE, 0, 1);
+    }
+  }
+
+  /**
+   * Returns the number of input bytes that have been decoded and passed to the stream. This is
+   * an exact offset into the input, suitable for reporting progress.
+   *
+   * @return the number of bytes consumed so far
+   */
+  public long bytesConsumed() {
+    return bytesConsumed;
+  }
+
+  private void decode(ByteBuffer bytes, boolean endOfInput) throws IOException {
+    while (true) {
+      int start = bytes.position();
+      CoderResult result = decoder.decode(bytes, chars, endOfInput);
+      bytesConsumed += bytes.position() - start;
+
+      checkResult(result);
+      emit();
+
+      if (result.isUnderflow()) {
+        return;
+      }
+    }
+  }
+
+  private void checkResult(CoderResult result) throws CharacterCodingException {
+    if (result.isError()) {
+      result.throwException();
+    }
+  }
+
+  /**
+   * Normalises line terminators in the decoded characters and passes them to the stream.
+   */
+  private void emit() throws IOException {
+    char[] buffer = chars.array();
+    int length = chars.position();
+    int written = 0;
+
+    for (int i = 0; i < length; i++) {
+      char c = buffer[i];
+
+      if (c == '\r') {
+        buffer[written++] = '\n';
+        skipLineFeed = true;
+      } else if (c == '\n' && skipLineFeed) {
+        skipLineFeed = false;
+      } else {
+        buffer[written++] = c;
+        skipLineFeed = false;
+      }
+    }
+
+    if (written > 0) {
+      endsWithNewline = buffer[written - 1] == '\n';
+      stream.accept(buffer, 0, written);
+    }
+
+    chars.clear();
+  }
+}
@@ -3,14 +3,30 @@ package com.mcintosh.iain.core;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.mcintosh.iain.core.output.MemorySink;
+import com.mcintosh.iain.core.task.CancellationToken;
 import com.mcintosh.iain.core.task.ParseContext;
+import com.mcintosh.iain.core.task.TaskCancelledException;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class CoreProcessorTest {
 
@@ -82,4 +98,288 @@ class CoreProcessorTest {
         .hasMessageContaining("Failed to write output file");
   }
 
+  @Test
+  void process_withMemorySink_collectsOutput() throws Exception {
+    Path inputFile = Files.createFile(tempDir.resolve("input.txt"));
+    Files.writeString(inputFile, "banana");
+
+    ParseContext context = ParseContext.builder()
+        .withParseTask("remove-vowels")
+        .withInputFile(inputFile.toString())
+        .build();
+
+    MemorySink sink = new MemorySink();
+    CoreProcessor.process(context, sink);
+
+    assertThat(sink.contents()).isEqualTo("bnn\n\n");
+  }
+
+  @Test
+  void process_withNullTarget_discardsOutput() throws Exception {
+    Path inputFile = Files.createFile(tempDir.resolve("input.txt"));
+    Files.writeString(inputFile, "Hello slow bike");
+
+    ParseContext context = ParseContext.builder()
+        .withParseTask("count-slow-bike")
+        .withInputFile(inputFile.toString())
+        .withOutputTarget("null")
+        .build();
+
+    // Capture console
+    ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+    PrintStream originalOut = System.out;
+    System.setOut(new PrintStream(outStream));
+
+    try {
+      CoreProcessor.process(context);
+    } finally {
+      System.setOut(originalOut);
+    }
+
+    assertThat(outStream.toString()).isEmpty();
+  }
+
+  @Test
+  void process_inputLargerThanOneChunk_matchesWholeStringExecution() throws Exception {
+    // Odd line lengths and CRLF line endings so that phrases and line breaks straddle chunks
+    String line = "The slow bike overtook another SLOW BIKE on the hill.\r\n";
+    String content = line.repeat(5_000);
+    Path inputFile = Files.writeString(tempDir.resolve("input.txt"), content);
+    String normalised = content.replace("\r\n", "\n");
+
+    ParseContext countContext = ParseContext.builder()
+        .withParseTask("count-slow-bike")
+        .withInputFile(inputFile.toString())
+        .build();
+    MemorySink countSink = new MemorySink();
+    CoreProcessor.process(countContext, countSink);
+
+    ParseContext removeContext = ParseContext.builder()
+        .withParseTask("remove-vowels")
+        .withInputFile(inputFile.toString())
+        .build();
+    MemorySink removeSink = new MemorySink();
+    CoreProcessor.process(removeContext, removeSink);
+
+    assertThat(countSink.contents()).isEqualTo("10000\n");
+    assertThat(removeSink.contents())
+        .isEqualTo(normalised.replaceAll("[aeiouAEIOU]", "") + "\n");
+  }
+
+  @Test
+  void process_inputChannel_readsChannelToEndAndClosesIt() throws Exception {
+    // Larger than one read buffer, so the channel is read in several chunks
+    String content = "a slow bike ".repeat(10_000);
+    ReadableByteChannel channel = Channels.newChannel(
+        new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    ParseContext context = ParseContext.builder()
+        .withParseTask("count-slow-bike")
+        .withInputChannel(channel)
+        .build();
+    MemorySink sink = new MemorySink();
+
+    CoreProcessor.process(context, sink);
+
+    assertThat(sink.contents()).isEqualTo("10000\n");
+    assertThat(channel.isOpen()).isFalse();
+    assertThat(context.progress().snapshot().bytesProcessed()).isEqualTo(content.length());
+  }
+
+  @Test
+  void process_cancelledCountingTask_returnsPartialResult() throws Exception {
+    String content = "The slow bike overtook another SLOW BIKE on the hill.\n".repeat(5_000);
+    Path inputFile = Files.writeString(tempDir.resolve("input.txt"), content);
+
+    CancellationToken cancellation = CancellationToken.create();
+    cancellation.cancel();
+    ParseContext context = ParseContext.builder()
+        .withParseTask("count-slow-bike")
+        .withInputFile(inputFile.toString())
+        .withCancellation(cancellation)
+        .build();
+
+    MemorySink sink = new MemorySink();
+    TaskCancelledException e = catchCancellation(context, sink);
+
+    // The token is checked after each chunk, so exactly one chunk is processed
+    String processed = content.substring(0, (int) e.bytesProcessed());
+    assertThat(e.bytesProcessed()).isPositive().isLessThan(content.length());
+    assertThat(e.isDeadlineExceeded()).isFalse();
+    assertThat(e.partialResult()).contains(String.valueOf(countSlowBikes(processed)));
+    assertThat(sink.contents()).isEmpty();
+  }
+
+  @Test
+  void process_deadlineExceeded_stopsTransformingTaskWithoutPartialResult() throws Exception {
+    String content = "banana\n".repeat(50_000);
+    Path inputFile = Files.writeString(tempDir.resolve("input.txt"), content);
+
+    ParseContext context = ParseContext.builder()
+        .withParseTask("remove-vowels")
+        .withInputFile(inputFile.toString())
+        .withCancellation(CancellationToken.withTimeout(Duration.ofNanos(1)))
+        .build();
+
+    MemorySink sink = new MemorySink();
+    TaskCancelledException e = catchCancellation(context, sink);
+
+    assertThat(e.isDeadlineExceeded()).isTrue();
+    assertThat(e.getMessage()).startsWith("Task exceeded its deadline");
+    assertThat(e.partialResult()).isEmpty();
+    assertThat(sink.contents().length()).isLessThan(content.length());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"count-consonants", "count-slow-bike", "count-digits"})
+  void process_mappedAndParallelPlans_matchSingleStream(String task) throws Exception {
+    Path inputFile = writeMixedInput(2 * ExecutionPlan.MIN_PART_BYTES + 1024);
+    String expected = processChannel(task, inputFile);
+
+    for (int parallelism : new int[] {1, 4}) {
+      ParseContext context = ParseContext.builder()
+          .withParseTask(task)
+          .withInputFile(inputFile.toString())
+          .build();
+      MemorySink sink = new MemorySink();
+
+      CoreProcessor.process(context, sink, parallelism);
+
+      assertThat(sink.contents()).isEqualTo(expected);
+      assertThat(context.progress().snapshot().bytesProcessed())
+          .isEqualTo(Files.size(inputFile));
+    }
+  }
+
+  @Test
+  void process_parallelPlanWithMalformedInput_throwsException() throws Exception {
+    Path inputFile = writeMixedInput(2 * ExecutionPlan.MIN_PART_BYTES + 1024);
+    try (FileChannel channel = FileChannel.open(inputFile, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xff}), Files.size(inputFile) - 10);
+    }
+    ParseContext context = ParseContext.builder()
+        .withParseTask("count-consonants")
+        .withInputFile(inputFile.toString())
+        .build();
+
+    assertThatThrownBy(() -> CoreProcessor.process(context, new MemorySink(), 4))
+        .isInstanceOf(CharacterCodingException.class);
+  }
+
+  @Test
+  void process_cancelledParallelTask_returnsMergedPartialResult() throws Exception {
+    Path inputFile = writeMixedInput(2 * ExecutionPlan.MIN_PART_BYTES + 1024);
+    CancellationToken cancellation = CancellationToken.create();
+    cancellation.cancel();
+    ParseContext context = ParseContext.builder()
+        .withParseTask("count-slow-bike")
+        .withInputFile(inputFile.toString())
+        .withCancellation(cancellation)
+        .build();
+
+    TaskCancelledException e = catchCancellation(context, new MemorySink(), 2);
+
+    // Each part stops after its first chunk, and the counts of both parts are merged
+    assertThat(e.bytesProcessed()).isPositive().isLessThan(Files.size(inputFile));
+    assertThat(e.partialResult()).hasValueSatisfying(
+        count -> assertThat(Long.parseLong(count)).isPositive());
+  }
+
+  @Test
+  void process_providedTask_runsWithoutBuiltInType() throws Exception {
+    Path inputFile = Files.writeString(tempDir.resolve("input.txt"), "Route 66, exit 12");
+    ParseContext context = ParseContext.builder()
+        .withParseTask("Count-Digits")
+        .withInputFile(inputFile.toString())
+        .build();
+    MemorySink sink = new MemorySink();
+
+    CoreProcessor.process(context, sink);
+
+    assertThat(context.parseTaskType()).isNull();
+    assertThat(context.taskName()).isEqualTo("count-digits");
+    assertThat(sink.contents()).isEqualTo("4\n");
+  }
+
+  @Test
+  void process_pipeline_matchesTasksRunThroughIntermediateFile() throws Exception {
+    Path inputFile = Files.writeString(tempDir.resolve("input.txt"),
+        "The slow bike overtook another SLOW BIKE on the hill.\r\n".repeat(5_000));
+    Path intermediateFile = tempDir.resolve("intermediate.txt");
+
+    CoreProcessor.process(ParseContext.builder()
+        .withParseTask("remove-vowels")
+        .withInputFile(inputFile.toString())
+        .withOutputFile(intermediateFile.toString())
+        .withOutputTarget("file")
+        .build());
+    MemorySink expected = new MemorySink();
+    CoreProcessor.process(ParseContext.builder()
+        .withParseTask("count-consonants")
+        .withInputFile(intermediateFile.toString())
+        .build(), expected);
+
+    MemorySink sink = new MemorySink();
+    CoreProcessor.process(ParseContext.builder()
+        .withParseTask("remove-vowels,count-consonants")
+        .withInputFile(inputFile.toString())
+        .build(), sink);
+
+    assertThat(sink.contents()).isEqualTo(expected.contents());
+  }
+
+  /**
+   * Writes long runs of ASCII lines with CRLF line endings, broken up by lines of Greek and
+   * accented text, so that both ASCII and decoded chunks are read, and parts are split in both.
+   */
+  private Path writeMixedInput(long minimumSize) throws IOException {
+    String ascii = "The slow bike overtook 3 others and another SLOW BIKE on hill 42.\r\n";
+    String mixed = "Το ποδήλατο: slow bïke, slow bike ΣΛΟΩ, Ünïcöde 7\r\n";
+    String block = ascii.repeat(2_000) + mixed;
+    int bytes = block.getBytes(StandardCharsets.UTF_8).length;
+
+    return Files.writeString(tempDir.resolve("mixed.txt"),
+        block.repeat((int) (minimumSize / bytes + 1)));
+  }
+
+  private static String processChannel(String task, Path inputFile) throws IOException {
+    ParseContext context = ParseContext.builder()
+        .withParseTask(task)
+        .withInputChannel(Files.newByteChannel(inputFile))
+        .build();
+    MemorySink sink = new MemorySink();
+    CoreProcessor.process(context, sink);
+    return sink.contents();
+  }
+
+  private static TaskCancelledException catchCancellation(ParseContext context, MemorySink sink,
+      int parallelism) {
+    try {
+      CoreProcessor.process(context, sink, parallelism);
+    } catch (TaskCancelledException e) {
+      return e;
+    } catch (IOException e) {
+      throw new AssertionError(e);
+    }
+    throw new AssertionError("Task was not cancelled");
+  }
+
+  private static TaskCancelledException catchCancellation(ParseContext context, MemorySink sink) {
+    try {
+      CoreProcessor.process(context, sink);
+    } catch (TaskCancelledException e) {
+      return e;
+    } catch (IOException e) {
+      throw new AssertionError(e);
+    }
+    throw new AssertionError("Task was not cancelled");
+  }
+
+  private static int countSlowBikes(String text) {
+    Matcher matcher = Pattern.compile("slow bike", Pattern.CASE_INSENSITIVE).matcher(text);
+    int count = 0;
+    while (matcher.find()) {
+      count++;
+    }
+    return count;
+  }
 }
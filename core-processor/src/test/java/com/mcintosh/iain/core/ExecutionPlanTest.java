@@ -0,0 +1,91 @@
+package com.mcintosh.iain.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mcintosh.iain.core.task.ParseContext;
+import com.mcintosh.iain.core.task.enums.OutputSize;
+import com.mcintosh.iain.core.task.strategy.TaskCapabilities;
+import java.io.ByteArrayInputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExecutionPlanTest {
+
+  private static final TaskCapabilities COUNTING =
+      new TaskCapabilities(true, true, true, OutputSize.BOUNDED);
+  private static final TaskCapabilities TRANSFORMING =
+      new TaskCapabilities(true, false, false, OutputSize.PROPORTIONAL);
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void choose_notStreamable_returnsBuffered() throws Exception {
+    ParseContext context = fileContext(4 * ExecutionPlan.MIN_PART_BYTES);
+
+    assertThat(ExecutionPlan.choose(TaskCapabilities.WHOLE_INPUT, context, 4))
+        .isEqualTo(ExecutionPlan.BUFFERED);
+  }
+
+  @Test
+  void choose_inputChannel_returnsStreaming() {
+    ParseContext context = ParseContext.builder()
+        .withParseTask("count-consonants")
+        .withInputChannel(Channels.newChannel(new ByteArrayInputStream(new byte[0])))
+        .build();
+
+    assertThat(ExecutionPlan.choose(COUNTING, context, 4)).isEqualTo(ExecutionPlan.STREAMING);
+  }
+
+  @Test
+  void choose_largeFileForSplittableBoundedTask_returnsParallel() throws Exception {
+    ParseContext context = fileContext(2 * ExecutionPlan.MIN_PART_BYTES);
+
+    assertThat(ExecutionPlan.choose(COUNTING, context, 4)).isEqualTo(ExecutionPlan.PARALLEL);
+  }
+
+  @Test
+  void choose_singleThread_returnsMapped() throws Exception {
+    ParseContext context = fileContext(4 * ExecutionPlan.MIN_PART_BYTES);
+
+    assertThat(ExecutionPlan.choose(COUNTING, context, 1)).isEqualTo(ExecutionPlan.MAPPED);
+  }
+
+  @Test
+  void choose_fileSmallerThanTwoParts_returnsMapped() throws Exception {
+    ParseContext context = fileContext(2 * ExecutionPlan.MIN_PART_BYTES - 1);
+
+    assertThat(ExecutionPlan.choose(COUNTING, context, 4)).isEqualTo(ExecutionPlan.MAPPED);
+  }
+
+  @Test
+  void choose_streamableOnly_returnsStreaming() throws Exception {
+    ParseContext context = fileContext(4 * ExecutionPlan.MIN_PART_BYTES);
+
+    assertThat(ExecutionPlan.choose(TRANSFORMING, context, 4))
+        .isEqualTo(ExecutionPlan.STREAMING);
+  }
+
+  @Test
+  void parts_limitedByParallelismAndPartSize() {
+    assertThat(ExecutionPlan.parts(0, 4)).isEqualTo(1);
+    assertThat(ExecutionPlan.parts(3 * ExecutionPlan.MIN_PART_BYTES, 4)).isEqualTo(3);
+    assertThat(ExecutionPlan.parts(100 * ExecutionPlan.MIN_PART_BYTES, 4)).isEqualTo(4);
+  }
+
+  private ParseContext fileContext(long size) throws Exception {
+    Path inputFile = Files.createFile(tempDir.resolve("input-" + size + ".txt"));
+    try (RandomAccessFile file = new RandomAccessFile(inputFile.toFile(), "rw")) {
+      file.setLength(size);
+    }
+
+    return ParseContext.builder()
+        .withParseTask("count-consonants")
+        .withInputFile(inputFile.toString())
+        .build();
+  }
+}
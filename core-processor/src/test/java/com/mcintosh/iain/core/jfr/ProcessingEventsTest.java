@@ -0,0 +1,118 @@
+package com.mcintosh.iain.core.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mcintosh.iain.core.CoreProcessor;
+import com.mcintosh.iain.core.output.MemorySink;
+import com.mcintosh.iain.core.task.ParseContext;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ProcessingEventsTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void process_recordsTaskStageAndProcessorEvents() throws Exception {
+    Path inputFile = Files.writeString(tempDir.resolve("input.txt"), "banana");
+    ParseContext context = ParseContext.builder()
+        .withParseTask("remove-vowels")
+        .withInputFile(inputFile.toString())
+        .build();
+
+    List<RecordedEvent> events = record(() -> CoreProcessor.process(context, new MemorySink()));
+
+    RecordedEvent task = single(events, "com.mcintosh.iain.ParseTask");
+    assertThat(task.getString("taskType")).isEqualTo("remove-vowels");
+    assertThat(task.getString("engine")).isEqualTo("streaming");
+    assertThat(task.getLong("inputBytes")).isEqualTo(6);
+    assertThat(task.getLong("outputChars")).isEqualTo("bnn\n\n".length());
+    assertThat(task.getBoolean("succeeded")).isTrue();
+
+    assertThat(events).extracting(e -> e.getEventType().getName()).contains(
+        "com.mcintosh.iain.ReadChunk", "com.mcintosh.iain.ExecuteChunk",
+        "com.mcintosh.iain.WriteChunk");
+
+    // The trailing newline added by the decoder arrives as a separate chunk
+    List<RecordedEvent> processorCalls = named(events, "com.mcintosh.iain.Processor");
+    assertThat(processorCalls).extracting(e -> e.getString("processor"))
+        .containsOnly("CharacterRemover");
+    assertThat(processorCalls).extracting(e -> e.getString("taskType"))
+        .containsOnly("remove-vowels");
+    assertThat(processorCalls).extracting(e -> e.getString("engine"))
+        .containsOnly("streaming");
+    assertThat(processorCalls.stream().mapToLong(e -> e.getLong("inputChars")).sum())
+        .isEqualTo("banana\n".length());
+    assertThat(processorCalls.stream().mapToLong(e -> e.getLong("outputChars")).sum())
+        .isEqualTo("bnn\n".length());
+  }
+
+  @Test
+  void process_withoutRecording_emitsNothing() throws Exception {
+    Path inputFile = Files.writeString(tempDir.resolve("input.txt"), "banana");
+    ParseContext context = ParseContext.builder()
+        .withParseTask("count-slow-bike")
+        .withInputFile(inputFile.toString())
+        .build();
+    MemorySink sink = new MemorySink();
+
+    CoreProcessor.process(context, sink);
+
+    assertThat(sink.contents()).isEqualTo("0\n");
+  }
+
+  @Test
+  void isActive_onlyWhileRecordingRuns() {
+    try (Recording recording = new Recording()) {
+      recording.start();
+      assertThat(FlightRecording.isActive()).isTrue();
+      assertThat(FlightRecording.begin(ProcessorEvent::new)).isNotNull();
+
+      recording.stop();
+      assertThat(FlightRecording.isActive()).isFalse();
+      assertThat(FlightRecording.begin(ProcessorEvent::new)).isNull();
+    }
+  }
+
+  private List<RecordedEvent> record(ThrowingRunnable action) throws Exception {
+    Path dump = tempDir.resolve("recording.jfr");
+
+    try (Recording recording = new Recording()) {
+      for (String name : new String[] {"ParseTask", "ReadChunk", "ExecuteChunk", "WriteChunk",
+          "Processor"}) {
+        recording.enable("com.mcintosh.iain." + name).withThreshold(Duration.ZERO);
+      }
+      recording.start();
+      action.run();
+      recording.stop();
+      recording.dump(dump);
+    }
+
+    return RecordingFile.readAllEvents(dump);
+  }
+
+  private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+    return events.stream()
+        .filter(e -> e.getEventType().getName().equals(name))
+        .toList();
+  }
+
+  private static RecordedEvent single(List<RecordedEvent> events, String name) {
+    List<RecordedEvent> matching = named(events, name);
+    assertThat(matching).hasSize(1);
+    return matching.getFirst();
+  }
+
+  @FunctionalInterface
+  private interface ThrowingRunnable {
+    void run() throws Exception;
+  }
+}
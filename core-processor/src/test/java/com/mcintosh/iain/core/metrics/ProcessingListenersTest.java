@@ -0,0 +1,115 @@
+package com.mcintosh.iain.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mcintosh.iain.core.CoreProcessor;
+import com.mcintosh.iain.core.output.MemorySink;
+import com.mcintosh.iain.core.output.OutputSink;
+import com.mcintosh.iain.core.task.ParseContext;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ProcessingListenersTest {
+
+  @TempDir
+  Path tempDir;
+
+  private final List<ProcessingListener> registered = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    registered.forEach(ProcessingListeners::unregister);
+  }
+
+  @Test
+  void process_notifiesListenerWithStats() throws Exception {
+    RecordingListener listener = register(new RecordingListener());
+
+    CoreProcessor.process(context("banana"), new MemorySink());
+
+    assertThat(listener.events).containsExactly("start", "complete");
+    assertThat(listener.stats.bytesRead()).isEqualTo(6);
+    assertThat(listener.stats.charsWritten()).isEqualTo("bnn\n\n".length());
+    assertThat(listener.stats.totalNanos()).isGreaterThan(0);
+    assertThat(listener.stats.readNanos() + listener.stats.executeNanos()
+        + listener.stats.writeNanos()).isLessThanOrEqualTo(listener.stats.totalNanos());
+  }
+
+  @Test
+  void process_sinkFails_notifiesListenerOfFailure() throws Exception {
+    RecordingListener listener = register(new RecordingListener());
+    OutputSink failingSink = (chunk, offset, length) -> {
+      throw new IOException("disk full");
+    };
+
+    assertThatThrownBy(() -> CoreProcessor.process(context("banana"), failingSink))
+        .isInstanceOf(IOException.class);
+
+    assertThat(listener.events).containsExactly("start", "failure");
+    assertThat(listener.failure).hasMessage("disk full");
+  }
+
+  @Test
+  void process_listenerThrows_processingUnaffected() throws Exception {
+    register(new ProcessingListener() {
+      @Override
+      public void onComplete(ParseContext parseContext, ProcessingStats stats) {
+        throw new IllegalStateException("broken listener");
+      }
+    });
+    RecordingListener listener = register(new RecordingListener());
+    MemorySink sink = new MemorySink();
+
+    CoreProcessor.process(context("banana"), sink);
+
+    assertThat(sink.contents()).isEqualTo("bnn\n\n");
+    assertThat(listener.events).containsExactly("start", "complete");
+  }
+
+  private ParseContext context(String input) throws IOException {
+    Path inputFile = Files.writeString(tempDir.resolve("input.txt"), input);
+
+    return ParseContext.builder()
+        .withParseTask("remove-vowels")
+        .withInputFile(inputFile.toString())
+        .build();
+  }
+
+  private <T extends ProcessingListener> T register(T listener) {
+    ProcessingListeners.register(listener);
+    registered.add(listener);
+    return listener;
+  }
+
+  private static final class RecordingListener implements ProcessingListener {
+
+    private final List<String> events = new ArrayList<>();
+    private ProcessingStats stats;
+    private Exception failure;
+
+    @Override
+    public void onStart(ParseContext parseContext) {
+      events.add("start");
+    }
+
+    @Override
+    public void onComplete(ParseContext parseContext, ProcessingStats stats) {
+      events.add("complete");
+      this.stats = stats;
+    }
+
+    @Override
+    public void onFailure(ParseContext parseContext, ProcessingStats stats, Exception failure) {
+      events.add("failure");
+      this.stats = stats;
+      this.failure = failure;
+    }
+  }
+}
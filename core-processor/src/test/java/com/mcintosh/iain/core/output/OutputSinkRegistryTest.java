@@ -0,0 +1,82 @@
+package com.mcintosh.iain.core.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mcintosh.iain.core.task.enums.OutputTarget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class OutputSinkRegistryTest {
+
+  @AfterEach
+  void tearDown() {
+    OutputSinkRegistry.unregister("audit");
+  }
+
+  @Test
+  void resolve_builtInTargets() {
+    assertThat(OutputSinkRegistry.resolve("console")).contains(OutputTarget.CONSOLE);
+    assertThat(OutputSinkRegistry.resolve("FILE")).contains(OutputTarget.FILE);
+    assertThat(OutputSinkRegistry.resolve(" null ")).contains(OutputTarget.NULL);
+  }
+
+  @Test
+  void resolve_unknownName_returnsEmpty() {
+    assertThat(OutputSinkRegistry.resolve("audit")).isEmpty();
+    assertThat(OutputSinkRegistry.resolve(null)).isEmpty();
+  }
+
+  @Test
+  void register_customSink_isResolvableCaseInsensitively() {
+    OutputSinkFactory factory = context -> new MemorySink();
+
+    OutputSinkRegistry.register("Audit", factory);
+
+    assertThat(OutputSinkRegistry.isRegistered("audit")).isTrue();
+    assertThat(OutputSinkRegistry.resolve("AUDIT")).contains(factory);
+  }
+
+  @Test
+  void unregister_removesCustomSink() {
+    OutputSinkRegistry.register("audit", context -> new MemorySink());
+
+    OutputSinkRegistry.unregister("audit");
+
+    assertThat(OutputSinkRegistry.resolve("audit")).isEmpty();
+  }
+
+  @Test
+  void register_builtInName_throwsException() {
+    assertThatThrownBy(() -> OutputSinkRegistry.register("console", context -> new NullSink()))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Output sink name clashes with a built-in target");
+  }
+
+  @Test
+  void register_blankName_throwsException() {
+    assertThatThrownBy(() -> OutputSinkRegistry.register(" ", context -> new NullSink()))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Output sink name is required");
+  }
+
+  @Test
+  void nullSink_countsDiscardedCharacters() {
+    NullSink sink = new NullSink();
+
+    sink.write("abc");
+    sink.write(new char[]{'d', 'e', 'f'}, 1, 2);
+
+    assertThat(sink.charsDiscarded()).isEqualTo(5);
+  }
+
+  @Test
+  void memorySink_collectsChunksInOrder() {
+    MemorySink sink = new MemorySink();
+
+    sink.write("Hll");
+    sink.write(new char[]{' ', 'W', 'r', 'l', 'd'}, 0, 5);
+
+    assertThat(sink.contents()).isEqualTo("Hll Wrld");
+  }
+}
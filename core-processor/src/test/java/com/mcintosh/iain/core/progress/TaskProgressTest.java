@@ -0,0 +1,70 @@
+package com.mcintosh.iain.core.progress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.mcintosh.iain.core.CoreProcessor;
+import com.mcintosh.iain.core.output.MemorySink;
+import com.mcintosh.iain.core.task.ParseContext;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TaskProgressTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void process_countingTask_reportsBytesAndFinalCounts() throws Exception {
+    String content = "A slow bike and another slow bike\n".repeat(10_000);
+    Path inputFile = Files.writeString(tempDir.resolve("input.txt"), content);
+
+    TaskProgress progress = new TaskProgress();
+    assertThat(progress.snapshot().state()).isEqualTo(ProgressSnapshot.State.PENDING);
+
+    ParseContext context = ParseContext.builder()
+        .withParseTask("count-slow-bike")
+        .withInputFile(inputFile.toString())
+        .withProgress(progress)
+        .build();
+    CoreProcessor.process(context, new MemorySink());
+
+    ProgressSnapshot snapshot = progress.snapshot();
+    assertThat(snapshot.state()).isEqualTo(ProgressSnapshot.State.COMPLETED);
+    assertThat(snapshot.bytesProcessed()).isEqualTo(content.length());
+    assertThat(snapshot.totalBytes()).isEqualTo(content.length());
+    assertThat(snapshot.counts()).containsExactly(entry("slow bike", 20_000L));
+  }
+
+  @Test
+  void process_transformingTask_reportsNoCounts() throws Exception {
+    Path inputFile = Files.writeString(tempDir.resolve("input.txt"), "banana");
+
+    TaskProgress progress = new TaskProgress();
+    ParseContext context = ParseContext.builder()
+        .withParseTask("remove-vowels")
+        .withInputFile(inputFile.toString())
+        .withProgress(progress)
+        .build();
+    CoreProcessor.process(context, new MemorySink());
+
+    assertThat(progress.snapshot())
+        .isEqualTo(new ProgressSnapshot(ProgressSnapshot.State.COMPLETED, 6, 6, Map.of()));
+  }
+
+  @Test
+  void follow_reportsProgressOfSource() {
+    TaskProgress source = new TaskProgress();
+    TaskProgress follower = new TaskProgress();
+    follower.follow(source);
+
+    source.start(100);
+    source.update(40, Map::of);
+
+    assertThat(follower.snapshot())
+        .isEqualTo(new ProgressSnapshot(ProgressSnapshot.State.RUNNING, 40, 100, Map.of()));
+  }
+}
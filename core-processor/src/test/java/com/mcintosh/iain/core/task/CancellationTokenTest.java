@@ -0,0 +1,72 @@
+package com.mcintosh.iain.core.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+
+class CancellationTokenTest {
+
+  @Test
+  void cancel_marksTokenCancelledWithoutDeadline() {
+    CancellationToken token = CancellationToken.create();
+    assertThat(token.isCancelled()).isFalse();
+
+    token.cancel();
+
+    assertThat(token.isCancelled()).isTrue();
+    assertThat(token.isDeadlineExceeded()).isFalse();
+  }
+
+  @Test
+  void withTimeout_cancelsOnceDeadlinePasses() {
+    assertThat(CancellationToken.withTimeout(Duration.ofHours(1)).isCancelled()).isFalse();
+
+    CancellationToken expired = CancellationToken.withTimeout(Duration.ofNanos(1));
+    assertThat(expired.isCancelled()).isTrue();
+    assertThat(expired.isDeadlineExceeded()).isTrue();
+
+    assertThatThrownBy(() -> CancellationToken.withTimeout(Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void whenAllCancelled_cancelsOnlyOnceEveryTokenIsCancelled() {
+    CancellationToken first = CancellationToken.create();
+    CancellationToken second = CancellationToken.create();
+    List<CancellationToken> tokens = new CopyOnWriteArrayList<>(List.of(first));
+    CancellationToken shared = CancellationToken.whenAllCancelled(tokens);
+
+    tokens.add(second);
+    first.cancel();
+    assertThat(shared.isCancelled()).isFalse();
+
+    second.cancel();
+    assertThat(shared.isCancelled()).isTrue();
+    assertThat(shared.isDeadlineExceeded()).isFalse();
+  }
+
+  @Test
+  void whenAllCancelled_staysCancelledWhenTokenAddedAfterwards() {
+    CancellationToken first = CancellationToken.create();
+    List<CancellationToken> tokens = new CopyOnWriteArrayList<>(List.of(first));
+    CancellationToken shared = CancellationToken.whenAllCancelled(tokens);
+
+    first.cancel();
+    assertThat(shared.isCancelled()).isTrue();
+
+    tokens.add(CancellationToken.create());
+    assertThat(shared.isCancelled()).isTrue();
+  }
+
+  @Test
+  void remainingNanos_boundedOnlyByOwnDeadline() {
+    assertThat(CancellationToken.create().remainingNanos()).isEqualTo(Long.MAX_VALUE);
+    assertThat(CancellationToken.withTimeout(Duration.ofHours(1)).remainingNanos())
+        .isPositive().isLessThanOrEqualTo(Duration.ofHours(1).toNanos());
+    assertThat(CancellationToken.withTimeout(Duration.ofNanos(1)).remainingNanos()).isZero();
+  }
+}
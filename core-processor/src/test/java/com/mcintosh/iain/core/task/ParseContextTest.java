@@ -3,8 +3,16 @@ package com.mcintosh.iain.core.task;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.mcintosh.iain.core.output.MemorySink;
+import com.mcintosh.iain.core.output.OutputSinkFactory;
+import com.mcintosh.iain.core.output.OutputSinkRegistry;
+import com.mcintosh.iain.core.task.enums.CaseMode;
 import com.mcintosh.iain.core.task.enums.OutputTarget;
 import com.mcintosh.iain.core.task.enums.ParseTaskType;
+import com.mcintosh.iain.core.task.strategy.TaskParameters;
+import com.mcintosh.iain.core.util.CharacterClass;
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import org.junit.jupiter.api.Test;
@@ -107,6 +115,34 @@ class ParseContextTest {
         .hasMessage("Input file is required");
   }
 
+  @Test
+  void buildWithInputChannel_hasNoInputFileOrSize() {
+    ParseContext context = ParseContext.builder()
+        .withParseTask("count-slow-bike")
+        .withInputChannel(Channels.newChannel(new ByteArrayInputStream(new byte[0])))
+        .build();
+
+    assertThat(context.inputChannel()).isNotNull();
+    assertThat(context.inputFile()).isNull();
+    assertThat(context.inputSize()).isEqualTo(-1);
+    assertThat(context.inputName()).isEqualTo("-");
+  }
+
+  @Test
+  void buildWithInputFileAndChannelThrowsException() throws Exception {
+    Path inputFile = Files.createFile(tempDir.resolve("input.txt"));
+
+    assertThatThrownBy(() ->
+        ParseContext.builder()
+            .withParseTask("count-slow-bike")
+            .withInputFile(inputFile.toString())
+            .withInputChannel(Channels.newChannel(new ByteArrayInputStream(new byte[0])))
+            .build()
+    )
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Only one of an input file or channel is allowed");
+  }
+
   @Test
   void buildBlankInputFileThrowsException() {
     assertThatThrownBy(() ->
@@ -179,4 +215,141 @@ class ParseContextTest {
     assertThat(context.outputFile()).isEqualTo(outputFile);
     assertThat(context.outputTarget()).isEqualTo(OutputTarget.FILE);
   }
+
+  @Test
+  void buildWithNullTarget_doesNotRequireOutputFile() throws Exception {
+    Path inputFile = Files.createFile(tempDir.resolve("input.txt"));
+
+    ParseContext context = ParseContext.builder()
+        .withParseTask("remove-vowels")
+        .withInputFile(inputFile.toString())
+        .withOutputTarget("null")
+        .build();
+
+    assertThat(context.outputTarget()).isEqualTo(OutputTarget.NULL);
+    assertThat(context.outputSink()).isEqualTo(OutputTarget.NULL);
+  }
+
+  @Test
+  void buildWithFileTargetButNoOutputFile_defaultsToConsole() throws Exception {
+    Path inputFile = Files.createFile(tempDir.resolve("input.txt"));
+
+    ParseContext context = ParseContext.builder()
+        .withParseTask("remove-vowels")
+        .withInputFile(inputFile.toString())
+        .withOutputTarget("file")
+        .build();
+
+    assertThat(context.outputTarget()).isEqualTo(OutputTarget.CONSOLE);
+  }
+
+  @Test
+  void buildWithRegisteredSink_resolvesSinkByName() throws Exception {
+    Path inputFile = Files.createFile(tempDir.resolve("input.txt"));
+    OutputSinkFactory factory = parseContext -> new MemorySink();
+    OutputSinkRegistry.register("memory-test", factory);
+
+    try {
+      ParseContext context = ParseContext.builder()
+          .withParseTask("remove-vowels")
+          .withInputFile(inputFile.toString())
+          .withOutputTarget("memory-test")
+          .build();
+
+      assertThat(context.outputTarget()).isNull();
+      assertThat(context.outputSink()).isSameAs(factory);
+    } finally {
+      OutputSinkRegistry.unregister("memory-test");
+    }
+  }
+
+  @Test
+  void buildWithCharacterClass_configuresTask() throws Exception {
+    Path inputFile = Files.createFile(tempDir.resolve("input.txt"));
+
+    ParseContext context = ParseContext.builder()
+        .withParseTask("remove-chars")
+        .withCharacterClass(" [:vowels:]")
+        .withInputFile(inputFile.toString())
+        .build();
+
+    assertThat(context.taskName()).isEqualTo("remove-chars");
+    assertThat(context.taskParameters().characterClass())
+        .isEqualTo(CharacterClass.compile("aeiou "));
+    assertThat(context.parseTask().execute("Slow bike")).isEqualTo("Slwbk");
+  }
+
+  @Test
+  void buildCharacterClassTaskWithoutClassThrowsException() throws Exception {
+    Path inputFile = Files.createFile(tempDir.resolve("input.txt"));
+
+    assertThatThrownBy(() ->
+        ParseContext.builder()
+            .withParseTask("remove-vowels,count-chars")
+            .withInputFile(inputFile.toString())
+            .build()
+    )
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("A character class is required for task count-chars");
+  }
+
+  @Test
+  void buildInvalidCharacterClassPropagatesValidatorException() throws Exception {
+    Path inputFile = Files.createFile(tempDir.resolve("input.txt"));
+
+    assertThatThrownBy(() ->
+        ParseContext.builder()
+            .withParseTask("remove-chars")
+            .withCharacterClass("z-a")
+            .withInputFile(inputFile.toString())
+            .build()
+    )
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Invalid character class");
+  }
+
+  @Test
+  void buildWithPhraseAndCaseMode_configuresTask() throws Exception {
+    Path inputFile = Files.createFile(tempDir.resolve("input.txt"));
+
+    ParseContext context = ParseContext.builder()
+        .withParseTask("count-phrase")
+        .withPhrase("fast car")
+        .withCaseMode("sensitive")
+        .withInputFile(inputFile.toString())
+        .build();
+
+    assertThat(context.taskName()).isEqualTo("count-phrase");
+    assertThat(context.taskParameters().phrase()).isEqualTo("fast car");
+    assertThat(context.taskParameters().caseMode()).isEqualTo(CaseMode.SENSITIVE);
+    assertThat(context.parseTask().execute("fast car Fast car fast car")).isEqualTo("2");
+  }
+
+  @Test
+  void buildPhraseTaskWithoutPhraseThrowsException() throws Exception {
+    Path inputFile = Files.createFile(tempDir.resolve("input.txt"));
+
+    assertThatThrownBy(() ->
+        ParseContext.builder()
+            .withParseTask("count-phrase")
+            .withInputFile(inputFile.toString())
+            .build()
+    )
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("A phrase is required for task count-phrase");
+  }
+
+  @Test
+  void buildWithTaskParameters_usesParametersAsGiven() throws Exception {
+    Path inputFile = Files.createFile(tempDir.resolve("input.txt"));
+    TaskParameters parameters = new TaskParameters(null, "bike", null);
+
+    ParseContext context = ParseContext.builder()
+        .withParseTask("count-phrase")
+        .withTaskParameters(parameters)
+        .withInputFile(inputFile.toString())
+        .build();
+
+    assertThat(context.taskParameters()).isSameAs(parameters);
+  }
 }
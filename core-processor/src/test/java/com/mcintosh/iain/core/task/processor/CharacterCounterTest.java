@@ -1,8 +1,11 @@
 package com.mcintosh.iain.core.task.processor;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.util.CharacterClass;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
@@ -139,4 +142,82 @@ class CharacterCounterTest {
         'c', 1
     ));
   }
+
+  @Test
+  void countChunks_accumulatesAcrossChunks() {
+    CharacterCounter.Counter counter =
+        CharacterCounter.counter(Set.of('a', 'B'), CaseMode.INSENSITIVE);
+    char[] input = "aAbBcC".toCharArray();
+
+    counter.count(input, 0, 3);
+    counter.count(input, 3, 3);
+
+    assertThat(counter.counts()).containsExactlyInAnyOrderEntriesOf(Map.of(
+        'a', 2L,
+        'b', 2L
+    ));
+  }
+
+  @Test
+  void countChunks_charactersAboveHighestCounted_areIgnored() {
+    CharacterCounter.Counter counter =
+        CharacterCounter.counter(Set.of('b', 'é'), CaseMode.INSENSITIVE);
+    char[] input = "abcÉé€".toCharArray();
+
+    counter.count(input, 0, input.length);
+
+    assertThat(counter.counts()).containsExactlyInAnyOrderEntriesOf(Map.of(
+        'b', 1L,
+        'é', 2L
+    ));
+  }
+
+  @Test
+  void countChunks_characterClass_countsEveryCharacterOfClass() {
+    CharacterCounter.Counter counter =
+        CharacterCounter.counter(CharacterClass.compile("А-Я"), CaseMode.INSENSITIVE);
+    char[] input = "Медленный велосипед".toCharArray();
+
+    counter.count(input, 0, input.length);
+
+    assertThat(counter.counts()).hasSize(32).containsEntry('е', 4L).containsEntry('ы', 1L)
+        .containsEntry('я', 0L);
+  }
+
+  @Test
+  void countAscii_matchesCountOfDecodedCharacters() {
+    String input = "Bubble bath, BOB!";
+    CharacterCounter.Counter bytes = CharacterCounter.counter(Set.of('b', 't'), CaseMode.SENSITIVE);
+    CharacterCounter.Counter chars = CharacterCounter.counter(Set.of('b', 't'), CaseMode.SENSITIVE);
+
+    bytes.countAscii(input.getBytes(StandardCharsets.US_ASCII), 0, input.length());
+    chars.count(input.toCharArray(), 0, input.length());
+
+    assertThat(bytes.counts()).isEqualTo(chars.counts()).containsEntry('b', 3L);
+  }
+
+  @Test
+  void merge_addsCountsOfOtherCounter() {
+    CharacterCounter.Counter first =
+        CharacterCounter.counter(Set.of('a', 'b'), CaseMode.INSENSITIVE);
+    CharacterCounter.Counter second =
+        CharacterCounter.counter(Set.of('b', 'a'), CaseMode.INSENSITIVE);
+    first.count("aab".toCharArray(), 0, 3);
+    second.count("ABB".toCharArray(), 0, 3);
+
+    first.merge(second);
+
+    assertThat(first.counts()).containsExactlyInAnyOrderEntriesOf(Map.of(
+        'a', 3L,
+        'b', 3L
+    ));
+  }
+
+  @Test
+  void merge_differentCharacters_throwsException() {
+    CharacterCounter.Counter first = CharacterCounter.counter(Set.of('a'), CaseMode.INSENSITIVE);
+    CharacterCounter.Counter second = CharacterCounter.counter(Set.of('a'), CaseMode.SENSITIVE);
+
+    assertThatThrownBy(() -> first.merge(second)).isInstanceOf(IllegalArgumentException.class);
+  }
 }
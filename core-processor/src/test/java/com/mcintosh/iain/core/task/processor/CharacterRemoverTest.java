@@ -3,6 +3,7 @@ package com.mcintosh.iain.core.task.processor;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.util.CharacterClass;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 
@@ -83,4 +84,43 @@ class CharacterRemoverTest {
     assertThat(result).isEqualTo(input);
   }
 
+  @Test
+  void executeChunk_writesRetainedCharactersToDestination() {
+    char[] input = "xxBaNaNaxx".toCharArray();
+    char[] dest = new char[6];
+
+    int written = CharacterRemover.execute(input, 2, 6, dest, Set.of('a'), CaseMode.INSENSITIVE);
+
+    assertThat(new String(dest, 0, written)).isEqualTo("BNN");
+  }
+
+  @Test
+  void executeChunk_preservesWhitespaceOnlyInput() {
+    char[] input = "  \n".toCharArray();
+    char[] dest = new char[3];
+
+    int written = CharacterRemover.execute(input, 0, 3, dest, Set.of('a'), CaseMode.INSENSITIVE);
+
+    assertThat(new String(dest, 0, written)).isEqualTo("  \n");
+  }
+
+  @Test
+  void removesCharactersOfClass_caseInsensitive() {
+    String result = CharacterRemover.execute(
+        "Ἀθῆναι, Αθήνα", CharacterClass.compile("\\p{Greek}"), CaseMode.INSENSITIVE);
+
+    assertThat(result).isEqualTo(", ");
+  }
+
+  @Test
+  void executeChunk_remover_removesCharactersOfClass() {
+    CharacterRemover.Remover remover =
+        CharacterRemover.remover(CharacterClass.compile("à-ÿ"), CaseMode.INSENSITIVE);
+    char[] input = "Crème BRÛLÉE".toCharArray();
+    char[] dest = new char[input.length];
+
+    int written = remover.execute(input, 0, input.length, dest);
+
+    assertThat(new String(dest, 0, written)).isEqualTo("Crme BRLE");
+  }
 }
@@ -0,0 +1,212 @@
+package com.mcintosh.iain.core.task.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.util.Alphabet;
+import com.mcintosh.iain.core.util.CharacterClass;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntSupplier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Guards the allocation of the processor hot loops, by measuring the bytes allocated by the
+ * current thread for a single call.
+ * <p>
+ * Each call may allocate a fixed amount, such as a lookup table or the map of counts returned,
+ * plus its output, but nothing that grows with the length of the input. Inputs are long enough,
+ * and contain enough non-ASCII characters and repeated matches, that boxing a character or a
+ * count per input character would exceed the budgets many times over.
+ * </p>
+ */
+class ProcessorAllocationTest {
+
+  private static final int INPUT_LENGTH = 1 << 20;
+  private static final int MEASUREMENTS = 5;
+
+  /**
+   * Bytes a call over a {@code String} may allocate for lookup tables and its result.
+   */
+  private static final long CALL_BUDGET = 8 * 1024;
+
+  /**
+   * Bytes a call may allocate for each character of output, allowing for a {@link StringBuilder}
+   * growing from empty with two bytes per character, and the copy made by {@code toString()}.
+   */
+  private static final long OUTPUT_BUDGET_PER_CHAR = 8;
+
+  private static final String PROSE = repeat(
+      "Some slow bike riders ride slowly, though the slow bik sign says otherwise. ");
+  private static final String NON_LATIN = repeat(
+      "Το γρήγορο ποδήλατο περνά. Медленный велосипед едет по улице. ");
+  private static final String CONSONANTS = repeat("bcdfghjklmnpqrstvwxyz");
+
+  private static com.sun.management.ThreadMXBean threads;
+
+  @BeforeAll
+  static void enableAllocationMeasurement() {
+    threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    threads.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  @ParameterizedTest
+  @EnumSource(CaseMode.class)
+  void characterCounter_count_allocatesFixedAmount(CaseMode caseMode) {
+    for (String input : new String[] {PROSE, NON_LATIN, CONSONANTS}) {
+      long allocated = allocatedBytes(
+          () -> CharacterCounter.count(input, Alphabet.getConsonants(), caseMode).size());
+
+      assertThat(allocated).isLessThanOrEqualTo(CALL_BUDGET);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(CaseMode.class)
+  void characterCounter_countChunk_allocatesNothing(CaseMode caseMode) {
+    CharacterCounter.Counter counter = CharacterCounter.counter(Alphabet.getConsonants(), caseMode);
+
+    for (String input : new String[] {PROSE, NON_LATIN, CONSONANTS}) {
+      char[] chunk = input.toCharArray();
+      long allocated = allocatedBytes(() -> {
+        counter.count(chunk, 0, chunk.length);
+        return 0;
+      });
+
+      assertThat(allocated).isZero();
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(CaseMode.class)
+  void characterCounter_countAscii_allocatesNothing(CaseMode caseMode) {
+    CharacterCounter.Counter counter = CharacterCounter.counter(Alphabet.getConsonants(), caseMode);
+    byte[] chunk = PROSE.getBytes(StandardCharsets.US_ASCII);
+
+    long allocated = allocatedBytes(() -> {
+      counter.countAscii(chunk, 0, chunk.length);
+      return 0;
+    });
+
+    assertThat(allocated).isZero();
+  }
+
+  @ParameterizedTest
+  @EnumSource(CaseMode.class)
+  void characterRemover_execute_allocatesOnlyForOutput(CaseMode caseMode) {
+    for (String input : new String[] {PROSE, NON_LATIN, CONSONANTS}) {
+      int outputLength = CharacterRemover.execute(input, Alphabet.getVowels(), caseMode).length();
+      long allocated = allocatedBytes(
+          () -> CharacterRemover.execute(input, Alphabet.getVowels(), caseMode).length());
+
+      assertThat(allocated)
+          .isLessThanOrEqualTo(CALL_BUDGET + OUTPUT_BUDGET_PER_CHAR * outputLength);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(CaseMode.class)
+  void characterRemover_executeChunk_allocatesNothing(CaseMode caseMode) {
+    CharacterRemover.Remover remover = CharacterRemover.remover(Alphabet.getVowels(), caseMode);
+
+    for (String input : new String[] {PROSE, NON_LATIN, CONSONANTS}) {
+      char[] chunk = input.toCharArray();
+      char[] dest = new char[chunk.length];
+      long allocated = allocatedBytes(() -> remover.execute(chunk, 0, chunk.length, dest));
+
+      assertThat(allocated).isZero();
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(CaseMode.class)
+  void characterRemover_executeChunkWithCharacterClass_allocatesNothing(CaseMode caseMode) {
+    CharacterRemover.Remover remover = CharacterRemover.remover(
+        CharacterClass.compile("\\p{Greek}\\p{Cyrillic}"), caseMode);
+
+    for (String input : new String[] {PROSE, NON_LATIN, CONSONANTS}) {
+      char[] chunk = input.toCharArray();
+      char[] dest = new char[chunk.length];
+      long allocated = allocatedBytes(() -> remover.execute(chunk, 0, chunk.length, dest));
+
+      assertThat(allocated).isZero();
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(CaseMode.class)
+  void stringCounter_execute_allocatesFixedAmount(CaseMode caseMode) {
+    for (String input : new String[] {PROSE, NON_LATIN, CONSONANTS}) {
+      long allocated = allocatedBytes(() -> StringCounter.execute(input, "slow bike", caseMode));
+
+      assertThat(allocated).isLessThanOrEqualTo(CALL_BUDGET);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(CaseMode.class)
+  void stringCounter_matcherCount_allocatesNothing(CaseMode caseMode) {
+    StringCounter.Matcher matcher = StringCounter.matcher("slow bike", caseMode);
+
+    for (String input : new String[] {PROSE, NON_LATIN, CONSONANTS}) {
+      char[] chunk = input.toCharArray();
+      long allocated = allocatedBytes(() -> {
+        matcher.count(chunk, 0, chunk.length);
+        return 0;
+      });
+
+      assertThat(allocated).isZero();
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(CaseMode.class)
+  void stringCounter_matcherCountAscii_allocatesNothing(CaseMode caseMode) {
+    StringCounter.Matcher matcher = StringCounter.matcher("slow bike", caseMode);
+    byte[] chunk = PROSE.getBytes(StandardCharsets.US_ASCII);
+
+    long allocated = allocatedBytes(() -> {
+      matcher.countAscii(chunk, 0, chunk.length);
+      return 0;
+    });
+
+    assertThat(allocated).isZero();
+  }
+
+  @Test
+  void allocatedBytes_perCharacterBoxing_exceedsBudget() {
+    // Shows the measurement would catch the boxing these tests guard against
+    long allocated = allocatedBytes(() -> {
+      Integer count = 0;
+      for (int i = 0; i < NON_LATIN.length(); i++) {
+        if (Character.valueOf(NON_LATIN.charAt(i)).hashCode() > 127) {
+          count++;
+        }
+      }
+      return count;
+    });
+
+    assertThat(allocated).isGreaterThan(CALL_BUDGET);
+  }
+
+  /**
+   * Returns the fewest bytes allocated by any of several calls, so that a one-off allocation,
+   * such as loading a class on the first call, is not counted.
+   */
+  private static long allocatedBytes(IntSupplier call) {
+    long fewest = Long.MAX_VALUE;
+    for (int i = 0; i < MEASUREMENTS; i++) {
+      long before = threads.getCurrentThreadAllocatedBytes();
+      call.getAsInt();
+      fewest = Math.min(fewest, threads.getCurrentThreadAllocatedBytes() - before);
+    }
+    return fewest;
+  }
+
+  private static String repeat(String text) {
+    return text.repeat(INPUT_LENGTH / text.length() + 1).substring(0, INPUT_LENGTH);
+  }
+}
@@ -1,8 +1,10 @@
 package com.mcintosh.iain.core.task.processor;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
 import com.mcintosh.iain.core.task.enums.CaseMode;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 
 class StringCounterTest {
@@ -64,4 +66,101 @@ class StringCounterTest {
 
     assertThat(result).isEqualTo(1);
   }
+
+  @Test
+  void matcher_countsOccurrencesSplitAcrossChunks() {
+    StringCounter.Matcher matcher = StringCounter.matcher("slow bike", CaseMode.INSENSITIVE);
+    char[] input = "a Slow bike and a slow BIKE".toCharArray();
+
+    matcher.count(input, 0, 6);
+    matcher.count(input, 6, 15);
+    matcher.count(input, 21, input.length - 21);
+
+    assertThat(matcher.count()).isEqualTo(2);
+  }
+
+  @Test
+  void matcher_countsOverlappingOccurrences() {
+    StringCounter.Matcher matcher = StringCounter.matcher("aa", CaseMode.SENSITIVE);
+    char[] input = "aaaa".toCharArray();
+
+    matcher.count(input, 0, input.length);
+
+    assertThat(matcher.count())
+        .isEqualTo(StringCounter.execute("aaaa", "aa", CaseMode.SENSITIVE))
+        .isEqualTo(3);
+  }
+
+  @Test
+  void matcher_partialMatchFallsBackCorrectly() {
+    StringCounter.Matcher matcher = StringCounter.matcher("slow bike", CaseMode.INSENSITIVE);
+    char[] input = "slow slow bik slow bike".toCharArray();
+
+    matcher.count(input, 0, input.length);
+
+    assertThat(matcher.count()).isEqualTo(1);
+  }
+
+  @Test
+  void matcher_blankSearchValueCountsNothing() {
+    StringCounter.Matcher matcher = StringCounter.matcher(" ", CaseMode.INSENSITIVE);
+    char[] input = "a b c".toCharArray();
+
+    matcher.count(input, 0, input.length);
+
+    assertThat(matcher.count()).isZero();
+  }
+
+  @Test
+  void matcher_countAscii_countsOccurrencesSplitAcrossByteAndCharChunks() {
+    StringCounter.Matcher matcher = StringCounter.matcher("slow bike", CaseMode.INSENSITIVE);
+    byte[] ascii = "a SLOW bi".getBytes(StandardCharsets.US_ASCII);
+    char[] decoded = "ke, slöw bike".toCharArray();
+
+    matcher.countAscii(ascii, 0, ascii.length);
+    matcher.count(decoded, 0, decoded.length);
+
+    assertThat(matcher.count()).isEqualTo(1);
+  }
+
+  @Test
+  void matcher_merge_addsCountOfOtherMatcher() {
+    StringCounter.Matcher first = StringCounter.matcher("bike", CaseMode.INSENSITIVE);
+    StringCounter.Matcher second = StringCounter.matcher("bike", CaseMode.INSENSITIVE);
+    first.count("bike bike".toCharArray(), 0, 9);
+    second.count("BIKE".toCharArray(), 0, 4);
+
+    first.merge(second);
+
+    assertThat(first.count()).isEqualTo(3);
+  }
+
+  @Test
+  void matcher_mergeDifferentPattern_throwsException() {
+    StringCounter.Matcher first = StringCounter.matcher("bike", CaseMode.INSENSITIVE);
+    StringCounter.Matcher second = StringCounter.matcher("slow", CaseMode.INSENSITIVE);
+
+    assertThatThrownBy(() -> first.merge(second)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void compile_samePhraseAndCaseMode_returnsCachedPhrase() {
+    StringCounter.Phrase first = StringCounter.compile("fast car", CaseMode.INSENSITIVE);
+
+    assertThat(StringCounter.compile("fast car", CaseMode.INSENSITIVE)).isSameAs(first);
+    assertThat(StringCounter.compile("fast car", CaseMode.SENSITIVE)).isNotSameAs(first);
+  }
+
+  @Test
+  void compile_matchersOfSamePhrase_countIndependently() {
+    StringCounter.Phrase phrase = StringCounter.compile("car", CaseMode.INSENSITIVE);
+    StringCounter.Matcher first = phrase.matcher();
+    StringCounter.Matcher second = phrase.matcher();
+
+    first.count("car CAR".toCharArray(), 0, 7);
+    second.count("ca".toCharArray(), 0, 2);
+
+    assertThat(first.count()).isEqualTo(2);
+    assertThat(second.count()).isEqualTo(0);
+  }
 }
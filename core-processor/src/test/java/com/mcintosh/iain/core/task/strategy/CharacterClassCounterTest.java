@@ -0,0 +1,75 @@
+package com.mcintosh.iain.core.task.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mcintosh.iain.core.output.MemorySink;
+import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.util.CharacterClass;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class CharacterClassCounterTest {
+
+  private final ParseTask counter = new CharacterClassCounter()
+      .withParameters(new TaskParameters(CharacterClass.compile("αεηιουωά"), null, null));
+
+  @Test
+  void execute_countsCharactersOfClass_caseInsensitiveByDefault() {
+    String json = counter.execute("Καλημέρα ΑΘΗΝΑ");
+
+    assertThat(json).contains("\"α\": 4", "\"η\": 2", "\"ε\": 0", "\"ά\": 0");
+  }
+
+  @Test
+  void execute_countsCharactersOfClass_caseSensitive() {
+    String json = ((CharacterClassCounter) counter).execute("Καλημέρα ΑΘΗΝΑ", CaseMode.SENSITIVE);
+
+    assertThat(json).contains("\"α\": 2", "\"η\": 1");
+    assertThat(json).doesNotContain("Α");
+  }
+
+  @Test
+  void execute_ordersCountsByCharacter() {
+    String json = counter.execute("");
+
+    assertThat(json.indexOf("\"ά\"")).isLessThan(json.indexOf("\"α\""));
+    assertThat(json.indexOf("\"α\"")).isLessThan(json.indexOf("\"ω\""));
+  }
+
+  @Test
+  void openStream_mergedPartsMatchSingleStream() throws Exception {
+    ParseTask asciiCounter = new CharacterClassCounter()
+        .withParameters(new TaskParameters(CharacterClass.compile("a-e"), null, null));
+    byte[] ascii = "A bad decade".getBytes(StandardCharsets.US_ASCII);
+    char[] decoded = "cab".toCharArray();
+
+    MemorySink sink = new MemorySink();
+    TaskStream stream = asciiCounter.openStream(sink);
+    TaskStream other = asciiCounter.openStream(new MemorySink());
+    stream.acceptAscii(ascii, 0, ascii.length);
+    other.accept(decoded, 0, decoded.length);
+    stream.merge(other);
+    stream.finish();
+
+    assertThat(sink.contents()).isEqualTo(asciiCounter.execute("A bad decadecab"));
+    assertThat(stream.runningCounts()).containsEntry("a", 4L).containsEntry("d", 3L);
+  }
+
+  @Test
+  void capabilities_classWithLineTerminator_isNotByteLevel() {
+    ParseTask lineCounter = new CharacterClassCounter()
+        .withParameters(new TaskParameters(CharacterClass.compile("\n"), null, null));
+
+    assertThat(counter.capabilities().byteLevel()).isTrue();
+    assertThat(lineCounter.capabilities().byteLevel()).isFalse();
+    assertThat(lineCounter.capabilities().splittable()).isTrue();
+  }
+
+  @Test
+  void withParameters_withoutCharacterClass_throwsException() {
+    assertThatThrownBy(() -> new CharacterClassCounter().withParameters(TaskParameters.NONE))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("A character class is required for task count-chars");
+  }
+}
@@ -0,0 +1,73 @@
+package com.mcintosh.iain.core.task.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mcintosh.iain.core.output.MemorySink;
+import com.mcintosh.iain.core.task.enums.CaseMode;
+import com.mcintosh.iain.core.util.CharacterClass;
+import org.junit.jupiter.api.Test;
+
+class CharacterClassRemoverTest {
+
+  private final ParseTask remover = new CharacterClassRemover()
+      .withParameters(new TaskParameters(CharacterClass.compile("[:vowels:]àéèù"), null, null));
+
+  @Test
+  void execute_removesCharactersOfClass_caseInsensitiveByDefault() {
+    assertThat(remover.execute("Où est le café")).isEqualTo(" st l cf");
+  }
+
+  @Test
+  void execute_removesCharactersOfClass_caseSensitive() {
+    CharacterClassRemover caseSensitive = (CharacterClassRemover) remover;
+
+    assertThat(caseSensitive.execute("OÙ est", CaseMode.SENSITIVE)).isEqualTo("OÙ st");
+  }
+
+  @Test
+  void withParameters_caseModeSensitive_removesOnlyMatchingCase() {
+    ParseTask caseSensitive = new CharacterClassRemover().withParameters(
+        new TaskParameters(CharacterClass.compile("[:vowels:]"), null, CaseMode.SENSITIVE));
+
+    assertThat(caseSensitive.execute("AbE aBe")).isEqualTo("AbE B");
+  }
+
+  @Test
+  void execute_removesScript() {
+    ParseTask greekRemover = new CharacterClassRemover()
+        .withParameters(new TaskParameters(CharacterClass.compile("\\p{Greek}"), null, null));
+
+    assertThat(greekRemover.execute("bike ποδήλατο велосипед"))
+        .isEqualTo("bike  велосипед");
+  }
+
+  @Test
+  void openStream_removesCharactersChunkByChunk() throws Exception {
+    MemorySink sink = new MemorySink();
+    TaskStream stream = remover.openStream(sink);
+    char[] input = "Été à vélo".toCharArray();
+
+    stream.accept(input, 0, 4);
+    assertThat(sink.contents()).isEqualTo("t ");
+
+    stream.accept(input, 4, input.length - 4);
+    stream.finish();
+
+    assertThat(sink.contents()).isEqualTo("t  vl");
+  }
+
+  @Test
+  void withParameters_withoutCharacterClass_throwsException() {
+    assertThatThrownBy(() -> new CharacterClassRemover().withParameters(TaskParameters.NONE))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("A character class is required for task remove-chars");
+  }
+
+  @Test
+  void execute_notConfigured_throwsException() {
+    assertThatThrownBy(() -> new CharacterClassRemover().execute("input"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("A character class is required for task remove-chars");
+  }
+}
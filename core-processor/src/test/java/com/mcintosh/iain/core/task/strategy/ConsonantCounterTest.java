@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.mcintosh.iain.core.task.enums.CaseMode;
 import com.mcintosh.iain.core.util.Alphabet;
 import org.junit.jupiter.api.Test;
+import com.mcintosh.iain.core.output.MemorySink;
 
 class ConsonantCounterTest {
 
@@ -88,4 +89,19 @@ class ConsonantCounterTest {
         .contains("\"b\": 1", "\"c\": 1", "\"d\": 1")
         .doesNotContain("\"B\"", "\"C\"", "\"D\"");
   }
+
+  @Test
+  void openStream_matchesWholeStringResult() throws Exception {
+    String input = "Hello World! bBcCdD";
+    MemorySink sink = new MemorySink();
+    TaskStream stream = counter.openStream(sink);
+    char[] chars = input.toCharArray();
+
+    stream.accept(chars, 0, 7);
+    stream.accept(chars, 7, chars.length - 7);
+    assertThat(sink.contents()).isEmpty();
+
+    stream.finish();
+    assertThat(sink.contents()).isEqualTo(counter.execute(input));
+  }
 }
@@ -0,0 +1,79 @@
+package com.mcintosh.iain.core.task.strategy;
+
+import com.mcintosh.iain.core.output.OutputSink;
+import com.mcintosh.iain.core.task.enums.OutputSize;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the ASCII digits in its input. Registered through {@link Provider} as a plugin task
+ * for the tests, as {@code count-digits}.
+ */
+public final class DigitCounter implements ParseTask {
+
+  static final String NAME = "count-digits";
+
+  @Override
+  public String execute(String input) {
+    return String.valueOf(input.chars().filter(c -> c >= '0' && c <= '9').count());
+  }
+
+  @Override
+  public TaskCapabilities capabilities() {
+    return new TaskCapabilities(true, true, true, OutputSize.BOUNDED);
+  }
+
+  @Override
+  public TaskStream openStream(OutputSink sink) {
+    return new Stream(sink);
+  }
+
+  public static final class Provider implements ParseTaskProvider {
+    @Override
+    public String name() {
+      return NAME;
+    }
+
+    @Override
+    public ParseTask create() {
+      return new DigitCounter();
+    }
+  }
+
+  /**
+   * Relies on the default {@link TaskStream#acceptAscii}, as a plugin written before byte
+   * level input existed would.
+   */
+  private static final class Stream implements TaskStream {
+    private final OutputSink sink;
+    private long count;
+
+    private Stream(OutputSink sink) {
+      this.sink = sink;
+    }
+
+    @Override
+    public void accept(char[] chunk, int offset, int length) {
+      for (int i = offset; i < offset + length; i++) {
+        if (chunk[i] >= '0' && chunk[i] <= '9') {
+          count++;
+        }
+      }
+    }
+
+    @Override
+    public void finish() throws IOException {
+      sink.write(String.valueOf(count));
+    }
+
+    @Override
+    public Map<String, Long> runningCounts() {
+      return Map.of("digits", count);
+    }
+
+    @Override
+    public void merge(TaskStream other) {
+      count += ((Stream) other).count;
+    }
+  }
+}
@@ -2,6 +2,7 @@ package com.mcintosh.iain.core.task.strategy;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.mcintosh.iain.core.task.enums.OutputSize;
 import com.mcintosh.iain.core.task.enums.ParseTaskType;
 import org.junit.jupiter.api.Test;
 
@@ -24,4 +25,54 @@ public class ParseTaskRegistryTest {
     ParseTask strategy = ParseTaskRegistry.getStrategy(ParseTaskType.COUNT_SLOW_BIKE);
     assertThat(strategy).isInstanceOf(SlowBikeCounter.class);
   }
+
+  @Test
+  void getStrategy_builtInName_returnsSameTaskAsType() {
+    assertThat(ParseTaskRegistry.getStrategy("count-slow-bike"))
+        .isSameAs(ParseTaskRegistry.getStrategy(ParseTaskType.COUNT_SLOW_BIKE));
+  }
+
+  @Test
+  void getStrategy_providedName_returnsTaskFromProvider() {
+    assertThat(ParseTaskRegistry.getStrategy("count-digits")).isInstanceOf(DigitCounter.class);
+  }
+
+  @Test
+  void getStrategy_parameterisedTasks_registeredByCoreProviders() {
+    assertThat(ParseTaskRegistry.getStrategy("remove-chars"))
+        .isInstanceOf(CharacterClassRemover.class);
+    assertThat(ParseTaskRegistry.getStrategy("count-chars"))
+        .isInstanceOf(CharacterClassCounter.class);
+    assertThat(ParseTaskRegistry.getStrategy("count-phrase")).isInstanceOf(PhraseCounter.class);
+  }
+
+  @Test
+  void getStrategy_unknownName_returnsNull() {
+    assertThat(ParseTaskRegistry.getStrategy("count-words")).isNull();
+  }
+
+  @Test
+  void resolve_differentCase_returnsRegisteredName() {
+    assertThat(ParseTaskRegistry.resolve(" Count-Digits ")).contains("count-digits");
+    assertThat(ParseTaskRegistry.resolve("REMOVE-VOWELS")).contains("remove-vowels");
+    assertThat(ParseTaskRegistry.resolve("count-words")).isEmpty();
+    assertThat(ParseTaskRegistry.resolve(null)).isEmpty();
+  }
+
+  @Test
+  void taskNames_listsBuiltInTasksBeforeProvidedTasks() {
+    assertThat(ParseTaskRegistry.taskNames())
+        .containsExactly("remove-vowels", "count-consonants", "count-slow-bike", "count-chars",
+            "count-digits", "count-phrase", "remove-chars");
+  }
+
+  @Test
+  void capabilities_builtInTasks_matchWhatTheirStreamsSupport() {
+    assertThat(ParseTaskRegistry.getStrategy(ParseTaskType.REMOVE_VOWELS).capabilities())
+        .isEqualTo(new TaskCapabilities(true, false, false, OutputSize.PROPORTIONAL));
+    assertThat(ParseTaskRegistry.getStrategy(ParseTaskType.COUNT_CONSONANTS).hasBoundedOutput())
+        .isTrue();
+    assertThat(ParseTaskRegistry.getStrategy(ParseTaskType.COUNT_SLOW_BIKE).capabilities()
+        .byteLevel()).isTrue();
+  }
 }
@@ -0,0 +1,82 @@
+package com.mcintosh.iain.core.task.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mcintosh.iain.core.output.MemorySink;
+import com.mcintosh.iain.core.task.enums.CaseMode;
+import org.junit.jupiter.api.Test;
+
+class PhraseCounterTest {
+
+  private final ParseTask counter = new PhraseCounter()
+      .withParameters(new TaskParameters(null, "fast car", null));
+
+  @Test
+  void execute_countsOccurrences_caseInsensitiveByDefault() {
+    assertThat(counter.execute("fast car Fast CarFAST CAR")).isEqualTo("3");
+  }
+
+  @Test
+  void execute_countsOccurrences_withCaseModeSensitive() {
+    ParseTask caseSensitive = new PhraseCounter()
+        .withParameters(new TaskParameters(null, "fast car", CaseMode.SENSITIVE));
+
+    assertThat(caseSensitive.execute("fast car, Fast car, fast car")).isEqualTo("2");
+  }
+
+  @Test
+  void execute_countsNonAsciiPhrase() {
+    ParseTask greek = new PhraseCounter()
+        .withParameters(new TaskParameters(null, "ποδήλατο", null));
+
+    assertThat(greek.execute("Ποδήλατο και ΠΟΔΉΛΑΤΟ")).isEqualTo("2");
+  }
+
+  @Test
+  void openStream_countsOccurrencesSplitAcrossByteAndCharChunks() throws Exception {
+    MemorySink sink = new MemorySink();
+    TaskStream stream = counter.openStream(sink);
+    char[] chars = "car fast".toCharArray();
+
+    stream.acceptAscii("fast ".getBytes(), 0, 5);
+    stream.accept(chars, 0, chars.length);
+    stream.acceptAscii(" car".getBytes(), 0, 4);
+    stream.finish();
+
+    assertThat(sink.contents()).isEqualTo("2");
+    assertThat(stream.runningCounts()).containsEntry("fast car", 2L);
+  }
+
+  @Test
+  void capabilities_phraseWithLineBreak_notSplittableOrByteLevel() {
+    ParseTask multiline = new PhraseCounter()
+        .withParameters(new TaskParameters(null, "fast\ncar", null));
+
+    assertThat(counter.capabilities().splittable()).isTrue();
+    assertThat(multiline.capabilities().splittable()).isFalse();
+    assertThat(multiline.capabilities().byteLevel()).isFalse();
+  }
+
+  @Test
+  void withParameters_withoutPhrase_throwsException() {
+    assertThatThrownBy(() -> new PhraseCounter().withParameters(TaskParameters.NONE))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("A phrase is required for task count-phrase");
+  }
+
+  @Test
+  void withParameters_blankPhrase_throwsException() {
+    assertThatThrownBy(() -> new PhraseCounter()
+        .withParameters(new TaskParameters(null, "  ", null)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("A phrase is required for task count-phrase");
+  }
+
+  @Test
+  void execute_notConfigured_throwsException() {
+    assertThatThrownBy(() -> new PhraseCounter().execute("input"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("A phrase is required for task count-phrase");
+  }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 import com.mcintosh.iain.core.task.enums.CaseMode;
 import org.junit.jupiter.api.Test;
+import com.mcintosh.iain.core.output.MemorySink;
 
 class SlowBikeCounterTest {
 
@@ -47,4 +48,17 @@ class SlowBikeCounterTest {
     assertThat(result).isEqualTo("1");
   }
 
+  @Test
+  void openStream_countsOccurrencesSplitAcrossChunks() throws Exception {
+    MemorySink sink = new MemorySink();
+    TaskStream stream = counter.openStream(sink);
+    char[] input = "slow bike Slow BikeSLOW BIKE".toCharArray();
+
+    stream.accept(input, 0, 7);
+    stream.accept(input, 7, 10);
+    stream.accept(input, 17, input.length - 17);
+    stream.finish();
+
+    assertThat(sink.contents()).isEqualTo("3");
+  }
 }
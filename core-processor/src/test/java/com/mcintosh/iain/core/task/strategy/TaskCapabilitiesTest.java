@@ -0,0 +1,27 @@
+package com.mcintosh.iain.core.task.strategy;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mcintosh.iain.core.task.enums.OutputSize;
+import org.junit.jupiter.api.Test;
+
+class TaskCapabilitiesTest {
+
+  @Test
+  void constructor_splittableButNotStreamable_throwsException() {
+    assertThatThrownBy(() -> new TaskCapabilities(false, true, false, OutputSize.BOUNDED))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void constructor_byteLevelButNotStreamable_throwsException() {
+    assertThatThrownBy(() -> new TaskCapabilities(false, false, true, OutputSize.BOUNDED))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void constructor_nullOutputSize_throwsException() {
+    assertThatThrownBy(() -> new TaskCapabilities(true, false, false, null))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
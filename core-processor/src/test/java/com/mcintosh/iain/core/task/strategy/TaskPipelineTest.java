@@ -0,0 +1,75 @@
+package com.mcintosh.iain.core.task.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mcintosh.iain.core.output.MemorySink;
+import com.mcintosh.iain.core.task.enums.OutputSize;
+import com.mcintosh.iain.core.task.enums.ParseTaskType;
+import org.junit.jupiter.api.Test;
+
+class TaskPipelineTest {
+
+  @Test
+  void compile_singleTask_returnsRegisteredTask() {
+    assertThat(TaskPipeline.compile("count-consonants"))
+        .isSameAs(ParseTaskRegistry.getStrategy(ParseTaskType.COUNT_CONSONANTS));
+  }
+
+  @Test
+  void compile_severalTasks_returnsPipelineOfTasks() {
+    ParseTask task = TaskPipeline.compile("remove-vowels,count-slow-bike");
+
+    assertThat(task).isInstanceOfSatisfying(TaskPipeline.class, pipeline ->
+        assertThat(pipeline.stageNames()).containsExactly("remove-vowels", "count-slow-bike"));
+  }
+
+  @Test
+  void compile_countingTaskBeforeLast_throwsException() {
+    assertThatThrownBy(() -> TaskPipeline.compile("count-slow-bike,remove-vowels"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("count-slow-bike");
+  }
+
+  @Test
+  void compile_unknownTask_throwsException() {
+    assertThatThrownBy(() -> TaskPipeline.compile("remove-vowels,count-words"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid parse task");
+  }
+
+  @Test
+  void execute_runsEachTaskOverOutputOfTheLast() {
+    ParseTask pipeline = TaskPipeline.compile("remove-vowels,count-consonants");
+    String input = "A slow bike, a fast bike";
+
+    String expected = ParseTaskRegistry.getStrategy(ParseTaskType.COUNT_CONSONANTS)
+        .execute(ParseTaskRegistry.getStrategy(ParseTaskType.REMOVE_VOWELS).execute(input));
+
+    assertThat(pipeline.execute(input)).isEqualTo(expected);
+  }
+
+  @Test
+  void openStream_chunkedInput_matchesWholeInput() throws Exception {
+    ParseTask pipeline = TaskPipeline.compile("remove-vowels,remove-vowels,count-consonants");
+    char[] input = "A slow bike,\nanother SLOW BIKE".toCharArray();
+    MemorySink sink = new MemorySink();
+
+    TaskStream stream = pipeline.openStream(sink);
+    for (int offset = 0; offset < input.length; offset += 3) {
+      stream.accept(input, offset, Math.min(3, input.length - offset));
+    }
+    stream.finish();
+
+    assertThat(sink.contents())
+        .contains("\"b\": 2")
+        .isEqualTo(pipeline.execute(new String(input)));
+  }
+
+  @Test
+  void capabilities_combinesCapabilitiesOfEveryTask() {
+    assertThat(TaskPipeline.compile("remove-vowels,count-digits").capabilities())
+        .isEqualTo(new TaskCapabilities(true, false, false, OutputSize.BOUNDED));
+    assertThat(TaskPipeline.compile("remove-vowels,remove-vowels").hasBoundedOutput()).isFalse();
+  }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.mcintosh.iain.core.task.enums.CaseMode;
 import org.junit.jupiter.api.Test;
+import com.mcintosh.iain.core.output.MemorySink;
 
 class VowelRemoverTest {
 
@@ -52,4 +53,19 @@ class VowelRemoverTest {
 
     assertThat(result).isEmpty();
   }
+
+  @Test
+  void openStream_removesVowelsChunkByChunk() throws Exception {
+    MemorySink sink = new MemorySink();
+    TaskStream stream = vowelRemover.openStream(sink);
+    char[] input = "Hello World".toCharArray();
+
+    stream.accept(input, 0, 4);
+    assertThat(sink.contents()).isEqualTo("Hll");
+
+    stream.accept(input, 4, input.length - 4);
+    stream.finish();
+
+    assertThat(sink.contents()).isEqualTo("Hll Wrld");
+  }
 }
@@ -0,0 +1,95 @@
+package com.mcintosh.iain.core.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mcintosh.iain.core.CoreProcessor;
+import com.mcintosh.iain.core.output.MemorySink;
+import com.mcintosh.iain.core.task.ParseContext;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.junit5.OpenTelemetryExtension;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+class TracingTest {
+
+  @RegisterExtension
+  static final OpenTelemetryExtension otel = OpenTelemetryExtension.create();
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void process_createsRunSpanWithStageChildren() throws Exception {
+    Path inputFile = Files.writeString(tempDir.resolve("input.txt"), "banana");
+    ParseContext context = ParseContext.builder()
+        .withParseTask("remove-vowels")
+        .withInputFile(inputFile.toString())
+        .build();
+
+    CoreProcessor.process(context, new MemorySink());
+
+    SpanData validate = span("parse.validate");
+    assertThat(validate.getAttributes().get(AttributeKey.stringKey("parse.task")))
+        .isEqualTo("remove-vowels");
+    assertThat(validate.getAttributes().get(AttributeKey.longKey("parse.input.size")))
+        .isEqualTo(6L);
+
+    SpanData process = span("parse.process");
+    assertThat(process.getAttributes().get(AttributeKey.stringKey("parse.task")))
+        .isEqualTo("remove-vowels");
+    assertThat(process.getAttributes().get(AttributeKey.stringKey("parse.engine")))
+        .isEqualTo("streaming");
+    assertThat(process.getAttributes().get(AttributeKey.longKey("parse.input.size")))
+        .isEqualTo(6L);
+
+    for (String stage : List.of("parse.read", "parse.execute", "parse.write")) {
+      SpanData child = span(stage);
+      assertThat(child.getParentSpanId()).isEqualTo(process.getSpanId());
+      assertThat(child.getTraceId()).isEqualTo(process.getTraceId());
+    }
+  }
+
+  @Test
+  void build_withInvalidTask_recordsFailedValidationSpan() {
+    assertThatThrownBy(() -> ParseContext.builder()
+        .withParseTask("not-a-task")
+        .withInputFile(tempDir.toString())
+        .build())
+        .isInstanceOf(IllegalArgumentException.class);
+
+    SpanData validate = span("parse.validate");
+    assertThat(validate.getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+    assertThat(validate.getEvents()).extracting(e -> e.getName()).contains("exception");
+  }
+
+  @Test
+  void wrap_propagatesContextToExecutorThread() throws Exception {
+    try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+      try (TraceSpan parent = Tracing.startSpan("parent")) {
+        executor.submit(Tracing.wrap(() -> {
+          try (TraceSpan child = Tracing.startSpan("child")) {
+            child.setAttribute("thread", Thread.currentThread().getName());
+          }
+        })).get();
+      }
+    }
+
+    assertThat(span("child").getParentSpanId()).isEqualTo(span("parent").getSpanId());
+  }
+
+  private SpanData span(String name) {
+    return otel.getSpans().stream()
+        .filter(span -> span.getName().equals(name))
+        .findFirst()
+        .orElseThrow(() -> new AssertionError("No span named " + name));
+  }
+}
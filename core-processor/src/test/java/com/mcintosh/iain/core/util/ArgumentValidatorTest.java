@@ -3,10 +3,13 @@ package com.mcintosh.iain.core.util;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
+import com.mcintosh.iain.core.task.enums.CaseMode;
 import com.mcintosh.iain.core.task.enums.OutputTarget;
 import com.mcintosh.iain.core.task.enums.ParseTaskType;
+import com.mcintosh.iain.core.task.strategy.TaskParameters;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -59,6 +62,25 @@ class ArgumentValidatorTest {
     assertThat(result).isEqualTo(inputFile);
   }
 
+  @Test
+  void readInputAttributes_returnsFileSize() throws Exception {
+    Path inputFile = Files.writeString(tempDir.resolve("input.txt"), "slow bike");
+
+    BasicFileAttributes attributes = ArgumentValidator.readInputAttributes(inputFile);
+
+    assertThat(attributes.size()).isEqualTo(9);
+    assertThat(attributes.isRegularFile()).isTrue();
+  }
+
+  @Test
+  void readInputAttributes_fileDoesNotExistThrowsException() {
+    assertThatThrownBy(() ->
+        ArgumentValidator.readInputAttributes(tempDir.resolve("missing.txt"))
+    )
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid input file");
+  }
+
   @Test
   void validateOrCreateOutputFile_existingWritableFile() throws Exception {
     Path outputFile = Files.createFile(tempDir.resolve("output.txt"));
@@ -144,4 +166,65 @@ class ArgumentValidatorTest {
 
     assertThat(task).isEqualTo(ParseTaskType.REMOVE_VOWELS);
   }
+
+  @Test
+  void validateTaskName_providedTask_returnsRegisteredName() {
+    String task = ArgumentValidator.validateTaskName(" 'COUNT-DIGITS' ");
+
+    assertThat(task).isEqualTo("count-digits");
+  }
+
+  @Test
+  void validateTaskName_unknownTask_throwsException() {
+    assertThatThrownBy(() ->
+        ArgumentValidator.validateTaskName("count-words")
+    )
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid parse task");
+  }
+
+  @Test
+  void validateTaskName_pipeline_returnsRegisteredNames() {
+    String task = ArgumentValidator.validateTaskName("\"Remove-Vowels , COUNT-DIGITS\"");
+
+    assertThat(task).isEqualTo("remove-vowels,count-digits");
+  }
+
+  @Test
+  void validateTaskName_pipelineWithEmptyStage_throwsException() {
+    assertThatThrownBy(() ->
+        ArgumentValidator.validateTaskName("remove-vowels,")
+    )
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid parse task");
+  }
+
+  @Test
+  void validateCaseMode_trimsAndRemovesQuotes() {
+    assertThat(ArgumentValidator.validateCaseMode(" 'Sensitive' ")).isEqualTo(CaseMode.SENSITIVE);
+  }
+
+  @Test
+  void validateCaseMode_invalidValue_throwsException() {
+    assertThatThrownBy(() ->
+        ArgumentValidator.validateCaseMode("upper")
+    )
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid case mode");
+  }
+
+  @Test
+  void validateTaskParameters_noneProvided_returnsNone() {
+    assertThat(ArgumentValidator.validateTaskParameters(null, "", " "))
+        .isSameAs(TaskParameters.NONE);
+  }
+
+  @Test
+  void validateTaskParameters_phraseNotTrimmed() {
+    TaskParameters parameters = ArgumentValidator.validateTaskParameters(null, " car ", "sensitive");
+
+    assertThat(parameters.phrase()).isEqualTo(" car ");
+    assertThat(parameters.caseMode()).isEqualTo(CaseMode.SENSITIVE);
+    assertThat(parameters.characterClass()).isNull();
+  }
 }
@@ -0,0 +1,65 @@
+package com.mcintosh.iain.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CharacterClassRegistryTest {
+
+  @AfterEach
+  void tearDown() {
+    CharacterClassRegistry.unregister("greek-vowels");
+  }
+
+  @Test
+  void resolve_builtInClasses() {
+    assertThat(CharacterClassRegistry.resolve("vowels"))
+        .contains(CharacterClass.of(Alphabet.getVowels()));
+    assertThat(CharacterClassRegistry.resolve(" CONSONANTS "))
+        .contains(CharacterClass.of(Alphabet.getConsonants()));
+  }
+
+  @Test
+  void resolve_unknownName_returnsEmpty() {
+    assertThat(CharacterClassRegistry.resolve("greek-vowels")).isEmpty();
+    assertThat(CharacterClassRegistry.resolve(null)).isEmpty();
+  }
+
+  @Test
+  void register_customClass_isUsableInDefinitions() {
+    CharacterClassRegistry.register("Greek-Vowels", "αεηιουω");
+
+    assertThat(CharacterClassRegistry.classNames()).contains("greek-vowels");
+    assertThat(CharacterClass.compile("[:greek-vowels:]ά").toCharArray())
+        .containsExactly('ά', 'α', 'ε', 'η', 'ι', 'ο', 'υ', 'ω');
+  }
+
+  @Test
+  void register_replacingClass_recompilesDefinitionsUsingIt() {
+    CharacterClassRegistry.register("greek-vowels", "α");
+    assertThat(CharacterClass.compile("[:greek-vowels:]").toCharArray()).containsExactly('α');
+
+    CharacterClassRegistry.register("greek-vowels", "ε");
+
+    assertThat(CharacterClass.compile("[:greek-vowels:]").toCharArray()).containsExactly('ε');
+  }
+
+  @Test
+  void register_builtInName_throwsException() {
+    assertThatThrownBy(() -> CharacterClassRegistry.register("Vowels", "aeiouy"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Character class name clashes with a built-in class");
+  }
+
+  @Test
+  void register_invalidNameOrDefinition_throwsException() {
+    assertThatThrownBy(() -> CharacterClassRegistry.register("greek:vowels", "α"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Character class name must be letters, digits, - or _");
+    assertThatThrownBy(() -> CharacterClassRegistry.register("greek-vowels", "ω-α"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("out of order");
+  }
+}
@@ -0,0 +1,114 @@
+package com.mcintosh.iain.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mcintosh.iain.core.task.enums.CaseMode;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class CharacterClassTest {
+
+  @Test
+  void compile_explicitCharacters() {
+    CharacterClass characterClass = CharacterClass.compile("aé ");
+
+    assertThat(characterClass.toCharArray()).containsExactly(' ', 'a', 'é');
+    assertThat(characterClass.contains('é')).isTrue();
+    assertThat(characterClass.contains('e')).isFalse();
+  }
+
+  @Test
+  void compile_range() {
+    CharacterClass characterClass = CharacterClass.compile("a-dx");
+
+    assertThat(characterClass.toCharArray()).containsExactly('a', 'b', 'c', 'd', 'x');
+  }
+
+  @Test
+  void compile_escapes() {
+    CharacterClass characterClass = CharacterClass.compile("\\-\\\\\\u00e9a-");
+
+    assertThat(characterClass.toCharArray()).containsExactly('-', '\\', 'a', 'é');
+  }
+
+  @Test
+  void compile_unicodeCategory() {
+    CharacterClass characterClass = CharacterClass.compile("\\p{Lu}");
+
+    assertThat(characterClass.contains('A')).isTrue();
+    assertThat(characterClass.contains('Ω')).isTrue();
+    assertThat(characterClass.contains('a')).isFalse();
+    assertThat(characterClass.contains('1')).isFalse();
+  }
+
+  @Test
+  void compile_unicodeScriptWithoutPrefix() {
+    CharacterClass characterClass = CharacterClass.compile("\\p{Greek}");
+
+    assertThat(characterClass).isEqualTo(CharacterClass.compile("\\p{IsGreek}"));
+    assertThat(characterClass.contains('λ')).isTrue();
+    assertThat(characterClass.contains('ά')).isTrue();
+    assertThat(characterClass.contains('л')).isFalse();
+  }
+
+  @Test
+  void compile_namedClasses() {
+    CharacterClass characterClass = CharacterClass.compile("[:vowels:]àé");
+
+    assertThat(characterClass.toCharArray()).containsExactly('a', 'e', 'i', 'o', 'u', 'à', 'é');
+    assertThat(CharacterClass.compile("[:vowels:][:consonants:]"))
+        .isEqualTo(CharacterClass.compile("a-z"));
+  }
+
+  @Test
+  void compile_sameDefinition_returnsCachedClass() {
+    assertThat(CharacterClass.compile("\\p{Cyrillic}"))
+        .isSameAs(CharacterClass.compile("\\p{Cyrillic}"));
+  }
+
+  @Test
+  void compile_invalidDefinitions_throwException() {
+    assertThatThrownBy(() -> CharacterClass.compile(""))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Character class definition is required");
+    assertThatThrownBy(() -> CharacterClass.compile("z-a"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid character class 'z-a': range z-a is out of order");
+    assertThatThrownBy(() -> CharacterClass.compile("[:unknown:]"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid character class '[:unknown:]': unknown class name 'unknown'");
+    assertThatThrownBy(() -> CharacterClass.compile("\\p{Klingon}"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("unknown Unicode property 'Klingon'");
+    assertThatThrownBy(() -> CharacterClass.compile("\\p{Lu"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("unterminated property");
+    assertThatThrownBy(() -> CharacterClass.compile("a\\"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("incomplete escape");
+    assertThatThrownBy(() -> CharacterClass.compile("🚲"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Basic Multilingual Plane");
+  }
+
+  @Test
+  void normalise_insensitive_lowerCasesCharacters() {
+    CharacterClass characterClass = CharacterClass.compile("AÉb");
+
+    assertThat(characterClass.normalise(CaseMode.INSENSITIVE).toCharArray())
+        .containsExactly('a', 'b', 'é');
+    assertThat(characterClass.normalise(CaseMode.SENSITIVE)).isEqualTo(characterClass);
+    assertThat(characterClass.normalise(CaseMode.INSENSITIVE))
+        .isSameAs(characterClass.normalise(CaseMode.INSENSITIVE));
+  }
+
+  @Test
+  void of_set_equalsCompiledDefinition() {
+    CharacterClass characterClass = CharacterClass.of(Set.of('-', 'a', '\\', 'z'));
+
+    assertThat(characterClass).isEqualTo(CharacterClass.compile("az\\-\\\\"));
+    assertThat(CharacterClass.compile(characterClass.definition())).isEqualTo(characterClass);
+    assertThat(characterClass.size()).isEqualTo(4);
+  }
+}
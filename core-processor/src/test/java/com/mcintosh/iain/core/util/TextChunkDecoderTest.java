@@ -0,0 +1,105 @@
+package com.mcintosh.iain.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mcintosh.iain.core.task.strategy.TaskStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TextChunkDecoderTest {
+
+  @Test
+  void decode_addsTrailingNewline() throws Exception {
+    assertThat(decode("banana", 1024)).isEqualTo("banana\n");
+  }
+
+  @Test
+  void decode_emptyInput_producesNothing() throws Exception {
+    assertThat(decode("", 1024)).isEmpty();
+  }
+
+  @Test
+  void decode_normalisesLineTerminators() throws Exception {
+    assertThat(decode("a\r\nb\rc\n\r\rd", 1024)).isEqualTo("a\nb\nc\n\n\nd\n");
+  }
+
+  @Test
+  void decode_crlfSplitAcrossBuffers_producesSingleNewline() throws Exception {
+    byte[] bytes = "a\r\nb".getBytes(StandardCharsets.UTF_8);
+    RecordingStream stream = new RecordingStream();
+    TextChunkDecoder decoder = new TextChunkDecoder(stream, 16);
+
+    decoder.decode(ByteBuffer.wrap(bytes, 0, 2));
+    decoder.finish(ByteBuffer.wrap(bytes, 2, 2));
+
+    assertThat(stream.text()).isEqualTo("a\nb\n");
+  }
+
+  @Test
+  void decode_multiByteCharacterSplitAcrossBuffers() throws Exception {
+    byte[] bytes = "é€".getBytes(StandardCharsets.UTF_8);
+    RecordingStream stream = new RecordingStream();
+    TextChunkDecoder decoder = new TextChunkDecoder(stream, 16);
+
+    ByteBuffer first = ByteBuffer.allocate(8);
+    first.put(bytes, 0, 3).flip();
+    decoder.decode(first);
+    assertThat(first.remaining()).isEqualTo(1);
+
+    first.compact().put(bytes, 3, bytes.length - 3).flip();
+    decoder.finish(first);
+
+    assertThat(stream.text()).isEqualTo("é€\n");
+    assertThat(decoder.bytesConsumed()).isEqualTo(bytes.length);
+  }
+
+  @Test
+  void decode_inputLargerThanChunkSize_isSplitIntoChunks() throws Exception {
+    RecordingStream stream = new RecordingStream();
+    TextChunkDecoder decoder = new TextChunkDecoder(stream, 4);
+
+    decoder.finish(ByteBuffer.wrap("slow bike\n".getBytes(StandardCharsets.UTF_8)));
+
+    assertThat(stream.chunks).containsExactly("slow", " bik", "e\n");
+  }
+
+  @Test
+  void decode_malformedInput_throwsException() {
+    byte[] bytes = {'a', (byte) 0xC3, 'b'};
+
+    assertThatThrownBy(() ->
+        new TextChunkDecoder(new RecordingStream()).finish(ByteBuffer.wrap(bytes))
+    )
+        .isInstanceOf(CharacterCodingException.class);
+  }
+
+  private static String decode(String input, int chunkSize) throws Exception {
+    RecordingStream stream = new RecordingStream();
+    TextChunkDecoder decoder = new TextChunkDecoder(stream, chunkSize);
+
+    decoder.finish(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)));
+    return stream.text();
+  }
+
+  private static final class RecordingStream implements TaskStream {
+    private final List<String> chunks = new ArrayList<>();
+
+    @Override
+    public void accept(char[] chunk, int offset, int length) {
+      chunks.add(new String(chunk, offset, length));
+    }
+
+    @Override
+    public void finish() {
+    }
+
+    String text() {
+      return String.join("", chunks);
+    }
+  }
+}
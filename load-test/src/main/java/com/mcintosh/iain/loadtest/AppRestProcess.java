@@ -0,0 +1,125 @@
+package com.mcintosh.iain.loadtest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The REST application under test, run as a separate JVM so that the load generator does not
+ * compete with it for heap or JIT compilation.
+ * <p>
+ * The application is started on a free port, and {@link #start} returns once it reports healthy.
+ * Its output is written to a log file rather than mixed with the results.
+ * </p>
+ */
+final class AppRestProcess implements Closeable {
+
+  private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+  private final Process process;
+  private final URI baseUri;
+
+  private AppRestProcess(Process process, URI baseUri) {
+    this.process = process;
+    this.baseUri = baseUri;
+  }
+
+  /**
+   * Starts the application and waits for it to report healthy.
+   *
+   * @param jar     the application jar
+   * @param jvmArgs options for the JVM of the application, such as the heap size
+   * @param logFile the file to write the output of the application to
+   * @return the running application
+   * @throws IOException if the application cannot be started or does not become healthy
+   */
+  static AppRestProcess start(Path jar, List<String> jvmArgs, Path logFile) throws IOException {
+    int port;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(jvmArgs);
+    command.add("-jar");
+    command.add(jar.toString());
+    command.add("--server.port=" + port);
+
+    Process process = new ProcessBuilder(command)
+        .redirectErrorStream(true)
+        .redirectOutput(logFile.toFile())
+        .start();
+    AppRestProcess application = new AppRestProcess(process, URI.create("http://localhost:" + port));
+
+    try {
+      application.awaitHealthy();
+    } catch (IOException e) {
+      application.close();
+      throw e;
+    }
+    return application;
+  }
+
+  /**
+   * Returns the base URI of the application.
+   *
+   * @return the URI the application is listening on
+   */
+  URI baseUri() {
+    return baseUri;
+  }
+
+  /**
+   * Stops the application, forcibly if it does not shut down gracefully in time.
+   */
+  @Override
+  public void close() {
+    process.destroy();
+    try {
+      if (!process.waitFor(30, TimeUnit.SECONDS)) {
+        process.destroyForcibly();
+      }
+    } catch (InterruptedException e) {
+      process.destroyForcibly();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void awaitHealthy() throws IOException {
+    HttpRequest health = HttpRequest.newBuilder(baseUri.resolve("/actuator/health"))
+        .timeout(Duration.ofSeconds(5))
+        .build();
+    long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+    try (HttpClient client = HttpClient.newHttpClient()) {
+      while (System.nanoTime() < deadline) {
+        if (!process.isAlive()) {
+          throw new IOException("Application exited with code " + process.exitValue());
+        }
+        try {
+          if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+            return;
+          }
+        } catch (IOException e) {
+          // Not listening yet
+        }
+        Thread.sleep(250);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for the application to start", e);
+    }
+
+    throw new IOException("Application not healthy after " + STARTUP_TIMEOUT.toSeconds() + "s");
+  }
+}
@@ -0,0 +1,177 @@
+package com.mcintosh.iain.loadtest;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the latency of the REST application under concurrent load, by sending parse requests
+ * at a series of fixed arrival rates with {@link OpenLoadGenerator} and reporting the percentile
+ * latencies and throughput at each rate.
+ * <p>
+ * The application jar is started in its own JVM on a free port and stopped at the end, unless the
+ * URL of an application that is already running is given. The input files of the request mix are
+ * written to a directory in the temp directory, which must be readable by the application. Each
+ * rate is summarised on standard out and appended to the results file as a line of JSON (see
+ * {@link StepResult}), along with the mix it was run with.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * java -jar load-test/target/load-test-1.0.0.jar --rates 10,20,40 --duration 60 \
+ *     --server-jvm-args "-Xmx512m"
+ * }</pre>
+ * </p>
+ */
+public final class LoadTest {
+
+  private static final String USAGE = """
+      Usage: LoadTest [options]
+
+      Options:
+        --jar                The application jar to start. Defaults to app-rest/target/app-rest-1.0.0.jar
+        --url                The URL of an application that is already running, instead of starting the jar
+        --server-jvm-args    JVM options of the application, space separated
+        --rates              Requests per second, comma separated, run in turn. Defaults to 5,10,20,40
+        --duration           Seconds measured at each rate. Defaults to 30
+        --warmup             Seconds sent at each rate before measuring. Defaults to 10
+        --sizes              Input file sizes and weights, e.g. 1KB:70,1MB:25,16MB:5 (the default)
+        --tasks              Tasks and weights. Defaults to remove-vowels,count-consonants,count-slow-bike
+        --output-target      Output target of the requests. Defaults to response
+        --files-per-size     Input files written for each size. Defaults to 16
+        --timeout            Seconds to wait for each response. Defaults to 60
+        --results            File the results are appended to, as JSON lines. Defaults to load-results.jsonl
+        --seed               Seed of the request mix. Defaults to 42
+      """;
+
+  private LoadTest() {
+    throw new UnsupportedOperationException("Class not instantiable");
+  }
+
+  public static void main(String[] args) throws IOException {
+    Path jar = Path.of("app-rest", "target", "app-rest-1.0.0.jar");
+    URI url = null;
+    List<String> serverJvmArgs = List.of();
+    List<Double> rates = List.of(5.0, 10.0, 20.0, 40.0);
+    Duration duration = Duration.ofSeconds(30);
+    Duration warmup = Duration.ofSeconds(10);
+    String sizes = "1KB:70,1MB:25,16MB:5";
+    String tasks = "remove-vowels,count-consonants,count-slow-bike";
+    String outputTarget = "response";
+    int filesPerSize = 16;
+    Duration timeout = Duration.ofSeconds(60);
+    Path resultsFile = Path.of("load-results.jsonl");
+    long seed = 42;
+
+    RequestMix mix;
+    try {
+      for (int i = 0; i < args.length; i++) {
+        String value = i + 1 < args.length ? args[i + 1] : null;
+        if (value == null && !args[i].equals("-h") && !args[i].equals("--help")) {
+          throw new IllegalArgumentException(args[i] + " requires a value");
+        }
+
+        switch (args[i]) {
+          case "--jar" -> jar = Path.of(value);
+          case "--url" -> url = URI.create(value);
+          case "--server-jvm-args" -> serverJvmArgs = List.of(value.trim().split("\\s+"));
+          case "--rates" -> rates = Arrays.stream(value.split(",")).map(Double::valueOf).toList();
+          case "--duration" -> duration = Duration.ofSeconds(Long.parseLong(value));
+          case "--warmup" -> warmup = Duration.ofSeconds(Long.parseLong(value));
+          case "--sizes" -> sizes = value;
+          case "--tasks" -> tasks = value;
+          case "--output-target" -> outputTarget = value;
+          case "--files-per-size" -> filesPerSize = Integer.parseInt(value);
+          case "--timeout" -> timeout = Duration.ofSeconds(Long.parseLong(value));
+          case "--results" -> resultsFile = Path.of(value);
+          case "--seed" -> seed = Long.parseLong(value);
+          case "-h", "--help" -> {
+            System.out.print(USAGE);
+            return;
+          }
+          default -> throw new IllegalArgumentException("Unrecognised argument: " + args[i]);
+        }
+        i++;
+      }
+
+      if (rates.stream().anyMatch(rate -> rate <= 0)) {
+        throw new IllegalArgumentException("Rates must be positive: " + rates);
+      }
+      mix = RequestMix.create(Path.of(System.getProperty("java.io.tmpdir"), "ais-load-test"),
+          sizes, tasks, filesPerSize, seed);
+    } catch (IllegalArgumentException e) {
+      // Also covers NumberFormatException
+      System.err.println(e.getMessage());
+      System.err.print(USAGE);
+      System.exit(1);
+      return;
+    }
+
+    JsonObject settings = new JsonObject();
+    settings.addProperty("sizes", sizes);
+    settings.addProperty("tasks", tasks);
+    settings.addProperty("outputTarget", outputTarget);
+    settings.addProperty("warmupSeconds", warmup.toSeconds());
+
+    if (url != null) {
+      settings.addProperty("url", url.toString());
+      run(url, mix, outputTarget, timeout, rates, warmup, duration, settings, resultsFile);
+      return;
+    }
+
+    Path logFile = Path.of("load-test-server.log");
+    System.out.printf("Starting %s, logging to %s%n", jar, logFile.toAbsolutePath());
+    try (AppRestProcess application = AppRestProcess.start(jar, serverJvmArgs, logFile)) {
+      settings.addProperty("jar", jar.toString());
+      settings.addProperty("serverJvmArgs", String.join(" ", serverJvmArgs));
+      run(application.baseUri(), mix, outputTarget, timeout, rates, warmup, duration, settings,
+          resultsFile);
+    }
+  }
+
+  private static void run(URI baseUri, RequestMix mix, String outputTarget, Duration timeout,
+      List<Double> rates, Duration warmup, Duration duration, JsonObject settings,
+      Path resultsFile) throws IOException {
+    System.out.printf("%8s %9s %9s %8s %10s %9s %9s %9s %9s %9s %9s%n", "rate/s", "requests",
+        "errors", "tput/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms", "mean ms", "lag ms");
+
+    try (OpenLoadGenerator generator = new OpenLoadGenerator(baseUri, mix, outputTarget, timeout)) {
+      for (double rate : rates) {
+        StepResult result = generator.run(rate, warmup, duration);
+        record(result, settings, resultsFile);
+        System.out.printf("%8.1f %9d %9d %8.1f %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+            result.offeredRate(), result.requests(), result.errorCount(), result.throughput(),
+            result.p50Millis(), result.p90Millis(), result.p99Millis(), result.p999Millis(),
+            result.maxMillis(), result.meanMillis(), result.maxSchedulerLagMs());
+        if (!result.errors().isEmpty()) {
+          System.out.println("         errors: " + result.errors());
+        }
+      }
+    }
+
+    System.out.println("Results appended to " + resultsFile.toAbsolutePath());
+  }
+
+  private static void record(StepResult result, JsonObject settings, Path resultsFile)
+      throws IOException {
+    Gson gson = new Gson();
+    JsonObject line = gson.toJsonTree(result).getAsJsonObject();
+    settings.entrySet().forEach(entry -> line.add(entry.getKey(), entry.getValue()));
+
+    try (BufferedWriter writer = Files.newBufferedWriter(resultsFile, StandardCharsets.UTF_8,
+        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+      writer.write(gson.toJson(line));
+      writer.newLine();
+    }
+  }
+}
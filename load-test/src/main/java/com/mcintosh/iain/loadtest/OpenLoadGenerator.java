@@ -0,0 +1,172 @@
+package com.mcintosh.iain.loadtest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Sends parse requests to the application at a fixed arrival rate, as an open model.
+ * <p>
+ * Requests are due at fixed intervals from the start of a step, and each is sent on its own
+ * virtual thread when it is due, however many earlier requests are still waiting for a response.
+ * A slow response therefore never delays the requests after it, as it would in a closed model
+ * where each client waits for its last response before sending the next request, and latency is
+ * measured from the time a request was due rather than the time it was sent. Together these avoid
+ * coordinated omission, where a stalled server also stalls the load test and the stall is
+ * recorded as a single slow request instead of every request it delayed.
+ * </p>
+ */
+final class OpenLoadGenerator implements Closeable {
+
+  private final HttpClient client;
+  private final URI parseUri;
+  private final RequestMix mix;
+  private final String outputTarget;
+  private final Duration timeout;
+
+  /**
+   * Creates a generator for the application at the base URI.
+   *
+   * @param baseUri      the base URI of the application
+   * @param mix          the requests to send
+   * @param outputTarget the output target of the requests
+   * @param timeout      how long to wait for each response before counting it as an error
+   */
+  OpenLoadGenerator(URI baseUri, RequestMix mix, String outputTarget, Duration timeout) {
+    this.client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+    this.parseUri = baseUri.resolve("/parse");
+    this.mix = mix;
+    this.outputTarget = outputTarget;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Sends requests at the rate for the warm-up period and then for the measured period, and
+   * waits for every response.
+   * <p>
+   * Only requests due in the measured period are recorded, though requests due in the warm-up
+   * period may still be in progress during it.
+   * </p>
+   *
+   * @param rate     the requests per second to send
+   * @param warmup   the period before the measured period, which is not recorded
+   * @param duration the measured period
+   * @return the latencies, throughput and errors of the requests due in the measured period
+   */
+  StepResult run(double rate, Duration warmup, Duration duration) {
+    long intervalNanos = Math.round(TimeUnit.SECONDS.toNanos(1) / rate);
+    long warmupRequests = Math.round((double) warmup.toNanos() / intervalNanos);
+    long measuredRequests = Math.max(1, Math.round((double) duration.toNanos() / intervalNanos));
+
+    Histogram latencies = new ConcurrentHistogram(3);
+    LongAdder successes = new LongAdder();
+    Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    AtomicLong lastCompletion = new AtomicLong();
+    long maxLagNanos = 0;
+
+    long start = System.nanoTime();
+    long measuredStart = start + warmupRequests * intervalNanos;
+    try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (long i = 0; i < warmupRequests + measuredRequests; i++) {
+        RequestMix.Request request = mix.next();
+        long due = start + i * intervalNanos;
+        for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+          LockSupport.parkNanos(wait);
+        }
+        maxLagNanos = Math.max(maxLagNanos, System.nanoTime() - due);
+
+        boolean measured = i >= warmupRequests;
+        senders.execute(() -> {
+          String outcome = send(request);
+          if (!measured) {
+            return;
+          }
+          long completed = System.nanoTime();
+          lastCompletion.accumulateAndGet(completed, Math::max);
+          if (outcome == null) {
+            latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(completed - due));
+            successes.increment();
+          } else {
+            errors.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+          }
+        });
+      }
+    }
+
+    // Until the last response, so that a server that falls behind does not appear to keep up
+    double seconds = Math.max(duration.toNanos(), lastCompletion.get() - measuredStart) / 1e9;
+    Map<String, Long> errorCounts = new TreeMap<>();
+    errors.forEach((outcome, count) -> errorCounts.put(outcome, count.sum()));
+
+    return new StepResult(
+        rate,
+        seconds,
+        measuredRequests,
+        successes.sum(),
+        errorCounts,
+        successes.sum() / seconds,
+        percentileMillis(latencies, 50),
+        percentileMillis(latencies, 90),
+        percentileMillis(latencies, 99),
+        percentileMillis(latencies, 99.9),
+        latencies.getMaxValue() / 1000.0,
+        latencies.getTotalCount() == 0 ? 0 : latencies.getMean() / 1000.0,
+        maxLagNanos / 1e6);
+  }
+
+  @Override
+  public void close() {
+    client.close();
+  }
+
+  /**
+   * Sends the request and waits for the response.
+   *
+   * @return {@code null} if the request succeeded, otherwise the status code or exception
+   */
+  private String send(RequestMix.Request request) {
+    String form = "inputFile=" + URLEncoder.encode(request.inputFile().toString(),
+        StandardCharsets.UTF_8)
+        + "&parseTask=" + URLEncoder.encode(request.task(), StandardCharsets.UTF_8)
+        + "&outputTarget=" + URLEncoder.encode(outputTarget, StandardCharsets.UTF_8);
+    HttpRequest httpRequest = HttpRequest.newBuilder(parseUri)
+        .header("Content-Type", "application/x-www-form-urlencoded")
+        .timeout(timeout)
+        .POST(HttpRequest.BodyPublishers.ofString(form))
+        .build();
+
+    try {
+      int status = client.send(httpRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+      return status / 100 == 2 ? null : "HTTP " + status;
+    } catch (IOException e) {
+      return e.getClass().getSimpleName();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return e.getClass().getSimpleName();
+    }
+  }
+
+  private static double percentileMillis(Histogram latencies, double percentile) {
+    return latencies.getValueAtPercentile(percentile) / 1000.0;
+  }
+}
@@ -0,0 +1,173 @@
+package com.mcintosh.iain.loadtest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The mix of input file sizes and tasks the load test sends, each chosen at random by weight.
+ * <p>
+ * Several input files are written for each size, and each request picks one of them at random,
+ * so that concurrent requests for the same task are rarely for the same file and are not merged
+ * by the request coalescing of the application. Files already written with the right size are
+ * reused by later runs.
+ * </p>
+ *
+ * <p>
+ * Mixes are given as comma separated entries with optional weights, for example
+ * {@code 1KB:70,1MB:25,16MB:5} for sizes or {@code remove-vowels:2,count-consonants} for tasks,
+ * where an entry without a weight has a weight of 1.
+ * </p>
+ */
+final class RequestMix {
+
+  /**
+   * Text repeated to fill the input files.
+   */
+  private static final String TEXT = """
+      A rider on a slow bike climbed the hill above the town every morning, passing queues of \
+      traffic and the odd slow bik sign painted by a careless council worker. By the time the \
+      sun was up she was freewheeling down into the square, where the market traders were \
+      setting out fruit, vegetables and second hand books.
+      """;
+
+  /**
+   * A request to send.
+   *
+   * @param inputFile the input file to process
+   * @param size      the size of the input file
+   * @param task      the task to run
+   */
+  record Request(Path inputFile, long size, String task) {}
+
+  private final List<Weighted<List<Path>>> files;
+  private final List<Weighted<Long>> sizes;
+  private final List<Weighted<String>> tasks;
+  private final Random random;
+
+  private RequestMix(List<Weighted<Long>> sizes, List<Weighted<List<Path>>> files,
+      List<Weighted<String>> tasks, long seed) {
+    this.sizes = sizes;
+    this.files = files;
+    this.tasks = tasks;
+    this.random = new Random(seed);
+  }
+
+  /**
+   * Creates a mix, writing the input files it needs to the directory.
+   *
+   * @param directory    the directory to write the input files to
+   * @param sizeMix      the sizes of the input files, with a KB, MB or GB suffix, and weights
+   * @param taskMix      the tasks, with weights
+   * @param filesPerSize the number of input files to write for each size
+   * @param seed         the seed of the random choices, so that runs send the same requests
+   * @return the mix
+   * @throws IOException              if an input file cannot be written
+   * @throws IllegalArgumentException if a mix cannot be parsed
+   */
+  static RequestMix create(Path directory, String sizeMix, String taskMix, int filesPerSize,
+      long seed) throws IOException {
+    List<Weighted<Long>> sizes = parse(sizeMix).stream()
+        .map(entry -> new Weighted<>(parseSize(entry.value()), entry.weight()))
+        .toList();
+    List<Weighted<String>> tasks = parse(taskMix);
+
+    Files.createDirectories(directory);
+    List<Weighted<List<Path>>> files = new ArrayList<>();
+    for (Weighted<Long> size : sizes) {
+      List<Path> sizeFiles = new ArrayList<>();
+      for (int i = 0; i < filesPerSize; i++) {
+        Path file = directory.resolve("input-" + size.value() + "-" + i + ".txt");
+        if (!Files.exists(file) || Files.size(file) != size.value()) {
+          write(file, size.value());
+        }
+        sizeFiles.add(file.toAbsolutePath());
+      }
+      files.add(new Weighted<>(sizeFiles, size.weight()));
+    }
+
+    return new RequestMix(sizes, files, tasks, seed);
+  }
+
+  /**
+   * Chooses the next request. Not thread-safe, as requests are chosen by a single scheduler.
+   *
+   * @return the next request
+   */
+  Request next() {
+    int sizeIndex = choose(files);
+    List<Path> sizeFiles = files.get(sizeIndex).value();
+    Path file = sizeFiles.get(random.nextInt(sizeFiles.size()));
+    return new Request(file, sizes.get(sizeIndex).value(), tasks.get(choose(tasks)).value());
+  }
+
+  private int choose(List<? extends Weighted<?>> entries) {
+    int total = entries.stream().mapToInt(Weighted::weight).sum();
+    int pick = random.nextInt(total);
+    for (int i = 0; i < entries.size(); i++) {
+      pick -= entries.get(i).weight();
+      if (pick < 0) {
+        return i;
+      }
+    }
+    throw new IllegalStateException("Weights changed while choosing");
+  }
+
+  /**
+   * Parses a comma separated mix of entries with optional weights.
+   *
+   * @param mix the mix to parse
+   * @return the entries with their weights
+   * @throws IllegalArgumentException if a weight is not a positive number
+   */
+  static List<Weighted<String>> parse(String mix) {
+    List<Weighted<String>> entries = new ArrayList<>();
+    for (String entry : mix.split(",")) {
+      String[] parts = entry.trim().split(":");
+      int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+      if (parts[0].isEmpty() || weight < 1) {
+        throw new IllegalArgumentException("Invalid mix entry: " + entry);
+      }
+      entries.add(new Weighted<>(parts[0], weight));
+    }
+    return entries;
+  }
+
+  /**
+   * Parses a size with a {@code KB}, {@code MB} or {@code GB} suffix, in binary units.
+   *
+   * @param size the size to parse
+   * @return the size in bytes
+   * @throws IllegalArgumentException if the size is not a number with one of the suffixes
+   */
+  static long parseSize(String size) {
+    int shift = switch (size.length() > 2 ? size.substring(size.length() - 2) : "") {
+      case "KB" -> 10;
+      case "MB" -> 20;
+      case "GB" -> 30;
+      default -> throw new IllegalArgumentException("Size must end with KB, MB or GB: " + size);
+    };
+    return Long.parseLong(size.substring(0, size.length() - 2)) << shift;
+  }
+
+  private static void write(Path file, long size) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+      for (long written = 0; written < size; written += TEXT.length()) {
+        writer.write(TEXT, 0, (int) Math.min(TEXT.length(), size - written));
+      }
+    }
+  }
+
+  /**
+   * An entry of a mix and its weight.
+   *
+   * @param value  the entry
+   * @param weight the relative frequency of the entry
+   */
+  record Weighted<T>(T value, int weight) {}
+}
@@ -0,0 +1,51 @@
+package com.mcintosh.iain.loadtest;
+
+import java.util.Map;
+
+/**
+ * The result of driving the application at one arrival rate, appended to the results file as a
+ * line of JSON.
+ * <p>
+ * Latencies are measured from the time each request was due to be sent, rather than the time it
+ * was actually sent, so that they include any time spent waiting behind earlier requests.
+ * </p>
+ *
+ * @param offeredRate        the requests per second the load test tried to send
+ * @param seconds            the length of the measured period
+ * @param requests           the requests sent in the measured period
+ * @param successes          the requests that completed with a successful status
+ * @param errors             the failed requests, by status code or exception
+ * @param throughput         the successful requests completed per second
+ * @param p50Millis          the median latency of the successful requests
+ * @param p90Millis          the 90th percentile latency
+ * @param p99Millis          the 99th percentile latency
+ * @param p999Millis         the 99.9th percentile latency
+ * @param maxMillis          the maximum latency
+ * @param meanMillis         the mean latency
+ * @param maxSchedulerLagMs  the furthest the load test fell behind its schedule, which should be
+ *                           small compared to the latencies for them to be trusted
+ */
+record StepResult(
+    double offeredRate,
+    double seconds,
+    long requests,
+    long successes,
+    Map<String, Long> errors,
+    double throughput,
+    double p50Millis,
+    double p90Millis,
+    double p99Millis,
+    double p999Millis,
+    double maxMillis,
+    double meanMillis,
+    double maxSchedulerLagMs) {
+
+  /**
+   * Returns the number of failed requests.
+   *
+   * @return the sum of the errors
+   */
+  long errorCount() {
+    return errors.values().stream().mapToLong(Long::longValue).sum();
+  }
+}
@@ -0,0 +1,94 @@
+package com.mcintosh.iain.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OpenLoadGeneratorTest {
+
+  @TempDir
+  Path tempDir;
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Test
+  void run_serverKeepsUp_recordsEveryRequest() throws IOException {
+    URI baseUri = startServer(Executors.newVirtualThreadPerTaskExecutor(), respondAfter(20, 200));
+
+    StepResult result = generator(baseUri).run(50, Duration.ofMillis(200), Duration.ofSeconds(1));
+
+    assertThat(result.requests()).isEqualTo(50);
+    assertThat(result.successes()).isEqualTo(50);
+    assertThat(result.errors()).isEmpty();
+    assertThat(result.p50Millis()).isBetween(20.0, 500.0);
+  }
+
+  @Test
+  void run_serverFallsBehind_latencyIncludesQueueing() throws IOException {
+    // One request at a time, each taking twice the interval between requests
+    URI baseUri = startServer(Executors.newSingleThreadExecutor(), respondAfter(40, 200));
+
+    StepResult result = generator(baseUri).run(50, Duration.ZERO, Duration.ofSeconds(1));
+
+    // The last request waits behind the 49 before it, so is about a second late. A closed model
+    // would have recorded about 40ms for every request
+    assertThat(result.successes()).isEqualTo(50);
+    assertThat(result.maxMillis()).isGreaterThan(900);
+    assertThat(result.throughput()).isLessThan(35);
+  }
+
+  @Test
+  void run_errorStatus_countsErrorsByStatus() throws IOException {
+    URI baseUri = startServer(Executors.newVirtualThreadPerTaskExecutor(), respondAfter(0, 503));
+
+    StepResult result = generator(baseUri).run(20, Duration.ZERO, Duration.ofMillis(500));
+
+    assertThat(result.successes()).isZero();
+    assertThat(result.errors()).containsEntry("HTTP 503", 10L);
+  }
+
+  private OpenLoadGenerator generator(URI baseUri) throws IOException {
+    RequestMix mix = RequestMix.create(tempDir, "1KB", "remove-vowels", 1, 1);
+    return new OpenLoadGenerator(baseUri, mix, "response", Duration.ofSeconds(10));
+  }
+
+  private URI startServer(ExecutorService executor, HttpHandler handler) throws IOException {
+    serverExecutor = executor;
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/parse", handler);
+    server.setExecutor(executor);
+    server.start();
+    return URI.create("http://localhost:" + server.getAddress().getPort());
+  }
+
+  private static HttpHandler respondAfter(long millis, int status) {
+    return exchange -> {
+      exchange.getRequestBody().readAllBytes();
+      try {
+        Thread.sleep(millis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      exchange.sendResponseHeaders(status, -1);
+      exchange.close();
+    };
+  }
+}
@@ -0,0 +1,70 @@
+package com.mcintosh.iain.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RequestMixTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void parse_weightsGiven_usesWeights() {
+    assertThat(RequestMix.parse("remove-vowels:3, count-consonants"))
+        .containsExactly(new RequestMix.Weighted<>("remove-vowels", 3),
+            new RequestMix.Weighted<>("count-consonants", 1));
+  }
+
+  @Test
+  void parse_zeroWeight_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> RequestMix.parse("remove-vowels:0"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void parseSize_binarySuffixes_returnsBytes() {
+    assertThat(RequestMix.parseSize("2KB")).isEqualTo(2048);
+    assertThat(RequestMix.parseSize("16MB")).isEqualTo(16L << 20);
+    assertThat(RequestMix.parseSize("1GB")).isEqualTo(1L << 30);
+  }
+
+  @Test
+  void parseSize_noSuffix_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> RequestMix.parseSize("1024"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void create_sizeMix_writesFilesOfEachSize() throws IOException {
+    RequestMix mix = RequestMix.create(tempDir, "1KB,3KB", "remove-vowels", 2, 1);
+
+    for (int i = 0; i < 20; i++) {
+      RequestMix.Request request = mix.next();
+      assertThat(Files.size(request.inputFile())).isEqualTo(request.size());
+    }
+    try (var files = Files.list(tempDir)) {
+      assertThat(files).hasSize(4);
+    }
+  }
+
+  @Test
+  void next_weightedTasks_choosesTasksByWeight() throws IOException {
+    RequestMix mix = RequestMix.create(tempDir, "1KB", "remove-vowels:3,count-consonants", 1, 1);
+
+    Map<String, Integer> counts = new HashMap<>();
+    for (int i = 0; i < 4000; i++) {
+      counts.merge(mix.next().task(), 1, Integer::sum);
+    }
+
+    assertThat(counts.get("remove-vowels")).isBetween(2800, 3200);
+    assertThat(counts.get("count-consonants")).isBetween(800, 1200);
+  }
+}